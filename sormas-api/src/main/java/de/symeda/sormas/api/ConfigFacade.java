@@ -82,10 +82,20 @@ public interface ConfigFacade {
 
 	int getInfrastructureSyncThreshold();
 
+	int getPushChunkSize();
+
 	int getDaysAfterCaseGetsArchived();
 
 	int getDaysAfterEventGetsArchived();
 
+	int getArchivingBatchSize();
+
+	int getDatabaseExportParallelism();
+
+	int getImportBatchSize();
+
+	int getImportParallelism();
+
 	GeoLatLon getCountryCenter();
 
 	int getMapZoom();
@@ -113,4 +123,6 @@ public interface ConfigFacade {
 	boolean isExternalJournalActive();
 
 	int getDashboardMapMarkerLimit();
+
+	int getDashboardSnapshotCacheSeconds();
 }
@@ -34,6 +34,7 @@ import de.symeda.sormas.api.caze.maternalhistory.MaternalHistoryFacade;
 import de.symeda.sormas.api.clinicalcourse.ClinicalCourseFacade;
 import de.symeda.sormas.api.clinicalcourse.ClinicalVisitFacade;
 import de.symeda.sormas.api.contact.ContactFacade;
+import de.symeda.sormas.api.dashboard.DashboardFacade;
 import de.symeda.sormas.api.disease.DiseaseConfigurationFacade;
 import de.symeda.sormas.api.disease.DiseaseFacade;
 import de.symeda.sormas.api.docgeneneration.QuarantineOrderFacade;
@@ -238,6 +239,10 @@ public class FacadeProvider {
 		return get().lookupEjbRemote(DiseaseFacade.class);
 	}
 
+	public static DashboardFacade getDashboardFacade() {
+		return get().lookupEjbRemote(DashboardFacade.class);
+	}
+
 	public static DiseaseConfigurationFacade getDiseaseConfigurationFacade() {
 		return get().lookupEjbRemote(DiseaseConfigurationFacade.class);
 	}
@@ -34,6 +34,7 @@ import de.symeda.sormas.api.importexport.ExportConfigurationDto;
 import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.region.DistrictDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.GeoLatLon;
 import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.utils.DataHelper.Pair;
 import de.symeda.sormas.api.utils.SortProperty;
@@ -49,6 +50,13 @@ public interface CaseFacade {
 	 */
 	List<CaseDataDto> getAllActiveCasesAfter(Date date, boolean includeExtendedChangeDateFilters);
 
+	/**
+	 * Paged variant for the mobile sync: Returns up to {@code batchSize} cases changed since {@code date}, ordered by change
+	 * date and uuid, starting after {@code lastChangeDate} and {@code lastUuid} of the last entity of the previous page
+	 * ({@code null} for the first page).
+	 */
+	List<CaseDataDto> getAllActiveCasesAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid);
+
 	long count(CaseCriteria caseCriteria);
 
 	List<CaseIndexDto> getIndexList(CaseCriteria caseCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
@@ -63,6 +71,20 @@ public interface CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage);
 
+	/**
+	 * Keyset paged variant of {@link #getExportList}. Returns the next {@code max} cases after the case identified by
+	 * {@code lastReportDate} and {@code lastId} (both taken from the last row of the previous page; {@code null} for the first page).
+	 * Unlike offset paging, the cost of a page does not grow with the number of already exported cases.
+	 */
+	List<CaseExportDto> getExportListAfter(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Date lastReportDate,
+		Long lastId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage);
+
 	CaseDataDto getCaseDataByUuid(String uuid);
 
 	CaseDataDto saveCase(CaseDataDto dto) throws ValidationRuntimeException;
@@ -89,6 +111,27 @@ public interface CaseFacade {
 
 	Long countCasesForMap(RegionReferenceDto regionRef, DistrictReferenceDto districtRef, Disease disease, Date from, Date to);
 
+	/**
+	 * Returns the cases of {@link #getCasesForMap} as counts per grid cell. The cells get smaller with higher zoom levels
+	 * of the map, so they stay about the same size on screen.
+	 *
+	 * @param preferFacilityLocation
+	 *            locate cases at their facility if it has coordinates, otherwise at the case address or report position
+	 * @param southWest
+	 *            optional, together with {@code northEast} the visible part of the map
+	 */
+	List<MapCaseClusterDto> getCaseClustersForMap(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		boolean confirmedOnly,
+		boolean preferFacilityLocation,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast);
+
 	Map<CaseClassification, Long> getCaseCountPerClassification(
 		CaseCriteria caseCriteria,
 		boolean excludeSharedCases,
@@ -0,0 +1,100 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.api.caze;
+
+import java.io.Serializable;
+
+/**
+ * Number of cases within one grid cell of the dashboard map. The position is the center of the cell, so no
+ * coordinates of single cases are transferred.
+ */
+public class MapCaseClusterDto implements Serializable {
+
+	private static final long serialVersionUID = -1834806627935096217L;
+
+	private double latitude;
+	private double longitude;
+	private long caseCount;
+	private long confirmedCount;
+	private long probableCount;
+	private long suspectCount;
+	/**
+	 * Only set when the cluster contains exactly one case.
+	 */
+	private String caseUuid;
+
+	public MapCaseClusterDto(
+		double latitude,
+		double longitude,
+		long caseCount,
+		long confirmedCount,
+		long probableCount,
+		long suspectCount,
+		String caseUuid) {
+
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.caseCount = caseCount;
+		this.confirmedCount = confirmedCount;
+		this.probableCount = probableCount;
+		this.suspectCount = suspectCount;
+		this.caseUuid = caseUuid;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+	public long getCaseCount() {
+		return caseCount;
+	}
+
+	public long getConfirmedCount() {
+		return confirmedCount;
+	}
+
+	public long getProbableCount() {
+		return probableCount;
+	}
+
+	public long getSuspectCount() {
+		return suspectCount;
+	}
+
+	public String getCaseUuid() {
+		return caseUuid;
+	}
+
+	/**
+	 * @return the "strongest" classification of the contained cases, in the order confirmed, probable, suspect
+	 */
+	public CaseClassification getHighestClassification() {
+
+		if (confirmedCount > 0) {
+			return CaseClassification.CONFIRMED;
+		} else if (probableCount > 0) {
+			return CaseClassification.PROBABLE;
+		} else if (suspectCount > 0) {
+			return CaseClassification.SUSPECT;
+		} else {
+			return CaseClassification.NOT_CLASSIFIED;
+		}
+	}
+}
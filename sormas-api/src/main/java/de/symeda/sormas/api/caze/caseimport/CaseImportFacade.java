@@ -15,6 +15,8 @@
 
 package de.symeda.sormas.api.caze.caseimport;
 
+import java.util.List;
+
 import javax.ejb.Remote;
 
 import de.symeda.sormas.api.importexport.InvalidColumnException;
@@ -30,6 +32,18 @@ public interface CaseImportFacade {
 		boolean ignoreEmptyEntries)
 		throws InvalidColumnException;
 
+	/**
+	 * Builds and validates the entities of the lines without saving them. The successful results contain the entities
+	 * that can be passed to {@link #saveImportedEntities(List)}.
+	 */
+	List<ImportLineResultDto<CaseImportEntities>> buildImportEntities(
+		List<String[]> lines,
+		String[] entityClasses,
+		String[] entityProperties,
+		String[][] entityPropertyPaths,
+		boolean ignoreEmptyEntries)
+		throws InvalidColumnException;
+
 	ImportLineResultDto<CaseImportEntities> updateCaseWithImportData(
 		String personUuid,
 		String caseUuid,
@@ -39,4 +53,10 @@ public interface CaseImportFacade {
 		throws InvalidColumnException;
 
 	ImportLineResultDto<CaseImportEntities> saveImportedEntities(CaseImportEntities entities);
+
+	/**
+	 * Saves the entities in a single transaction. Stops at the first entities with a person that is similar to an
+	 * existing one and returns a duplicate result for them; the returned list is shorter than the passed one in this case.
+	 */
+	List<ImportLineResultDto<CaseImportEntities>> saveImportedEntities(List<CaseImportEntities> entitiesList);
 }
@@ -32,6 +32,13 @@ public interface CaseClassificationFacade {
 
 	CaseClassification getClassification(CaseDataDto caze, List<PathogenTestDto> sampleTests);
 
+	/**
+	 * Re-calculates the system classification of the given cases, e.g. after the classification criteria have changed,
+	 * and updates their classification the same way saving a case does. Cases and their pathogen tests are loaded in
+	 * batches. Does nothing when automatic case classification is disabled.
+	 */
+	void classifyCases(List<String> caseUuids);
+
 	DiseaseClassificationCriteriaDto getByDisease(Disease disease);
 
 	List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate);
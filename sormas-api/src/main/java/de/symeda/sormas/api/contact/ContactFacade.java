@@ -36,6 +36,8 @@ public interface ContactFacade {
 
 	List<ContactDto> getAllActiveContactsAfter(Date date);
 
+	List<ContactDto> getAllActiveContactsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid);
+
 	ContactDto getContactByUuid(String uuid);
 
 	Boolean isValidContactUuid(String uuid);
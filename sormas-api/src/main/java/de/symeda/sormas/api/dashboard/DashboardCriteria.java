@@ -0,0 +1,92 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import de.symeda.sormas.api.BaseCriteria;
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+
+public class DashboardCriteria extends BaseCriteria implements Serializable {
+
+	private static final long serialVersionUID = -3172468462781349542L;
+
+	private RegionReferenceDto region;
+	private DistrictReferenceDto district;
+	private Disease disease;
+	private Date fromDate;
+	private Date toDate;
+	private Date previousFromDate;
+	private Date previousToDate;
+
+	public RegionReferenceDto getRegion() {
+		return region;
+	}
+
+	public DashboardCriteria region(RegionReferenceDto region) {
+		this.region = region;
+		return this;
+	}
+
+	public DistrictReferenceDto getDistrict() {
+		return district;
+	}
+
+	public DashboardCriteria district(DistrictReferenceDto district) {
+		this.district = district;
+		return this;
+	}
+
+	public Disease getDisease() {
+		return disease;
+	}
+
+	public DashboardCriteria disease(Disease disease) {
+		this.disease = disease;
+		return this;
+	}
+
+	public DashboardCriteria dateBetween(Date fromDate, Date toDate) {
+		this.fromDate = fromDate;
+		this.toDate = toDate;
+		return this;
+	}
+
+	public Date getFromDate() {
+		return fromDate;
+	}
+
+	public Date getToDate() {
+		return toDate;
+	}
+
+	public DashboardCriteria previousDateBetween(Date previousFromDate, Date previousToDate) {
+		this.previousFromDate = previousFromDate;
+		this.previousToDate = previousToDate;
+		return this;
+	}
+
+	public Date getPreviousFromDate() {
+		return previousFromDate;
+	}
+
+	public Date getPreviousToDate() {
+		return previousToDate;
+	}
+}
@@ -1,33 +1,29 @@
-/*******************************************************************************
+/*
  * SORMAS® - Surveillance Outbreak Response Management & Analysis System
- * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
- *
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
  * the Free Software Foundation, either version 3 of the License, or
  * (at your option) any later version.
- *
  * This program is distributed in the hope that it will be useful,
  * but WITHOUT ANY WARRANTY; without even the implied warranty of
  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
  * GNU General Public License for more details.
- *
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <https://www.gnu.org/licenses/>.
- *******************************************************************************/
-package de.symeda.sormas.backend.common;
+ */
 
-@SuppressWarnings("serial")
-public class NotificationDeliveryFailedException extends Exception {
+package de.symeda.sormas.api.dashboard;
 
-	private MessageType messageType;
+import javax.ejb.Remote;
 
-	public NotificationDeliveryFailedException(String message, MessageType messageType, Throwable cause) {
-		super(message, cause);
-		this.messageType = messageType;
-	}
+@Remote
+public interface DashboardFacade {
 
-	public MessageType getMessageType() {
-		return messageType;
-	}
+	/**
+	 * Returns the aggregated numbers shown on the surveillance dashboard. The disease specific numbers are only filled
+	 * when the criteria contain a disease. Snapshots are cached for a short time per criteria and jurisdiction, so
+	 * the numbers can be a few seconds old.
+	 */
+	DashboardSnapshotDto getSnapshot(DashboardCriteria criteria);
 }
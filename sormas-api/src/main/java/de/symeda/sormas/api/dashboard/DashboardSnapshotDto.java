@@ -0,0 +1,148 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.disease.DiseaseBurdenDto;
+import de.symeda.sormas.api.event.EventStatus;
+import de.symeda.sormas.api.sample.PathogenTestResultType;
+
+/**
+ * Pre-aggregated numbers of the surveillance dashboard, so the UI does not need to load the cases and events to count
+ * them itself.
+ */
+public class DashboardSnapshotDto implements Serializable {
+
+	private static final long serialVersionUID = 6160390163326327419L;
+
+	// overall
+	private List<DiseaseBurdenDto> diseasesBurden = new ArrayList<>();
+
+	// disease specific
+	private long caseCount;
+	private Map<CaseClassification, Long> caseCountByClassification = new EnumMap<>(CaseClassification.class);
+	private long fatalCaseCount;
+	private long previousFatalCaseCount;
+	private String lastReportedDistrict = "";
+	private long outbreakDistrictCount;
+	private Map<EventStatus, Long> eventCountByStatus = new EnumMap<>(EventStatus.class);
+	private Map<PathogenTestResultType, Long> testResultCountByResultType = new EnumMap<>(PathogenTestResultType.class);
+	private long casesInQuarantineCount;
+	private long casesPlacedInQuarantineCount;
+	private long contactsConvertedToCaseCount;
+
+	public List<DiseaseBurdenDto> getDiseasesBurden() {
+		return diseasesBurden;
+	}
+
+	public void setDiseasesBurden(List<DiseaseBurdenDto> diseasesBurden) {
+		this.diseasesBurden = diseasesBurden;
+	}
+
+	public long getCaseCount() {
+		return caseCount;
+	}
+
+	public void setCaseCount(long caseCount) {
+		this.caseCount = caseCount;
+	}
+
+	public Map<CaseClassification, Long> getCaseCountByClassification() {
+		return caseCountByClassification;
+	}
+
+	public void setCaseCountByClassification(Map<CaseClassification, Long> caseCountByClassification) {
+		this.caseCountByClassification = caseCountByClassification;
+	}
+
+	public long getFatalCaseCount() {
+		return fatalCaseCount;
+	}
+
+	public void setFatalCaseCount(long fatalCaseCount) {
+		this.fatalCaseCount = fatalCaseCount;
+	}
+
+	public long getPreviousFatalCaseCount() {
+		return previousFatalCaseCount;
+	}
+
+	public void setPreviousFatalCaseCount(long previousFatalCaseCount) {
+		this.previousFatalCaseCount = previousFatalCaseCount;
+	}
+
+	public String getLastReportedDistrict() {
+		return lastReportedDistrict;
+	}
+
+	public void setLastReportedDistrict(String lastReportedDistrict) {
+		this.lastReportedDistrict = lastReportedDistrict;
+	}
+
+	public long getOutbreakDistrictCount() {
+		return outbreakDistrictCount;
+	}
+
+	public void setOutbreakDistrictCount(long outbreakDistrictCount) {
+		this.outbreakDistrictCount = outbreakDistrictCount;
+	}
+
+	public Map<EventStatus, Long> getEventCountByStatus() {
+		return eventCountByStatus;
+	}
+
+	public void setEventCountByStatus(Map<EventStatus, Long> eventCountByStatus) {
+		this.eventCountByStatus = eventCountByStatus;
+	}
+
+	public Map<PathogenTestResultType, Long> getTestResultCountByResultType() {
+		return testResultCountByResultType;
+	}
+
+	public void setTestResultCountByResultType(Map<PathogenTestResultType, Long> testResultCountByResultType) {
+		this.testResultCountByResultType = testResultCountByResultType;
+	}
+
+	public long getCasesInQuarantineCount() {
+		return casesInQuarantineCount;
+	}
+
+	public void setCasesInQuarantineCount(long casesInQuarantineCount) {
+		this.casesInQuarantineCount = casesInQuarantineCount;
+	}
+
+	public long getCasesPlacedInQuarantineCount() {
+		return casesPlacedInQuarantineCount;
+	}
+
+	public void setCasesPlacedInQuarantineCount(long casesPlacedInQuarantineCount) {
+		this.casesPlacedInQuarantineCount = casesPlacedInQuarantineCount;
+	}
+
+	public long getContactsConvertedToCaseCount() {
+		return contactsConvertedToCaseCount;
+	}
+
+	public void setContactsConvertedToCaseCount(long contactsConvertedToCaseCount) {
+		this.contactsConvertedToCaseCount = contactsConvertedToCaseCount;
+	}
+}
@@ -6,4 +6,10 @@ import javax.ejb.Remote;
 public interface InfrastructureFacade {
 
 	InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates);
+
+	/**
+	 * Used for the initial synchronization instead of pulling each type of infrastructure on its own.
+	 * The snapshot is built once and kept until the infrastructure is changed.
+	 */
+	InfrastructureSnapshotDto getInfrastructureSnapshot();
 }
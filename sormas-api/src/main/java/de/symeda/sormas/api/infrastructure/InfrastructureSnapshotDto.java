@@ -0,0 +1,46 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.api.infrastructure;
+
+import java.io.Serializable;
+
+/**
+ * All regions, districts, communities, facilities and points of entry as gzip compressed JSON of an
+ * {@link InfrastructureSyncDto}.
+ */
+public class InfrastructureSnapshotDto implements Serializable {
+
+	private static final long serialVersionUID = 4920315774609871530L;
+
+	private final long version;
+	private final byte[] data;
+
+	public InfrastructureSnapshotDto(long version, byte[] data) {
+		this.version = version;
+		this.data = data;
+	}
+
+	/**
+	 * @return the latest change date of the contained entities, which changes whenever the infrastructure is changed
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public byte[] getData() {
+		return data;
+	}
+}
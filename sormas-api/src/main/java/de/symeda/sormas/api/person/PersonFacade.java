@@ -33,6 +33,8 @@ public interface PersonFacade {
 
 	List<PersonDto> getPersonsAfter(Date date);
 
+	List<PersonDto> getPersonsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid);
+
 	List<PersonDto> getDeathsBetween(Date fromDate, Date toDate, DistrictReferenceDto districtRef, Disease disease);
 
 	PersonReferenceDto getReferenceByUuid(String uuid);
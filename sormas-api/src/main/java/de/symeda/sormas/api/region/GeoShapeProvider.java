@@ -17,6 +17,8 @@
  *******************************************************************************/
 package de.symeda.sormas.api.region;
 
+import java.util.List;
+
 import javax.ejb.Remote;
 
 @Remote
@@ -37,6 +39,13 @@ public interface GeoShapeProvider {
 
 	DistrictReferenceDto getDistrictByCoord(GeoLatLon latLon);
 
+	/**
+	 * Batch variant of {@link #getDistrictByCoord(GeoLatLon)}.
+	 * 
+	 * @return the district of each coordinate (null if none), in the order of the given coordinates
+	 */
+	List<DistrictReferenceDto> getDistrictsByCoords(List<GeoLatLon> latLons);
+
 	GeoLatLon getCenterOfDistrict(DistrictReferenceDto district);
 
 	GeoLatLon[][] getCountryShape();
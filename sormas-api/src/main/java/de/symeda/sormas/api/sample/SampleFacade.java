@@ -32,6 +32,8 @@ public interface SampleFacade {
 
 	List<SampleDto> getAllActiveSamplesAfter(Date date);
 
+	List<SampleDto> getAllActiveSamplesAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid);
+
 	List<SampleIndexDto> getIndexList(SampleCriteria sampleCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
 
 	List<SampleExportDto> getExportList(SampleCriteria sampleCriteria, int first, int max);
@@ -32,6 +32,8 @@ public interface VisitFacade {
 
 	List<VisitDto> getAllActiveVisitsAfter(Date date);
 
+	List<VisitDto> getAllActiveVisitsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid);
+
 	VisitDto getVisitByUuid(String uuid);
 
 	VisitDto saveVisit(VisitDto dto);
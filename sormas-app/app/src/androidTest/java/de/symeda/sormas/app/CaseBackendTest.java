@@ -287,6 +287,56 @@ public class CaseBackendTest {
 		assertThat(syncLogDao.countOf(), is(1L));
 	}
 
+	@Test
+	public void shouldKeepUnchangedAndOverrideConflictingValuesOnMerge() throws DaoException {
+		SyncLogDao syncLogDao = DatabaseHelper.getSyncLogDao();
+		assertThat(syncLogDao.countOf(), is(0L));
+
+		Case caze = TestEntityCreator.createCase();
+		String serverEpidNumber = caze.getEpidNumber();
+		assertNull(caze.getVaccination());
+
+		caze.setEpidNumber("AppEpidNumber");
+		caze.setAdditionalDetails("AppDetails");
+		DatabaseHelper.getCaseDao().saveAndSnapshot(caze);
+		DatabaseHelper.getPersonDao().saveAndSnapshot(caze.getPerson());
+
+		Case mergeCase = (Case) caze.clone();
+		mergeCase.setPerson((Person) caze.getPerson().clone());
+		mergeCase.getPerson().setAddress((Location) caze.getPerson().getAddress().clone());
+		mergeCase.setSymptoms((Symptoms) caze.getSymptoms().clone());
+		mergeCase.setHospitalization((Hospitalization) caze.getHospitalization().clone());
+		mergeCase.setEpiData((EpiData) caze.getEpiData().clone());
+		mergeCase.setId(null);
+		mergeCase.getPerson().setId(null);
+		mergeCase.getPerson().getAddress().setId(null);
+		mergeCase.getSymptoms().setId(null);
+		mergeCase.getHospitalization().setId(null);
+		mergeCase.getEpiData().setId(null);
+		mergeCase.getClinicalCourse().setId(null);
+		mergeCase.getPortHealthInfo().setId(null);
+		mergeCase.getTherapy().setId(null);
+		mergeCase.getClinicalCourse().getHealthConditions().setId(null);
+		mergeCase.getMaternalHistory().setId(null);
+
+		// The server did not change the epid number, but changed the details the app changed as well and the vaccination
+		mergeCase.setEpidNumber(serverEpidNumber);
+		mergeCase.setAdditionalDetails("ServerDetails");
+		mergeCase.setVaccination(Vaccination.VACCINATED);
+
+		DatabaseHelper.getCaseDao().mergeOrCreate(mergeCase);
+		DatabaseHelper.getPersonDao().mergeOrCreate(mergeCase.getPerson());
+
+		Case updatedCase = DatabaseHelper.getCaseDao().queryUuidWithEmbedded(caze.getUuid());
+		// Values the server did not change keep the local changes
+		assertThat(updatedCase.getEpidNumber(), is("AppEpidNumber"));
+		// Conflicting values are overridden by the server and logged
+		assertThat(updatedCase.getAdditionalDetails(), is("ServerDetails"));
+		// Values only changed on the server are taken over
+		assertThat(updatedCase.getVaccination(), is(Vaccination.VACCINATED));
+		assertThat(syncLogDao.countOf(), is(1L));
+	}
+
 	@Test
 	public void shouldUpdateCaseAndAssociatedEntitiesOnMove() throws DaoException {
 		CaseDao caseDao = DatabaseHelper.getCaseDao();
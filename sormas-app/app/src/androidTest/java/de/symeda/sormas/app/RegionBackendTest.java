@@ -18,8 +18,13 @@ package de.symeda.sormas.app;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -31,10 +36,16 @@ import org.junit.runner.RunWith;
 import androidx.test.rule.ActivityTestRule;
 import androidx.test.runner.AndroidJUnit4;
 
+import de.symeda.sormas.api.region.DistrictDto;
 import de.symeda.sormas.api.region.RegionDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.app.backend.common.DaoException;
 import de.symeda.sormas.app.backend.common.DatabaseHelper;
+import de.symeda.sormas.app.backend.region.District;
+import de.symeda.sormas.app.backend.region.DistrictDtoHelper;
+import de.symeda.sormas.app.backend.region.Region;
+import de.symeda.sormas.app.backend.region.RegionDao;
 import de.symeda.sormas.app.backend.region.RegionDtoHelper;
 
 @RunWith(AndroidJUnit4.class)
@@ -90,4 +101,81 @@ public class RegionBackendTest {
 		regionCount = DatabaseHelper.getRegionDao().countOf();
 		assertEquals(startRegionCount + 2, regionCount);
 	}
+
+	@Test
+	public void testHandlePulledListWithinPrefetchedChunk() throws DaoException {
+		long startRegionCount = DatabaseHelper.getRegionDao().countOf();
+
+		List<RegionDto> regions = new ArrayList<>();
+		// update of an existing region
+		RegionDto existingRegion = createRegionDto("Updated");
+		existingRegion.setUuid(TestHelper.REGION_UUID);
+		regions.add(existingRegion);
+		// new region that is contained twice - the second one has to update the region created by the first one
+		RegionDto newRegion = createRegionDto("TestA");
+		regions.add(newRegion);
+		RegionDto duplicateRegion = createRegionDto("TestB");
+		duplicateRegion.setUuid(newRegion.getUuid());
+		regions.add(duplicateRegion);
+
+		new RegionDtoHelper().handlePulledList(DatabaseHelper.getRegionDao(), regions);
+
+		assertEquals(startRegionCount + 1, DatabaseHelper.getRegionDao().countOf());
+		assertEquals("Updated", DatabaseHelper.getRegionDao().queryUuid(TestHelper.REGION_UUID).getName());
+		assertEquals("TestB", DatabaseHelper.getRegionDao().queryUuid(newRegion.getUuid()).getName());
+
+		// references to the new region are resolved by the prefetch of the next pull
+		List<DistrictDto> districts = new ArrayList<>();
+		DistrictDto district = DistrictDto.build();
+		TestDtoCreator.fillNewDto(district);
+		district.setName("TestDistrict");
+		district.setRegion(new RegionReferenceDto(newRegion.getUuid()));
+		districts.add(district);
+
+		new DistrictDtoHelper().handlePulledList(DatabaseHelper.getDistrictDao(), districts);
+
+		District pulledDistrict = DatabaseHelper.getDistrictDao().queryUuid(district.getUuid());
+		assertEquals(newRegion.getUuid(), pulledDistrict.getRegion().getUuid());
+	}
+
+	@Test
+	public void testPrefetchedRegionsAreKeptUpToDate() throws SQLException {
+		RegionDao regionDao = DatabaseHelper.getRegionDao();
+		String newUuid = DataHelper.createUuid();
+
+		try {
+			regionDao.prefetchUuids(Arrays.asList(TestHelper.REGION_UUID, newUuid, newUuid), true);
+
+			Region existingRegion = regionDao.queryUuid(TestHelper.REGION_UUID);
+			assertNotNull(existingRegion);
+			assertSame(existingRegion, regionDao.queryUuid(TestHelper.REGION_UUID));
+			assertNull(regionDao.querySnapshotByUuid(TestHelper.REGION_UUID));
+			assertNull(regionDao.queryUuid(newUuid));
+
+			// created within the prefetch
+			Region newRegion = new Region();
+			newRegion.setUuid(newUuid);
+			newRegion.setName("TestA");
+			newRegion.setCreationDate(new Date());
+			newRegion.setChangeDate(new Date());
+			regionDao.create(newRegion);
+			assertSame(newRegion, regionDao.queryUuid(newUuid));
+
+			// deleted within the prefetch
+			regionDao.delete(newRegion);
+			assertNull(regionDao.queryUuid(newUuid));
+		} finally {
+			regionDao.clearPrefetched();
+		}
+
+		assertNotNull(regionDao.queryUuid(TestHelper.REGION_UUID));
+		assertNull(regionDao.queryUuid(newUuid));
+	}
+
+	private RegionDto createRegionDto(String name) {
+		RegionDto region = RegionDto.build();
+		TestDtoCreator.fillNewDto(region);
+		region.setName(name);
+		return region;
+	}
 }
@@ -21,8 +21,12 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import javax.persistence.NonUniqueResultException;
@@ -44,7 +48,6 @@ import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.app.R;
-import de.symeda.sormas.app.backend.caze.Case;
 
 /**
  * Some methods are copied from {@link com.j256.ormlite.dao.RuntimeExceptionDao}.
@@ -53,7 +56,18 @@ import de.symeda.sormas.app.backend.caze.Case;
  */
 public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 
+	/**
+	 * Maximum number of uuids per IN query; SQLite does not allow more than 999 variables in a statement.
+	 */
+	private static final int PREFETCH_CHUNK_SIZE = 500;
+
 	private Dao<ADO, Long> dao;
+	private List<AdoMergeProperty> mergeProperties;
+	/**
+	 * Entities loaded in bulk by {@link #prefetchUuids(Collection, boolean)}. Only used by the thread that has done the
+	 * prefetch, so other threads never get the instances that are modified by a running merge.
+	 */
+	private final ThreadLocal<Prefetched<ADO>> prefetched = new ThreadLocal<>();
 
 	public AbstractAdoDao(Dao<ADO, Long> innerDao) {
 		this.dao = innerDao;
@@ -69,6 +83,11 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 	 */
 	public ADO queryUuid(String uuid) {
 
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched != null && prefetched.entities.containsKey(uuid)) {
+			return prefetched.entities.get(uuid);
+		}
+
 		try {
 
 			List<ADO> results = queryBuilder().where().eq(AbstractDomainObject.UUID, uuid).and().eq(AbstractDomainObject.SNAPSHOT, false).query();
@@ -174,6 +193,11 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 
 	public ADO querySnapshotByUuid(String uuid) {
 
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched != null && prefetched.snapshots.containsKey(uuid)) {
+			return prefetched.snapshots.get(uuid);
+		}
+
 		try {
 			List<ADO> results = queryBuilder().where().eq(AbstractDomainObject.UUID, uuid).and().eq(AbstractDomainObject.SNAPSHOT, true).query();
 			if (results.size() == 0) {
@@ -252,6 +276,76 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 		}
 	}
 
+	/**
+	 * Loads the entities with the given uuids with a few IN queries, so following calls of {@link #queryUuid(String)} (and
+	 * {@link #querySnapshotByUuid(String)}) by the current thread are answered from memory, including the ones for uuids
+	 * that do not exist. Entities created, updated or deleted through this DAO in the meantime are kept up to date.
+	 * Has to be followed by {@link #clearPrefetched()}.
+	 */
+	public void prefetchUuids(Collection<String> uuids, boolean includeSnapshots) {
+
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched == null) {
+			prefetched = new Prefetched<>();
+			this.prefetched.set(prefetched);
+		}
+
+		Set<String> missingUuids = new HashSet<>();
+		for (String uuid : uuids) {
+			if (uuid != null && !prefetched.entities.containsKey(uuid)) {
+				missingUuids.add(uuid);
+			}
+		}
+		if (missingUuids.isEmpty()) {
+			return;
+		}
+
+		try {
+			List<String> uuidList = new ArrayList<>(missingUuids);
+			for (int i = 0; i < uuidList.size(); i += PREFETCH_CHUNK_SIZE) {
+				List<String> chunk = uuidList.subList(i, Math.min(i + PREFETCH_CHUNK_SIZE, uuidList.size()));
+
+				Map<String, ADO> entities = new HashMap<>();
+				Map<String, ADO> snapshots = new HashMap<>();
+				Set<String> duplicateUuids = new HashSet<>();
+				for (ADO ado : queryBuilder().where().in(AbstractDomainObject.UUID, chunk).query()) {
+					ADO previous = ado.isSnapshot() ? snapshots.put(ado.getUuid(), ado) : entities.put(ado.getUuid(), ado);
+					if (previous != null) {
+						duplicateUuids.add(ado.getUuid());
+					}
+				}
+
+				for (String uuid : chunk) {
+					// leave duplicates to queryUuid, which reports them
+					if (!duplicateUuids.contains(uuid)) {
+						prefetched.entities.put(uuid, entities.get(uuid));
+						if (includeSnapshots) {
+							prefetched.snapshots.put(uuid, snapshots.get(uuid));
+						}
+					}
+				}
+			}
+		} catch (SQLException e) {
+			Log.e(getTableName(), "Could not perform prefetchUuids");
+			throw new RuntimeException(e);
+		}
+	}
+
+	public void clearPrefetched() {
+		prefetched.remove();
+	}
+
+	private void updatePrefetched(ADO ado, boolean deleted) {
+
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched != null) {
+			Map<String, ADO> prefetchedAdos = ado.isSnapshot() ? prefetched.snapshots : prefetched.entities;
+			if (prefetchedAdos.containsKey(ado.getUuid())) {
+				prefetchedAdos.put(ado.getUuid(), deleted ? null : ado);
+			}
+		}
+	}
+
 	public ADO getByReferenceDto(ReferenceDto dto) {
 		if (dto == null) {
 			return null;
@@ -547,6 +641,14 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 		}
 	}
 
+	private List<AdoMergeProperty> getMergeProperties() {
+
+		if (mergeProperties == null) {
+			mergeProperties = AdoMergeProperty.build(getAdoClass());
+		}
+		return mergeProperties;
+	}
+
 	private AbstractDomainObject mergeOrCreateWithCast(AbstractDomainObject ado) throws DaoException {
 		return mergeOrCreate((ADO) ado);
 	}
@@ -602,32 +704,23 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 				snapshot.setChangeDate(source.getChangeDate());
 			}
 
-			// ignore parent property
-			EmbeddedAdo annotation = source.getClass().getAnnotation(EmbeddedAdo.class);
-			String parentProperty = annotation != null ? annotation.parentAccessor() : "";
-
-			List<PropertyDescriptor> collectionProperties = null;
+			List<AdoMergeProperty> collectionProperties = null;
 
 			DatabaseHelper.getSyncLogDao().pushParentEntityName(sourceEntityString);
 
 			StringBuilder conflictStringBuilder = new StringBuilder();
-			for (PropertyDescriptor property : AdoPropertyHelper.getPropertyDescriptors(source.getClass())) {
-				// ignore some types and specific properties
-				if (!AdoPropertyHelper.isModifiableProperty(property)
-					|| parentProperty.equals(property.getName())
-					|| property.getReadMethod().isAnnotationPresent(JoinTableReference.class)
-					|| Case.COMPLETENESS.equals(property.getName()))
-					continue;
+			for (AdoMergeProperty property : getMergeProperties()) {
 
 				// we now have to write the value from source into target and base
 				// there are four types of properties:
 
+				switch (property.getKind()) {
 				// 1. embedded domain objects like a Location or Symptoms
 				// -> call merge for the object
-				if (AdoPropertyHelper.hasEmbeddedAnnotation(property)) {
+				case EMBEDDED:
 
 					// get the embedded entity
-					AbstractDomainObject embeddedSource = (AbstractDomainObject) property.getReadMethod().invoke(source);
+					AbstractDomainObject embeddedSource = (AbstractDomainObject) property.read(source);
 
 					if (embeddedSource != null) {
 						// merge it - will return the merged result
@@ -638,28 +731,28 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 							throw new IllegalArgumentException("No merge result was created for " + embeddedSource);
 						}
 						// write link for merged embedded
-						property.getWriteMethod().invoke(current, embeddedCurrent);
+						property.write(current, embeddedCurrent);
 					}
-				}
+					break;
+
 				// 2. "value" types like String, Date, Enum, ...
 				// -> just copy value from source into target and base
 				// 3. reference domain objects like a reference to a Person or a District
 				// -> just copy reference value from source into target and base
-				else if (DataHelper.isValueType(property.getPropertyType())
-					|| AbstractDomainObject.class.isAssignableFrom(property.getPropertyType())) {
+				case VALUE:
 
-					Object sourceFieldValue = property.getReadMethod().invoke(source);
+					Object sourceFieldValue = property.read(source);
 
 					if (current.isModified() && snapshot != null) {
 						// did the server send changes?
-						Object snapshotFieldValue = property.getReadMethod().invoke(snapshot);
+						Object snapshotFieldValue = property.read(snapshot);
 						if (DataHelper.equal(snapshotFieldValue, sourceFieldValue)) {
 							continue;
 						}
 
 						// did we change anything and is the server data different from ours?
 						// - two persons may have set the exact same data
-						Object currentFieldValue = property.getReadMethod().invoke(current);
+						Object currentFieldValue = property.read(current);
 						if (!DataHelper.equal(snapshotFieldValue, currentFieldValue) && !DataHelper.equal(currentFieldValue, sourceFieldValue)) {
 							// we have a conflict
 							Log.i(
@@ -681,14 +774,15 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 						}
 
 						// update snapshot
-						property.getWriteMethod().invoke(snapshot, sourceFieldValue);
+						property.write(snapshot, sourceFieldValue);
 					}
 
 					// update result
-					property.getWriteMethod().invoke(current, sourceFieldValue);
-				}
+					property.write(current, sourceFieldValue);
+					break;
+
 				// 4. lists of embedded domain objects
-				else if (Collection.class.isAssignableFrom(property.getPropertyType())) {
+				case COLLECTION:
 
 					// merging lists is done after entity is saved
 					if (collectionProperties == null) {
@@ -697,10 +791,10 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 					collectionProperties.add(property);
 
 					// TODO: DA WEITER OBEN MUSS SCHON GECHECKT WERDEN, OB ES EINE COLLECTION VON ENUMS IST, WENN JA DANN MACH DAS ANDERE -> ELEMENT TYPE RAUSFINDEN
+					break;
 
-				} else {
-					// Other objects are not supported
-					throw new UnsupportedOperationException(property.getPropertyType().getName() + " is not supported as a property type.");
+				default:
+					throw new IllegalArgumentException(property.getKind().toString());
 				}
 			}
 
@@ -725,11 +819,11 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 
 				DatabaseHelper.getSyncLogDao().pushParentEntityName(sourceEntityString);
 
-				for (PropertyDescriptor property : collectionProperties) {
+				for (AdoMergeProperty property : collectionProperties) {
 
 					// merge all collection elements - do this after saving because elements reference their parent
-					Collection<AbstractDomainObject> currentCollection = (Collection<AbstractDomainObject>) property.getReadMethod().invoke(current);
-					Collection<AbstractDomainObject> sourceCollection = (Collection<AbstractDomainObject>) property.getReadMethod().invoke(source);
+					Collection<AbstractDomainObject> currentCollection = (Collection<AbstractDomainObject>) property.read(current);
+					Collection<AbstractDomainObject> sourceCollection = (Collection<AbstractDomainObject>) property.read(source);
 					mergeCollection(currentCollection, sourceCollection, current);
 				}
 
@@ -1204,6 +1298,7 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 			throw new SQLException(
 				"Database entry was not created. Go back and try again.\n" + "Type: " + data.getClass().getSimpleName() + ", UUID: "
 					+ data.getUuid());
+		updatePrefetched(data, false);
 //        } catch (SQLException e) {
 //            throw new RuntimeException(e);
 //        }
@@ -1216,6 +1311,7 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 		if (data == null)
 			return;
 		dao.update(data);
+		updatePrefetched(data, false);
 		// #1124 returns 0 when nothing has changed
 //        if (resultRowCount < 1) {
 //            throw new SQLException("Database entry was not updated - update all entered fields and save again.\n" +
@@ -1247,6 +1343,7 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 			throw new SQLException(
 				"Database entry was not deleted - go back and try again.\n" + "Type: " + data.getClass().getSimpleName() + ", UUID: "
 					+ data.getUuid());
+		updatePrefetched(data, true);
 //        } catch (SQLException e) {
 //            throw new RuntimeException(e);
 //        }
@@ -1295,4 +1392,13 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 	public ConnectionSource getConnectionSource() {
 		return dao.getConnectionSource();
 	}
+
+	private static class Prefetched<ADO extends AbstractDomainObject> {
+
+		/**
+		 * null values for uuids that have been looked up but don't exist
+		 */
+		private final Map<String, ADO> entities = new HashMap<>();
+		private final Map<String, ADO> snapshots = new HashMap<>();
+	}
 }
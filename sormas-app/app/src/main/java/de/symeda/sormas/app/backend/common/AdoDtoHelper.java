@@ -21,7 +21,12 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
@@ -30,6 +35,7 @@ import android.util.Log;
 
 import de.symeda.sormas.api.EntityDto;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.app.backend.config.ConfigProvider;
 import de.symeda.sormas.app.rest.NoConnectionException;
 import de.symeda.sormas.app.rest.RetroProvider;
 import de.symeda.sormas.app.rest.ServerCommunicationException;
@@ -42,12 +48,27 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 
 	private static final Logger logger = LoggerFactory.getLogger(AdoDtoHelper.class);
 
+	/**
+	 * Number of entities pulled and committed at once by {@link #pullEntities(boolean)}.
+	 */
+	public static final int PULL_PAGE_SIZE = 500;
+
 	protected abstract Class<ADO> getAdoClass();
 
 	protected abstract Class<DTO> getDtoClass();
 
 	protected abstract Call<List<DTO>> pullAllSince(long since) throws NoConnectionException;
 
+	/**
+	 * Paged variant of {@link #pullAllSince(long)}: The next page of up to {@code size} entities following the entity
+	 * with the given change date and uuid (the last one of the previous page, null for the first page).
+	 *
+	 * @return null, when the entities are not pulled in pages
+	 */
+	protected Call<List<DTO>> pullPageSince(long since, int size, Long lastChangeDate, String lastUuid) throws NoConnectionException {
+		return null;
+	}
+
 	/**
 	 * Explicitly pull missing entities.
 	 * This is needed, because entities are synced based on user access rights and these might change
@@ -79,20 +100,13 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		try {
 			final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
 
-			Date maxModifiedDate = dao.getLatestChangeDate();
-			Call<List<DTO>> dtoCall = pullAllSince(maxModifiedDate != null ? maxModifiedDate.getTime() : 0);
-			if (dtoCall == null) {
-				return;
+			PendingPull pull = prefetchedPull;
+			prefetchedPull = null;
+			if (pull == null) {
+				Date maxModifiedDate = dao.getLatestChangeDate();
+				pull = startPull(dao, maxModifiedDate != null ? maxModifiedDate.getTime() : 0, true);
 			}
-
-			Response<List<DTO>> response;
-			try {
-				response = dtoCall.execute();
-			} catch (IOException e) {
-				throw new ServerCommunicationException(e);
-			}
-
-			handlePullResponse(markAsRead, dao, response);
+			completePull(markAsRead, dao, pull);
 
 		} catch (RuntimeException e) {
 			Log.e(getClass().getName(), "Exception thrown when trying to pull entities");
@@ -100,27 +114,109 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		}
 	}
 
+	/**
+	 * Sends the first request of the next {@link #pullEntities(boolean)} using the given executor, so the server can
+	 * be queried for several entity types at the same time. The response is only stored in the local database when
+	 * pullEntities is called, which keeps the order in which dependent entities are written.
+	 */
+	public void prefetchEntities(ExecutorService executor) throws NoConnectionException {
+
+		final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
+
+		Date maxModifiedDate = dao.getLatestChangeDate();
+		PendingPull pull = startPull(dao, maxModifiedDate != null ? maxModifiedDate.getTime() : 0, true);
+		if (pull.call != null) {
+			pull.response = executor.submit(() -> executePull(pull.call));
+		}
+		prefetchedPull = pull;
+	}
+
 	public void repullEntities() throws DaoException, ServerCommunicationException, ServerConnectionException, NoConnectionException {
 		try {
 			final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
 
-			Call<List<DTO>> dtoCall = pullAllSince(0);
-			if (dtoCall == null) {
+			completePull(false, dao, startPull(dao, 0, false));
+
+		} catch (RuntimeException e) {
+			Log.e(getClass().getName(), "Exception thrown when trying to pull entities");
+			throw new DaoException(e);
+		}
+	}
+
+	/**
+	 * Creates the call for the first request of a pull. The entities are pulled page by page when
+	 * {@link #pullPageSince(long, int, Long, String)} is supported, otherwise all at once.
+	 *
+	 * @param resume
+	 *            whether to continue an interrupted pull instead of pulling since the given date
+	 */
+	private PendingPull startPull(final AbstractAdoDao<ADO> dao, long since, boolean resume) throws NoConnectionException {
+
+		Long lastChangeDate = null;
+		String lastUuid = null;
+		String storedCursor = ConfigProvider.getPullCursor(dao.getTableName());
+		if (resume && storedCursor != null) {
+			String[] cursor = storedCursor.split(";", 3);
+			since = Long.parseLong(cursor[0]);
+			lastChangeDate = Long.parseLong(cursor[1]);
+			lastUuid = cursor[2];
+		}
+
+		Call<List<DTO>> pageCall = pullPageSince(since, PULL_PAGE_SIZE, lastChangeDate, lastUuid);
+		if (pageCall != null) {
+			return new PendingPull(since, pageCall, true);
+		}
+		return new PendingPull(since, pullAllSince(since), false);
+	}
+
+	/**
+	 * Stores the result of the pull and requests the following pages. Each page is committed on its own and its cursor
+	 * is stored, so a pull that has been interrupted continues after the last committed page.
+	 */
+	private void completePull(final boolean markAsRead, final AbstractAdoDao<ADO> dao, PendingPull pull)
+		throws DaoException, ServerCommunicationException, ServerConnectionException, NoConnectionException {
+
+		if (pull.call == null) {
+			return;
+		}
+		if (!pull.paged) {
+			handlePullResponse(markAsRead, dao, pull.getResponse());
+			return;
+		}
+
+		Response<List<DTO>> response = pull.getResponse();
+		while (true) {
+			if (!response.isSuccessful()) {
+				RetroProvider.throwException(response);
+			}
+
+			List<DTO> page = response.body();
+			if (page == null || page.isEmpty()) {
+				ConfigProvider.setPullCursor(dao.getTableName(), null);
 				return;
 			}
 
-			Response<List<DTO>> response;
-			try {
-				response = dtoCall.execute();
-			} catch (IOException e) {
-				throw new ServerCommunicationException(e);
+			// the cursor has to be taken before the page may be reordered by preparePulledResult
+			DTO last = page.get(page.size() - 1);
+			long lastChangeDate = last.getChangeDate().getTime();
+			String lastUuid = last.getUuid();
+			handlePulledList(dao, page);
+
+			if (page.size() < PULL_PAGE_SIZE) {
+				ConfigProvider.setPullCursor(dao.getTableName(), null);
+				return;
 			}
+			ConfigProvider.setPullCursor(dao.getTableName(), pull.since + ";" + lastChangeDate + ";" + lastUuid);
 
-			handlePullResponse(false, dao, response);
+			response = executePull(pullPageSince(pull.since, PULL_PAGE_SIZE, lastChangeDate, lastUuid));
+		}
+	}
 
-		} catch (RuntimeException e) {
-			Log.e(getClass().getName(), "Exception thrown when trying to pull entities");
-			throw new DaoException(e);
+	private Response<List<DTO>> executePull(Call<List<DTO>> dtoCall) throws ServerCommunicationException {
+		try {
+			return dtoCall.execute();
+		} catch (IOException e) {
+			throw new ServerCommunicationException(e);
 		}
 	}
 
@@ -144,12 +240,23 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		preparePulledResult(result);
 		dao.callBatchTasks((Callable<Void>) () -> {
 //            boolean empty = dao.countOf() == 0;
-			for (DTO dto : result) {
-				handlePulledDto(dao, dto);
-				// TODO #704
+			for (int i = 0; i < result.size(); i += PULL_PAGE_SIZE) {
+				List<DTO> chunk = result.subList(i, Math.min(i + PULL_PAGE_SIZE, result.size()));
+				// load the existing entities and referenced infrastructure of the chunk at once instead of one by one while merging
+				List<AbstractAdoDao<?>> prefetchedDaos = prefetchForMerge(dao, chunk);
+				try {
+					for (DTO dto : chunk) {
+						handlePulledDto(dao, dto);
+						// TODO #704
 //                        if (entity != null && markAsRead) {
 //                            dao.markAsRead(entity);
 //                        }
+					}
+				} finally {
+					for (AbstractAdoDao<?> prefetchedDao : prefetchedDaos) {
+						prefetchedDao.clearPrefetched();
+					}
+				}
 			}
 			return null;
 		});
@@ -158,6 +265,31 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		return result.size();
 	}
 
+	/**
+	 * @return the DAOs that have prefetched entities and need to be cleared after the merge
+	 */
+	private List<AbstractAdoDao<?>> prefetchForMerge(AbstractAdoDao<ADO> dao, List<DTO> dtos) {
+
+		List<AbstractAdoDao<?>> prefetchedDaos = new ArrayList<>();
+
+		List<String> uuids = new ArrayList<>(dtos.size());
+		for (DTO dto : dtos) {
+			uuids.add(dto.getUuid());
+		}
+		dao.prefetchUuids(uuids, true);
+		prefetchedDaos.add(dao);
+
+		for (Map.Entry<Class<? extends AbstractDomainObject>, Set<String>> references : PulledReferences.collect(dtos).entrySet()) {
+			AbstractAdoDao<?> referenceDao = DatabaseHelper.getAdoDao(references.getKey());
+			referenceDao.prefetchUuids(references.getValue(), false);
+			if (referenceDao != dao) {
+				prefetchedDaos.add(referenceDao);
+			}
+		}
+
+		return prefetchedDaos;
+	}
+
 	/**
 	 * @return The resulting entity. May be null!
 	 */
@@ -168,6 +300,8 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 
 	private int pushedTooOldCount, pushedErrorCount;
 
+	private PendingPull prefetchedPull;
+
 	/**
 	 * @return true: another pull is needed, because data has been changed on the server
 	 */
@@ -313,4 +447,40 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		dto.setCreationDate(ado.getCreationDate());
 		dto.setUuid(ado.getUuid());
 	}
+
+	/**
+	 * The first request of a pull, which may already have been sent by {@link #prefetchEntities(ExecutorService)}.
+	 */
+	private class PendingPull {
+
+		private final long since;
+		private final Call<List<DTO>> call;
+		private final boolean paged;
+		private Future<Response<List<DTO>>> response;
+
+		private PendingPull(long since, Call<List<DTO>> call, boolean paged) {
+			this.since = since;
+			this.call = call;
+			this.paged = paged;
+		}
+
+		private Response<List<DTO>> getResponse() throws ServerCommunicationException {
+
+			if (response == null) {
+				return executePull(call);
+			}
+
+			try {
+				return response.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ServerCommunicationException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof ServerCommunicationException) {
+					throw (ServerCommunicationException) e.getCause();
+				}
+				throw new ServerCommunicationException(e.getCause());
+			}
+		}
+	}
 }
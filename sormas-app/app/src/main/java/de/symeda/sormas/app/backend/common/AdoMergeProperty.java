@@ -0,0 +1,113 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.app.backend.common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.googlecode.openbeans.PropertyDescriptor;
+
+import de.symeda.sormas.api.utils.DataHelper;
+import de.symeda.sormas.app.backend.caze.Case;
+
+/**
+ * A property that is merged by {@link AbstractAdoDao#mergeOrCreate(AbstractDomainObject)}, with its kind and accessors
+ * determined once per ADO class. This way the (slow) bean introspection and annotation lookups are not repeated for every
+ * property of every merged entity.
+ */
+final class AdoMergeProperty {
+
+	enum Kind {
+		/**
+		 * embedded domain objects like a Location or Symptoms
+		 */
+		EMBEDDED,
+		/**
+		 * "value" types like String, Date, Enum, ... and reference domain objects like a reference to a Person or a District
+		 */
+		VALUE,
+		/**
+		 * lists of embedded domain objects
+		 */
+		COLLECTION
+	}
+
+	private final String name;
+	private final Kind kind;
+	private final Method readMethod;
+	private final Method writeMethod;
+
+	private AdoMergeProperty(String name, Kind kind, Method readMethod, Method writeMethod) {
+		this.name = name;
+		this.kind = kind;
+		this.readMethod = readMethod;
+		this.writeMethod = writeMethod;
+	}
+
+	static List<AdoMergeProperty> build(Class<? extends AbstractDomainObject> adoClass) {
+
+		// ignore parent property
+		EmbeddedAdo annotation = adoClass.getAnnotation(EmbeddedAdo.class);
+		String parentProperty = annotation != null ? annotation.parentAccessor() : "";
+
+		List<AdoMergeProperty> mergeProperties = new ArrayList<>();
+		for (PropertyDescriptor property : AdoPropertyHelper.getPropertyDescriptors(adoClass)) {
+			// ignore some types and specific properties
+			if (!AdoPropertyHelper.isModifiableProperty(property)
+				|| parentProperty.equals(property.getName())
+				|| property.getReadMethod().isAnnotationPresent(JoinTableReference.class)
+				|| Case.COMPLETENESS.equals(property.getName()))
+				continue;
+
+			Kind kind;
+			if (AdoPropertyHelper.hasEmbeddedAnnotation(property)) {
+				kind = Kind.EMBEDDED;
+			} else if (DataHelper.isValueType(property.getPropertyType())
+				|| AbstractDomainObject.class.isAssignableFrom(property.getPropertyType())) {
+				kind = Kind.VALUE;
+			} else if (Collection.class.isAssignableFrom(property.getPropertyType())) {
+				kind = Kind.COLLECTION;
+			} else {
+				// Other objects are not supported
+				throw new UnsupportedOperationException(property.getPropertyType().getName() + " is not supported as a property type.");
+			}
+
+			mergeProperties.add(new AdoMergeProperty(property.getName(), kind, property.getReadMethod(), property.getWriteMethod()));
+		}
+
+		return Collections.unmodifiableList(mergeProperties);
+	}
+
+	String getName() {
+		return name;
+	}
+
+	Kind getKind() {
+		return kind;
+	}
+
+	Object read(AbstractDomainObject ado) throws InvocationTargetException, IllegalAccessException {
+		return readMethod.invoke(ado);
+	}
+
+	void write(AbstractDomainObject ado, Object value) throws InvocationTargetException, IllegalAccessException {
+		writeMethod.invoke(ado, value);
+	}
+}
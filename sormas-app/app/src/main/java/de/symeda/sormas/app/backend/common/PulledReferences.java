@@ -0,0 +1,158 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.app.backend.common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.googlecode.openbeans.IntrospectionException;
+import com.googlecode.openbeans.Introspector;
+import com.googlecode.openbeans.PropertyDescriptor;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.facility.FacilityReferenceDto;
+import de.symeda.sormas.api.infrastructure.PointOfEntryReferenceDto;
+import de.symeda.sormas.api.region.CommunityReferenceDto;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.api.user.UserReferenceDto;
+import de.symeda.sormas.app.backend.facility.Facility;
+import de.symeda.sormas.app.backend.infrastructure.PointOfEntry;
+import de.symeda.sormas.app.backend.region.Community;
+import de.symeda.sormas.app.backend.region.District;
+import de.symeda.sormas.app.backend.region.Region;
+import de.symeda.sormas.app.backend.user.User;
+
+/**
+ * Collects the uuids of the infrastructure and users referenced by pulled DTOs (including their embedded DTOs), so they
+ * can be prefetched before the DTOs are merged.
+ */
+final class PulledReferences {
+
+	private static final Map<Class<? extends ReferenceDto>, Class<? extends AbstractDomainObject>> PREFETCHED_REFERENCE_TYPES = new HashMap<>();
+
+	static {
+		PREFETCHED_REFERENCE_TYPES.put(RegionReferenceDto.class, Region.class);
+		PREFETCHED_REFERENCE_TYPES.put(DistrictReferenceDto.class, District.class);
+		PREFETCHED_REFERENCE_TYPES.put(CommunityReferenceDto.class, Community.class);
+		PREFETCHED_REFERENCE_TYPES.put(FacilityReferenceDto.class, Facility.class);
+		PREFETCHED_REFERENCE_TYPES.put(PointOfEntryReferenceDto.class, PointOfEntry.class);
+		PREFETCHED_REFERENCE_TYPES.put(UserReferenceDto.class, User.class);
+	}
+
+	private static final ConcurrentHashMap<Class<?>, DtoProperties> dtoPropertiesCache = new ConcurrentHashMap<>();
+
+	/**
+	 * @return the referenced uuids by entity class
+	 */
+	static Map<Class<? extends AbstractDomainObject>, Set<String>> collect(List<? extends EntityDto> dtos) {
+
+		Map<Class<? extends AbstractDomainObject>, Set<String>> references = new HashMap<>();
+		Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		try {
+			for (EntityDto dto : dtos) {
+				collect(dto, references, visited);
+			}
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+		return references;
+	}
+
+	private static void collect(Object dto, Map<Class<? extends AbstractDomainObject>, Set<String>> references, Set<Object> visited)
+		throws InvocationTargetException, IllegalAccessException {
+
+		if (dto == null || !visited.add(dto)) {
+			return;
+		}
+
+		DtoProperties properties = getDtoProperties(dto.getClass());
+
+		for (Map.Entry<Method, Class<? extends AbstractDomainObject>> referenceProperty : properties.references.entrySet()) {
+			ReferenceDto reference = (ReferenceDto) referenceProperty.getKey().invoke(dto);
+			if (reference != null) {
+				Set<String> uuids = references.get(referenceProperty.getValue());
+				if (uuids == null) {
+					uuids = new HashSet<>();
+					references.put(referenceProperty.getValue(), uuids);
+				}
+				uuids.add(reference.getUuid());
+			}
+		}
+
+		for (Method embeddedProperty : properties.embedded) {
+			collect(embeddedProperty.invoke(dto), references, visited);
+		}
+
+		for (Method collectionProperty : properties.collections) {
+			Collection<?> elements = (Collection<?>) collectionProperty.invoke(dto);
+			if (elements != null) {
+				for (Object element : elements) {
+					if (element instanceof EntityDto) {
+						collect(element, references, visited);
+					}
+				}
+			}
+		}
+	}
+
+	private static DtoProperties getDtoProperties(Class<?> dtoClass) {
+
+		DtoProperties properties = dtoPropertiesCache.get(dtoClass);
+		if (properties == null) {
+			properties = new DtoProperties();
+			try {
+				for (PropertyDescriptor property : Introspector.getBeanInfo(dtoClass).getPropertyDescriptors()) {
+					Method readMethod = property.getReadMethod();
+					Class<?> propertyType = property.getPropertyType();
+					if (readMethod == null || propertyType == null) {
+						continue;
+					}
+
+					if (PREFETCHED_REFERENCE_TYPES.containsKey(propertyType)) {
+						properties.references.put(readMethod, PREFETCHED_REFERENCE_TYPES.get(propertyType));
+					} else if (EntityDto.class.isAssignableFrom(propertyType)) {
+						properties.embedded.add(readMethod);
+					} else if (Collection.class.isAssignableFrom(propertyType)) {
+						properties.collections.add(readMethod);
+					}
+				}
+			} catch (IntrospectionException e) {
+				throw new RuntimeException(e);
+			}
+			dtoPropertiesCache.put(dtoClass, properties);
+		}
+		return properties;
+	}
+
+	private static class DtoProperties {
+
+		private final Map<Method, Class<? extends AbstractDomainObject>> references = new HashMap<>();
+		private final List<Method> embedded = new ArrayList<>();
+		private final List<Method> collections = new ArrayList<>();
+	}
+}
@@ -79,6 +79,7 @@ public final class ConfigProvider {
 	private static String CURRENT_APP_DOWNLOAD_ID = "currentAppDownloadId";
 	private static String SERVER_LOCALE = "locale";
 	private static String INITIAL_SYNC_REQUIRED = "initialSyncRequired";
+	private static String PULL_CURSOR = "pullCursor_";
 
 	private static final String FULL_COUNTRY_LOCALE_PATTERN = "[a-zA-Z]*-[a-zA-Z]*";
 
@@ -729,4 +730,16 @@ public final class ConfigProvider {
 		instance.initialSyncRequired = initialSyncRequired;
 		DatabaseHelper.getConfigDao().createOrUpdate(new Config(INITIAL_SYNC_REQUIRED, String.valueOf(initialSyncRequired)));
 	}
+
+	/**
+	 * @return the cursor of the paged pull of the given entity table that has not been completed yet or null
+	 */
+	public static String getPullCursor(String tableName) {
+		Config config = DatabaseHelper.getConfigDao().queryForId(PULL_CURSOR + tableName);
+		return config != null ? config.getValue() : null;
+	}
+
+	public static void setPullCursor(String tableName, String cursor) {
+		saveConfigEntry(PULL_CURSOR + tableName, cursor);
+	}
 }
@@ -66,6 +66,11 @@ public class ContactDtoHelper extends AdoDtoHelper<Contact, ContactDto> {
 		return RetroProvider.getContactFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<List<ContactDto>> pullPageSince(long since, int size, Long lastChangeDate, String lastUuid) throws NoConnectionException {
+		return RetroProvider.getContactFacade().pullPageSince(since, size, lastChangeDate, lastUuid);
+	}
+
 	@Override
 	protected Call<List<ContactDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getContactFacade().pullByUuids(uuids);
@@ -38,12 +38,20 @@ public class InfrastructureHelper {
 		return changeDates;
 	}
 
-	public static void handlePulledInfrastructureData(InfrastructureSyncDto infrastructureData) throws DaoException {
+	/**
+	 * Handles the regions, districts, communities, facilities and points of entry, as they are contained in the
+	 * infrastructure snapshot as well as in the infrastructure changes.
+	 */
+	public static void handlePulledGeographicInfrastructure(InfrastructureSyncDto infrastructureData) throws DaoException {
 		new RegionDtoHelper().handlePulledList(DatabaseHelper.getRegionDao(), infrastructureData.getRegions());
 		new DistrictDtoHelper().handlePulledList(DatabaseHelper.getDistrictDao(), infrastructureData.getDistricts());
 		new CommunityDtoHelper().handlePulledList(DatabaseHelper.getCommunityDao(), infrastructureData.getCommunities());
 		new FacilityDtoHelper().handlePulledList(DatabaseHelper.getFacilityDao(), infrastructureData.getFacilities());
 		new PointOfEntryDtoHelper().handlePulledList(DatabaseHelper.getPointOfEntryDao(), infrastructureData.getPointsOfEntry());
+	}
+
+	public static void handlePulledInfrastructureData(InfrastructureSyncDto infrastructureData) throws DaoException {
+		handlePulledGeographicInfrastructure(infrastructureData);
 		new UserDtoHelper().handlePulledList(DatabaseHelper.getUserDao(), infrastructureData.getUsers());
 		new DiseaseClassificationDtoHelper()
 			.handlePulledList(DatabaseHelper.getDiseaseClassificationCriteriaDao(), infrastructureData.getDiseaseClassifications());
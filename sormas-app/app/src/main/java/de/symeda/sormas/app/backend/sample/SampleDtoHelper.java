@@ -52,6 +52,11 @@ public class SampleDtoHelper extends AdoDtoHelper<Sample, SampleDto> {
 		return RetroProvider.getSampleFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<List<SampleDto>> pullPageSince(long since, int size, Long lastChangeDate, String lastUuid) throws NoConnectionException {
+		return RetroProvider.getSampleFacade().pullPageSince(since, size, lastChangeDate, lastUuid);
+	}
+
 	@Override
 	protected Call<List<SampleDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getSampleFacade().pullByUuids(uuids);
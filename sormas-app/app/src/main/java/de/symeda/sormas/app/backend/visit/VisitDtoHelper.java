@@ -51,6 +51,11 @@ public class VisitDtoHelper extends AdoDtoHelper<Visit, VisitDto> {
 		return RetroProvider.getVisitFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<List<VisitDto>> pullPageSince(long since, int size, Long lastChangeDate, String lastUuid) throws NoConnectionException {
+		return RetroProvider.getVisitFacade().pullPageSince(since, size, lastChangeDate, lastUuid);
+	}
+
 	@Override
 	protected Call<List<VisitDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getVisitFacade().pullByUuids(uuids);
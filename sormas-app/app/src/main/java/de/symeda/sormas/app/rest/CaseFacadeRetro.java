@@ -24,12 +24,20 @@ import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 public interface CaseFacadeRetro {
 
 	@GET("cases/all/{since}")
 	Call<List<CaseDataDto>> pullAllSince(@Path("since") long since);
 
+	@GET("cases/all/{since}/{size}")
+	Call<List<CaseDataDto>> pullPageSince(
+		@Path("since") long since,
+		@Path("size") int size,
+		@Query("lastChangeDate") Long lastChangeDate,
+		@Query("lastUuid") String lastUuid);
+
 	@POST("cases/query")
 	Call<List<CaseDataDto>> pullByUuids(@Body List<String> uuids);
 
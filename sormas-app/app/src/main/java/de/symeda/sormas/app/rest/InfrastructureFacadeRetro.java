@@ -4,6 +4,7 @@ import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
+import retrofit2.http.GET;
 import retrofit2.http.POST;
 
 public interface InfrastructureFacadeRetro {
@@ -11,4 +12,10 @@ public interface InfrastructureFacadeRetro {
 	@POST("infrastructure/sync")
 	Call<InfrastructureSyncDto> pullInfrastructureSyncData(@Body InfrastructureChangeDatesDto changeDates);
 
+	/**
+	 * Regions, districts, communities, facilities and points of entry in one (compressed) download.
+	 */
+	@GET("infrastructure/snapshot")
+	Call<InfrastructureSyncDto> pullInfrastructureSnapshot();
+
 }
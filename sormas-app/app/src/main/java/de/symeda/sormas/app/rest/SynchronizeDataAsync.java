@@ -17,8 +17,12 @@ package de.symeda.sormas.app.rest;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.google.firebase.perf.FirebasePerformance;
 import com.google.firebase.perf.metrics.AddTrace;
@@ -39,6 +43,7 @@ import de.symeda.sormas.app.backend.campaign.form.CampaignFormMetaDtoHelper;
 import de.symeda.sormas.app.backend.caze.CaseDtoHelper;
 import de.symeda.sormas.app.backend.classification.DiseaseClassificationDtoHelper;
 import de.symeda.sormas.app.backend.clinicalcourse.ClinicalVisitDtoHelper;
+import de.symeda.sormas.app.backend.common.AdoDtoHelper;
 import de.symeda.sormas.app.backend.common.DaoException;
 import de.symeda.sormas.app.backend.common.DatabaseHelper;
 import de.symeda.sormas.app.backend.config.ConfigProvider;
@@ -74,6 +79,11 @@ import retrofit2.Response;
 
 public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 
+	/**
+	 * Number of entity types that are pulled from the server at the same time.
+	 */
+	private static final int CONCURRENT_PULLS = 4;
+
 	/**
 	 * Should be set to true when the synchronization fails and reset to false as soon
 	 * as the last callback is called (i.e. the synchronization has been completed/cancelled).
@@ -251,65 +261,106 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 		TreatmentDtoHelper treatmentDtoHelper = new TreatmentDtoHelper();
 		ClinicalVisitDtoHelper clinicalVisitDtoHelper = new ClinicalVisitDtoHelper();
 
-		// order is important, due to dependencies (e.g. case & person)
-
-		new OutbreakDtoHelper().pullEntities(false);
-		new DiseaseConfigurationDtoHelper().pullEntities(false);
+		OutbreakDtoHelper outbreakDtoHelper = new OutbreakDtoHelper();
+		DiseaseConfigurationDtoHelper diseaseConfigurationDtoHelper = new DiseaseConfigurationDtoHelper();
+		CampaignFormDataDtoHelper campaignFormDataDtoHelper =
+			DatabaseHelper.getFeatureConfigurationDao().isFeatureDisabled(FeatureType.CAMPAIGNS) ? null : new CampaignFormDataDtoHelper();
 
-		boolean personsNeedPull = personDtoHelper.pullAndPushEntities();
-		boolean casesNeedPull = caseDtoHelper.pullAndPushEntities();
-		boolean eventsNeedPull = eventDtoHelper.pullAndPushEntities();
-		boolean eventParticipantsNeedPull = eventParticipantDtoHelper.pullAndPushEntities();
-		boolean samplesNeedPull = sampleDtoHelper.pullAndPushEntities();
-		boolean sampleTestsNeedPull = pathogenTestDtoHelper.pullAndPushEntities();
-		boolean additionalTestsNeedPull = additionalTestDtoHelper.pullAndPushEntities();
-		boolean contactsNeedPull = contactDtoHelper.pullAndPushEntities();
-		boolean visitsNeedPull = visitDtoHelper.pullAndPushEntities();
-		boolean tasksNeedPull = taskDtoHelper.pullAndPushEntities();
-		boolean weeklyReportsNeedPull = weeklyReportDtoHelper.pullAndPushEntities();
-		boolean aggregateReportsNeedPull = aggregateReportDtoHelper.pullAndPushEntities();
-		boolean prescriptionsNeedPull = prescriptionDtoHelper.pullAndPushEntities();
-		boolean treatmentsNeedPull = treatmentDtoHelper.pullAndPushEntities();
-		boolean clinicalVisitsNeedPull = clinicalVisitDtoHelper.pullAndPushEntities();
-
-		casesNeedPull |= clinicalVisitsNeedPull;
-
-		if (personsNeedPull)
-			personDtoHelper.pullEntities(true);
-		if (casesNeedPull)
-			caseDtoHelper.pullEntities(true);
-		if (eventsNeedPull)
-			eventDtoHelper.pullEntities(true);
-		if (eventParticipantsNeedPull)
-			eventParticipantDtoHelper.pullEntities(true);
-		if (samplesNeedPull)
-			sampleDtoHelper.pullEntities(true);
-		if (sampleTestsNeedPull)
-			pathogenTestDtoHelper.pullEntities(true);
-		if (additionalTestsNeedPull)
-			additionalTestDtoHelper.pullEntities(true);
-		if (contactsNeedPull)
-			contactDtoHelper.pullEntities(true);
-		if (visitsNeedPull)
-			visitDtoHelper.pullEntities(true);
-		if (tasksNeedPull)
-			taskDtoHelper.pullEntities(true);
-		if (weeklyReportsNeedPull)
-			weeklyReportDtoHelper.pullEntities(true);
-		if (aggregateReportsNeedPull)
-			aggregateReportDtoHelper.pullEntities(true);
-		if (prescriptionsNeedPull)
-			prescriptionDtoHelper.pullEntities(true);
-		if (treatmentsNeedPull)
-			treatmentDtoHelper.pullEntities(true);
-		if (clinicalVisitsNeedPull)
-			clinicalVisitDtoHelper.pullEntities(true);
+		ExecutorService pullExecutor = Executors.newFixedThreadPool(CONCURRENT_PULLS);
+		try {
+			// request the changes of all entity types at once; they are still stored one after another below
+			List<AdoDtoHelper<?, ?>> prefetchedHelpers = new ArrayList<>(
+				Arrays.asList(
+					outbreakDtoHelper,
+					diseaseConfigurationDtoHelper,
+					personDtoHelper,
+					caseDtoHelper,
+					eventDtoHelper,
+					eventParticipantDtoHelper,
+					sampleDtoHelper,
+					pathogenTestDtoHelper,
+					additionalTestDtoHelper,
+					contactDtoHelper,
+					visitDtoHelper,
+					taskDtoHelper,
+					weeklyReportDtoHelper,
+					aggregateReportDtoHelper,
+					prescriptionDtoHelper,
+					treatmentDtoHelper,
+					clinicalVisitDtoHelper));
+			if (campaignFormDataDtoHelper != null) {
+				prefetchedHelpers.add(campaignFormDataDtoHelper);
+			}
+			for (AdoDtoHelper<?, ?> helper : prefetchedHelpers) {
+				helper.prefetchEntities(pullExecutor);
+			}
 
-		// Campaigns
-		if (!DatabaseHelper.getFeatureConfigurationDao().isFeatureDisabled(FeatureType.CAMPAIGNS)) {
-			final CampaignFormDataDtoHelper campaignFormDataDtoHelper = new CampaignFormDataDtoHelper();
-			if (campaignFormDataDtoHelper.pullAndPushEntities())
-				campaignFormDataDtoHelper.pullEntities(true);
+			// order is important, due to dependencies (e.g. case & person)
+
+			outbreakDtoHelper.pullEntities(false);
+			diseaseConfigurationDtoHelper.pullEntities(false);
+
+			boolean personsNeedPull = personDtoHelper.pullAndPushEntities();
+			boolean casesNeedPull = caseDtoHelper.pullAndPushEntities();
+			boolean eventsNeedPull = eventDtoHelper.pullAndPushEntities();
+			boolean eventParticipantsNeedPull = eventParticipantDtoHelper.pullAndPushEntities();
+			boolean samplesNeedPull = sampleDtoHelper.pullAndPushEntities();
+			boolean sampleTestsNeedPull = pathogenTestDtoHelper.pullAndPushEntities();
+			boolean additionalTestsNeedPull = additionalTestDtoHelper.pullAndPushEntities();
+			boolean contactsNeedPull = contactDtoHelper.pullAndPushEntities();
+			boolean visitsNeedPull = visitDtoHelper.pullAndPushEntities();
+			boolean tasksNeedPull = taskDtoHelper.pullAndPushEntities();
+			boolean weeklyReportsNeedPull = weeklyReportDtoHelper.pullAndPushEntities();
+			boolean aggregateReportsNeedPull = aggregateReportDtoHelper.pullAndPushEntities();
+			boolean prescriptionsNeedPull = prescriptionDtoHelper.pullAndPushEntities();
+			boolean treatmentsNeedPull = treatmentDtoHelper.pullAndPushEntities();
+			boolean clinicalVisitsNeedPull = clinicalVisitDtoHelper.pullAndPushEntities();
+			boolean campaignFormDataNeedPull = campaignFormDataDtoHelper != null && campaignFormDataDtoHelper.pullAndPushEntities();
+
+			casesNeedPull |= clinicalVisitsNeedPull;
+
+			List<AdoDtoHelper<?, ?>> helpersToPull = new ArrayList<>();
+			if (personsNeedPull)
+				helpersToPull.add(personDtoHelper);
+			if (casesNeedPull)
+				helpersToPull.add(caseDtoHelper);
+			if (eventsNeedPull)
+				helpersToPull.add(eventDtoHelper);
+			if (eventParticipantsNeedPull)
+				helpersToPull.add(eventParticipantDtoHelper);
+			if (samplesNeedPull)
+				helpersToPull.add(sampleDtoHelper);
+			if (sampleTestsNeedPull)
+				helpersToPull.add(pathogenTestDtoHelper);
+			if (additionalTestsNeedPull)
+				helpersToPull.add(additionalTestDtoHelper);
+			if (contactsNeedPull)
+				helpersToPull.add(contactDtoHelper);
+			if (visitsNeedPull)
+				helpersToPull.add(visitDtoHelper);
+			if (tasksNeedPull)
+				helpersToPull.add(taskDtoHelper);
+			if (weeklyReportsNeedPull)
+				helpersToPull.add(weeklyReportDtoHelper);
+			if (aggregateReportsNeedPull)
+				helpersToPull.add(aggregateReportDtoHelper);
+			if (prescriptionsNeedPull)
+				helpersToPull.add(prescriptionDtoHelper);
+			if (treatmentsNeedPull)
+				helpersToPull.add(treatmentDtoHelper);
+			if (clinicalVisitsNeedPull)
+				helpersToPull.add(clinicalVisitDtoHelper);
+			if (campaignFormDataNeedPull)
+				helpersToPull.add(campaignFormDataDtoHelper);
+
+			for (AdoDtoHelper<?, ?> helper : helpersToPull) {
+				helper.prefetchEntities(pullExecutor);
+			}
+			for (AdoDtoHelper<?, ?> helper : helpersToPull) {
+				helper.pullEntities(true);
+			}
+		} finally {
+			pullExecutor.shutdownNow();
 		}
 	}
 
@@ -392,11 +443,17 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 
 	@AddTrace(name = "pullInitialInfrastructureTrace")
 	private void pullInitialInfrastructure() throws DaoException, ServerCommunicationException, ServerConnectionException, NoConnectionException {
-		new RegionDtoHelper().pullEntities(false);
-		new DistrictDtoHelper().pullEntities(false);
-		new CommunityDtoHelper().pullEntities(false);
-		new FacilityDtoHelper().pullEntities(false);
-		new PointOfEntryDtoHelper().pullEntities(false);
+		// regions, districts, communities, facilities and points of entry are loaded in a single download
+		try {
+			Response<InfrastructureSyncDto> response = RetroProvider.getInfrastructureFacade().pullInfrastructureSnapshot().execute();
+			if (!response.isSuccessful()) {
+				RetroProvider.throwException(response);
+			}
+			InfrastructureHelper.handlePulledGeographicInfrastructure(response.body());
+		} catch (IOException e) {
+			throw new ServerCommunicationException(e);
+		}
+
 		new UserDtoHelper().pullEntities(false);
 		new DiseaseClassificationDtoHelper().pullEntities(false);
 		new DiseaseConfigurationDtoHelper().pullEntities(false);
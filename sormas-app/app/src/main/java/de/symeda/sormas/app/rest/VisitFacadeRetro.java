@@ -24,12 +24,20 @@ import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 public interface VisitFacadeRetro {
 
 	@GET("visits/all/{since}")
 	Call<List<VisitDto>> pullAllSince(@Path("since") long since);
 
+	@GET("visits/all/{since}/{size}")
+	Call<List<VisitDto>> pullPageSince(
+		@Path("since") long since,
+		@Path("size") int size,
+		@Query("lastChangeDate") Long lastChangeDate,
+		@Query("lastUuid") String lastUuid);
+
 	@POST("visits/query")
 	Call<List<VisitDto>> pullByUuids(@Body List<String> uuids);
 
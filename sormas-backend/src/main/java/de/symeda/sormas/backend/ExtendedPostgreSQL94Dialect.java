@@ -12,6 +12,7 @@ import com.vladmihalcea.hibernate.type.json.JsonStringType;
 public class ExtendedPostgreSQL94Dialect extends PostgreSQL94Dialect {
 
 	public final static String SIMILARITY_OPERATOR = "similarity_operator";
+	public final static String DATE_TRUNC_MILLISECONDS = "date_trunc_milliseconds";
 
 	public ExtendedPostgreSQL94Dialect() {
 		super();
@@ -19,5 +20,6 @@ public class ExtendedPostgreSQL94Dialect extends PostgreSQL94Dialect {
 		registerFunction("regexp_replace", new StandardSQLFunction("regexp_replace"));
 		registerHibernateType(Types.OTHER, JsonStringType.class.getName());
 		registerFunction(SIMILARITY_OPERATOR, new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "?1 % ?2"));
+		registerFunction(DATE_TRUNC_MILLISECONDS, new SQLFunctionTemplate(StandardBasicTypes.TIMESTAMP, "date_trunc('milliseconds', ?1)"));
 	}
 }
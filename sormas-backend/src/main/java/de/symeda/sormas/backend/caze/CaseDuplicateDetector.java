@@ -0,0 +1,350 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+
+/**
+ * Finds possible duplicates among cases, using the same rules as the former self join in
+ * {@link CaseFacadeEjb#getCasesForDuplicateMerging}: same disease (and region), report dates and onset dates at most
+ * 30 days apart, similar names and matching sex or birth date.
+ * <p>
+ * Instead of comparing every case with every other case, the cases are blocked by disease and region and sorted by
+ * report date, so each case is only compared with the cases of its block reported within 30 days. The possible
+ * duplicates are loaded per segment of a block, so only the cases of one disease, region and a few months are held in
+ * memory at once.
+ */
+public class CaseDuplicateDetector {
+
+	public static final long MAX_DATE_DIFFERENCE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+	/**
+	 * Maximum difference of the report dates of the cases in one segment.
+	 */
+	public static final long MAX_SEGMENT_MILLIS = 90L * 24 * 60 * 60 * 1000;
+
+	private static final Comparator<Candidate> REPORT_DATE_COMPARATOR = Comparator.comparing(Candidate::getReportDate);
+
+	private final double nameSimilarityThreshold;
+	private final boolean ignoreRegion;
+
+	public CaseDuplicateDetector(double nameSimilarityThreshold, boolean ignoreRegion) {
+		this.nameSimilarityThreshold = nameSimilarityThreshold;
+		this.ignoreRegion = ignoreRegion;
+	}
+
+	/**
+	 * @param cases
+	 *            the cases to find duplicates for
+	 * @param possibleDuplicates
+	 *            the cases that may be duplicates of them; may contain (some of) the cases themselves
+	 * @return pairs of case ids ({@code [case, duplicate]}), the duplicate always being created after the case. Ordered by
+	 *         creation date of the case, latest first.
+	 */
+	public List<Long[]> findDuplicates(List<Candidate> cases, List<Candidate> possibleDuplicates) {
+		return findDuplicates(cases, segment -> possibleDuplicates);
+	}
+
+	/**
+	 * @param cases
+	 *            the cases to find duplicates for
+	 * @param possibleDuplicatesLoader
+	 *            called for each segment of the cases, i.e. cases of the same disease and region (unless ignored) reported
+	 *            within {@link #MAX_SEGMENT_MILLIS}. Has to return at least the cases of that disease and region reported
+	 *            within {@link #MAX_DATE_DIFFERENCE_MILLIS} of the segment's cases.
+	 * @return pairs of case ids ({@code [case, duplicate]}), the duplicate always being created after the case. Ordered by
+	 *         creation date of the case, latest first.
+	 */
+	public List<Long[]> findDuplicates(List<Candidate> cases, Function<List<Candidate>, List<Candidate>> possibleDuplicatesLoader) {
+
+		List<Candidate[]> pairs = new ArrayList<>();
+		for (List<Candidate> segment : segment(cases)) {
+			List<Object> blockingKey = getBlockingKey(segment.get(0));
+			List<Candidate> sortedDuplicates = possibleDuplicatesLoader.apply(segment)
+				.stream()
+				.filter(this::isComparable)
+				.filter(duplicate -> blockingKey.equals(getBlockingKey(duplicate)))
+				.distinct()
+				.sorted(REPORT_DATE_COMPARATOR)
+				.collect(Collectors.toList());
+			pairs.addAll(findDuplicatesInBlock(segment, sortedDuplicates));
+		}
+
+		return pairs.stream()
+			.sorted(Comparator.comparing((Candidate[] pair) -> pair[0].getCreationDate()).reversed())
+			.map(
+				pair -> new Long[] {
+					pair[0].getId(),
+					pair[1].getId() })
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Splits the comparable cases into blocks and the blocks into segments of cases reported within
+	 * {@link #MAX_SEGMENT_MILLIS}, each sorted by report date.
+	 */
+	private List<List<Candidate>> segment(List<Candidate> cases) {
+
+		Map<List<Object>, List<Candidate>> casesByBlock =
+			cases.stream().filter(this::isComparable).distinct().collect(Collectors.groupingBy(this::getBlockingKey));
+
+		List<List<Candidate>> segments = new ArrayList<>();
+		for (List<Candidate> block : casesByBlock.values()) {
+			block.sort(REPORT_DATE_COMPARATOR);
+			int segmentStart = 0;
+			for (int i = 1; i <= block.size(); i++) {
+				if (i == block.size()
+					|| block.get(i).getReportDate().getTime() - block.get(segmentStart).getReportDate().getTime() > MAX_SEGMENT_MILLIS) {
+					segments.add(block.subList(segmentStart, i));
+					segmentStart = i;
+				}
+			}
+		}
+		return segments;
+	}
+
+	/**
+	 * Cases missing any of these values could not be matched by the SQL comparison either.
+	 */
+	private boolean isComparable(Candidate candidate) {
+		return candidate.getDisease() != null
+			&& (ignoreRegion || candidate.getRegionId() != null)
+			&& candidate.getReportDate() != null
+			&& candidate.getCreationDate() != null
+			&& !candidate.getNameTrigrams().isEmpty();
+	}
+
+	private List<Object> getBlockingKey(Candidate candidate) {
+		return Arrays.asList(candidate.getDisease(), ignoreRegion ? null : candidate.getRegionId());
+	}
+
+	private List<Candidate[]> findDuplicatesInBlock(List<Candidate> cases, List<Candidate> sortedDuplicates) {
+
+		List<Candidate[]> pairs = new ArrayList<>();
+		for (Candidate caze : cases) {
+			long reportTime = caze.getReportDate().getTime();
+			for (int i = firstReportedAfter(sortedDuplicates, reportTime - MAX_DATE_DIFFERENCE_MILLIS); i < sortedDuplicates.size(); i++) {
+				Candidate duplicate = sortedDuplicates.get(i);
+				if (duplicate.getReportDate().getTime() > reportTime + MAX_DATE_DIFFERENCE_MILLIS) {
+					break;
+				}
+				if (isDuplicate(caze, duplicate)) {
+					pairs.add(
+						new Candidate[] {
+							caze,
+							duplicate });
+				}
+			}
+		}
+		return pairs;
+	}
+
+	/**
+	 * @return index of the first candidate reported at or after the given time
+	 */
+	private static int firstReportedAfter(List<Candidate> sortedCandidates, long time) {
+
+		int low = 0;
+		int high = sortedCandidates.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedCandidates.get(middle).getReportDate().getTime() < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private boolean isDuplicate(Candidate caze, Candidate other) {
+
+		if (!caze.getCreationDate().before(other.getCreationDate())) {
+			return false;
+		}
+
+		// only when onset date is filled in for both cases
+		if (caze.getOnsetDate() != null
+			&& other.getOnsetDate() != null
+			&& Math.abs(caze.getOnsetDate().getTime() - other.getOnsetDate().getTime()) > MAX_DATE_DIFFERENCE_MILLIS) {
+			return false;
+		}
+
+		// only when sex or birth date is filled in for both cases
+		boolean sexMatches = caze.getSex() == null || other.getSex() == null || caze.getSex() == other.getSex();
+		boolean birthDateMatches = !caze.hasBirthDate()
+			|| !other.hasBirthDate()
+			|| (caze.getBirthdateDD().equals(other.getBirthdateDD())
+				&& caze.getBirthdateMM().equals(other.getBirthdateMM())
+				&& caze.getBirthdateYYYY().equals(other.getBirthdateYYYY()));
+		if (!sexMatches && !birthDateMatches) {
+			return false;
+		}
+
+		return similarity(caze.getNameTrigrams(), other.getNameTrigrams()) > nameSimilarityThreshold;
+	}
+
+	/**
+	 * Trigram similarity as calculated by the PostgreSQL {@code similarity} function of pg_trgm.
+	 */
+	public static double similarity(Set<String> trigrams, Set<String> otherTrigrams) {
+
+		if (trigrams.isEmpty() || otherTrigrams.isEmpty()) {
+			return 0;
+		}
+
+		int common = 0;
+		for (String trigram : trigrams) {
+			if (otherTrigrams.contains(trigram)) {
+				common++;
+			}
+		}
+		return common / (double) (trigrams.size() + otherTrigrams.size() - common);
+	}
+
+	/**
+	 * Trigrams of the text as extracted by pg_trgm: lower cased words of alphanumeric characters, each padded with two
+	 * spaces in front and one behind.
+	 */
+	public static Set<String> trigrams(String text) {
+
+		Set<String> trigrams = new HashSet<>();
+		for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+			if (word.isEmpty()) {
+				continue;
+			}
+			String padded = "  " + word + " ";
+			for (int i = 0; i + 3 <= padded.length(); i++) {
+				trigrams.add(padded.substring(i, i + 3));
+			}
+		}
+		return trigrams;
+	}
+
+	public static class Candidate {
+
+		private final long id;
+		private final Disease disease;
+		private final Long regionId;
+		private final Date reportDate;
+		private final Date creationDate;
+		private final Sex sex;
+		private final Integer birthdateDD;
+		private final Integer birthdateMM;
+		private final Integer birthdateYYYY;
+		private final Date onsetDate;
+
+		private final Set<String> nameTrigrams;
+
+		public Candidate(
+			Long id,
+			Disease disease,
+			Long regionId,
+			Date reportDate,
+			Date creationDate,
+			String firstName,
+			String lastName,
+			Sex sex,
+			Integer birthdateDD,
+			Integer birthdateMM,
+			Integer birthdateYYYY,
+			Date onsetDate) {
+
+			this.id = id;
+			this.disease = disease;
+			this.regionId = regionId;
+			this.reportDate = reportDate;
+			this.creationDate = creationDate;
+			this.sex = sex;
+			this.birthdateDD = birthdateDD;
+			this.birthdateMM = birthdateMM;
+			this.birthdateYYYY = birthdateYYYY;
+			this.onsetDate = onsetDate;
+			this.nameTrigrams = firstName != null && lastName != null ? trigrams(firstName + " " + lastName) : Collections.emptySet();
+		}
+
+		private boolean hasBirthDate() {
+			return birthdateDD != null && birthdateMM != null && birthdateYYYY != null;
+		}
+
+		private Set<String> getNameTrigrams() {
+			return nameTrigrams;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public Disease getDisease() {
+			return disease;
+		}
+
+		public Long getRegionId() {
+			return regionId;
+		}
+
+		public Date getReportDate() {
+			return reportDate;
+		}
+
+		public Date getCreationDate() {
+			return creationDate;
+		}
+
+		public Sex getSex() {
+			return sex;
+		}
+
+		public Integer getBirthdateDD() {
+			return birthdateDD;
+		}
+
+		public Integer getBirthdateMM() {
+			return birthdateMM;
+		}
+
+		public Integer getBirthdateYYYY() {
+			return birthdateYYYY;
+		}
+
+		public Date getOnsetDate() {
+			return onsetDate;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Candidate && ((Candidate) o).id == id;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(id);
+		}
+	}
+}
@@ -30,10 +30,12 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +92,7 @@ import de.symeda.sormas.api.caze.CaseSimilarityCriteria;
 import de.symeda.sormas.api.caze.DashboardCaseDto;
 import de.symeda.sormas.api.caze.EmbeddedSampleExportDto;
 import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.caze.MapCaseClusterDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.caze.PlagueType;
 import de.symeda.sormas.api.caze.maternalhistory.MaternalHistoryDto;
@@ -128,6 +131,7 @@ import de.symeda.sormas.api.person.PersonReferenceDto;
 import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.region.DistrictDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.GeoLatLon;
 import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.sample.PathogenTestDto;
 import de.symeda.sormas.api.sample.PathogenTestResultType;
@@ -173,11 +177,11 @@ import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitService;
 import de.symeda.sormas.backend.clinicalcourse.HealthConditions;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ArchivingRun;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.MessageSubject;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
-import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
@@ -266,6 +270,7 @@ import de.symeda.sormas.utils.CaseJoins;
 public class CaseFacadeEjb implements CaseFacade {
 
 	private static final int ARCHIVE_BATCH_SIZE = 1000;
+	private static final int MAP_CLUSTER_CELL_PIXELS = 60;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -384,6 +389,20 @@ public class CaseFacadeEjb implements CaseFacade {
 			.collect(Collectors.toList());
 	}
 
+	@Override
+	public List<CaseDataDto> getAllActiveCasesAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		if (userService.getCurrentUser() == null) {
+			return Collections.emptyList();
+		}
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return caseService.getAllActiveCasesAfter(date, false, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(c -> convertToDto(c, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<CaseDataDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -503,6 +522,38 @@ public class CaseFacadeEjb implements CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage) {
 
+		return getExportList(caseCriteria, exportType, null, null, first, max, exportConfiguration, userLanguage);
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public List<CaseExportDto> getExportListAfter(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Date lastReportDate,
+		Long lastId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
+		return getExportList(caseCriteria, exportType, lastReportDate, lastId, 0, max, exportConfiguration, userLanguage);
+	}
+
+	/**
+	 * @param lastReportDate
+	 *            Together with {@code lastId} the sort key of the last case of the previous page. When set, the page starts right after
+	 *            this case (keyset paging) so the database does not have to skip over all previously exported rows.
+	 */
+	private List<CaseExportDto> getExportList(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Date lastReportDate,
+		Long lastId,
+		int first,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
 		Boolean previousCaseManagementDataCriteria = caseCriteria.getMustHaveCaseManagementData();
 		if (CaseExportType.CASE_MANAGEMENT == exportType) {
 			caseCriteria.setMustHaveCaseManagementData(Boolean.TRUE);
@@ -588,6 +639,13 @@ public class CaseFacadeEjb implements CaseFacade {
 			filter = AbstractAdoService.and(cb, filter, criteriaFilter);
 		}
 
+		if (lastReportDate != null && lastId != null) {
+			Predicate afterLastFilter = cb.or(
+				cb.lessThan(caseRoot.get(Case.REPORT_DATE), lastReportDate),
+				cb.and(cb.equal(caseRoot.get(Case.REPORT_DATE), lastReportDate), cb.lessThan(caseRoot.get(Case.ID), lastId)));
+			filter = AbstractAdoService.and(cb, filter, afterLastFilter);
+		}
+
 		if (filter != null) {
 			cq.where(filter);
 		}
@@ -595,6 +653,7 @@ public class CaseFacadeEjb implements CaseFacade {
 		/*
 		 * Sort by report date DESC, but also by id for stable Sorting in case of equal report dates.
 		 * Since this method supports paging, values might jump between pages when sorting is unstable.
+		 * The same order is the key used by getExportListAfter.
 		 */
 		cq.orderBy(cb.desc(caseRoot.get(Case.REPORT_DATE)), cb.desc(caseRoot.get(Case.ID)));
 
@@ -685,9 +744,9 @@ public class CaseFacadeEjb implements CaseFacade {
 					.collect(Collectors.toMap(e -> (Long) e[0], e -> (CaseClassification) e[1]));
 			}
 
-			List<Long> caseIdsWithOutbreak = null;
+			Set<Long> caseIdsWithOutbreak = null;
 			if (exportConfiguration == null || exportConfiguration.getProperties().contains(CaseExportDto.ASSOCIATED_WITH_OUTBREAK)) {
-				caseIdsWithOutbreak = outbreakService.getCaseIdsWithOutbreak(resultCaseIds);
+				caseIdsWithOutbreak = new HashSet<>(outbreakService.getCaseIdsWithOutbreak(resultCaseIds));
 			}
 
 			Map<Long, List<EpiDataTravel>> travels = null;
@@ -717,7 +776,7 @@ public class CaseFacadeEjb implements CaseFacade {
 				samples = samplesList.stream().collect(Collectors.groupingBy(s -> s.getAssociatedCase().getId()));
 			}
 
-			List<VisitSummaryExportDetails> visitSummaries = null;
+			Map<Long, List<VisitSummaryExportDetails>> visitSummaries = null;
 			if (featureConfigurationFacade.isFeatureEnabled(FeatureType.CASE_FOLLOWUP)
 				&& (exportConfiguration == null
 					|| exportConfiguration.getProperties().contains(CaseExportDto.NUMBER_OF_VISITS)
@@ -739,19 +798,21 @@ public class CaseFacadeEjb implements CaseFacade {
 					visitsJoin.get(Visit.VISIT_STATUS),
 					visitSymptomsJoin);
 
-				visitSummaries = em.createQuery(visitsCq).getResultList();
+				visitSummaries =
+					em.createQuery(visitsCq).getResultList().stream().collect(Collectors.groupingBy(VisitSummaryExportDetails::getContactId));
 			}
 
 			// Load latest events info
 			// Adding a second query here is not perfect, but selecting the last event with a criteria query
 			// doesn't seem to be possible and using a native query is not an option because of user filters
-			List<EventSummaryDetails> eventSummaries = null;
+			Map<Long, List<EventSummaryDetails>> eventSummaries = null;
 			if (exportConfiguration == null
 				|| exportConfiguration.getProperties().contains(CaseExportDto.LATEST_EVENT_ID)
 				|| exportConfiguration.getProperties().contains(CaseExportDto.LATEST_EVENT_STATUS)
 				|| exportConfiguration.getProperties().contains(CaseExportDto.LATEST_EVENT_TITLE)) {
 
-				eventSummaries = eventService.getEventSummaryDetailsByCases(resultCaseIds);
+				eventSummaries =
+					eventService.getEventSummaryDetailsByCases(resultCaseIds).stream().collect(Collectors.groupingBy(EventSummaryDetails::getCaseId));
 			}
 
 			Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight, I18nProperties.getCaption(Captions.inaccessibleValue));
@@ -860,8 +921,7 @@ public class CaseFacadeEjb implements CaseFacade {
 				}
 
 				if (visitSummaries != null) {
-					List<VisitSummaryExportDetails> visits =
-						visitSummaries.stream().filter(v -> v.getContactId() == exportDto.getId()).collect(Collectors.toList());
+					List<VisitSummaryExportDetails> visits = visitSummaries.getOrDefault(exportDto.getId(), Collections.emptyList());
 
 					VisitSummaryExportDetails lastCooperativeVisit = visits.stream()
 						.filter(v -> v.getVisitStatus() == VisitStatus.COOPERATIVE)
@@ -881,8 +941,8 @@ public class CaseFacadeEjb implements CaseFacade {
 				}
 
 				if (eventSummaries != null && exportDto.getEventCount() != 0) {
-					eventSummaries.stream()
-						.filter(v -> v.getCaseId() == exportDto.getId())
+					eventSummaries.getOrDefault(exportDto.getId(), Collections.emptyList())
+						.stream()
 						.sorted(Comparator.comparing(EventSummaryDetails::getEventDate).reversed())
 						.findFirst()
 						.ifPresent(eventSummary -> {
@@ -1032,6 +1092,45 @@ public class CaseFacadeEjb implements CaseFacade {
 		return caseService.countCasesForMap(region, district, disease, from, to);
 	}
 
+	@Override
+	public List<MapCaseClusterDto> getCaseClustersForMap(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		boolean confirmedOnly,
+		boolean preferFacilityLocation,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		Region region = regionService.getByReferenceDto(regionRef);
+		District district = districtService.getByReferenceDto(districtRef);
+
+		return caseService.getCaseClustersForMap(
+			region,
+			district,
+			disease,
+			from,
+			to,
+			confirmedOnly,
+			preferFacilityLocation,
+			getMapClusterCellSize(zoom),
+			southWest,
+			northEast);
+	}
+
+	/**
+	 * A map tile of 256 pixels covers 360 / 2^zoom degrees, so cells of {@link #MAP_CLUSTER_CELL_PIXELS} keep about
+	 * the same size on screen for all zoom levels.
+	 */
+	static double getMapClusterCellSize(int zoom) {
+
+		int boundedZoom = Math.max(0, Math.min(zoom, 20));
+		return 360d / (1 << boundedZoom) * MAP_CLUSTER_CELL_PIXELS / 256;
+	}
+
 	@Override
 	public List<MapCaseDto> getCasesForMap(RegionReferenceDto regionRef, DistrictReferenceDto districtRef, Disease disease, Date from, Date to) {
 
@@ -1246,95 +1345,25 @@ public class CaseFacadeEjb implements CaseFacade {
 	public List<CaseIndexDto[]> getCasesForDuplicateMerging(CaseCriteria criteria, boolean ignoreRegion) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+
+		// cases to find duplicates for
+		CriteriaQuery<CaseDuplicateDetector.Candidate> cq = cb.createQuery(CaseDuplicateDetector.Candidate.class);
 		Root<Case> root = cq.from(Case.class);
 		CaseJoins<Case> joins = new CaseJoins<>(root);
-		Root<Case> root2 = cq.from(Case.class);
-		Join<Case, Person> person = joins.getPerson();
-		Join<Case, Person> person2 = root2.join(Case.PERSON, JoinType.LEFT);
-		Join<Case, Region> region = joins.getRegion();
-		Join<Case, Region> region2 = root2.join(Case.REGION, JoinType.LEFT);
-		Join<Case, Symptoms> symptoms = joins.getSymptoms();
-		Join<Case, Symptoms> symptoms2 = root2.join(Case.SYMPTOMS, JoinType.LEFT);
-
-		cq.distinct(true);
-
-		Predicate userFilter = caseService.createUserFilter(cb, cq, root);
-		Predicate criteriaFilter = criteria != null ? caseService.createCriteriaFilter(criteria, cb, cq, root, joins) : null;
-		Expression<String> nameSimilarityExpr = cb.concat(person.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr = cb.concat(nameSimilarityExpr, person.get(Person.LAST_NAME));
-		Expression<String> nameSimilarityExpr2 = cb.concat(person2.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr2 = cb.concat(nameSimilarityExpr2, person2.get(Person.LAST_NAME));
-		Predicate nameSimilarityFilter =
-			cb.gt(cb.function("similarity", double.class, nameSimilarityExpr, nameSimilarityExpr2), configFacade.getNameSimilarityThreshold());
-		Predicate diseaseFilter = cb.equal(root.get(Case.DISEASE), root2.get(Case.DISEASE));
-		Predicate regionFilter = cb.equal(region.get(Region.ID), region2.get(Region.ID));
-		Predicate reportDateFilter = cb.lessThanOrEqualTo(
-			cb.abs(
-				cb.diff(
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root.get(Case.REPORT_DATE)),
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root2.get(Case.REPORT_DATE)))),
-			new Long(30 * 24 * 60 * 60) // 30 days
-		);
-		// Sex filter: only when sex is filled in for both cases
-		Predicate sexFilter = cb.or(
-			cb.or(cb.isNull(person.get(Person.SEX)), cb.isNull(person2.get(Person.SEX))),
-			cb.equal(person.get(Person.SEX), person2.get(Person.SEX)));
-		// Birth date filter: only when birth date is filled in for both cases
-		Predicate birthDateFilter = cb.or(
-			cb.or(
-				cb.isNull(person.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person.get(Person.BIRTHDATE_YYYY)),
-				cb.isNull(person2.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person2.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person2.get(Person.BIRTHDATE_YYYY))),
-			cb.and(
-				cb.equal(person.get(Person.BIRTHDATE_DD), person2.get(Person.BIRTHDATE_DD)),
-				cb.equal(person.get(Person.BIRTHDATE_MM), person2.get(Person.BIRTHDATE_MM)),
-				cb.equal(person.get(Person.BIRTHDATE_YYYY), person2.get(Person.BIRTHDATE_YYYY))));
-		// Onset date filter: only when onset date is filled in for both cases
-		Predicate onsetDateFilter = cb.or(
-			cb.or(cb.isNull(symptoms.get(Symptoms.ONSET_DATE)), cb.isNull(symptoms2.get(Symptoms.ONSET_DATE))),
-			cb.lessThanOrEqualTo(
-				cb.abs(
-					cb.diff(
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms.get(Symptoms.ONSET_DATE)),
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms2.get(Symptoms.ONSET_DATE)))),
-				new Long(30 * 24 * 60 * 60) // 30 days
-			));
-		Predicate creationDateFilter = cb.lessThan(root.get(Case.CREATION_DATE), root2.get(Case.CREATION_DATE));
-
-		Predicate filter = cb.and(caseService.createDefaultFilter(cb, root), caseService.createDefaultFilter(cb, root2));
-		if (userFilter != null) {
-			filter = cb.and(filter, userFilter);
-		}
-		if (filter != null) {
-			filter = cb.and(filter, criteriaFilter);
-		} else {
-			filter = criteriaFilter;
-		}
-		if (filter != null) {
-			filter = cb.and(filter, nameSimilarityFilter);
-		} else {
-			filter = nameSimilarityFilter;
-		}
-		filter = cb.and(filter, diseaseFilter);
-
-		if (!ignoreRegion) {
-			filter = cb.and(filter, regionFilter);
-		}
-
-		filter = cb.and(filter, reportDateFilter);
-		filter = cb.and(filter, cb.or(sexFilter, birthDateFilter));
-		filter = cb.and(filter, onsetDateFilter);
-		filter = cb.and(filter, creationDateFilter);
 
+		Predicate filter = AbstractAdoService.and(
+			cb,
+			caseService.createDefaultFilter(cb, root),
+			caseService.createUserFilter(cb, cq, root),
+			criteria != null ? caseService.createCriteriaFilter(criteria, cb, cq, root, joins) : null);
 		cq.where(filter);
-		cq.multiselect(root.get(Case.ID), root2.get(Case.ID), root.get(Case.CREATION_DATE));
-		cq.orderBy(cb.desc(root.get(Case.CREATION_DATE)));
+		selectDuplicateCandidateFields(cq, root, joins);
+		List<CaseDuplicateDetector.Candidate> cases = em.createQuery(cq).getResultList();
+
+		// the possible duplicates are loaded per segment of the cases: same disease and region, reported within the time span
+		List<Long[]> foundIds = new CaseDuplicateDetector(configFacade.getNameSimilarityThreshold(), ignoreRegion)
+			.findDuplicates(cases, segment -> getPossibleDuplicates(segment, ignoreRegion));
 
-		List<Object[]> foundIds = em.createQuery(cq).setParameter("date_type", "epoch").getResultList();
 		List<CaseIndexDto[]> resultList = new ArrayList<>();
 
 		if (!foundIds.isEmpty()) {
@@ -1381,6 +1410,48 @@ public class CaseFacadeEjb implements CaseFacade {
 		caseService.ensurePersisted(caze);
 	}
 
+	private List<CaseDuplicateDetector.Candidate> getPossibleDuplicates(List<CaseDuplicateDetector.Candidate> segment, boolean ignoreRegion) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<CaseDuplicateDetector.Candidate> cq = cb.createQuery(CaseDuplicateDetector.Candidate.class);
+		Root<Case> root = cq.from(Case.class);
+		CaseJoins<Case> joins = new CaseJoins<>(root);
+
+		// the segment is sorted by report date
+		Predicate filter = cb.and(
+			caseService.createDefaultFilter(cb, root),
+			cb.equal(root.get(Case.DISEASE), segment.get(0).getDisease()),
+			cb.between(
+				root.get(Case.REPORT_DATE),
+				new Date(segment.get(0).getReportDate().getTime() - CaseDuplicateDetector.MAX_DATE_DIFFERENCE_MILLIS),
+				new Date(segment.get(segment.size() - 1).getReportDate().getTime() + CaseDuplicateDetector.MAX_DATE_DIFFERENCE_MILLIS)));
+		if (!ignoreRegion) {
+			filter = cb.and(filter, cb.equal(joins.getRegion().get(Region.ID), segment.get(0).getRegionId()));
+		}
+		cq.where(filter);
+		selectDuplicateCandidateFields(cq, root, joins);
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	private void selectDuplicateCandidateFields(CriteriaQuery<CaseDuplicateDetector.Candidate> cq, Root<Case> root, CaseJoins<Case> joins) {
+
+		Join<Case, Person> person = joins.getPerson();
+		cq.multiselect(
+			root.get(Case.ID),
+			root.get(Case.DISEASE),
+			joins.getRegion().get(Region.ID),
+			root.get(Case.REPORT_DATE),
+			root.get(Case.CREATION_DATE),
+			person.get(Person.FIRST_NAME),
+			person.get(Person.LAST_NAME),
+			person.get(Person.SEX),
+			person.get(Person.BIRTHDATE_DD),
+			person.get(Person.BIRTHDATE_MM),
+			person.get(Person.BIRTHDATE_YYYY),
+			joins.getSymptoms().get(Symptoms.ONSET_DATE));
+	}
+
 	private void selectIndexDtoFields(CriteriaQuery<CaseIndexDto> cq, Root<Case> root) {
 		cq.multiselect(listQueryBuilder.getCaseIndexSelections(root, new CaseJoins<>(root)));
 	}
@@ -1679,18 +1750,7 @@ public class CaseFacadeEjb implements CaseFacade {
 				List<PathogenTestDto> sampleTests =
 					pathogenTestService.getAllByCase(newCase).stream().map(s -> PathogenTestFacadeEjbLocal.toDto(s)).collect(Collectors.toList());
 				CaseClassification classification = caseClassificationFacade.getClassification(newCaseDto, sampleTests);
-
-				// only update when classification by system changes - user may overwrite this
-				if (classification != newCase.getSystemCaseClassification()) {
-					newCase.setSystemCaseClassification(classification);
-
-					// really a change? (user may have already set it)
-					if (classification != newCase.getCaseClassification()) {
-						newCase.setCaseClassification(classification);
-						newCase.setClassificationUser(null);
-						newCase.setClassificationDate(new Date());
-					}
-				}
+				caseService.updateSystemCaseClassification(newCase, classification);
 			}
 		}
 
@@ -1723,23 +1783,15 @@ public class CaseFacadeEjb implements CaseFacade {
 				UserRole.CASE_SUPERVISOR,
 				UserRole.CONTACT_SUPERVISOR);
 			for (User recipient : messageRecipients) {
-				try {
-					messagingService.sendMessage(
-						recipient,
-						MessageSubject.CASE_CLASSIFICATION_CHANGED,
-						String.format(
-							I18nProperties.getString(MessagingService.CONTENT_CASE_CLASSIFICATION_CHANGED),
-							DataHelper.getShortUuid(newCase.getUuid()),
-							newCase.getCaseClassification().toString()),
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"NotificationDeliveryFailedException when trying to notify supervisors about the change of a case classification. "
-								+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-							recipient.getUuid()));
-				}
+				messagingService.sendMessage(
+					recipient,
+					MessageSubject.CASE_CLASSIFICATION_CHANGED,
+					String.format(
+						I18nProperties.getString(MessagingService.CONTENT_CASE_CLASSIFICATION_CHANGED),
+						DataHelper.getShortUuid(newCase.getUuid()),
+						newCase.getCaseClassification().toString()),
+					MessageType.EMAIL,
+					MessageType.SMS);
 			}
 		}
 
@@ -1753,24 +1805,16 @@ public class CaseFacadeEjb implements CaseFacade {
 				UserRole.CASE_SUPERVISOR,
 				UserRole.CONTACT_SUPERVISOR);
 			for (User recipient : messageRecipients) {
-				try {
-					messagingService.sendMessage(
-						recipient,
-						MessageSubject.DISEASE_CHANGED,
-						String.format(
-							I18nProperties.getString(MessagingService.CONTENT_DISEASE_CHANGED),
-							DataHelper.getShortUuid(newCase.getUuid()),
-							existingCase.getDisease().toString(),
-							newCase.getDisease().toString()),
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"NotificationDeliveryFailedException when trying to notify supervisors about the change of a case disease. "
-								+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-							recipient.getUuid()));
-				}
+				messagingService.sendMessage(
+					recipient,
+					MessageSubject.DISEASE_CHANGED,
+					String.format(
+						I18nProperties.getString(MessagingService.CONTENT_DISEASE_CHANGED),
+						DataHelper.getShortUuid(newCase.getUuid()),
+						existingCase.getDisease().toString(),
+						newCase.getDisease().toString()),
+					MessageType.EMAIL,
+					MessageType.SMS);
 			}
 		}
 	}
@@ -2689,21 +2733,13 @@ public class CaseFacadeEjb implements CaseFacade {
 			UserRole.CASE_SUPERVISOR,
 			UserRole.CONTACT_SUPERVISOR);
 		for (User recipient : messageRecipients) {
-			try {
-				messagingService.sendMessage(
-					recipient,
-					MessageSubject.CASE_INVESTIGATION_DONE,
-					String
-						.format(I18nProperties.getString(MessagingService.CONTENT_CASE_INVESTIGATION_DONE), DataHelper.getShortUuid(caze.getUuid())),
-					MessageType.EMAIL,
-					MessageType.SMS);
-			} catch (NotificationDeliveryFailedException e) {
-				logger.error(
-					String.format(
-						"NotificationDeliveryFailedException when trying to notify supervisors about the completion of a case investigation. "
-							+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-						recipient.getUuid()));
-			}
+			messagingService.sendMessage(
+				recipient,
+				MessageSubject.CASE_INVESTIGATION_DONE,
+				String
+					.format(I18nProperties.getString(MessagingService.CONTENT_CASE_INVESTIGATION_DONE), DataHelper.getShortUuid(caze.getUuid())),
+				MessageType.EMAIL,
+				MessageType.SMS);
 		}
 	}
 
@@ -2910,33 +2946,47 @@ public class CaseFacadeEjb implements CaseFacade {
 	 *            defines the amount of days
 	 */
 	@Override
-	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 	public void archiveAllArchivableCases(int daysAfterCaseGetsArchived) {
 
-		archiveAllArchivableCases(daysAfterCaseGetsArchived, LocalDate.now());
+		archiveAllArchivableCases(daysAfterCaseGetsArchived, configFacade.getArchivingBatchSize(), 0);
 	}
 
-	void archiveAllArchivableCases(int daysAfterCaseGetsArchived, LocalDate referenceDate) {
+	/**
+	 * Archives all cases that have not been changed for a defined amount of days, chunk by chunk, each chunk in a
+	 * transaction of its own.
+	 *
+	 * @param daysAfterCaseGetsArchived
+	 *            defines the amount of days
+	 * @param batchSize
+	 *            number of cases archived per chunk
+	 * @param resumeAfterId
+	 *            {@link ArchivingRun#getResumePoint()} of a previous run that has not been completed, otherwise 0
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public ArchivingRun archiveAllArchivableCases(int daysAfterCaseGetsArchived, int batchSize, long resumeAfterId) {
 
-		long startTime = DateHelper.startTime();
+		return archiveAllArchivableCases(daysAfterCaseGetsArchived, LocalDate.now(), batchSize, resumeAfterId);
+	}
 
-		LocalDate notChangedSince = referenceDate.minusDays(daysAfterCaseGetsArchived);
+	void archiveAllArchivableCases(int daysAfterCaseGetsArchived, LocalDate referenceDate) {
 
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<String> cq = cb.createQuery(String.class);
-		Root<Case> from = cq.from(Case.class);
+		archiveAllArchivableCases(daysAfterCaseGetsArchived, referenceDate, ARCHIVE_BATCH_SIZE, 0);
+	}
+
+	ArchivingRun archiveAllArchivableCases(int daysAfterCaseGetsArchived, LocalDate referenceDate, int batchSize, long resumeAfterId) {
 
+		LocalDate notChangedSince = referenceDate.minusDays(daysAfterCaseGetsArchived);
 		Timestamp notChangedTimestamp = Timestamp.valueOf(notChangedSince.atStartOfDay());
-		cq.where(cb.equal(from.get(Case.ARCHIVED), false), cb.not(caseService.createChangeDateFilter(cb, from, notChangedTimestamp, true)));
-		cq.select(from.get(Case.UUID));
-		List<String> uuids = em.createQuery(cq).getResultList();
 
-		IterableHelper.executeBatched(uuids, ARCHIVE_BATCH_SIZE, e -> caseService.updateArchived(e, true));
-		logger.debug(
-			"archiveAllArchivableCases() finished. caseCount = {}, daysAfterCaseGetsArchived = {}, {}ms",
-			uuids.size(),
-			daysAfterCaseGetsArchived,
-			DateHelper.durationMillies(startTime));
+		ArchivingRun run = ArchivingRun.execute(
+			"cases",
+			batchSize,
+			resumeAfterId,
+			(afterId, limit) -> caseService.getArchivableIds(notChangedTimestamp, afterId, limit),
+			caseService::archiveByIds);
+		logger.debug("archiveAllArchivableCases() finished. daysAfterCaseGetsArchived = {}, {}", daysAfterCaseGetsArchived, run);
+		return run;
 	}
 
 	@Override
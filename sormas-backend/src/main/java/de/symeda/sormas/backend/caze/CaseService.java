@@ -20,6 +20,7 @@ package de.symeda.sormas.backend.caze;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -33,6 +34,7 @@ import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.persistence.NoResultException;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -51,9 +53,11 @@ import org.apache.commons.lang3.StringUtils;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.EntityRelevanceStatus;
+import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseOrigin;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
+import de.symeda.sormas.api.caze.MapCaseClusterDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.clinicalcourse.ClinicalCourseReferenceDto;
@@ -62,6 +66,7 @@ import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.FollowUpStatus;
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.followup.FollowUpLogic;
+import de.symeda.sormas.api.region.GeoLatLon;
 import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.therapy.PrescriptionCriteria;
 import de.symeda.sormas.api.therapy.TherapyReferenceDto;
@@ -187,14 +192,42 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Case> cq = cb.createQuery(getElementClass());
 		Root<Case> from = cq.from(getElementClass());
-		from.fetch(Case.SYMPTOMS);
-		from.fetch(Case.THERAPY);
-		Fetch<Case, ClinicalCourse> clinicalCourseFetch = from.fetch(Case.CLINICAL_COURSE);
-		clinicalCourseFetch.fetch(ClinicalCourse.HEALTH_CONDITIONS);
-		from.fetch(Case.HOSPITALIZATION);
-		from.fetch(Case.EPI_DATA);
-		from.fetch(Case.PORT_HEALTH_INFO);
-		from.fetch(Case.MATERNAL_HISTORY);
+		fetchSyncedData(from);
+
+		cq.where(createActiveCasesAfterFilter(cb, cq, from, date, includeExtendedChangeDateFilters));
+		cq.orderBy(cb.desc(from.get(Case.CHANGE_DATE)));
+		cq.distinct(true);
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * Like {@link #getAllActiveCasesAfter(Date, boolean)}, but only returns the page of up to {@code batchSize} cases
+	 * following the given cursor.
+	 * 
+	 * @see #getChangedPage(SyncFilterBuilder, java.util.function.Consumer, int, Date, String)
+	 */
+	public List<Case> getAllActiveCasesAfter(
+		Date date,
+		boolean includeExtendedChangeDateFilters,
+		int batchSize,
+		Date lastChangeDate,
+		String lastUuid) {
+
+		return getChangedPage(
+			(cb, cq, from) -> createActiveCasesAfterFilter(cb, cq, from, date, includeExtendedChangeDateFilters),
+			this::fetchSyncedData,
+			batchSize,
+			lastChangeDate,
+			lastUuid);
+	}
+
+	private Predicate createActiveCasesAfterFilter(
+		CriteriaBuilder cb,
+		CriteriaQuery<?> cq,
+		Root<Case> from,
+		Date date,
+		boolean includeExtendedChangeDateFilters) {
 
 		Predicate filter = createActiveCasesFilter(cb, from);
 
@@ -212,11 +245,19 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 			}
 		}
 
-		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Case.CHANGE_DATE)));
-		cq.distinct(true);
+		return filter;
+	}
 
-		return em.createQuery(cq).getResultList();
+	private void fetchSyncedData(Root<Case> from) {
+
+		from.fetch(Case.SYMPTOMS);
+		from.fetch(Case.THERAPY);
+		Fetch<Case, ClinicalCourse> clinicalCourseFetch = from.fetch(Case.CLINICAL_COURSE);
+		clinicalCourseFetch.fetch(ClinicalCourse.HEALTH_CONDITIONS);
+		from.fetch(Case.HOSPITALIZATION);
+		from.fetch(Case.EPI_DATA);
+		from.fetch(Case.PORT_HEALTH_INFO);
+		from.fetch(Case.MATERNAL_HISTORY);
 	}
 
 	public List<String> getAllActiveUuids() {
@@ -297,6 +338,106 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		return result;
 	}
 
+	/**
+	 * Counts the cases of the map per grid cell, so large numbers of cases can be shown without loading each of them.
+	 * The location of a case is its facility (if {@code preferFacilityLocation} is set and the facility has
+	 * coordinates), the address of the case person or the GPS position of the report, in this order.
+	 *
+	 * @param cellSize
+	 *            edge length of a grid cell in degrees
+	 * @param southWest
+	 *            optional, together with {@code northEast} restricts the cells to the visible part of the map
+	 */
+	public List<MapCaseClusterDto> getCaseClustersForMap(
+		Region region,
+		District district,
+		Disease disease,
+		Date from,
+		Date to,
+		boolean confirmedOnly,
+		boolean preferFacilityLocation,
+		double cellSize,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+		Root<Case> caze = cq.from(getElementClass());
+		CaseJoins<Case> joins = new CaseJoins<>(caze);
+
+		Predicate filter = createMapCasesFilter(cb, cq, caze, region, district, disease, from, to);
+		if (filter == null) {
+			return Collections.emptyList();
+		}
+
+		Join<Case, Facility> facility = joins.getFacility();
+		Join<Person, Location> address = joins.getPersonAddress();
+		Predicate hasFacilityGps = cb.and(cb.isNotNull(facility.get(Facility.LATITUDE)), cb.isNotNull(facility.get(Facility.LONGITUDE)));
+		Predicate hasAddressGps = cb.and(cb.isNotNull(address.get(Location.LATITUDE)), cb.isNotNull(address.get(Location.LONGITUDE)));
+
+		CriteriaBuilder.Case<Double> latitudeCase = cb.selectCase();
+		CriteriaBuilder.Case<Double> longitudeCase = cb.selectCase();
+		if (preferFacilityLocation) {
+			latitudeCase.when(hasFacilityGps, facility.get(Facility.LATITUDE));
+			longitudeCase.when(hasFacilityGps, facility.get(Facility.LONGITUDE));
+		}
+		// incomplete report coordinates lead to a null latitude or longitude, which is filtered below
+		Expression<Double> latitude = latitudeCase.when(hasAddressGps, address.get(Location.LATITUDE)).otherwise(caze.get(Case.REPORT_LAT));
+		Expression<Double> longitude = longitudeCase.when(hasAddressGps, address.get(Location.LONGITUDE)).otherwise(caze.get(Case.REPORT_LON));
+
+		Expression<CaseClassification> classification = caze.get(Case.CASE_CLASSIFICATION);
+		filter = cb.and(filter, cb.isNotNull(latitude), cb.isNotNull(longitude), cb.isNotNull(classification));
+		if (confirmedOnly) {
+			filter = cb.and(filter, cb.equal(classification, CaseClassification.CONFIRMED));
+		} else {
+			filter = cb.and(filter, cb.notEqual(classification, CaseClassification.NO_CASE));
+		}
+		if (southWest != null && northEast != null) {
+			filter = cb.and(
+				filter,
+				cb.between(latitude, southWest.getLat(), northEast.getLat()),
+				cb.between(longitude, southWest.getLon(), northEast.getLon()));
+		}
+
+		// the cell size is a numeric literal and therefore rendered inline, which keeps select and group by identical
+		Expression<Double> latitudeCell = cb.function("floor", Double.class, cb.quot(latitude, cellSize));
+		Expression<Double> longitudeCell = cb.function("floor", Double.class, cb.quot(longitude, cellSize));
+
+		cq.multiselect(
+			latitudeCell,
+			longitudeCell,
+			cb.count(caze),
+			countClassification(cb, classification, CaseClassification.CONFIRMED),
+			countClassification(cb, classification, CaseClassification.PROBABLE),
+			countClassification(cb, classification, CaseClassification.SUSPECT),
+			cb.least(caze.<String> get(Case.UUID)));
+		cq.where(filter);
+		cq.groupBy(latitudeCell, longitudeCell);
+
+		List<MapCaseClusterDto> clusters = new ArrayList<>();
+		for (Tuple cell : em.createQuery(cq).getResultList()) {
+			long caseCount = ((Number) cell.get(2)).longValue();
+			clusters.add(
+				new MapCaseClusterDto(
+					(((Number) cell.get(0)).doubleValue() + 0.5) * cellSize,
+					(((Number) cell.get(1)).doubleValue() + 0.5) * cellSize,
+					caseCount,
+					((Number) cell.get(3)).longValue(),
+					((Number) cell.get(4)).longValue(),
+					((Number) cell.get(5)).longValue(),
+					caseCount == 1 ? (String) cell.get(6) : null));
+		}
+
+		return clusters;
+	}
+
+	private Expression<Long> countClassification(
+		CriteriaBuilder cb,
+		Expression<CaseClassification> classification,
+		CaseClassification countedClassification) {
+		return cb.sum(cb.<Long> selectCase().when(cb.equal(classification, countedClassification), 1L).otherwise(0L));
+	}
+
 	private Predicate createMapCasesFilter(
 		CriteriaBuilder cb,
 		CriteriaQuery<?> cq,
@@ -1156,6 +1297,82 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		em.createQuery(cu).executeUpdate();
 	}
 
+	/**
+	 * @return ids of up to {@code limit} cases with an id greater than {@code afterId} that are not archived and have not
+	 *         been changed since {@code notChangedSince}, ascending
+	 */
+	public List<Long> getArchivableIds(Timestamp notChangedSince, long afterId, int limit) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> from = cq.from(Case.class);
+
+		cq.where(
+			cb.equal(from.get(Case.ARCHIVED), false),
+			cb.not(createChangeDateFilter(cb, from, notChangedSince, true)),
+			cb.greaterThan(from.get(Case.ID), afterId));
+		cq.select(from.get(Case.ID));
+		cq.distinct(true);
+		cq.orderBy(cb.asc(from.get(Case.ID)));
+
+		return em.createQuery(cq).setMaxResults(limit).getResultList();
+	}
+
+	/**
+	 * Archives the {@link Case}s in a transaction of its own.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void archiveByIds(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<Case> cu = cb.createCriteriaUpdate(Case.class);
+		Root<Case> root = cu.from(Case.class);
+
+		cu.set(Case.CHANGE_DATE, Timestamp.from(Instant.now()));
+		cu.set(root.get(Case.ARCHIVED), true);
+
+		cu.where(root.get(Case.ID).in(caseIds));
+
+		em.createQuery(cu).executeUpdate();
+	}
+
+	/**
+	 * Like {@link #getByUuids(List)}, but fetches the person, symptoms and epi data together with the cases, as needed to
+	 * classify them.
+	 */
+	public List<Case> getByUuidsForClassification(List<String> caseUuids) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Case> cq = cb.createQuery(Case.class);
+		Root<Case> from = cq.from(Case.class);
+		from.fetch(Case.PERSON);
+		from.fetch(Case.SYMPTOMS, JoinType.LEFT);
+		from.fetch(Case.EPI_DATA, JoinType.LEFT);
+
+		cq.where(from.get(Case.UUID).in(caseUuids));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * Sets the classification calculated by the system. The case classification is only updated along with it when the
+	 * system classification changes, because the user may have overwritten it.
+	 */
+	public void updateSystemCaseClassification(Case caze, CaseClassification classification) {
+
+		// only update when classification by system changes - user may overwrite this
+		if (classification != caze.getSystemCaseClassification()) {
+			caze.setSystemCaseClassification(classification);
+
+			// really a change? (user may have already set it)
+			if (classification != caze.getCaseClassification()) {
+				caze.setCaseClassification(classification);
+				caze.setClassificationUser(null);
+				caze.setClassificationDate(new Date());
+			}
+		}
+	}
+
 	public boolean isCaseEditAllowed(Case caze) {
 		if (caze.getSormasToSormasOriginInfo() != null) {
 			return caze.getSormasToSormasOriginInfo().isOwnershipHandedOver();
@@ -0,0 +1,364 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.api.statistics.StatisticsCaseAttribute;
+import de.symeda.sormas.api.statistics.StatisticsCaseCriteria;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Maintains the pre-aggregated case counts that {@link CaseStatisticsFacadeEjb#queryCaseCount} uses instead of
+ * counting the cases table on every request.
+ * <p>
+ * {@link #TABLE_NAME} holds the number of (not deleted) cases per combination of the {@link #KEY_COLUMNS}. To apply
+ * changed cases as deltas, {@link #CASE_TABLE_NAME} remembers the combination each case is currently counted in.
+ * The report date is stored as year, quarter, month and epi week, so all report time groupings can be derived from it,
+ * and the case age is stored in years, so all age interval groupings can be derived from it.
+ */
+@Stateless
+@LocalBean
+public class CaseStatisticsCubeService {
+
+	public static final String TABLE_NAME = "casestatisticscube";
+	public static final String CASE_TABLE_NAME = "casestatisticscube_case";
+	public static final String STATE_TABLE_NAME = "casestatisticscube_state";
+
+	public static final String DISEASE = "disease";
+	public static final String REPORT_YEAR = "reportyear";
+	public static final String REPORT_QUARTER = "reportquarter";
+	public static final String REPORT_MONTH = "reportmonth";
+	public static final String REPORT_EPI_YEAR = "reportepiyear";
+	public static final String REPORT_EPI_WEEK = "reportepiweek";
+	public static final String REGION_ID = "region_id";
+	public static final String DISTRICT_ID = "district_id";
+	public static final String COMMUNITY_ID = "community_id";
+	public static final String HEALTH_FACILITY_ID = "healthfacility_id";
+	public static final String SEX = "sex";
+	public static final String CASE_AGE = "caseage";
+	public static final String CASE_CLASSIFICATION = "caseclassification";
+	public static final String OUTCOME = "outcome";
+	public static final String CASE_COUNT = "casecount";
+	public static final String CASE_ID = "case_id";
+	public static final String LAST_UPDATE = "lastupdate";
+
+	public static final String[] KEY_COLUMNS = {
+		DISEASE,
+		REPORT_YEAR,
+		REPORT_QUARTER,
+		REPORT_MONTH,
+		REPORT_EPI_YEAR,
+		REPORT_EPI_WEEK,
+		REGION_ID,
+		DISTRICT_ID,
+		COMMUNITY_ID,
+		HEALTH_FACILITY_ID,
+		SEX,
+		CASE_AGE,
+		CASE_CLASSIFICATION,
+		OUTCOME };
+
+	private static final int UPDATE_BATCH_SIZE = 1000;
+
+	/**
+	 * Changes of transactions that were still running during the last update may have an older change date than the
+	 * update itself. Re-applying a case is idempotent, so the changes are looked up with some overlap.
+	 */
+	private static final long CHANGE_DATE_OVERLAP_MILLIS = 10 * 60 * 1000L;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	/**
+	 * @return true when the cube has been built and can be used to answer queries.
+	 */
+	public boolean isAvailable() {
+		return !em.createNativeQuery("SELECT 1 FROM " + STATE_TABLE_NAME).setMaxResults(1).getResultList().isEmpty();
+	}
+
+	/**
+	 * @return true when all filters and groupings of the query can be answered from the attributes stored in the cube.
+	 */
+	public boolean isCovering(StatisticsCaseCriteria caseCriteria, StatisticsCaseAttribute groupingA, StatisticsCaseAttribute groupingB) {
+
+		return isCovering(groupingA)
+			&& isCovering(groupingB)
+			&& !caseCriteria.hasOnsetDate()
+			&& caseCriteria.getReportDateFrom() == null
+			&& caseCriteria.getReportDateTo() == null
+			&& caseCriteria.getPersonRegions() == null
+			&& caseCriteria.getPersonDistricts() == null
+			&& caseCriteria.getPersonCommunities() == null
+			&& caseCriteria.getPersonCity() == null
+			&& caseCriteria.getPersonPostcode() == null
+			&& CollectionUtils.isEmpty(caseCriteria.getReportingUserRoles());
+	}
+
+	private boolean isCovering(StatisticsCaseAttribute grouping) {
+		return grouping != StatisticsCaseAttribute.ONSET_TIME && grouping != StatisticsCaseAttribute.REPORTING_USER_ROLE;
+	}
+
+	/**
+	 * Applies all cases (and persons of cases) that have been changed since the last update to the cube.
+	 * Builds the cube from scratch when it does not exist yet.
+	 */
+	public void update() {
+
+		// locks the state so concurrent updates can not apply the same delta twice
+		List<?> lastUpdates = em.createNativeQuery("SELECT " + LAST_UPDATE + " FROM " + STATE_TABLE_NAME + " FOR UPDATE").getResultList();
+		if (lastUpdates.isEmpty()) {
+			rebuild();
+			return;
+		}
+
+		Date updateDate = new Date();
+		Date changedSince = new Date(((Date) lastUpdates.get(0)).getTime() - CHANGE_DATE_OVERLAP_MILLIS);
+
+		@SuppressWarnings("unchecked")
+		List<Number> changedCaseIds = em
+			.createNativeQuery(
+				"SELECT " + Case.TABLE_NAME + "." + Case.ID + " FROM " + Case.TABLE_NAME + " WHERE " + Case.TABLE_NAME + "."
+					+ AbstractDomainObject.CHANGE_DATE + " > ?1" + " UNION SELECT " + Case.TABLE_NAME + "." + Case.ID + " FROM "
+					+ Case.TABLE_NAME + " JOIN " + Person.TABLE_NAME + " ON " + Case.TABLE_NAME + "." + Case.PERSON + "_id = "
+					+ Person.TABLE_NAME + "." + Person.ID + " WHERE " + Person.TABLE_NAME + "." + AbstractDomainObject.CHANGE_DATE + " > ?1")
+			.setParameter(1, changedSince)
+			.getResultList();
+
+		List<Long> caseIds = changedCaseIds.stream().map(Number::longValue).collect(Collectors.toList());
+		for (int i = 0; i < caseIds.size(); i += UPDATE_BATCH_SIZE) {
+			applyChangedCases(caseIds.subList(i, Math.min(i + UPDATE_BATCH_SIZE, caseIds.size())));
+		}
+
+		em.createNativeQuery("UPDATE " + STATE_TABLE_NAME + " SET " + LAST_UPDATE + " = ?1").setParameter(1, updateDate).executeUpdate();
+
+		logger.debug("Applied {} changed cases to the case statistics cube", caseIds.size());
+	}
+
+	/**
+	 * Builds the cube from all cases.
+	 */
+	public void rebuild() {
+
+		long startTime = System.currentTimeMillis();
+		Date updateDate = new Date();
+
+		em.createNativeQuery("DELETE FROM " + STATE_TABLE_NAME).executeUpdate();
+		em.createNativeQuery("DELETE FROM " + TABLE_NAME).executeUpdate();
+		em.createNativeQuery("DELETE FROM " + CASE_TABLE_NAME).executeUpdate();
+
+		em.createNativeQuery(buildCaseInsertQuery(null)).executeUpdate();
+
+		String keyColumns = String.join(", ", KEY_COLUMNS);
+		em.createNativeQuery(
+			"INSERT INTO " + TABLE_NAME + " (" + keyColumns + ", " + CASE_COUNT + ") SELECT " + keyColumns + ", COUNT(*) FROM " + CASE_TABLE_NAME
+				+ " GROUP BY " + keyColumns)
+			.executeUpdate();
+
+		em.createNativeQuery("INSERT INTO " + STATE_TABLE_NAME + " (" + LAST_UPDATE + ") VALUES (?1)").setParameter(1, updateDate).executeUpdate();
+
+		logger.info("Rebuilt the case statistics cube in {} ms", System.currentTimeMillis() - startTime);
+	}
+
+	private void applyChangedCases(List<Long> caseIds) {
+
+		Map<List<Object>, Long> deltas = new HashMap<>();
+		countByKey(caseIds).forEach((key, count) -> deltas.merge(key, -count, Long::sum));
+
+		List<Object> parameters = new ArrayList<>();
+		StringBuilder caseIdFilter = new StringBuilder();
+		AbstractAdoService.appendInFilterValues(caseIdFilter, parameters, caseIds, id -> id);
+
+		Query deleteQuery = em.createNativeQuery("DELETE FROM " + CASE_TABLE_NAME + " WHERE " + CASE_ID + " IN " + caseIdFilter);
+		setParameters(deleteQuery, parameters);
+		deleteQuery.executeUpdate();
+
+		Query insertQuery = em.createNativeQuery(buildCaseInsertQuery(caseIdFilter.toString()));
+		setParameters(insertQuery, parameters);
+		insertQuery.executeUpdate();
+
+		countByKey(caseIds).forEach((key, count) -> deltas.merge(key, count, Long::sum));
+
+		deltas.forEach((key, delta) -> {
+			if (delta != 0) {
+				applyDelta(key, delta);
+			}
+		});
+	}
+
+	/**
+	 * @return the number of the given cases per combination of key values, as currently stored in {@link #CASE_TABLE_NAME}
+	 */
+	private Map<List<Object>, Long> countByKey(List<Long> caseIds) {
+
+		String keyColumns = String.join(", ", KEY_COLUMNS);
+		StringBuilder queryBuilder =
+			new StringBuilder("SELECT ").append(keyColumns).append(", COUNT(*) FROM ").append(CASE_TABLE_NAME).append(" WHERE ").append(CASE_ID).append(" IN ");
+		List<Object> parameters = new ArrayList<>();
+		AbstractAdoService.appendInFilterValues(queryBuilder, parameters, caseIds, id -> id);
+		queryBuilder.append(" GROUP BY ").append(keyColumns);
+
+		Query query = em.createNativeQuery(queryBuilder.toString());
+		setParameters(query, parameters);
+
+		@SuppressWarnings("unchecked")
+		List<Object[]> results = query.getResultList();
+		Map<List<Object>, Long> countsByKey = new HashMap<>();
+		for (Object[] result : results) {
+			countsByKey.put(Arrays.asList(Arrays.copyOf(result, KEY_COLUMNS.length)), ((Number) result[KEY_COLUMNS.length]).longValue());
+		}
+		return countsByKey;
+	}
+
+	private void applyDelta(List<Object> key, long delta) {
+
+		List<Object> updateParameters = new ArrayList<>();
+		updateParameters.add(delta);
+		String updateKeyFilter = buildKeyFilter(key, updateParameters);
+		Query updateQuery =
+			em.createNativeQuery("UPDATE " + TABLE_NAME + " SET " + CASE_COUNT + " = " + CASE_COUNT + " + ?1 WHERE " + updateKeyFilter);
+		setParameters(updateQuery, updateParameters);
+		int updatedRows = updateQuery.executeUpdate();
+
+		if (updatedRows == 0 && delta > 0) {
+			StringBuilder insertBuilder = new StringBuilder("INSERT INTO ").append(TABLE_NAME)
+				.append(" (")
+				.append(String.join(", ", KEY_COLUMNS))
+				.append(", ")
+				.append(CASE_COUNT)
+				.append(") VALUES (");
+			List<Object> insertParameters = new ArrayList<>();
+			for (Object value : key) {
+				if (value == null) {
+					// null parameters can not be typed by the database
+					insertBuilder.append("NULL, ");
+				} else {
+					insertParameters.add(value);
+					insertBuilder.append("?").append(insertParameters.size()).append(", ");
+				}
+			}
+			insertParameters.add(delta);
+			insertBuilder.append("?").append(insertParameters.size()).append(")");
+
+			Query insertQuery = em.createNativeQuery(insertBuilder.toString());
+			setParameters(insertQuery, insertParameters);
+			insertQuery.executeUpdate();
+		} else if (delta < 0) {
+			List<Object> deleteParameters = new ArrayList<>();
+			String deleteKeyFilter = buildKeyFilter(key, deleteParameters);
+			Query deleteQuery = em.createNativeQuery("DELETE FROM " + TABLE_NAME + " WHERE " + CASE_COUNT + " <= 0 AND " + deleteKeyFilter);
+			setParameters(deleteQuery, deleteParameters);
+			deleteQuery.executeUpdate();
+		}
+	}
+
+	/**
+	 * Builds a filter matching exactly the cube row of the given key and appends the needed values to the parameters.
+	 */
+	private String buildKeyFilter(List<Object> key, List<Object> parameters) {
+
+		StringBuilder keyFilter = new StringBuilder();
+		for (int i = 0; i < KEY_COLUMNS.length; i++) {
+			if (i > 0) {
+				keyFilter.append(" AND ");
+			}
+			keyFilter.append(KEY_COLUMNS[i]);
+			if (key.get(i) == null) {
+				keyFilter.append(" IS NULL");
+			} else {
+				parameters.add(key.get(i));
+				keyFilter.append(" = ?").append(parameters.size());
+			}
+		}
+		return keyFilter.toString();
+	}
+
+	/**
+	 * @param caseIdFilter
+	 *            IN clause (with parameters) limiting the cases to insert; null to insert all cases
+	 */
+	private String buildCaseInsertQuery(String caseIdFilter) {
+
+		String reportDate = Case.TABLE_NAME + "." + Case.REPORT_DATE;
+
+		StringBuilder queryBuilder = new StringBuilder("INSERT INTO ").append(CASE_TABLE_NAME)
+			.append(" (")
+			.append(CASE_ID)
+			.append(", ")
+			.append(String.join(", ", KEY_COLUMNS))
+			.append(") SELECT ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.ID).append(", ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.DISEASE).append(", ");
+		queryBuilder.append("CAST(EXTRACT(YEAR FROM ").append(reportDate).append(") AS integer), ");
+		queryBuilder.append("CAST(EXTRACT(QUARTER FROM ").append(reportDate).append(") AS integer), ");
+		queryBuilder.append("CAST(EXTRACT(MONTH FROM ").append(reportDate).append(") AS integer), ");
+		queryBuilder.append("epi_year(").append(reportDate).append("), ");
+		queryBuilder.append("epi_week(").append(reportDate).append("), ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.REGION).append("_id, ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.DISTRICT).append("_id, ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.COMMUNITY).append("_id, ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.HEALTH_FACILITY).append("_id, ");
+		queryBuilder.append(Person.TABLE_NAME).append(".").append(Person.SEX).append(", ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(", ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_CLASSIFICATION).append(", ");
+		queryBuilder.append(Case.TABLE_NAME).append(".").append(Case.OUTCOME);
+		queryBuilder.append(" FROM ")
+			.append(Case.TABLE_NAME)
+			.append(" LEFT JOIN ")
+			.append(Person.TABLE_NAME)
+			.append(" ON ")
+			.append(Case.TABLE_NAME)
+			.append(".")
+			.append(Case.PERSON)
+			.append("_id = ")
+			.append(Person.TABLE_NAME)
+			.append(".")
+			.append(Person.ID);
+		queryBuilder.append(" WHERE ").append(Case.TABLE_NAME).append(".").append(Case.DELETED).append(" = false");
+		if (caseIdFilter != null) {
+			queryBuilder.append(" AND ").append(Case.TABLE_NAME).append(".").append(Case.ID).append(" IN ").append(caseIdFilter);
+		}
+
+		return queryBuilder.toString();
+	}
+
+	private static void setParameters(Query query, List<Object> parameters) {
+		for (int i = 0; i < parameters.size(); i++) {
+			query.setParameter(i + 1, parameters.get(i));
+		}
+	}
+}
@@ -21,7 +21,11 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -96,6 +100,8 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 	private CommunityFacadeEjbLocal communityFacade;
 	@EJB
 	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private CaseStatisticsCubeService caseStatisticsCubeService;
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -110,18 +116,23 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		Integer populationReferenceYear) {
 
 		// case counts
-		Pair<String, List<Object>> caseCountQueryAndParams =
-			buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		Pair<String, List<Object>> caseCountQueryAndParams;
+		if (caseStatisticsCubeService.isCovering(caseCriteria, rowGrouping, columnGrouping) && caseStatisticsCubeService.isAvailable()) {
+			caseCountQueryAndParams = buildCaseCountCubeQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		} else {
+			caseCountQueryAndParams = buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		}
 
 		Query caseCountQuery = em.createNativeQuery(caseCountQueryAndParams.getKey().toString());
 		for (int i = 0; i < caseCountQueryAndParams.getValue().size(); i++) {
 			caseCountQuery.setParameter(i + 1, caseCountQueryAndParams.getValue().get(i));
 		}
 
-		Function<Integer, RegionReferenceDto> regionProvider = id -> regionFacade.getRegionReferenceById(id);
-		Function<Integer, DistrictReferenceDto> districtProvider = id -> districtFacade.getDistrictReferenceById(id);
-		Function<Integer, CommunityReferenceDto> communityProvider = id -> communityFacade.getCommunityReferenceById(id);
-		Function<Integer, FacilityReferenceDto> healthFacilityProvider = id -> facilityFacade.getFacilityReferenceById(id);
+		// the references are served from the InfrastructureReferenceCache, so no query is needed per row
+		Function<Integer, RegionReferenceDto> regionProvider = regionFacade::getRegionReferenceById;
+		Function<Integer, DistrictReferenceDto> districtProvider = districtFacade::getDistrictReferenceById;
+		Function<Integer, CommunityReferenceDto> communityProvider = communityFacade::getCommunityReferenceById;
+		Function<Integer, FacilityReferenceDto> healthFacilityProvider = facilityFacade::getFacilityReferenceById;
 
 		List<StatisticsCaseCountDto> caseCountResults = ((Stream<Object[]>) caseCountQuery.getResultStream()).map(result -> {
 			Object rowKey = "".equals(result[1]) ? null : result[1];
@@ -167,10 +178,12 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				allColumnKeys = Arrays.asList((StatisticsGroupingKey) null);
 			}
 
+			// cells are identified by row and column key, so existing cells are found by hash instead of scanning the results
+			Set<StatisticsCaseCountDto> cells = new HashSet<>(caseCountResults);
 			for (StatisticsGroupingKey rowKey : allRowKeys) {
 				for (StatisticsGroupingKey columnKey : allColumnKeys) {
 					StatisticsCaseCountDto zeroDto = new StatisticsCaseCountDto(0, null, rowKey, columnKey);
-					if (!caseCountResults.contains(zeroDto)) {
+					if (cells.add(zeroDto)) {
 						caseCountResults.add(zeroDto);
 					}
 				}
@@ -220,6 +233,12 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 
 			// add the population data to the case counts
 			// when a key is not a population data key, we use null instead
+			Map<StatisticsCaseCountDto, Integer> populationByCell = new HashMap<>();
+			for (StatisticsCaseCountDto populationResult : populationResults) {
+				// keep the first result per cell, like a search in the result list would
+				populationByCell.putIfAbsent(populationResult, populationResult.getPopulation());
+			}
+
 			StatisticsCaseCountDto searchDto = new StatisticsCaseCountDto(null, null, null, null);
 			for (StatisticsCaseCountDto caseCountResult : caseCountResults) {
 
@@ -230,9 +249,8 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 					searchDto.setColumnKey(caseCountResult.getColumnKey());
 				}
 
-				int index = populationResults.indexOf(searchDto);
-				if (index >= 0) {
-					caseCountResult.setPopulation(populationResults.get(index).getPopulation());
+				if (populationByCell.containsKey(searchDto)) {
+					caseCountResult.setPopulation(populationByCell.get(searchDto));
 				}
 			}
 		}
@@ -611,88 +629,15 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		}
 
 		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes()) || caseCriteria.isSexUnknown() != null) {
-			if (caseFilterBuilder.length() > 0) {
-				caseFilterBuilder.append(" AND ");
-			}
-
-			caseFilterBuilder.append("(");
-			StringBuilder subFilterBuilder = new StringBuilder();
-
-			if (CollectionUtils.isNotEmpty(caseCriteria.getSexes())) {
-				extendFilterBuilderWithSimpleValue(
-					subFilterBuilder,
-					filterBuilderParameters,
-					Person.TABLE_NAME,
-					Person.SEX,
-					caseCriteria.getSexes(),
-					entry -> entry.name());
-			}
-
-			if (caseCriteria.isSexUnknown() != null) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Person.TABLE_NAME)
-					.append(".")
-					.append(Person.SEX)
-					.append(" IS ")
-					.append(caseCriteria.isSexUnknown() == true ? "NULL" : "NOT NULL");
-			}
-
-			caseFilterBuilder.append(subFilterBuilder);
-			caseFilterBuilder.append(")");
+			extendFilterBuilderWithSex(caseFilterBuilder, filterBuilderParameters, Person.TABLE_NAME + "." + Person.SEX, caseCriteria);
 		}
 
 		if (CollectionUtils.isNotEmpty(caseCriteria.getAgeIntervals())) {
-			if (caseFilterBuilder.length() > 0) {
-				caseFilterBuilder.append(" AND ");
-			}
-
-			caseFilterBuilder.append("(");
-			StringBuilder subFilterBuilder = new StringBuilder();
-
-			Integer upperRangeBoundary = null;
-			boolean appendUnknown = false;
-			List<Integer> agesList = new ArrayList<Integer>();
-			for (IntegerRange range : caseCriteria.getAgeIntervals()) {
-				if (range.getTo() == null) {
-					if (range.getFrom() == null) {
-						appendUnknown = true;
-					} else {
-						upperRangeBoundary = range.getFrom();
-					}
-				} else {
-					agesList.addAll(IntStream.rangeClosed(range.getFrom(), range.getTo()).boxed().collect(Collectors.toList()));
-				}
-			}
-
-			if (agesList.size() > 0) {
-				extendFilterBuilderWithSimpleValue(
-					subFilterBuilder,
-					filterBuilderParameters,
-					Case.TABLE_NAME,
-					Case.CASE_AGE,
-					agesList,
-					value -> value);
-			}
-
-			if (upperRangeBoundary != null) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= ?").append(filterBuilderParameters.size() + 1);
-				filterBuilderParameters.add(upperRangeBoundary);
-			}
-
-			if (appendUnknown) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" IS NULL");
-			}
-
-			caseFilterBuilder.append(subFilterBuilder);
-			caseFilterBuilder.append(")");
+			extendFilterBuilderWithAgeIntervals(
+				caseFilterBuilder,
+				filterBuilderParameters,
+				Case.TABLE_NAME + "." + Case.CASE_AGE,
+				caseCriteria.getAgeIntervals());
 		}
 
 		if (CollectionUtils.isNotEmpty(caseCriteria.getDiseases())) {
@@ -844,6 +789,248 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return new ImmutablePair<String, List<Object>>(queryBuilder.toString(), filterBuilderParameters);
 	}
 
+	/**
+	 * Builds SQL query string and list of parameters (for filters) that sums up the pre-aggregated case counts of the
+	 * {@link CaseStatisticsCubeService}. Only valid for criteria and groupings covered by
+	 * {@link CaseStatisticsCubeService#isCovering}.
+	 */
+	public Pair<String, List<Object>> buildCaseCountCubeQuery(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB) {
+
+		String cube = CaseStatisticsCubeService.TABLE_NAME;
+		String reportYear = cube + "." + CaseStatisticsCubeService.REPORT_YEAR;
+		String reportEpiYear = cube + "." + CaseStatisticsCubeService.REPORT_EPI_YEAR;
+		String reportEpiWeek = cube + "." + CaseStatisticsCubeService.REPORT_EPI_WEEK;
+
+		/////////////
+		// 1. Build filter based on caseCriteria
+		/////////////
+
+		StringBuilder cubeFilterBuilder = new StringBuilder();
+		List<Object> filterBuilderParameters = new ArrayList<Object>();
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportYears())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				reportYear,
+				caseCriteria.getReportYears(),
+				dateValue -> (dateValue.getValue()));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportQuarters())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube + "." + CaseStatisticsCubeService.REPORT_QUARTER,
+				caseCriteria.getReportQuarters(),
+				dateValue -> (dateValue.getValue()));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportMonths())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube + "." + CaseStatisticsCubeService.REPORT_MONTH,
+				caseCriteria.getReportMonths(),
+				dateValue -> (dateValue.ordinal() + 1));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportEpiWeeks())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				reportEpiWeek,
+				caseCriteria.getReportEpiWeeks(),
+				value -> value.getWeek());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportQuartersOfYear())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				buildCubeQuarterOfYearExpression(),
+				caseCriteria.getReportQuartersOfYear(),
+				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportMonthsOfYear())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				buildCubeMonthOfYearExpression(),
+				caseCriteria.getReportMonthsOfYear(),
+				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportEpiWeeksOfYear())) {
+			extendFilterBuilderWithExpression(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				"(" + reportEpiYear + " * 100 + " + reportEpiWeek + ")",
+				caseCriteria.getReportEpiWeeksOfYear(),
+				value -> value.getYear() * 100 + value.getWeek());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes()) || caseCriteria.isSexUnknown() != null) {
+			extendFilterBuilderWithSex(cubeFilterBuilder, filterBuilderParameters, cube + "." + CaseStatisticsCubeService.SEX, caseCriteria);
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getAgeIntervals())) {
+			extendFilterBuilderWithAgeIntervals(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube + "." + CaseStatisticsCubeService.CASE_AGE,
+				caseCriteria.getAgeIntervals());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getDiseases())) {
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.DISEASE,
+				caseCriteria.getDiseases(),
+				entry -> entry.name());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getClassifications())) {
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.CASE_CLASSIFICATION,
+				caseCriteria.getClassifications(),
+				entry -> entry.name());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOutcomes())) {
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.OUTCOME,
+				caseCriteria.getOutcomes(),
+				entry -> entry.name());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getRegions())) {
+			List<Long> regionIds = regionService.getIdsByReferenceDtos(caseCriteria.getRegions());
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.REGION_ID,
+				regionIds,
+				entry -> entry);
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getDistricts())) {
+			List<Long> districtIds = districtService.getIdsByReferenceDtos(caseCriteria.getDistricts());
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.DISTRICT_ID,
+				districtIds,
+				entry -> entry);
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getCommunities())) {
+			List<Long> communityIds = communityService.getIdsByReferenceDtos(caseCriteria.getCommunities());
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.COMMUNITY_ID,
+				communityIds,
+				entry -> entry);
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getHealthFacilities())) {
+			List<Long> facilityIds = facilityService.getIdsByReferenceDtos(caseCriteria.getHealthFacilities());
+			extendFilterBuilderWithSimpleValue(
+				cubeFilterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCubeService.HEALTH_FACILITY_ID,
+				facilityIds,
+				entry -> entry);
+		}
+
+		//////////////
+		// 2. Add selected groupings
+		/////////////
+
+		String groupingSelectQueryA = null, groupingSelectQueryB = null;
+		StringBuilder cubeGroupByBuilder = new StringBuilder();
+		StringBuilder orderByBuilder = new StringBuilder();
+		String groupAAlias = "groupA";
+		String groupBAlias = "groupB";
+
+		if (groupingA != null || groupingB != null) {
+			cubeGroupByBuilder.append(" GROUP BY ");
+
+			if (groupingA != null) {
+				groupingSelectQueryA = buildCubeGroupingSelectQuery(groupingA, subGroupingA, groupAAlias);
+				cubeGroupByBuilder.append(groupAAlias);
+			}
+			if (groupingB != null) {
+				groupingSelectQueryB = buildCubeGroupingSelectQuery(groupingB, subGroupingB, groupBAlias);
+				if (groupingA != null) {
+					cubeGroupByBuilder.append(",");
+				}
+				cubeGroupByBuilder.append(groupBAlias);
+			}
+		}
+
+		//////////////
+		// 3. Order results
+		/////////////
+
+		orderByBuilder.append(" ORDER BY ");
+		if (groupingA != null) {
+			orderByBuilder.append(groupAAlias).append(" NULLS LAST");
+		}
+		if (groupingB != null) {
+			if (groupingA != null) {
+				orderByBuilder.append(",");
+			}
+			orderByBuilder.append(groupBAlias).append(" NULLS LAST");
+		}
+
+		StringBuilder queryBuilder = new StringBuilder();
+
+		queryBuilder.append("SELECT COALESCE(SUM(").append(cube).append(".").append(CaseStatisticsCubeService.CASE_COUNT).append("), 0) AS casecount ");
+
+		if (groupingSelectQueryA != null) {
+			queryBuilder.append(", ").append(groupingSelectQueryA);
+		} else {
+			queryBuilder.append(", null\\:\\:text AS ").append(groupAAlias);
+		}
+		if (groupingSelectQueryB != null) {
+			queryBuilder.append(", ").append(groupingSelectQueryB);
+		} else {
+			queryBuilder.append(", null\\:\\:text AS ").append(groupBAlias);
+		}
+
+		queryBuilder.append(" FROM ").append(cube);
+		if (cubeFilterBuilder.length() > 0) {
+			queryBuilder.append(" WHERE ").append(cubeFilterBuilder);
+		}
+		queryBuilder.append(cubeGroupByBuilder);
+
+		if (groupingA != null || groupingB != null) {
+			queryBuilder.append(orderByBuilder);
+		}
+
+		return new ImmutablePair<String, List<Object>>(queryBuilder.toString(), filterBuilderParameters);
+	}
+
 	/**
 	 * Builds SQL query string and list of parameters (for filters)
 	 */
@@ -1110,6 +1297,100 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return AbstractAdoService.appendInFilterValues(filterBuilder, filterBuilderParameters, values, valueMapper);
 	}
 
+	private <T> StringBuilder extendFilterBuilderWithExpression(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		String expression,
+		List<T> values,
+		Function<T, ?> valueMapper) {
+
+		if (filterBuilder.length() > 0) {
+			filterBuilder.append(" AND ");
+		}
+
+		filterBuilder.append(expression).append(" IN ");
+		return AbstractAdoService.appendInFilterValues(filterBuilder, filterBuilderParameters, values, valueMapper);
+	}
+
+	private void extendFilterBuilderWithSex(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		String sexColumn,
+		StatisticsCaseCriteria caseCriteria) {
+
+		if (filterBuilder.length() > 0) {
+			filterBuilder.append(" AND ");
+		}
+
+		filterBuilder.append("(");
+		StringBuilder subFilterBuilder = new StringBuilder();
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes())) {
+			extendFilterBuilderWithExpression(subFilterBuilder, filterBuilderParameters, sexColumn, caseCriteria.getSexes(), entry -> entry.name());
+		}
+
+		if (caseCriteria.isSexUnknown() != null) {
+			if (subFilterBuilder.length() > 0) {
+				subFilterBuilder.append(" OR ");
+			}
+			subFilterBuilder.append(sexColumn).append(" IS ").append(caseCriteria.isSexUnknown() == true ? "NULL" : "NOT NULL");
+		}
+
+		filterBuilder.append(subFilterBuilder);
+		filterBuilder.append(")");
+	}
+
+	private void extendFilterBuilderWithAgeIntervals(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		String ageColumn,
+		List<IntegerRange> ageIntervals) {
+
+		if (filterBuilder.length() > 0) {
+			filterBuilder.append(" AND ");
+		}
+
+		filterBuilder.append("(");
+		StringBuilder subFilterBuilder = new StringBuilder();
+
+		Integer upperRangeBoundary = null;
+		boolean appendUnknown = false;
+		List<Integer> agesList = new ArrayList<Integer>();
+		for (IntegerRange range : ageIntervals) {
+			if (range.getTo() == null) {
+				if (range.getFrom() == null) {
+					appendUnknown = true;
+				} else {
+					upperRangeBoundary = range.getFrom();
+				}
+			} else {
+				agesList.addAll(IntStream.rangeClosed(range.getFrom(), range.getTo()).boxed().collect(Collectors.toList()));
+			}
+		}
+
+		if (agesList.size() > 0) {
+			extendFilterBuilderWithExpression(subFilterBuilder, filterBuilderParameters, ageColumn, agesList, value -> value);
+		}
+
+		if (upperRangeBoundary != null) {
+			if (subFilterBuilder.length() > 0) {
+				subFilterBuilder.append(" OR ");
+			}
+			subFilterBuilder.append(ageColumn).append(" >= ?").append(filterBuilderParameters.size() + 1);
+			filterBuilderParameters.add(upperRangeBoundary);
+		}
+
+		if (appendUnknown) {
+			if (subFilterBuilder.length() > 0) {
+				subFilterBuilder.append(" OR ");
+			}
+			subFilterBuilder.append(ageColumn).append(" IS NULL");
+		}
+
+		filterBuilder.append(subFilterBuilder);
+		filterBuilder.append(")");
+	}
+
 	private StringBuilder extendFilterBuilderWithDate(
 		StringBuilder filterBuilder,
 		List<Object> filterBuilderParameters,
@@ -1298,7 +1579,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		case AGE_INTERVAL_CHILDREN_FINE:
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 		case AGE_INTERVAL_BASIC:
-			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, groupAlias);
+			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, Case.TABLE_NAME + "." + Case.CASE_AGE, groupAlias);
 			break;
 		case ONSET_TIME:
 			switch (subGrouping) {
@@ -1367,6 +1648,106 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return groupingSelectPartBuilder.toString();
 	}
 
+	private String buildCubeGroupingSelectQuery(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping, String groupAlias) {
+
+		String cube = CaseStatisticsCubeService.TABLE_NAME;
+		StringBuilder groupingSelectPartBuilder = new StringBuilder();
+		switch (grouping) {
+		case SEX:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.SEX).append(" AS ").append(groupAlias);
+			break;
+		case DISEASE:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.DISEASE).append(" AS ").append(groupAlias);
+			break;
+		case CLASSIFICATION:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.CASE_CLASSIFICATION).append(" AS ").append(groupAlias);
+			break;
+		case OUTCOME:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.OUTCOME).append(" AS ").append(groupAlias);
+			break;
+		case JURISDICTION: {
+			switch (subGrouping) {
+			case REGION:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.REGION_ID).append(" AS ").append(groupAlias);
+				break;
+			case DISTRICT:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.DISTRICT_ID).append(" AS ").append(groupAlias);
+				break;
+			case COMMUNITY:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.COMMUNITY_ID).append(" AS ").append(groupAlias);
+				break;
+			case FACILITY:
+				groupingSelectPartBuilder.append(cube)
+					.append(".")
+					.append(CaseStatisticsCubeService.HEALTH_FACILITY_ID)
+					.append(" AS ")
+					.append(groupAlias);
+				break;
+			default:
+				throw new IllegalArgumentException(subGrouping.toString());
+			}
+			break;
+		}
+		case AGE_INTERVAL_1_YEAR:
+		case AGE_INTERVAL_5_YEARS:
+		case AGE_INTERVAL_CHILDREN_COARSE:
+		case AGE_INTERVAL_CHILDREN_FINE:
+		case AGE_INTERVAL_CHILDREN_MEDIUM:
+		case AGE_INTERVAL_BASIC:
+			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, cube + "." + CaseStatisticsCubeService.CASE_AGE, groupAlias);
+			break;
+		case REPORT_TIME:
+			switch (subGrouping) {
+			case YEAR:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.REPORT_YEAR).append(" AS ").append(groupAlias);
+				break;
+			case QUARTER:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.REPORT_QUARTER).append(" AS ").append(groupAlias);
+				break;
+			case MONTH:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.REPORT_MONTH).append(" AS ").append(groupAlias);
+				break;
+			case EPI_WEEK:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCubeService.REPORT_EPI_WEEK).append(" AS ").append(groupAlias);
+				break;
+			case QUARTER_OF_YEAR:
+				groupingSelectPartBuilder.append(buildCubeQuarterOfYearExpression()).append(" AS ").append(groupAlias);
+				break;
+			case MONTH_OF_YEAR:
+				groupingSelectPartBuilder.append(buildCubeMonthOfYearExpression()).append(" AS ").append(groupAlias);
+				break;
+			case EPI_WEEK_OF_YEAR:
+				groupingSelectPartBuilder.append("(")
+					.append(cube)
+					.append(".")
+					.append(CaseStatisticsCubeService.REPORT_EPI_YEAR)
+					.append(" * 100 + ")
+					.append(cube)
+					.append(".")
+					.append(CaseStatisticsCubeService.REPORT_EPI_WEEK)
+					.append(") AS ")
+					.append(groupAlias);
+				break;
+			default:
+				throw new IllegalArgumentException(subGrouping.toString());
+			}
+			break;
+		default:
+			throw new IllegalArgumentException(grouping.toString());
+		}
+		return groupingSelectPartBuilder.toString();
+	}
+
+	private String buildCubeQuarterOfYearExpression() {
+		String cube = CaseStatisticsCubeService.TABLE_NAME;
+		return "(" + cube + "." + CaseStatisticsCubeService.REPORT_YEAR + " * 10 + " + cube + "." + CaseStatisticsCubeService.REPORT_QUARTER + ")";
+	}
+
+	private String buildCubeMonthOfYearExpression() {
+		String cube = CaseStatisticsCubeService.TABLE_NAME;
+		return "(" + cube + "." + CaseStatisticsCubeService.REPORT_YEAR + " * 100 + " + cube + "." + CaseStatisticsCubeService.REPORT_MONTH + ")";
+	}
+
 	private void extendGroupingBuilderWithDate(
 		StringBuilder groupingBuilder,
 		String dateToExtract,
@@ -1431,16 +1812,18 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append(groupAlias);
 	}
 
-	private void extendGroupingBuilderWithAgeInterval(StringBuilder groupingBuilder, StatisticsCaseAttribute grouping, String groupAlias) {
+	private void extendGroupingBuilderWithAgeInterval(
+		StringBuilder groupingBuilder,
+		StatisticsCaseAttribute grouping,
+		String ageColumn,
+		String groupAlias) {
 
 		groupingBuilder.append("CASE ");
 		switch (grouping) {
 		case AGE_INTERVAL_1_YEAR:
 			for (int i = 0; i < 80; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
-					.append(".")
-					.append(Case.CASE_AGE)
+					.append(ageColumn)
 					.append(" = ")
 					.append(i < 10 ? "0" + i : i)
 					.append(" THEN ")
@@ -1451,24 +1834,22 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			break;
 		case AGE_INTERVAL_5_YEARS:
 			for (AgeGroup ageGroup : AgeGroup.values()) {
-				addAgeGroupToStringBuilder(groupingBuilder, ageGroup);
+				addAgeGroupToStringBuilder(groupingBuilder, ageColumn, ageGroup);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_COARSE:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 14);
+			addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, 0, 14);
 			for (int i = 15; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_FINE:
 			for (int i = 0; i < 5; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
-					.append(".")
-					.append(Case.CASE_AGE)
+					.append(ageColumn)
 					.append(" = ")
 					.append(i)
 					.append(" THEN ")
@@ -1479,44 +1860,42 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 					.append("' ");
 			}
 			for (int i = 5; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 			for (int i = 0; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_BASIC:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 0);
-			addAgeIntervalToStringBuilder(groupingBuilder, 1, 3);
-			addAgeIntervalToStringBuilder(groupingBuilder, 5, 9);
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 15 THEN '15+' ");
+			addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, 0, 0);
+			addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, 1, 3);
+			addAgeIntervalToStringBuilder(groupingBuilder, ageColumn, 5, 9);
+			groupingBuilder.append("WHEN ").append(ageColumn).append(" >= 15 THEN '15+' ");
 			break;
 		default:
 			throw new IllegalArgumentException(grouping.toString());
 		}
 
 		if (grouping != StatisticsCaseAttribute.AGE_INTERVAL_BASIC && grouping != StatisticsCaseAttribute.AGE_INTERVAL_5_YEARS) {
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 80 THEN '80+' ");
+			groupingBuilder.append("WHEN ").append(ageColumn).append(" >= 80 THEN '80+' ");
 		}
 		groupingBuilder.append("ELSE NULL END AS " + groupAlias);
 	}
 
-	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, int number, int increase) {
+	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, String ageColumn, int number, int increase) {
 
 		String lowerNumberString = number < 10 ? "0" + number : String.valueOf(number);
 		String higherNumberString = number + increase < 10 ? "0" + (number + increase) : String.valueOf(number + increase);
 		groupingBuilder.append("WHEN ")
-			.append(Case.TABLE_NAME)
-			.append(".")
-			.append(Case.CASE_AGE)
+			.append(ageColumn)
 			.append(" BETWEEN ")
 			.append(number)
 			.append(" AND ")
@@ -1528,10 +1907,10 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append("' ");
 	}
 
-	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, AgeGroup ageGroup) {
+	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, String ageColumn, AgeGroup ageGroup) {
 
 		IntegerRange ageRange = ageGroup.toIntegerRange();
-		groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE);
+		groupingBuilder.append("WHEN ").append(ageColumn);
 		if (ageRange.getTo() == null) {
 			groupingBuilder.append(" >= ").append(ageRange.getFrom());
 		} else {
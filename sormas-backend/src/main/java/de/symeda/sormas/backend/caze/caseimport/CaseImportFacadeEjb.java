@@ -19,6 +19,7 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationTargetException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
@@ -121,6 +122,67 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 		boolean ignoreEmptyEntries)
 		throws InvalidColumnException {
 
+		return importCaseData(values, entityClasses, entityProperties, entityPropertyPaths, ignoreEmptyEntries, new ImportLookupCache());
+	}
+
+	/**
+	 * Builds and validates the entities of the lines without saving them, so several batches of lines can be built at
+	 * the same time. Names that are used by several lines (regions, districts, facilities, users, ...) are only looked
+	 * up once. Whether the persons are similar to existing ones is not checked here, because that also depends on the
+	 * persons that are saved for the preceding lines.
+	 */
+	@Override
+	@Transactional
+	public List<ImportLineResultDto<CaseImportEntities>> buildImportEntities(
+		List<String[]> lines,
+		String[] entityClasses,
+		String[] entityProperties,
+		String[][] entityPropertyPaths,
+		boolean ignoreEmptyEntries)
+		throws InvalidColumnException {
+
+		ImportLookupCache lookupCache = new ImportLookupCache();
+		List<ImportLineResultDto<CaseImportEntities>> results = new ArrayList<>(lines.size());
+		for (String[] values : lines) {
+			results.add(buildImportEntities(values, entityClasses, entityProperties, entityPropertyPaths, ignoreEmptyEntries, lookupCache));
+		}
+		return results;
+	}
+
+	private ImportLineResultDto<CaseImportEntities> importCaseData(
+		String[] values,
+		String[] entityClasses,
+		String[] entityProperties,
+		String[][] entityPropertyPaths,
+		boolean ignoreEmptyEntries,
+		ImportLookupCache lookupCache)
+		throws InvalidColumnException {
+
+		ImportLineResultDto<CaseImportEntities> buildResult =
+			buildImportEntities(values, entityClasses, entityProperties, entityPropertyPaths, ignoreEmptyEntries, lookupCache);
+		if (buildResult.isError()) {
+			return buildResult;
+		}
+
+		CaseImportEntities entities = buildResult.getImportEntities();
+		if (isPersonSimilarToExisting(entities.getPerson())) {
+			return ImportLineResultDto.duplicateResult(entities);
+		}
+
+		ImportLineResultDto<CaseImportEntities> result = saveImportedEntities(entities);
+
+		return result;
+	}
+
+	private ImportLineResultDto<CaseImportEntities> buildImportEntities(
+		String[] values,
+		String[] entityClasses,
+		String[] entityProperties,
+		String[][] entityPropertyPaths,
+		boolean ignoreEmptyEntries,
+		ImportLookupCache lookupCache)
+		throws InvalidColumnException {
+
 		// Check whether the new line has the same length as the header line
 		if (values.length > entityProperties.length) {
 			return ImportLineResultDto.errorResult(I18nProperties.getValidationError(Validations.importLineTooLong));
@@ -128,7 +190,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 
 		final CaseImportEntities entities = new CaseImportEntities(userService.getCurrentUser().toReference());
 		ImportLineResultDto<CaseImportEntities> importResult =
-			buildEntities(values, entityClasses, entityPropertyPaths, ignoreEmptyEntries, entities);
+			buildEntities(values, entityClasses, entityPropertyPaths, ignoreEmptyEntries, entities, lookupCache);
 		if (importResult.isError()) {
 			return importResult;
 		}
@@ -138,15 +200,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 			return validationResult;
 		}
 
-		PersonDto person = entities.getPerson();
-
-		if (isPersonSimilarToExisting(person)) {
-			return ImportLineResultDto.duplicateResult(entities);
-		}
-
-		ImportLineResultDto<CaseImportEntities> result = saveImportedEntities(entities);
-
-		return result;
+		return ImportLineResultDto.successResult(entities);
 	}
 
 	@Override
@@ -173,7 +227,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 		}
 
 		CaseImportEntities entities = new CaseImportEntities(person, caze);
-		ImportLineResultDto<CaseImportEntities> importResult = buildEntities(values, entityClasses, entityPropertyPaths, true, entities);
+		ImportLineResultDto<CaseImportEntities> importResult = buildEntities(values, entityClasses, entityPropertyPaths, true, entities, new ImportLookupCache());
 
 		if (importResult.isError()) {
 			return importResult;
@@ -214,6 +268,22 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 		}
 	}
 
+	@Override
+	@Transactional
+	public List<ImportLineResultDto<CaseImportEntities>> saveImportedEntities(List<CaseImportEntities> entitiesList) {
+
+		List<ImportLineResultDto<CaseImportEntities>> results = new ArrayList<>(entitiesList.size());
+		for (CaseImportEntities entities : entitiesList) {
+			// persons saved for the preceding entities are part of this transaction and are found as similar persons
+			if (isPersonSimilarToExisting(entities.getPerson())) {
+				results.add(ImportLineResultDto.duplicateResult(entities));
+				break;
+			}
+			results.add(saveImportedEntities(entities));
+		}
+		return results;
+	}
+
 	private ImportLineResultDto<CaseImportEntities> validateEntities(CaseImportEntities entities) {
 		try {
 			personFacade.validate(entities.getPerson());
@@ -236,7 +306,8 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 		String[] entityClasses,
 		String[][] entityPropertyPaths,
 		boolean ignoreEmptyEntries,
-		CaseImportEntities entities)
+		CaseImportEntities entities,
+		ImportLookupCache lookupCache)
 		throws InvalidColumnException {
 
 		final UserReferenceDto currentUserRef = userService.getCurrentUser().toReference();
@@ -284,7 +355,8 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 								samples.get(samples.size() - 1),
 								null,
 								cellData.getValue(),
-								cellData.getEntityPropertyPath());
+								cellData.getEntityPropertyPath(),
+								lookupCache);
 						}
 
 					} else if (DataHelper.equal(cellData.getEntityClass(), DataHelper.getHumanClassName(PathogenTestDto.class))) {
@@ -305,12 +377,13 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 									null,
 									pathogenTests.get(pathogenTests.size() - 1),
 									cellData.getValue(),
-									cellData.getEntityPropertyPath());
+									cellData.getEntityPropertyPath(),
+									lookupCache);
 							}
 						}
 					} else if (!StringUtils.isEmpty(cellData.getValue())) {
 						// If the cell entry is not empty, try to insert it into the current case or its person
-						insertColumnEntryIntoData(caze, entities.getPerson(), cellData.getValue(), cellData.getEntityPropertyPath());
+						insertColumnEntryIntoData(caze, entities.getPerson(), cellData.getValue(), cellData.getEntityPropertyPath(), lookupCache);
 					}
 				} catch (ImportErrorException | InvalidColumnException e) {
 					return e;
@@ -372,7 +445,12 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 	/**
 	 * Inserts the entry of a single cell into the case or its person.
 	 */
-	private void insertColumnEntryIntoData(CaseDataDto caze, PersonDto person, String entry, String[] entryHeaderPath)
+	private void insertColumnEntryIntoData(
+		CaseDataDto caze,
+		PersonDto person,
+		String entry,
+		String[] entryHeaderPath,
+		ImportLookupCache lookupCache)
 		throws InvalidColumnException, ImportErrorException {
 
 		Object currentElement = caze;
@@ -392,11 +470,12 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 
 					// Execute the default invokes specified in the data importer; if none of those were triggered, execute additional invokes
 					// according to the types of the case or person fields
-					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath)) {
+					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath, lookupCache)) {
 						continue;
 					} else if (propertyType.isAssignableFrom(DistrictReferenceDto.class)) {
-						List<DistrictReferenceDto> district = districtFacade
-							.getByName(entry, ImportHelper.getRegionBasedOnDistrict(pd.getName(), caze, null, person, currentElement), false);
+						RegionReferenceDto region = ImportHelper.getRegionBasedOnDistrict(pd.getName(), caze, null, person, currentElement);
+						List<DistrictReferenceDto> district =
+							lookupCache.get(() -> districtFacade.getByName(entry, region, false), DistrictReferenceDto.class, entry, region);
 						if (district.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties
@@ -408,8 +487,9 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 							pd.getWriteMethod().invoke(currentElement, district.get(0));
 						}
 					} else if (propertyType.isAssignableFrom(CommunityReferenceDto.class)) {
-						List<CommunityReferenceDto> community = communityFacade
-							.getByName(entry, ImportHelper.getDistrictBasedOnCommunity(pd.getName(), caze, person, currentElement), false);
+						DistrictReferenceDto district = ImportHelper.getDistrictBasedOnCommunity(pd.getName(), caze, person, currentElement);
+						List<CommunityReferenceDto> community =
+							lookupCache.get(() -> communityFacade.getByName(entry, district, false), CommunityReferenceDto.class, entry, district);
 						if (community.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(
@@ -425,12 +505,15 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 					} else if (propertyType.isAssignableFrom(FacilityReferenceDto.class)) {
 						DataHelper.Pair<DistrictReferenceDto, CommunityReferenceDto> infrastructureData =
 							ImportHelper.getDistrictAndCommunityBasedOnFacility(pd.getName(), caze, person, currentElement);
-						List<FacilityReferenceDto> facilities = facilityFacade.getByNameAndType(
+						FacilityType facilityType = getTypeOfFacility(pd.getName(), currentElement);
+						List<FacilityReferenceDto> facilities = lookupCache.get(
+							() -> facilityFacade
+								.getByNameAndType(entry, infrastructureData.getElement0(), infrastructureData.getElement1(), facilityType, false),
+							FacilityReferenceDto.class,
 							entry,
 							infrastructureData.getElement0(),
 							infrastructureData.getElement1(),
-							getTypeOfFacility(pd.getName(), currentElement),
-							false);
+							facilityType);
 
 						if (facilities.isEmpty()) {
 							if (infrastructureData.getElement1() != null) {
@@ -458,7 +541,9 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 							pd.getWriteMethod().invoke(currentElement, facilities.get(0));
 						}
 					} else if (propertyType.isAssignableFrom(PointOfEntryReferenceDto.class)) {
-						List<PointOfEntryReferenceDto> pointOfEntry = pointOfEntryFacade.getByName(entry, caze.getDistrict(), false);
+						DistrictReferenceDto district = caze.getDistrict();
+						List<PointOfEntryReferenceDto> pointOfEntry =
+							lookupCache.get(() -> pointOfEntryFacade.getByName(entry, district, false), PointOfEntryReferenceDto.class, entry, district);
 						if (pointOfEntry.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(
@@ -501,7 +586,12 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 	/**
 	 * Inserts the entry of a single cell into the sample or pathogen test.
 	 */
-	private void insertColumnEntryIntoSampleData(SampleDto sample, PathogenTestDto test, String entry, String[] entryHeaderPath)
+	private void insertColumnEntryIntoSampleData(
+		SampleDto sample,
+		PathogenTestDto test,
+		String entry,
+		String[] entryHeaderPath,
+		ImportLookupCache lookupCache)
 		throws InvalidColumnException, ImportErrorException {
 		Object currentElement = sample != null ? sample : test;
 		for (int i = 0; i < entryHeaderPath.length; i++) {
@@ -516,10 +606,11 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 
 					// Execute the default invokes specified in the data importer; if none of those were triggered, execute additional invokes
 					// according to the types of the sample or pathogen test fields
-					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath)) {
+					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath, lookupCache)) {
 						continue;
 					} else if (propertyType.isAssignableFrom(FacilityReferenceDto.class)) {
-						List<FacilityReferenceDto> lab = facilityFacade.getLaboratoriesByName(entry, false);
+						List<FacilityReferenceDto> lab =
+							lookupCache.get(() -> facilityFacade.getLaboratoriesByName(entry, false), SampleDto.LAB, entry);
 						if (lab.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -565,7 +656,12 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 		return (FacilityType) pd.getReadMethod().invoke(currentElement);
 	}
 
-	protected boolean executeDefaultInvokings(PropertyDescriptor pd, Object element, String entry, String[] entryHeaderPath)
+	protected boolean executeDefaultInvokings(
+		PropertyDescriptor pd,
+		Object element,
+		String entry,
+		String[] entryHeaderPath,
+		ImportLookupCache lookupCache)
 		throws InvocationTargetException, IllegalAccessException, ParseException, ImportErrorException {
 		Class<?> propertyType = pd.getPropertyType();
 
@@ -600,7 +696,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 			return true;
 		}
 		if (propertyType.isAssignableFrom(AreaReferenceDto.class)) {
-			List<AreaReferenceDto> areas = areaFacade.getByName(entry, false);
+			List<AreaReferenceDto> areas = lookupCache.get(() -> areaFacade.getByName(entry, false), AreaReferenceDto.class, entry);
 			if (areas.isEmpty()) {
 				throw new ImportErrorException(
 					I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -613,7 +709,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 			}
 		}
 		if (propertyType.isAssignableFrom(RegionReferenceDto.class)) {
-			List<RegionReferenceDto> region = regionFacade.getByName(entry, false);
+			List<RegionReferenceDto> region = lookupCache.get(() -> regionFacade.getByName(entry, false), RegionReferenceDto.class, entry);
 			if (region.isEmpty()) {
 				throw new ImportErrorException(
 					I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -626,7 +722,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 			}
 		}
 		if (propertyType.isAssignableFrom(UserReferenceDto.class)) {
-			UserDto user = userFacade.getByUserName(entry);
+			UserDto user = lookupCache.get(() -> userFacade.getByUserName(entry), UserDto.class, entry);
 			if (user != null) {
 				pd.getWriteMethod().invoke(element, user.toReference());
 				return true;
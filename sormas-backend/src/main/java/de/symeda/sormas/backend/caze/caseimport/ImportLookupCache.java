@@ -0,0 +1,40 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze.caseimport;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of the name based lookups (infrastructure, laboratories, users) done while importing a batch
+ * of lines, so a name that is used by many lines of an import file is only resolved once per batch.
+ */
+class ImportLookupCache {
+
+	private final Map<List<Object>, Object> results = new HashMap<>();
+
+	/**
+	 * @param key
+	 *            everything the lookup depends on, e.g. the looked up type, the name and the parent infrastructure
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T get(Supplier<T> lookup, Object... key) {
+		return (T) results.computeIfAbsent(Arrays.asList(key), k -> lookup.get());
+	}
+}
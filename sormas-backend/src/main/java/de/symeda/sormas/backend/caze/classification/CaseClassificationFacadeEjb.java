@@ -19,10 +19,12 @@ package de.symeda.sormas.backend.caze.classification;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -57,55 +59,102 @@ import de.symeda.sormas.api.sample.PathogenTestDto;
 import de.symeda.sormas.api.sample.PathogenTestType;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseFacadeEjb;
+import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.person.PersonFacadeEjb;
 import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
+import de.symeda.sormas.backend.sample.PathogenTest;
+import de.symeda.sormas.backend.sample.PathogenTestFacadeEjb;
+import de.symeda.sormas.backend.sample.PathogenTestService;
+import de.symeda.sormas.backend.util.IterableHelper;
 
-/**
- * Stateless instead of Singleton. It's ok to have multiple instances with an
- * individual cache.
- * 
- * @author Martin Wahnschaffe
- */
 @Stateless(name = "CaseClassificationFacade")
 public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 
+	private static final int CLASSIFICATION_BATCH_SIZE = 1000;
+
 	@EJB
 	private PersonFacadeEjbLocal personFacade;
-
-	/** local cache */
-	private Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap = new HashMap<>();
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private PathogenTestService pathogenTestService;
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+
+	/**
+	 * The criteria are built and compiled once per class loader when first needed; the class initialization safely
+	 * publishes them to all instances.
+	 */
+	private static final class Criteria {
+
+		private static final Map<Disease, DiseaseClassificationCriteriaDto> CRITERIA = Collections.unmodifiableMap(buildCriteria());
+		private static final Map<Disease, ClassificationEvaluator> EVALUATORS = Collections.unmodifiableMap(
+			CRITERIA.values()
+				.stream()
+				.collect(
+					Collectors.toMap(
+						DiseaseClassificationCriteriaDto::getDisease,
+						ClassificationEvaluator::compile,
+						(a, b) -> b,
+						() -> new EnumMap<>(Disease.class))));
+	}
 
 	@Override
 	public CaseClassification getClassification(CaseDataDto caze, List<PathogenTestDto> sampleTests) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
-		PersonDto person = personFacade.getPersonByUuid(caze.getPerson().getUuid());
-		DiseaseClassificationCriteriaDto criteria = criteriaMap.get(caze.getDisease());
-
-		if (criteria != null && criteria.getConfirmedCriteria() != null && criteria.getConfirmedCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.CONFIRMED;
-		} else if (criteria != null && criteria.getNotACaseCriteria() != null && criteria.getNotACaseCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.NO_CASE;
-		} else if (criteria != null && criteria.getProbableCriteria() != null && criteria.getProbableCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.PROBABLE;
-		} else if (criteria != null && criteria.getSuspectCriteria() != null && criteria.getSuspectCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.SUSPECT;
-		} else {
+		ClassificationEvaluator evaluator = Criteria.EVALUATORS.get(caze.getDisease());
+		if (evaluator == null) {
 			return CaseClassification.NOT_CLASSIFIED;
 		}
+
+		PersonDto person = evaluator.isPersonRequired() ? personFacade.getPersonByUuid(caze.getPerson().getUuid()) : null;
+		return evaluator.classify(caze, person, sampleTests);
 	}
 
 	@Override
-	public List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate) {
+	public void classifyCases(List<String> caseUuids) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
+		if (!configFacade.isFeatureAutomaticCaseClassification()) {
+			return;
 		}
 
+		IterableHelper.executeBatched(caseUuids, CLASSIFICATION_BATCH_SIZE, batchedCaseUuids -> {
+			List<Case> cases = caseService.getByUuidsForClassification(batchedCaseUuids);
+			Map<Long, List<PathogenTest>> pathogenTests =
+				pathogenTestService.getAllByCaseIds(cases.stream().map(Case::getId).collect(Collectors.toList()));
+
+			for (Case caze : cases) {
+				if (caze.getCaseClassification() == CaseClassification.NO_CASE) {
+					continue;
+				}
+
+				ClassificationEvaluator evaluator = Criteria.EVALUATORS.get(caze.getDisease());
+				CaseClassification classification;
+				if (evaluator == null) {
+					classification = CaseClassification.NOT_CLASSIFIED;
+				} else {
+					classification = evaluator.classify(
+						CaseFacadeEjb.toDto(caze),
+						evaluator.isPersonRequired() ? PersonFacadeEjb.toDto(caze.getPerson()) : null,
+						pathogenTests.getOrDefault(caze.getId(), Collections.emptyList())
+							.stream()
+							.map(PathogenTestFacadeEjb::toDto)
+							.collect(Collectors.toList()));
+				}
+				caseService.updateSystemCaseClassification(caze, classification);
+			}
+			caseService.doFlush();
+		});
+	}
+
+	@Override
+	public List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate) {
+
 		List<DiseaseClassificationCriteriaDto> results = new ArrayList<>();
-		for (DiseaseClassificationCriteriaDto criteria : criteriaMap.values()) {
+		for (DiseaseClassificationCriteriaDto criteria : Criteria.CRITERIA.values()) {
 			if (criteria.getChangeDate().after(changeDate)) {
 				results.add(criteria);
 			}
@@ -116,19 +165,12 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 
 	@Override
 	public DiseaseClassificationCriteriaDto getByDisease(Disease disease) {
-
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
-		if (criteriaMap.containsKey(disease)) {
-			return criteriaMap.get(disease);
-		} else {
-			return null;
-		}
+		return Criteria.CRITERIA.get(disease);
 	}
 
-	private void buildCriteria() {
+	private static Map<Disease, DiseaseClassificationCriteriaDto> buildCriteria() {
+
+		Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap = new EnumMap<>(Disease.class);
 
 		ClassificationCriteriaDto suspect;
 		ClassificationCriteriaDto probable;
@@ -156,7 +198,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 			suspect,
 			positiveTestResult(Disease.EVD, PathogenTestType.IGM_SERUM_ANTIBODY, PathogenTestType.PCR_RT_PCR, PathogenTestType.ISOLATION));
 
-		addCriteria(Disease.EVD, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.EVD));
+		addCriteria(criteriaMap, Disease.EVD, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.EVD));
 
 		// CSM
 		suspect = allOf(
@@ -169,7 +211,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 				symptom(SymptomsDto.BULGING_FONTANELLE)));
 		probable = allOf(caseData(CaseDataDto.OUTCOME, CaseOutcome.DECEASED), suspect, epiData(EpiDataDto.DIRECT_CONTACT_CONFIRMED_CASE));
 		confirmed = allOf(suspect, positiveTestResult(Disease.CSM, PathogenTestType.ISOLATION));
-		addCriteria(Disease.CSM, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.CSM));
+		addCriteria(criteriaMap, Disease.CSM, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.CSM));
 
 		// Lassa Fever
 		suspect = allOf(
@@ -192,7 +234,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		confirmed = allOf(
 			suspect,
 			positiveTestResult(Disease.LASSA, PathogenTestType.IGM_SERUM_ANTIBODY, PathogenTestType.PCR_RT_PCR, PathogenTestType.ISOLATION));
-		addCriteria(Disease.LASSA, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.LASSA));
+		addCriteria(criteriaMap, Disease.LASSA, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.LASSA));
 
 		// Yellow fever
 		suspect = allOf(symptom(SymptomsDto.FEVER), symptom(SymptomsDto.JAUNDICE));
@@ -227,7 +269,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 							PathogenTestType.IGM_SERUM_ANTIBODY,
 							PathogenTestType.IGG_SERUM_ANTIBODY }),
 					true)));
-		addCriteria(Disease.YELLOW_FEVER, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.YELLOW_FEVER));
+		addCriteria(criteriaMap, Disease.YELLOW_FEVER, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.YELLOW_FEVER));
 
 		// Dengue fever
 		suspect = allOf(
@@ -259,7 +301,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 						new PathogenTestType[] {
 							PathogenTestType.IGG_SERUM_ANTIBODY }),
 					true)));
-		addCriteria(Disease.DENGUE, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.DENGUE));
+		addCriteria(criteriaMap, Disease.DENGUE, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.DENGUE));
 
 		// Influenza (new subtype)
 		suspect = allOf(
@@ -287,7 +329,14 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 						new PathogenTestType[] {
 							PathogenTestType.IGG_SERUM_ANTIBODY }),
 					true)));
-		addCriteria(Disease.NEW_INFLUENZA, DateHelper.getDateZero(2018, 12, 13), suspect, probable, confirmed, extracted(Disease.NEW_INFLUENZA));
+		addCriteria(
+			criteriaMap,
+			Disease.NEW_INFLUENZA,
+			DateHelper.getDateZero(2018, 12, 13),
+			suspect,
+			probable,
+			confirmed,
+			extracted(Disease.NEW_INFLUENZA));
 
 		// Measles
 		suspect = allOf(
@@ -296,7 +345,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 			xOf(1, symptom(SymptomsDto.COUGH), symptom(SymptomsDto.RUNNY_NOSE), symptom(SymptomsDto.CONJUNCTIVITIS)));
 		probable = epiData(EpiDataDto.DIRECT_CONTACT_CONFIRMED_CASE);
 		confirmed = allOf(suspect, positiveTestResult(Disease.MEASLES, PathogenTestType.IGM_SERUM_ANTIBODY));
-		addCriteria(Disease.MEASLES, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.MEASLES));
+		addCriteria(criteriaMap, Disease.MEASLES, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.MEASLES));
 
 		// Cholera
 		suspect = allOf(
@@ -309,7 +358,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 					oneOfCompact(caseData(CaseDataDto.OUTCOME, CaseOutcome.DECEASED), epiData(EpiDataDto.AREA_CONFIRMED_CASES)))));
 		probable = null;
 		confirmed = allOf(suspect, positiveTestResult(Disease.CHOLERA, PathogenTestType.ISOLATION));
-		addCriteria(Disease.CHOLERA, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.CHOLERA));
+		addCriteria(criteriaMap, Disease.CHOLERA, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.CHOLERA));
 
 		// Monkey pox
 		suspect = allOf(symptom(SymptomsDto.FEVER), symptom(SymptomsDto.SKIN_RASH));
@@ -317,7 +366,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		confirmed = allOf(
 			suspect,
 			positiveTestResult(Disease.MONKEYPOX, PathogenTestType.IGM_SERUM_ANTIBODY, PathogenTestType.PCR_RT_PCR, PathogenTestType.ISOLATION));
-		addCriteria(Disease.MONKEYPOX, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.MONKEYPOX));
+		addCriteria(criteriaMap, Disease.MONKEYPOX, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.MONKEYPOX));
 
 		// Plague
 		suspect = allOf(
@@ -337,7 +386,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		probable =
 			allOf(suspect, xOf(1, epiData(EpiDataDto.AREA_CONFIRMED_CASES), positiveTestResult(Disease.PLAGUE, PathogenTestType.ANTIGEN_DETECTION)));
 		confirmed = allOf(suspect, positiveTestResult(Disease.PLAGUE, PathogenTestType.ISOLATION, PathogenTestType.PCR_RT_PCR));
-		addCriteria(Disease.PLAGUE, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.PLAGUE));
+		addCriteria(criteriaMap, Disease.PLAGUE, DateHelper.getDateZero(2018, 9, 17), suspect, probable, confirmed, extracted(Disease.PLAGUE));
 
 		// Congenital rubella
 		suspect = allOf(
@@ -395,19 +444,23 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 				PathogenTestType.IGM_SERUM_ANTIBODY,
 				PathogenTestType.PCR_RT_PCR));
 		addCriteria(
+			criteriaMap,
 			Disease.CONGENITAL_RUBELLA,
 			DateHelper.getDateZero(2019, 6, 3),
 			suspect,
 			probable,
 			confirmed,
 			extracted(Disease.CONGENITAL_RUBELLA));
+
+		return criteriaMap;
 	}
 
-	private ClassificationAllOfCriteriaDto extracted(Disease disease) {
+	private static ClassificationAllOfCriteriaDto extracted(Disease disease) {
 		return allOf(negativeTestResult(disease), otherPositiveTestResult(disease));
 	}
 
-	private void addCriteria(
+	private static void addCriteria(
+		Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap,
 		Disease disease,
 		Date changeDate,
 		ClassificationCriteriaDto suspect,
@@ -0,0 +1,256 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze.classification;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseLogic;
+import de.symeda.sormas.api.caze.classification.ClassificationAllOfCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationCaseCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationEpiDataCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationNoneOfCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationNotInStartDateRangeCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationPathogenTestCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationPathogenTestNegativeResultCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationPathogenTestOtherPositiveResultCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationPathogenTestPositiveResultCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationSymptomsCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationXOfCriteriaDto;
+import de.symeda.sormas.api.caze.classification.DiseaseClassificationCriteriaDto;
+import de.symeda.sormas.api.epidata.EpiDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.sample.PathogenTestDto;
+import de.symeda.sormas.api.symptoms.SymptomsDto;
+import de.symeda.sormas.api.utils.DateHelper;
+
+/**
+ * The classification criteria of one disease, compiled for evaluation: the getters referenced by the criteria are
+ * looked up once instead of on every evaluation, and sets replace the value lists.
+ * <p>
+ * Immutable and thus safe to be shared between threads. Evaluates exactly like
+ * {@link ClassificationCriteriaDto#eval(CaseDataDto, PersonDto, List)} of the criteria it has been compiled from.
+ */
+public final class ClassificationEvaluator {
+
+	@FunctionalInterface
+	interface Criterion {
+
+		boolean eval(CaseDataDto caze, PersonDto person, List<PathogenTestDto> pathogenTests);
+	}
+
+	private final Criterion confirmed;
+	private final Criterion notACase;
+	private final Criterion probable;
+	private final Criterion suspect;
+	private final boolean personRequired;
+
+	private ClassificationEvaluator(Criterion confirmed, Criterion notACase, Criterion probable, Criterion suspect, boolean personRequired) {
+		this.confirmed = confirmed;
+		this.notACase = notACase;
+		this.probable = probable;
+		this.suspect = suspect;
+		this.personRequired = personRequired;
+	}
+
+	public static ClassificationEvaluator compile(DiseaseClassificationCriteriaDto criteria) {
+
+		Compiler compiler = new Compiler();
+		Criterion confirmed = compiler.compile(criteria.getConfirmedCriteria());
+		Criterion notACase = compiler.compile(criteria.getNotACaseCriteria());
+		Criterion probable = compiler.compile(criteria.getProbableCriteria());
+		Criterion suspect = compiler.compile(criteria.getSuspectCriteria());
+		return new ClassificationEvaluator(confirmed, notACase, probable, suspect, compiler.personRequired);
+	}
+
+	/**
+	 * @return whether any criterion looks at the person; if not, {@link #classify} may be called without it
+	 */
+	public boolean isPersonRequired() {
+		return personRequired;
+	}
+
+	public CaseClassification classify(CaseDataDto caze, PersonDto person, List<PathogenTestDto> pathogenTests) {
+
+		if (confirmed != null && confirmed.eval(caze, person, pathogenTests)) {
+			return CaseClassification.CONFIRMED;
+		} else if (notACase != null && notACase.eval(caze, person, pathogenTests)) {
+			return CaseClassification.NO_CASE;
+		} else if (probable != null && probable.eval(caze, person, pathogenTests)) {
+			return CaseClassification.PROBABLE;
+		} else if (suspect != null && suspect.eval(caze, person, pathogenTests)) {
+			return CaseClassification.SUSPECT;
+		} else {
+			return CaseClassification.NOT_CLASSIFIED;
+		}
+	}
+
+	private static class Compiler {
+
+		private boolean personRequired;
+
+		private Criterion compile(ClassificationCriteriaDto criteria) {
+
+			if (criteria == null) {
+				return null;
+			}
+
+			if (criteria instanceof ClassificationAllOfCriteriaDto) {
+				Criterion[] subCriteria = compileAll(((ClassificationAllOfCriteriaDto) criteria).getSubCriteria());
+				return (caze, person, pathogenTests) -> {
+					for (Criterion subCriterion : subCriteria) {
+						if (!subCriterion.eval(caze, person, pathogenTests)) {
+							return false;
+						}
+					}
+					return true;
+				};
+			}
+
+			if (criteria instanceof ClassificationXOfCriteriaDto) {
+				int requiredAmount = ((ClassificationXOfCriteriaDto) criteria).getRequiredAmount();
+				Criterion[] subCriteria = compileAll(((ClassificationXOfCriteriaDto) criteria).getSubCriteria());
+				return (caze, person, pathogenTests) -> {
+					int amount = 0;
+					for (Criterion subCriterion : subCriteria) {
+						if (subCriterion.eval(caze, person, pathogenTests) && ++amount >= requiredAmount) {
+							return true;
+						}
+					}
+					return false;
+				};
+			}
+
+			if (criteria instanceof ClassificationNoneOfCriteriaDto) {
+				Criterion[] subCriteria = compileAll(((ClassificationNoneOfCriteriaDto) criteria).getSubCriteria());
+				return (caze, person, pathogenTests) -> {
+					for (Criterion subCriterion : subCriteria) {
+						if (subCriterion.eval(caze, person, pathogenTests)) {
+							return false;
+						}
+					}
+					return true;
+				};
+			}
+
+			Class<?> criteriaClass = criteria.getClass();
+			if (criteriaClass == ClassificationCaseCriteriaDto.class) {
+				return compilePropertyCriterion((ClassificationCaseCriteriaDto) criteria, CaseDataDto.class, caze -> caze);
+			}
+			if (criteriaClass == ClassificationSymptomsCriteriaDto.class) {
+				return compilePropertyCriterion((ClassificationCaseCriteriaDto) criteria, SymptomsDto.class, CaseDataDto::getSymptoms);
+			}
+			if (criteriaClass == ClassificationEpiDataCriteriaDto.class) {
+				return compilePropertyCriterion((ClassificationCaseCriteriaDto) criteria, EpiDataDto.class, CaseDataDto::getEpiData);
+			}
+			if (criteriaClass == ClassificationNotInStartDateRangeCriteriaDto.class) {
+				return compileNotInStartDateRange((ClassificationNotInStartDateRangeCriteriaDto) criteria);
+			}
+			if (criteriaClass == ClassificationPathogenTestCriteriaDto.class) {
+				return compilePathogenTestCriterion((ClassificationPathogenTestCriteriaDto) criteria);
+			}
+
+			// no reflection involved; evaluated as they are
+			if (criteriaClass != ClassificationPathogenTestPositiveResultCriteriaDto.class
+				&& criteriaClass != ClassificationPathogenTestNegativeResultCriteriaDto.class
+				&& criteriaClass != ClassificationPathogenTestOtherPositiveResultCriteriaDto.class) {
+				// person age criteria or unknown criteria
+				personRequired = true;
+			}
+			return criteria::eval;
+		}
+
+		private Criterion[] compileAll(List<ClassificationCriteriaDto> criteria) {
+			return criteria.stream().map(this::compile).toArray(Criterion[]::new);
+		}
+
+		private static Criterion compilePropertyCriterion(
+			ClassificationCaseCriteriaDto criteria,
+			Class<?> invokeClass,
+			Function<CaseDataDto, Object> invokeObject) {
+
+			Method getter = getGetter(invokeClass, criteria.getPropertyId(), false);
+			Set<Object> propertyValues = new HashSet<>(criteria.getPropertyValues());
+			return (caze, person, pathogenTests) -> propertyValues.contains(invoke(getter, invokeObject.apply(caze)));
+		}
+
+		private static Criterion compileNotInStartDateRange(ClassificationNotInStartDateRangeCriteriaDto criteria) {
+
+			Method getter = getGetter(CaseDataDto.class, criteria.getPropertyId(), false);
+			int daysBeforeStartDate = criteria.getDaysBeforeStartDate();
+			return (caze, person, pathogenTests) -> {
+				Object value = invoke(getter, caze);
+				if (!(value instanceof Date)) {
+					return true;
+				}
+
+				Date date = (Date) value;
+				Date startDate = CaseLogic.getStartDate(caze.getSymptoms().getOnsetDate(), caze.getReportDate());
+				Date lowerThresholdDate = DateHelper.subtractDays(startDate, daysBeforeStartDate);
+				return !(date.equals(lowerThresholdDate) || date.equals(startDate) || (date.after(lowerThresholdDate) && date.before(startDate)));
+			};
+		}
+
+		private static Criterion compilePathogenTestCriterion(ClassificationPathogenTestCriteriaDto criteria) {
+
+			Method getter = getGetter(PathogenTestDto.class, criteria.getPropertyId(), true);
+			Set<Object> testTypes = new HashSet<>(criteria.getTestTypes());
+			Set<Object> propertyValues = new HashSet<>(criteria.getPropertyValues());
+			return (caze, person, pathogenTests) -> {
+				for (PathogenTestDto pathogenTest : pathogenTests) {
+					if (testTypes.contains(pathogenTest.getTestType()) && propertyValues.contains(invoke(getter, pathogenTest))) {
+						return true;
+					}
+				}
+				return false;
+			};
+		}
+
+		private static Method getGetter(Class<?> invokeClass, String propertyId, boolean allowIsPrefix) {
+
+			String propertyName = propertyId.substring(0, 1).toUpperCase() + propertyId.substring(1);
+			try {
+				return invokeClass.getMethod("get" + propertyName);
+			} catch (NoSuchMethodException e) {
+				if (allowIsPrefix) {
+					try {
+						return invokeClass.getMethod("is" + propertyName);
+					} catch (NoSuchMethodException newE) {
+						throw new RuntimeException(newE);
+					}
+				}
+				throw new RuntimeException(e);
+			}
+		}
+
+		private static Object invoke(Method getter, Object object) {
+
+			try {
+				return getter.invoke(object);
+			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
@@ -18,11 +18,15 @@
 package de.symeda.sormas.backend.common;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -53,6 +57,7 @@ import org.slf4j.LoggerFactory;
 import de.symeda.sormas.api.ReferenceDto;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.ExtendedPostgreSQL94Dialect;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.user.CurrentUser;
 import de.symeda.sormas.backend.user.CurrentUserQualifier;
@@ -85,6 +90,10 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		return currentUser.get().getUser();
 	}
 
+	protected CurrentUser getCurrentUserContext() {
+		return currentUser.get();
+	}
+
 	protected Class<ADO> getElementClass() {
 		return elementClass;
 	}
@@ -229,6 +238,76 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * Loads a page of the entities matching the given filter for the mobile sync, ordered by change date (truncated to
+	 * milliseconds as transferred to the app) and uuid. Change date and uuid of the last entity of the previous page are
+	 * the cursor for the next page.
+	 * <p>
+	 * The ids of the page are selected first, so distinct and fetches do not interfere with ordering and limit.
+	 *
+	 * @param filterBuilder
+	 *            the filter of the unpaged sync query
+	 * @param fetchBuilder
+	 *            the fetches to apply when the entities of the page are loaded
+	 * @param lastChangeDate
+	 *            change date of the last entity of the previous page; {@code null} for the first page
+	 * @param lastUuid
+	 *            uuid of the last entity of the previous page
+	 */
+	protected List<ADO> getChangedPage(
+		SyncFilterBuilder<ADO> filterBuilder,
+		Consumer<Root<ADO>> fetchBuilder,
+		int batchSize,
+		Date lastChangeDate,
+		String lastUuid) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> idQuery = cb.createQuery(Object[].class);
+		Root<ADO> idRoot = idQuery.from(getElementClass());
+		Expression<Timestamp> changeDate =
+			cb.function(ExtendedPostgreSQL94Dialect.DATE_TRUNC_MILLISECONDS, Timestamp.class, idRoot.get(AbstractDomainObject.CHANGE_DATE));
+		Path<String> uuid = idRoot.get(AbstractDomainObject.UUID);
+
+		Predicate filter = filterBuilder.build(cb, idQuery, idRoot);
+		if (lastChangeDate != null) {
+			Timestamp lastTimestamp = new Timestamp(lastChangeDate.getTime());
+			Predicate cursorFilter = cb.or(
+				cb.greaterThan(changeDate, lastTimestamp),
+				cb.and(cb.equal(changeDate, lastTimestamp), cb.greaterThan(uuid, lastUuid != null ? lastUuid : "")));
+			filter = and(cb, filter, cursorFilter);
+		}
+		if (filter != null) {
+			idQuery.where(filter);
+		}
+		idQuery.multiselect(idRoot.get(AbstractDomainObject.ID), changeDate, uuid);
+		idQuery.orderBy(cb.asc(changeDate), cb.asc(uuid));
+		idQuery.distinct(true);
+
+		List<Long> ids = em.createQuery(idQuery)
+			.setMaxResults(Math.max(1, Math.min(batchSize, ModelConstants.PARAMETER_LIMIT)))
+			.getResultList()
+			.stream()
+			.map(row -> (Long) row[0])
+			.collect(Collectors.toList());
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		CriteriaQuery<ADO> cq = cb.createQuery(getElementClass());
+		Root<ADO> from = cq.from(getElementClass());
+		fetchBuilder.accept(from);
+		cq.where(from.get(AbstractDomainObject.ID).in(ids));
+
+		Map<Long, ADO> entities = em.createQuery(cq).getResultList().stream().collect(Collectors.toMap(ADO::getId, Function.identity()));
+		return ids.stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	@FunctionalInterface
+	public interface SyncFilterBuilder<ADO> {
+
+		Predicate build(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<ADO> from);
+	}
+
 	/**
 	 * Used by most getAll* and getAllUuids methods to filter by user
 	 */
@@ -0,0 +1,146 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.common;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Archives entities chunk by chunk in ascending order of their ids, so neither a huge IN list nor one long running
+ * transaction is needed: The archiver is expected to commit each chunk on its own.
+ * <p>
+ * When a chunk fails, the run stops and its {@link #getResumePoint() resume point} is the last id of the chunks
+ * archived so far, so a following run can continue there instead of selecting the already processed ids again.
+ * The numbers of the run (chunks, rows, duration, throughput) are kept for monitoring.
+ */
+public final class ArchivingRun {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArchivingRun.class);
+
+	@FunctionalInterface
+	public interface IdSource {
+
+		/**
+		 * @return up to {@code limit} ids of archivable entities greater than {@code afterId}, ascending
+		 */
+		List<Long> getNextIds(long afterId, int limit);
+	}
+
+	private final String entityName;
+	private final long resumedAfterId;
+	private long lastId;
+	private int chunks;
+	private long rows;
+	private long durationMillis;
+	private boolean completed;
+
+	private ArchivingRun(String entityName, long resumedAfterId) {
+		this.entityName = entityName;
+		this.resumedAfterId = resumedAfterId;
+		this.lastId = resumedAfterId;
+	}
+
+	/**
+	 * @param entityName
+	 *            for logging, e.g. "cases"
+	 * @param batchSize
+	 *            maximum number of entities per chunk, limited to {@link ModelConstants#PARAMETER_LIMIT}
+	 * @param resumeAfterId
+	 *            only entities with a greater id are archived; 0 to start from the beginning
+	 * @param archiver
+	 *            archives the entities of the given ids in its own transaction
+	 */
+	public static ArchivingRun execute(String entityName, int batchSize, long resumeAfterId, IdSource idSource, Consumer<List<Long>> archiver) {
+
+		int chunkSize = Math.max(1, Math.min(batchSize, ModelConstants.PARAMETER_LIMIT));
+		ArchivingRun run = new ArchivingRun(entityName, resumeAfterId);
+		long startTime = DateHelper.startTime();
+		try {
+			while (true) {
+				List<Long> ids = idSource.getNextIds(run.lastId, chunkSize);
+				if (!ids.isEmpty()) {
+					archiver.accept(ids);
+					run.chunks++;
+					run.rows += ids.size();
+					run.lastId = ids.get(ids.size() - 1);
+				}
+				if (ids.size() < chunkSize) {
+					run.completed = true;
+					break;
+				}
+			}
+		} catch (RuntimeException e) {
+			logger.error("Archiving " + entityName + " stopped after id " + run.lastId, e);
+		} finally {
+			run.durationMillis = DateHelper.durationMillies(startTime);
+		}
+		return run;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	/**
+	 * @return whether all archivable entities have been archived
+	 */
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	/**
+	 * @return the id to continue after in the next run, 0 if the run has been completed
+	 */
+	public long getResumePoint() {
+		return completed ? 0 : lastId;
+	}
+
+	public int getChunks() {
+		return chunks;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	public long getRowsPerSecond() {
+		return rows * 1000 / Math.max(1, durationMillis);
+	}
+
+	@Override
+	public String toString() {
+
+		return String.format(
+			"%s: %d archived in %d chunks, %d ms, %d rows/s%s%s",
+			entityName,
+			rows,
+			chunks,
+			durationMillis,
+			getRowsPerSecond(),
+			resumedAfterId > 0 ? ", resumed after id " + resumedAfterId : "",
+			completed ? "" : ", stopped after id " + lastId);
+	}
+}
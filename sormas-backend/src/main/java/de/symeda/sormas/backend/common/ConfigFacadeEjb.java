@@ -91,6 +91,7 @@ public class ConfigFacadeEjb implements ConfigFacade {
 
 	public static final String NAME_SIMILARITY_THRESHOLD = "namesimilaritythreshold";
 	public static final String INFRASTRUCTURE_SYNC_THRESHOLD = "infrastructuresyncthreshold";
+	public static final String PUSH_CHUNK_SIZE = "pushChunkSize";
 
 	public static final String INTERFACE_SYMPTOM_JOURNAL_URL = "interface.symptomjournal.url";
 	public static final String INTERFACE_SYMPTOM_JOURNAL_AUTH_URL = "interface.symptomjournal.authurl";
@@ -109,6 +110,12 @@ public class ConfigFacadeEjb implements ConfigFacade {
 
 	public static final String DAYS_AFTER_CASE_GETS_ARCHIVED = "daysAfterCaseGetsArchived";
 	private static final String DAYS_AFTER_EVENT_GETS_ARCHIVED = "daysAfterEventGetsArchived";
+	private static final String ARCHIVING_BATCH_SIZE = "archivingBatchSize";
+
+	private static final String DATABASE_EXPORT_PARALLELISM = "databaseExportParallelism";
+
+	private static final String IMPORT_BATCH_SIZE = "importBatchSize";
+	public static final String IMPORT_PARALLELISM = "importParallelism";
 
 	private static final String GEOCODING_SERVICE_URL_TEMPLATE = "geocodingServiceUrlTemplate";
 	private static final String GEOCODING_LONGITUDE_JSON_PATH = "geocodingLongitudeJsonPath";
@@ -126,6 +133,7 @@ public class ConfigFacadeEjb implements ConfigFacade {
 	private static final String SURVNET_GATEWAY_URL = "survnet.url";
 
 	private static final String DASHBOARD_MAP_MARKER_LIMIT = "dashboardMapMarkerLimit";
+	private static final String DASHBOARD_SNAPSHOT_CACHE_SECONDS = "dashboardSnapshotCacheSeconds";
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -350,6 +358,11 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getInt(INFRASTRUCTURE_SYNC_THRESHOLD, 1000);
 	}
 
+	@Override
+	public int getPushChunkSize() {
+		return Math.max(1, getInt(PUSH_CHUNK_SIZE, 50));
+	}
+
 	@Override
 	public char getCsvSeparator() {
 
@@ -370,6 +383,26 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getInt(DAYS_AFTER_EVENT_GETS_ARCHIVED, 90);
 	}
 
+	@Override
+	public int getArchivingBatchSize() {
+		return getInt(ARCHIVING_BATCH_SIZE, 1000);
+	}
+
+	@Override
+	public int getDatabaseExportParallelism() {
+		return getInt(DATABASE_EXPORT_PARALLELISM, 4);
+	}
+
+	@Override
+	public int getImportBatchSize() {
+		return Math.max(1, getInt(IMPORT_BATCH_SIZE, 100));
+	}
+
+	@Override
+	public int getImportParallelism() {
+		return Math.max(1, getInt(IMPORT_PARALLELISM, 4));
+	}
+
 	@Override
 	public String getGeocodingServiceUrlTemplate() {
 		return getProperty(GEOCODING_SERVICE_URL_TEMPLATE, null);
@@ -525,6 +558,11 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getInt(DASHBOARD_MAP_MARKER_LIMIT, -1);
 	}
 
+	@Override
+	public int getDashboardSnapshotCacheSeconds() {
+		return getInt(DASHBOARD_SNAPSHOT_CACHE_SECONDS, 30);
+	}
+
 	@LocalBean
 	@Stateless
 	public static class ConfigFacadeEjbLocal extends ConfigFacadeEjb {
@@ -22,9 +22,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.security.RunAs;
 import javax.ejb.EJB;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
 import javax.ejb.Schedule;
 import javax.ejb.Singleton;
 
@@ -34,7 +37,9 @@ import org.slf4j.LoggerFactory;
 import de.symeda.sormas.api.importexport.ImportExportUtils;
 import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.CaseStatisticsCubeService;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
@@ -47,6 +52,8 @@ import de.symeda.sormas.backend.task.TaskFacadeEjb.TaskFacadeEjbLocal;
 public class CronService {
 
 	public static final int TASK_UPDATE_INTERVAL = 10;
+	public static final int CASE_STATISTICS_UPDATE_INTERVAL = 5;
+	public static final int UNDELIVERABLE_MESSAGE_RETENTION_DAYS = 30;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -64,12 +71,45 @@ public class CronService {
 	private CaseFacadeEjbLocal caseFacade;
 	@EJB
 	private EventFacadeEjbLocal eventFacade;
+	@EJB
+	private CaseStatisticsCubeService caseStatisticsCubeService;
+	@EJB
+	private MessagingService messagingService;
+	@EJB
+	private OutboxMessageService outboxMessageService;
+
+	/**
+	 * Where the next archiving run continues, if the last one has not been completed.
+	 */
+	private long caseArchivingResumePoint;
+	private long eventArchivingResumePoint;
+
+	private final AtomicBoolean dispatchingOutboxMessages = new AtomicBoolean();
 
 	@Schedule(hour = "*", minute = "*/" + TASK_UPDATE_INTERVAL, second = "0", persistent = false)
 	public void sendNewAndDueTaskMessages() {
 		taskFacade.sendNewAndDueTaskMessages();
 	}
 
+	/**
+	 * Only needs a read lock, so the other jobs are not blocked while the messages are sent. A run is skipped while the
+	 * previous one is still going.
+	 */
+	@Lock(LockType.READ)
+	@Schedule(hour = "*", minute = "*", second = "30", persistent = false)
+	public void dispatchOutboxMessages() {
+
+		if (!dispatchingOutboxMessages.compareAndSet(false, true)) {
+			logger.info("Skipped dispatching the outbox messages, because the previous run has not finished yet");
+			return;
+		}
+		try {
+			messagingService.dispatchOutboxMessages();
+		} finally {
+			dispatchingOutboxMessages.set(false);
+		}
+	}
+
 	@Schedule(hour = "1", minute = "0", second = "0", persistent = false)
 	public void deleteAllExpiredFeatureConfigurations() {
 
@@ -120,7 +160,10 @@ public class CronService {
 
 		int daysAfterCaseGetsArchived = configFacade.getDaysAfterCaseGetsArchived();
 		if (daysAfterCaseGetsArchived >= 1) {
-			caseFacade.archiveAllArchivableCases(daysAfterCaseGetsArchived);
+			ArchivingRun run =
+				caseFacade.archiveAllArchivableCases(daysAfterCaseGetsArchived, configFacade.getArchivingBatchSize(), caseArchivingResumePoint);
+			caseArchivingResumePoint = run.getResumePoint();
+			logger.info("Archived " + run);
 		}
 	}
 
@@ -129,7 +172,22 @@ public class CronService {
 
 		int daysAfterEventsGetsArchived = configFacade.getDaysAfterEventGetsArchived();
 		if (daysAfterEventsGetsArchived >= 1) {
-			eventFacade.archiveAllArchivableEvents(daysAfterEventsGetsArchived);
+			ArchivingRun run =
+				eventFacade.archiveAllArchivableEvents(daysAfterEventsGetsArchived, configFacade.getArchivingBatchSize(), eventArchivingResumePoint);
+			eventArchivingResumePoint = run.getResumePoint();
+			logger.info("Archived " + run);
 		}
 	}
+
+	@Schedule(hour = "1", minute = "25", second = "0", persistent = false)
+	public void deleteUndeliverableOutboxMessages() {
+
+		int deletedCount = outboxMessageService.deleteUndeliverable(DateHelper.subtractDays(new Date(), UNDELIVERABLE_MESSAGE_RETENTION_DAYS));
+		logger.info("Deleted {} outbox messages that could not be delivered", deletedCount);
+	}
+
+	@Schedule(hour = "*", minute = "*/" + CASE_STATISTICS_UPDATE_INTERVAL, second = "30", persistent = false)
+	public void updateCaseStatisticsCube() {
+		caseStatisticsCubeService.update();
+	}
 }
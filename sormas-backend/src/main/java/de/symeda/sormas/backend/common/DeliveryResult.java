@@ -0,0 +1,66 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.common;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The outbox messages that could not be sent, by their uuid.
+ */
+public class DeliveryResult {
+
+	private final Map<String, String> errors = new HashMap<>();
+	private final Set<String> permanentErrors = new HashSet<>();
+
+	/**
+	 * The message could not be sent and is attempted again later.
+	 */
+	public void addError(String uuid, String error) {
+		errors.put(uuid, error);
+	}
+
+	/**
+	 * The message could not be sent and is not attempted again, because that would fail the same way or repeat what
+	 * has already been delivered.
+	 */
+	public void addPermanentError(String uuid, String error) {
+		errors.put(uuid, error);
+		permanentErrors.add(uuid);
+	}
+
+	public void addAll(DeliveryResult result) {
+		errors.putAll(result.errors);
+		permanentErrors.addAll(result.permanentErrors);
+	}
+
+	public boolean hasError(String uuid) {
+		return errors.containsKey(uuid);
+	}
+
+	public boolean isPermanentError(String uuid) {
+		return permanentErrors.contains(uuid);
+	}
+
+	/**
+	 * @return the error by uuid of all messages that could not be sent
+	 */
+	public Map<String, String> getErrors() {
+		return errors;
+	}
+}
@@ -18,8 +18,11 @@
 package de.symeda.sormas.backend.common;
 
 import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.concurrent.Future;
 
 import javax.annotation.Resource;
+import javax.ejb.AsyncResult;
 import javax.ejb.Asynchronous;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -49,29 +52,64 @@ public class EmailService {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
+	/**
+	 * Sends the emails over a single connection to the mail server. The connection and read timeouts are part of the
+	 * mail session resource (mail.smtp.connectiontimeout, mail.smtp.timeout).
+	 * 
+	 * @return the emails that could not be sent
+	 */
 	@Asynchronous
-	public void sendEmail(String recipient, String subject, String content) throws AddressException, MessagingException {
+	public Future<DeliveryResult> sendEmails(List<OutboxMessage> emails) {
 
 		Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
 
-		MimeMessage message = new MimeMessage(mailSession);
-
-		String senderAddress = configFacade.getEmailSenderAddress();
-		String senderName = configFacade.getEmailSenderName();
+		DeliveryResult result = new DeliveryResult();
 
+		InternetAddress fromAddress = null;
 		try {
-			InternetAddress fromAddress = new InternetAddress(senderAddress, senderName);
-			message.setFrom(fromAddress);
+			fromAddress = new InternetAddress(configFacade.getEmailSenderAddress(), configFacade.getEmailSenderName());
 		} catch (UnsupportedEncodingException e) {
 			logger.error(e.getMessage());
 		}
 
-		message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipient, false));
-
-		message.setSubject(subject, "UTF-8");
-		message.setContent(content, "text/plain; charset=utf-8");
+		Transport transport = null;
+		try {
+			transport = mailSession.getTransport();
+			transport.connect();
+
+			for (OutboxMessage email : emails) {
+				try {
+					MimeMessage message = new MimeMessage(mailSession);
+					if (fromAddress != null) {
+						message.setFrom(fromAddress);
+					}
+					message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(email.getRecipient(), false));
+					message.setSubject(email.getSubject(), "UTF-8");
+					message.setContent(email.getContent(), "text/plain; charset=utf-8");
+					message.saveChanges();
+
+					transport.sendMessage(message, message.getAllRecipients());
+					logger.info("Mail sent to {}.", email.getRecipient());
+				} catch (AddressException e) {
+					// sending again would fail the same way
+					result.addPermanentError(email.getUuid(), e.getMessage());
+				} catch (MessagingException e) {
+					result.addError(email.getUuid(), e.getMessage());
+				}
+			}
+		} catch (MessagingException e) {
+			// no connection to the mail server, none of the emails could be sent
+			emails.stream().filter(email -> !result.hasError(email.getUuid())).forEach(email -> result.addError(email.getUuid(), e.getMessage()));
+		} finally {
+			if (transport != null) {
+				try {
+					transport.close();
+				} catch (MessagingException e) {
+					logger.warn("Could not close the connection to the mail server: {}", e.getMessage());
+				}
+			}
+		}
 
-		Transport.send(message);
-		logger.info("Mail sent to {}.", recipient);
+		return new AsyncResult<>(result);
 	}
 }
@@ -17,18 +17,27 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.common;
 
-import java.io.IOException;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
-import javax.mail.MessagingException;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 
+import org.apache.commons.collections4.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.nexmo.client.NexmoClientException;
-
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.utils.DataHelper;
@@ -69,6 +78,19 @@ public class MessagingService {
 	public static final String CONTENT_VISIT_COMPLETED = "notificationVisitCompleted";
 	public static final String CONTENT_DISEASE_CHANGED = "notificationDiseaseChanged";
 
+	/**
+	 * Maximum number of outbox messages delivered per run of {@link #dispatchOutboxMessages()}.
+	 */
+	private static final int DISPATCH_BATCH_SIZE = 500;
+	/**
+	 * Maximum number of chunks per channel that are sent at the same time.
+	 */
+	private static final int DISPATCH_PARALLELISM = 4;
+	/**
+	 * Time after which a run of {@link #dispatchOutboxMessages()} stops waiting for the chunks that are still being sent.
+	 */
+	private static final long DISPATCH_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@EJB
@@ -78,14 +100,17 @@ public class MessagingService {
 	@EJB
 	private SmsService smsService;
 	@EJB
+	private OutboxMessageService outboxMessageService;
+	@EJB
 	private FeatureConfigurationFacadeEjb.FeatureConfigurationFacadeEjbLocal featureConfigurationFacade;
 
 	/**
-	 * Sends the message specified by the messageContent via mail and/or SMS, according to the messageTypes, to the specified recipient's
-	 * email address and/or phone number. Logs an error if the email address or phone number is not set.
+	 * Queues the message specified by the messageContent to be sent via mail and/or SMS, according to the messageTypes, to the specified
+	 * recipient's email address and/or phone number. Logs an error if the email address or phone number is not set.
+	 * The messages are stored in the current transaction and delivered by {@link #dispatchOutboxMessages()}, so they are only sent
+	 * when the action that caused them has been committed.
 	 */
-	public void sendMessage(User recipient, MessageSubject subject, String messageContent, MessageType... messageTypes)
-		throws NotificationDeliveryFailedException {
+	public void sendMessage(User recipient, MessageSubject subject, String messageContent, MessageType... messageTypes) {
 
 		// Don't send notifications to users that initiated an action
 		if (recipient.equals(userService.getCurrentUser()) || !recipient.isActive()) {
@@ -109,20 +134,83 @@ public class MessagingService {
 			} else if (messageType == MessageType.SMS && DataHelper.isNullOrEmpty(phoneNumber)) {
 				logger.info(String.format("Tried to send an SMS to a user without a phone number (UUID: %s).", recipient.getUuid()));
 			} else {
+				OutboxMessage message = new OutboxMessage();
+				message.setMessageType(messageType);
+				message.setRecipient(messageType == MessageType.EMAIL ? emailAddress : phoneNumber);
+				message.setSubject(I18nProperties.getEnumCaption(subject));
+				message.setContent(messageContent);
+				message.setAttempts(0);
+				message.setNextAttemptDate(new Date());
+				outboxMessageService.ensurePersisted(message);
+			}
+		}
+	}
+
+	/**
+	 * Delivers the due messages of the outbox. Each channel is split into up to {@link #DISPATCH_PARALLELISM} chunks that are
+	 * sent asynchronously; delivered messages are removed from the outbox, failed ones are scheduled for another attempt
+	 * unless the failure is permanent.
+	 * Chunks that are not done after {@link #DISPATCH_TIMEOUT_MILLIS} are treated as failed, so their messages may be
+	 * delivered twice.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void dispatchOutboxMessages() {
+
+		Date now = new Date();
+		long deadline = now.getTime() + DISPATCH_TIMEOUT_MILLIS;
+		List<OutboxMessage> dueMessages = outboxMessageService.getDue(now, DISPATCH_BATCH_SIZE);
+		if (dueMessages.isEmpty()) {
+			return;
+		}
+
+		Map<MessageType, List<OutboxMessage>> messagesByType =
+			dueMessages.stream().collect(Collectors.groupingBy(OutboxMessage::getMessageType, () -> new EnumMap<>(MessageType.class), Collectors.toList()));
+
+		for (Map.Entry<MessageType, List<OutboxMessage>> entry : messagesByType.entrySet()) {
+			MessageType messageType = entry.getKey();
+			List<OutboxMessage> messages = entry.getValue();
+			long startTime = System.currentTimeMillis();
+
+			int chunkSize = (messages.size() + DISPATCH_PARALLELISM - 1) / DISPATCH_PARALLELISM;
+			Map<List<OutboxMessage>, Future<DeliveryResult>> pendingChunks = new LinkedHashMap<>();
+			for (List<OutboxMessage> chunk : ListUtils.partition(messages, chunkSize)) {
+				pendingChunks.put(chunk, messageType == MessageType.EMAIL ? emailService.sendEmails(chunk) : smsService.sendSms(chunk));
+			}
+
+			DeliveryResult result = new DeliveryResult();
+			for (Map.Entry<List<OutboxMessage>, Future<DeliveryResult>> pendingChunk : pendingChunks.entrySet()) {
 				try {
-					if (messageType == MessageType.EMAIL) {
-						emailService.sendEmail(emailAddress, I18nProperties.getEnumCaption(subject), messageContent);
-					} else if (messageType == MessageType.SMS) {
-						smsService.sendSms(phoneNumber, I18nProperties.getEnumCaption(subject), messageContent);
+					long timeout = Math.max(0, deadline - System.currentTimeMillis());
+					result.addAll(pendingChunk.getValue().get(timeout, TimeUnit.MILLISECONDS));
+				} catch (TimeoutException e) {
+					logger.error("Sending a chunk of {} messages did not finish within {} ms", messageType, DISPATCH_TIMEOUT_MILLIS);
+					pendingChunk.getValue().cancel(true);
+					pendingChunk.getKey().forEach(message -> result.addError(message.getUuid(), "Timed out"));
+				} catch (InterruptedException | ExecutionException e) {
+					logger.error("Sending a chunk of {} messages failed: {}", messageType, e.getMessage());
+					String error = e.getCause() != null ? e.getCause().toString() : e.toString();
+					pendingChunk.getKey().forEach(message -> result.addError(message.getUuid(), error));
+					if (e instanceof InterruptedException) {
+						Thread.currentThread().interrupt();
 					}
-				} catch (MessagingException e) {
-					throw new NotificationDeliveryFailedException("Email could not be sent due to an unexpected error.", MessageType.EMAIL, e);
-				} catch (IOException | NexmoClientException e) {
-					throw new NotificationDeliveryFailedException("SMS could not be sent due to an unexpected error.", MessageType.SMS, e);
-				} catch (InvalidPhoneNumberException e) {
-					throw new NotificationDeliveryFailedException("SMS could not be sent because of an invalid phone number.", MessageType.SMS, e);
 				}
 			}
+
+			List<String> deliveredUuids =
+				messages.stream().map(OutboxMessage::getUuid).filter(uuid -> !result.hasError(uuid)).collect(Collectors.toList());
+			if (!deliveredUuids.isEmpty()) {
+				outboxMessageService.deleteByUuids(deliveredUuids);
+			}
+			if (!result.getErrors().isEmpty()) {
+				outboxMessageService.recordFailedAttempts(result, now);
+			}
+
+			logger.info(
+				"Delivered {} of {} {} messages in {} ms",
+				deliveredUuids.size(),
+				messages.size(),
+				messageType,
+				System.currentTimeMillis() - startTime);
 		}
 	}
 }
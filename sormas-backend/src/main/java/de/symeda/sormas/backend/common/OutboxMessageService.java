@@ -0,0 +1,127 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.common;
+
+import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Stateless
+@LocalBean
+public class OutboxMessageService extends AbstractAdoService<OutboxMessage> {
+
+	/**
+	 * Delivery is given up after this many failed attempts.
+	 */
+	public static final int MAX_ATTEMPTS = 10;
+	private static final long MAX_RETRY_DELAY_MINUTES = 6 * 60;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	public OutboxMessageService() {
+		super(OutboxMessage.class);
+	}
+
+	/**
+	 * @return up to {@code max} messages whose next delivery attempt is due, the longest waiting first
+	 */
+	public List<OutboxMessage> getDue(Date now, int max) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<OutboxMessage> cq = cb.createQuery(getElementClass());
+		Root<OutboxMessage> from = cq.from(getElementClass());
+
+		cq.where(cb.lessThanOrEqualTo(from.get(OutboxMessage.NEXT_ATTEMPT_DATE), now));
+		cq.orderBy(cb.asc(from.get(OutboxMessage.NEXT_ATTEMPT_DATE)), cb.asc(from.get(OutboxMessage.ID)));
+
+		return em.createQuery(cq).setMaxResults(max).getResultList();
+	}
+
+	public void deleteByUuids(Collection<String> uuids) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<OutboxMessage> cd = cb.createCriteriaDelete(getElementClass());
+		Root<OutboxMessage> from = cd.from(getElementClass());
+		cd.where(from.get(OutboxMessage.UUID).in(uuids));
+
+		em.createQuery(cd).executeUpdate();
+	}
+
+	/**
+	 * Deletes the messages whose delivery has been given up and that have not been changed since the given date. They are
+	 * kept for a while so the last error can be looked up.
+	 */
+	public int deleteUndeliverable(Date changedBefore) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<OutboxMessage> cd = cb.createCriteriaDelete(getElementClass());
+		Root<OutboxMessage> from = cd.from(getElementClass());
+		cd.where(
+			cb.and(cb.isNull(from.get(OutboxMessage.NEXT_ATTEMPT_DATE)), cb.lessThan(from.get(OutboxMessage.CHANGE_DATE), changedBefore)));
+
+		return em.createQuery(cd).executeUpdate();
+	}
+
+	/**
+	 * Schedules the next delivery attempt of the failed messages with an exponential backoff (1, 2, 4, ... minutes, up to
+	 * six hours). Messages that have failed {@link #MAX_ATTEMPTS} times or permanently are not attempted again.
+	 */
+	public void recordFailedAttempts(DeliveryResult failures, Date now) {
+
+		for (OutboxMessage message : getByUuids(new ArrayList<>(failures.getErrors().keySet()))) {
+			int attempts = message.getAttempts() + 1;
+			message.setAttempts(attempts);
+			message.setLastError(StringUtils.abbreviate(failures.getErrors().get(message.getUuid()), COLUMN_LENGTH_DEFAULT));
+			if (attempts >= MAX_ATTEMPTS || failures.isPermanentError(message.getUuid())) {
+				message.setNextAttemptDate(null);
+				logger.error(
+					"Giving up to deliver {} {} to {} after {} attempts: {}",
+					message.getMessageType(),
+					message.getUuid(),
+					message.getRecipient(),
+					attempts,
+					message.getLastError());
+			} else {
+				long delayMinutes = Math.min(1L << (attempts - 1), MAX_RETRY_DELAY_MINUTES);
+				message.setNextAttemptDate(new Date(now.getTime() + TimeUnit.MINUTES.toMillis(delayMinutes)));
+			}
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<?, OutboxMessage> from) {
+		// A user should not query for this
+		throw new UnsupportedOperationException();
+	}
+}
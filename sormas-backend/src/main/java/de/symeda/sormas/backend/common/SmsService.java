@@ -18,7 +18,12 @@
 package de.symeda.sormas.backend.common;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
+import javax.ejb.AsyncResult;
 import javax.ejb.Asynchronous;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -48,17 +53,43 @@ public class SmsService {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
+	/**
+	 * Sends the SMS messages using one client for the whole list.
+	 * 
+	 * @return the messages that could not be sent
+	 */
 	@Asynchronous
-	public void sendSms(String phoneNumber, String subject, String content) throws IOException, NexmoClientException, InvalidPhoneNumberException {
+	public Future<DeliveryResult> sendSms(List<OutboxMessage> messages) {
+
+		DeliveryResult result = new DeliveryResult();
+
+		AuthMethod auth = new TokenAuthMethod(configFacade.getSmsAuthKey(), configFacade.getSmsAuthSecret());
+		NexmoClient client = new NexmoClient(auth);
+
+		for (OutboxMessage message : messages) {
+			try {
+				sendSms(client, message, result);
+			} catch (InvalidPhoneNumberException e) {
+				// sending again would fail the same way
+				result.addPermanentError(message.getUuid(), e.getMessage());
+			} catch (IOException | NexmoClientException e) {
+				result.addError(message.getUuid(), e.getMessage());
+			}
+		}
+
+		return new AsyncResult<>(result);
+	}
+
+	private void sendSms(NexmoClient client, OutboxMessage message, DeliveryResult result)
+		throws IOException, NexmoClientException, InvalidPhoneNumberException {
+
+		String phoneNumber = message.getRecipient();
 
 		// Remove the initial + that indicates the beginning of the country code to match the Nexmo specification of allowed number formats
 		if (phoneNumber.startsWith("+")) {
 			phoneNumber = phoneNumber.substring(1);
 		}
 
-		AuthMethod auth = new TokenAuthMethod(configFacade.getSmsAuthKey(), configFacade.getSmsAuthSecret());
-		NexmoClient client = new NexmoClient(auth);
-
 		// If the phone number is invalid, e.g. because it is a landline number or malformed otherwise, throw an exception
 		InsightClient insightClient = client.getInsightClient();
 		StandardInsightResponse insightResponse = insightClient.getStandardNumberInsight(phoneNumber);
@@ -66,15 +97,26 @@ public class SmsService {
 			throw new InvalidPhoneNumberException("Cannot send an SMS to the specified phone number", null);
 		}
 
+		// A long message is split into several parts, each with its own result
 		SmsSubmissionResult[] results =
-			client.getSmsClient().submitMessage(new TextMessage(configFacade.getSormasInstanceName(), phoneNumber, content));
+			client.getSmsClient().submitMessage(new TextMessage(configFacade.getSormasInstanceName(), phoneNumber, message.getContent()));
 
-		for (SmsSubmissionResult result : results) {
-			if (result.getStatus() == 0) {
-				logger.info("SMS successfully sent to {}.", phoneNumber);
-			} else if (result.getErrorText() != null) {
-				logger.info("Error sending SMS to {} with following error: {}.", phoneNumber, result.getErrorText());
-			}
+		List<SmsSubmissionResult> failedParts = Arrays.stream(results).filter(r -> r.getStatus() != 0).collect(Collectors.toList());
+		if (failedParts.isEmpty()) {
+			logger.info("SMS successfully sent to {}.", phoneNumber);
+			return;
+		}
+
+		SmsSubmissionResult failedPart = failedParts.get(0);
+		logger.info("Error sending SMS to {} with following error: {}.", phoneNumber, failedPart.getErrorText());
+		String error = "SMS submission failed with status " + failedPart.getStatus() + ": " + failedPart.getErrorText();
+		if (failedParts.size() < results.length) {
+			// sending again would repeat the parts that have already been sent
+			result.addPermanentError(
+				message.getUuid(),
+				String.format("Only %d of %d parts sent. %s", results.length - failedParts.size(), results.length, error));
+		} else {
+			result.addError(message.getUuid(), error);
 		}
 	}
 }
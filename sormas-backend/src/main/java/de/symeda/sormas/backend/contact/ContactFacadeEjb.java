@@ -168,6 +168,8 @@ import de.symeda.sormas.backend.visit.VisitService;
 @Stateless(name = "ContactFacade")
 public class ContactFacadeEjb implements ContactFacade {
 
+	private static final int FOLLOW_UP_TASK_CHUNK_SIZE = 500;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
@@ -237,6 +239,20 @@ public class ContactFacadeEjb implements ContactFacade {
 		return contactService.getAllActiveContactsAfter(date).stream().map(c -> convertToDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public List<ContactDto> getAllActiveContactsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		if (userService.getCurrentUser() == null) {
+			return Collections.emptyList();
+		}
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return contactService.getAllActiveContactsAfter(date, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(c -> convertToDto(c, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<ContactDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -1344,51 +1360,61 @@ public class ContactFacadeEjb implements ContactFacade {
 	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
 	public void generateContactFollowUpTasks() {
 
-		// get all contacts that are followed up
+		long startTime = System.currentTimeMillis();
+
+		// get all contacts that are followed up and don't have a follow-up task for the day yet
 		LocalDateTime fromDateTime = LocalDate.now().atStartOfDay();
 		LocalDateTime toDateTime = fromDateTime.plusDays(1);
-		List<Contact> contacts = contactService.getFollowUpBetween(DateHelper8.toDate(fromDateTime), DateHelper8.toDate(toDateTime));
+		List<Contact> contacts =
+			contactService.getFollowUpBetweenWithoutFollowUpTask(DateHelper8.toDate(fromDateTime), DateHelper8.toDate(toDateTime));
+		if (contacts.isEmpty()) {
+			return;
+		}
 
+		// load the possible assignees once instead of querying them for every contact
+		Map<Long, List<User>> contactOfficersByDistrict = userService.getAllByRegionAndUserRoles(null, UserRole.CONTACT_OFFICER)
+			.stream()
+			.filter(u -> u.getDistrict() != null)
+			.collect(Collectors.groupingBy(u -> u.getDistrict().getId()));
+		Map<Long, List<User>> contactSupervisorsByRegion = userService.getAllByRegionAndUserRoles(null, UserRole.CONTACT_SUPERVISOR)
+			.stream()
+			.filter(u -> u.getRegion() != null)
+			.collect(Collectors.groupingBy(u -> u.getRegion().getId()));
+
+		int generatedTaskCount = 0;
+		List<Task> tasks = new ArrayList<>(FOLLOW_UP_TASK_CHUNK_SIZE);
 		for (Contact contact : contacts) {
-			// Only generate tasks for contacts that are under follow-up
-			if (!(contact.getFollowUpStatus().equals(FollowUpStatus.FOLLOW_UP) || contact.getFollowUpStatus().equals(FollowUpStatus.LOST))) {
-				continue;
-			}
-
 			User assignee;
 			try {
-				assignee = taskService.getTaskAssignee(contact);
+				assignee = taskService.getTaskAssignee(
+					contact,
+					district -> contactOfficersByDistrict.getOrDefault(district.getId(), Collections.emptyList()),
+					region -> contactSupervisorsByRegion.getOrDefault(region.getId(), Collections.emptyList()));
 			} catch (TaskCreationException e) {
 				logger.warn(e.getMessage());
 				continue;
 			}
 
-			// find already existing tasks
-			TaskCriteria pendingUserTaskCriteria = new TaskCriteria().contact(contact.toReference())
-				.taskType(TaskType.CONTACT_FOLLOW_UP)
-				.assigneeUser(assignee.toReference())
-				.taskStatus(TaskStatus.PENDING);
-			List<Task> pendingUserTasks = taskService.findBy(pendingUserTaskCriteria, true);
+			tasks.add(createContactTask(TaskType.CONTACT_FOLLOW_UP, fromDateTime, toDateTime, contact, assignee));
 
-			if (!pendingUserTasks.isEmpty()) {
-				// the user still has a pending task for this contact
-				continue;
+			// every chunk is committed on its own, so a failure doesn't discard the tasks generated so far
+			if (tasks.size() == FOLLOW_UP_TASK_CHUNK_SIZE) {
+				taskService.persistAll(tasks);
+				generatedTaskCount += tasks.size();
+				logger.info("Generated {} of at most {} contact follow-up tasks", generatedTaskCount, contacts.size());
+				tasks = new ArrayList<>(FOLLOW_UP_TASK_CHUNK_SIZE);
 			}
-
-			TaskCriteria dayTaskCriteria = new TaskCriteria().contact(contact.toReference())
-				.taskType(TaskType.CONTACT_FOLLOW_UP)
-				.dueDateBetween(DateHelper8.toDate(fromDateTime), DateHelper8.toDate(toDateTime));
-			List<Task> dayTasks = taskService.findBy(dayTaskCriteria, true);
-
-			if (!dayTasks.isEmpty()) {
-				// there is already a task for the exact day
-				continue;
-			}
-
-			// none found -> create the task
-			Task task = createContactTask(TaskType.CONTACT_FOLLOW_UP, fromDateTime, toDateTime, contact, assignee);
-			taskService.ensurePersisted(task);
 		}
+		if (!tasks.isEmpty()) {
+			taskService.persistAll(tasks);
+			generatedTaskCount += tasks.size();
+		}
+
+		logger.info(
+			"Generated {} contact follow-up tasks for {} contacts in {} ms",
+			generatedTaskCount,
+			contacts.size(),
+			System.currentTimeMillis() - startTime);
 	}
 
 	private Task createContactTask(TaskType taskType, LocalDateTime fromDateTime, LocalDateTime toDateTime, Contact contact, User assignee) {
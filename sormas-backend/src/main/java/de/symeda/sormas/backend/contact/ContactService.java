@@ -62,6 +62,8 @@ import de.symeda.sormas.api.followup.FollowUpLogic;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
 import de.symeda.sormas.api.task.TaskCriteria;
+import de.symeda.sormas.api.task.TaskStatus;
+import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.JurisdictionLevel;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DataHelper;
@@ -149,6 +151,27 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
 		Root<Contact> from = cq.from(getElementClass());
 
+		cq.where(createActiveContactsAfterFilter(cb, cq, from, date));
+		cq.orderBy(cb.desc(from.get(Contact.CHANGE_DATE)));
+		cq.distinct(true);
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * Like {@link #getAllActiveContactsAfter(Date)}, but only returns the page of up to {@code batchSize} contacts
+	 * following the given cursor.
+	 * 
+	 * @see #getChangedPage(SyncFilterBuilder, java.util.function.Consumer, int, Date, String)
+	 */
+	public List<Contact> getAllActiveContactsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		return getChangedPage((cb, cq, from) -> createActiveContactsAfterFilter(cb, cq, from, date), from -> {
+		}, batchSize, lastChangeDate, lastUuid);
+	}
+
+	private Predicate createActiveContactsAfterFilter(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Contact> from, Date date) {
+
 		Predicate filter = createActiveContactsFilter(cb, from);
 
 		if (getCurrentUser() != null) {
@@ -161,11 +184,7 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
-		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Contact.CHANGE_DATE)));
-		cq.distinct(true);
-
-		return em.createQuery(cq).getResultList();
+		return filter;
 	}
 
 	@Override
@@ -244,13 +263,21 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		return em.createQuery(cq).getResultList();
 	}
 
-	public List<Contact> getFollowUpBetween(@NotNull Date fromDate, @NotNull Date toDate) {
+	/**
+	 * @return the contacts under follow-up between the dates that neither have a follow-up task due between the dates nor a
+	 *         pending follow-up task for their contact officer (for contacts without contact officer: any pending follow-up
+	 *         task). The person's address and the case are fetched, as needed to find the assignee of a new task.
+	 */
+	public List<Contact> getFollowUpBetweenWithoutFollowUpTask(@NotNull Date fromDate, @NotNull Date toDate) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
 		Root<Contact> from = cq.from(getElementClass());
+		from.fetch(Contact.PERSON).fetch(Person.ADDRESS, JoinType.LEFT);
+		from.fetch(Contact.CAZE, JoinType.LEFT);
 
 		Predicate filter = createActiveContactsFilter(cb, from);
+		filter = cb.and(filter, from.get(Contact.FOLLOW_UP_STATUS).in(FollowUpStatus.FOLLOW_UP, FollowUpStatus.LOST));
 		filter = cb.and(filter, cb.isNotNull(from.get(Contact.FOLLOW_UP_UNTIL)));
 		filter = cb.and(filter, cb.greaterThanOrEqualTo(from.get(Contact.FOLLOW_UP_UNTIL), fromDate));
 		filter = cb.and(
@@ -259,10 +286,29 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 				cb.and(cb.isNotNull(from.get(Contact.LAST_CONTACT_DATE)), cb.lessThan(from.get(Contact.LAST_CONTACT_DATE), toDate)),
 				cb.lessThan(from.get(Contact.REPORT_DATE_TIME), toDate)));
 
+		Subquery<Long> dayTaskSubquery = cq.subquery(Long.class);
+		Root<Task> dayTask = dayTaskSubquery.from(Task.class);
+		dayTaskSubquery.select(dayTask.get(Task.ID))
+			.where(
+				cb.equal(dayTask.get(Task.CONTACT), from),
+				cb.equal(dayTask.get(Task.TASK_TYPE), TaskType.CONTACT_FOLLOW_UP),
+				cb.greaterThanOrEqualTo(dayTask.get(Task.DUE_DATE), fromDate),
+				cb.lessThan(dayTask.get(Task.DUE_DATE), toDate));
+		filter = cb.and(filter, cb.not(cb.exists(dayTaskSubquery)));
+
+		Subquery<Long> pendingTaskSubquery = cq.subquery(Long.class);
+		Root<Task> pendingTask = pendingTaskSubquery.from(Task.class);
+		pendingTaskSubquery.select(pendingTask.get(Task.ID))
+			.where(
+				cb.equal(pendingTask.get(Task.CONTACT), from),
+				cb.equal(pendingTask.get(Task.TASK_TYPE), TaskType.CONTACT_FOLLOW_UP),
+				cb.equal(pendingTask.get(Task.TASK_STATUS), TaskStatus.PENDING),
+				cb.or(cb.isNull(from.get(Contact.CONTACT_OFFICER)), cb.equal(pendingTask.get(Task.ASSIGNEE_USER), from.get(Contact.CONTACT_OFFICER))));
+		filter = cb.and(filter, cb.not(cb.exists(pendingTaskSubquery)));
+
 		cq.where(filter);
 
-		List<Contact> resultList = em.createQuery(cq).getResultList();
-		return resultList;
+		return em.createQuery(cq).getResultList();
 	}
 
 	public List<Contact> getByPersonAndDisease(Person person, Disease disease) {
@@ -0,0 +1,221 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.DashboardCaseDto;
+import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.contact.DashboardQuarantineDataDto;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
+import de.symeda.sormas.api.dashboard.DashboardFacade;
+import de.symeda.sormas.api.dashboard.DashboardSnapshotDto;
+import de.symeda.sormas.api.event.EventCriteria;
+import de.symeda.sormas.api.outbreak.OutbreakCriteria;
+import de.symeda.sormas.api.sample.PathogenTestResultType;
+import de.symeda.sormas.api.user.JurisdictionLevel;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.disease.DiseaseFacadeEjb.DiseaseFacadeEjbLocal;
+import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
+import de.symeda.sormas.backend.outbreak.OutbreakFacadeEjb.OutbreakFacadeEjbLocal;
+import de.symeda.sormas.backend.sample.SampleFacadeEjb.SampleFacadeEjbLocal;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.user.UserService;
+
+@Stateless(name = "DashboardFacade")
+public class DashboardFacadeEjb implements DashboardFacade {
+
+	@EJB
+	private CaseFacadeEjbLocal caseFacade;
+	@EJB
+	private EventFacadeEjbLocal eventFacade;
+	@EJB
+	private OutbreakFacadeEjbLocal outbreakFacade;
+	@EJB
+	private SampleFacadeEjbLocal sampleFacade;
+	@EJB
+	private DiseaseFacadeEjbLocal diseaseFacade;
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private UserService userService;
+	@EJB
+	private DashboardSnapshotCache snapshotCache;
+
+	@Override
+	public DashboardSnapshotDto getSnapshot(DashboardCriteria criteria) {
+
+		int cacheSeconds = configFacade.getDashboardSnapshotCacheSeconds();
+		if (cacheSeconds <= 0) {
+			return buildSnapshot(criteria);
+		}
+
+		List<Object> key = Arrays.asList(
+			criteria.getRegion(),
+			criteria.getDistrict(),
+			criteria.getDisease(),
+			criteria.getFromDate(),
+			criteria.getToDate(),
+			criteria.getPreviousFromDate(),
+			criteria.getPreviousToDate(),
+			createJurisdictionKey(userService.getCurrentUser()));
+
+		return snapshotCache.get(key, TimeUnit.SECONDS.toMillis(cacheSeconds), () -> buildSnapshot(criteria));
+	}
+
+	/**
+	 * Users see the same dashboard numbers when their user filters are the same. This holds for all national users with
+	 * the same limited disease and port health restriction. Below the national level the user filters also include the
+	 * entities the user is responsible for, so those snapshots are only shared between the requests of the same user.
+	 */
+	private List<Object> createJurisdictionKey(User user) {
+
+		if (user == null) {
+			return Collections.emptyList();
+		}
+
+		boolean portHealthUser = UserRole.isPortHealthUser(user.getUserRoles());
+		if (user.getJurisdictionLevel() == JurisdictionLevel.NATION) {
+			return Arrays.asList(JurisdictionLevel.NATION, user.getLimitedDisease(), portHealthUser);
+		}
+
+		return Arrays.asList(user.getJurisdictionLevel(), user.getUuid());
+	}
+
+	private DashboardSnapshotDto buildSnapshot(DashboardCriteria criteria) {
+
+		DashboardSnapshotDto snapshot = new DashboardSnapshotDto();
+		if (criteria.getDisease() == null) {
+			snapshot.setDiseasesBurden(
+				diseaseFacade.getDiseaseBurdenForDashboard(
+					criteria.getRegion(),
+					criteria.getDistrict(),
+					criteria.getFromDate(),
+					criteria.getToDate(),
+					criteria.getPreviousFromDate(),
+					criteria.getPreviousToDate()));
+		} else {
+			// the disease burden does not depend on the selected disease, so it is shared with the overview snapshot
+			DashboardCriteria overviewCriteria = new DashboardCriteria().region(criteria.getRegion())
+				.district(criteria.getDistrict())
+				.dateBetween(criteria.getFromDate(), criteria.getToDate())
+				.previousDateBetween(criteria.getPreviousFromDate(), criteria.getPreviousToDate());
+			snapshot.setDiseasesBurden(getSnapshot(overviewCriteria).getDiseasesBurden());
+
+			fillDiseaseNumbers(snapshot, criteria);
+		}
+
+		return snapshot;
+	}
+
+	private void fillDiseaseNumbers(DashboardSnapshotDto snapshot, DashboardCriteria criteria) {
+
+		// cases
+		CaseCriteria caseCriteria = new CaseCriteria().region(criteria.getRegion())
+			.district(criteria.getDistrict())
+			.disease(criteria.getDisease())
+			.newCaseDateBetween(criteria.getFromDate(), criteria.getToDate(), NewCaseDateType.MOST_RELEVANT);
+		List<DashboardCaseDto> cases = caseFacade.getCasesForDashboard(caseCriteria);
+		snapshot.setLastReportedDistrict(caseFacade.getLastReportedDistrictName(caseCriteria, true, true));
+
+		snapshot.setCaseCount(cases.size());
+		Map<CaseClassification, Long> caseCountByClassification = new EnumMap<>(CaseClassification.class);
+		caseCountByClassification.putAll(
+			cases.stream()
+				.filter(c -> c.getCaseClassification() != null)
+				.collect(Collectors.groupingBy(DashboardCaseDto::getCaseClassification, Collectors.counting())));
+		snapshot.setCaseCountByClassification(caseCountByClassification);
+		snapshot.setFatalCaseCount(cases.stream().filter(DashboardCaseDto::wasFatal).count());
+
+		if (!cases.isEmpty()) {
+			Map<PathogenTestResultType, Long> testResultCountByResultType = new EnumMap<>(PathogenTestResultType.class);
+			testResultCountByResultType
+				.putAll(sampleFacade.getNewTestResultCountByResultType(cases.stream().map(DashboardCaseDto::getId).collect(Collectors.toList())));
+			snapshot.setTestResultCountByResultType(testResultCountByResultType);
+		}
+
+		caseCriteria.newCaseDateBetween(criteria.getPreviousFromDate(), criteria.getPreviousToDate(), NewCaseDateType.MOST_RELEVANT);
+		snapshot.setPreviousFatalCaseCount(caseFacade.getCasesForDashboard(caseCriteria).stream().filter(DashboardCaseDto::wasFatal).count());
+
+		// events
+		EventCriteria eventCriteria = new EventCriteria().region(criteria.getRegion())
+			.district(criteria.getDistrict())
+			.disease(criteria.getDisease())
+			.reportedBetween(criteria.getFromDate(), criteria.getToDate());
+		snapshot.setEventCountByStatus(toEnumMap(eventFacade.getEventCountByStatus(eventCriteria), snapshot.getEventCountByStatus()));
+
+		// outbreaks
+		snapshot.setOutbreakDistrictCount(
+			outbreakFacade.getOutbreakDistrictCount(
+				new OutbreakCriteria().region(criteria.getRegion())
+					.district(criteria.getDistrict())
+					.disease(criteria.getDisease())
+					.reportedBetween(criteria.getFromDate(), criteria.getToDate())));
+
+		// quarantine
+		List<DashboardQuarantineDataDto> casesInQuarantine = caseFacade.getQuarantineDataForDashBoard(
+			criteria.getRegion(),
+			criteria.getDistrict(),
+			criteria.getDisease(),
+			criteria.getFromDate(),
+			criteria.getToDate());
+		snapshot.setCasesInQuarantineCount(casesInQuarantine.size());
+		snapshot.setCasesPlacedInQuarantineCount(countPlacedInQuarantine(casesInQuarantine, criteria.getFromDate(), criteria.getToDate()));
+
+		snapshot.setContactsConvertedToCaseCount(
+			caseFacade.countCasesConvertedFromContacts(
+				new CaseCriteria().region(criteria.getRegion())
+					.district(criteria.getDistrict())
+					.disease(criteria.getDisease())
+					.newCaseDateBetween(criteria.getFromDate(), criteria.getToDate(), null)));
+	}
+
+	private static long countPlacedInQuarantine(List<DashboardQuarantineDataDto> quarantineData, Date fromDate, Date toDate) {
+
+		return quarantineData.stream()
+			.map(DashboardQuarantineDataDto::getQuarantineFrom)
+			.filter(quarantineFrom -> quarantineFrom != null && fromDate.before(DateHelper.addDays(quarantineFrom, 1)) && quarantineFrom.before(toDate))
+			.count();
+	}
+
+	private static <E extends Enum<E>> Map<E, Long> toEnumMap(Map<E, Long> counts, Map<E, Long> target) {
+
+		counts.forEach(target::put);
+		return target;
+	}
+
+	@LocalBean
+	@Stateless
+	public static class DashboardFacadeEjbLocal extends DashboardFacadeEjb {
+
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+import de.symeda.sormas.api.dashboard.DashboardSnapshotDto;
+
+/**
+ * Keeps the dashboard snapshots per filter and jurisdiction for a short time. Requests for a key whose snapshot is
+ * still being computed wait for that computation instead of starting their own one, so many users opening the same
+ * dashboard only cause one set of queries.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class DashboardSnapshotCache {
+
+	static final int MAX_ENTRIES = 500;
+
+	private final Map<List<Object>, Entry> entries = new ConcurrentHashMap<>();
+
+	public DashboardSnapshotDto get(List<Object> key, long maxAgeMillis, Supplier<DashboardSnapshotDto> builder) {
+
+		long now = System.currentTimeMillis();
+		Entry entry = entries.get(key);
+		if (entry == null || entry.isExpired(now, maxAgeMillis)) {
+			if (entries.size() >= MAX_ENTRIES) {
+				entries.values().removeIf(e -> e.isExpired(now, maxAgeMillis));
+			}
+
+			Entry newEntry = new Entry();
+			entry = entries.compute(key, (k, existing) -> existing == null || existing.isExpired(now, maxAgeMillis) ? newEntry : existing);
+			if (entry == newEntry) {
+				try {
+					newEntry.complete(builder.get());
+				} catch (RuntimeException | Error e) {
+					// let the next request try again instead of handing out the failure
+					entries.remove(key, newEntry);
+					newEntry.fail(e);
+					throw e;
+				}
+			}
+		}
+
+		return entry.await();
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	private static class Entry {
+
+		private final CompletableFuture<DashboardSnapshotDto> snapshot = new CompletableFuture<>();
+		private volatile long completedAt;
+
+		private void complete(DashboardSnapshotDto dto) {
+			completedAt = System.currentTimeMillis();
+			snapshot.complete(dto);
+		}
+
+		private void fail(Throwable t) {
+			snapshot.completeExceptionally(t);
+		}
+
+		/**
+		 * Snapshots still being computed never expire, so requests arriving in the meantime always share them.
+		 */
+		private boolean isExpired(long now, long maxAgeMillis) {
+			return snapshot.isDone() && (snapshot.isCompletedExceptionally() || now - completedAt >= maxAgeMillis);
+		}
+
+		private DashboardSnapshotDto await() {
+
+			try {
+				return snapshot.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+}
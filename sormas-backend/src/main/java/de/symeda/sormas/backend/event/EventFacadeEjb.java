@@ -35,7 +35,6 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
@@ -45,6 +44,9 @@ import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 import javax.validation.constraints.NotNull;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.event.DashboardEventDto;
 import de.symeda.sormas.api.event.EventCriteria;
@@ -58,6 +60,8 @@ import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ArchivingRun;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.location.Location;
 import de.symeda.sormas.backend.location.LocationFacadeEjb;
@@ -76,6 +80,10 @@ import de.symeda.sormas.backend.util.Pseudonymizer;
 @Stateless(name = "EventFacade")
 public class EventFacadeEjb implements EventFacade {
 
+	private static final int ARCHIVE_BATCH_SIZE = 1000;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
 
@@ -89,6 +97,8 @@ public class EventFacadeEjb implements EventFacade {
 	private UserRoleConfigFacadeEjbLocal userRoleConfigFacade;
 	@EJB
 	private EventJurisdictionChecker eventJurisdictionChecker;
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
 
 	@Override
 	public List<String> getAllActiveUuids() {
@@ -563,36 +573,47 @@ public class EventFacadeEjb implements EventFacade {
 	 *            defines the amount of days
 	 */
 	@Override
-	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 	public void archiveAllArchivableEvents(int daysAfterEventGetsArchived) {
 
-		archiveAllArchivableEvents(daysAfterEventGetsArchived, LocalDate.now());
+		archiveAllArchivableEvents(daysAfterEventGetsArchived, configFacade.getArchivingBatchSize(), 0);
 	}
 
-	void archiveAllArchivableEvents(int daysAfterEventGetsArchived, LocalDate referenceDate) {
-
-		LocalDate notChangedSince = referenceDate.minusDays(daysAfterEventGetsArchived);
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<String> cq = cb.createQuery(String.class);
-		Root<Event> from = cq.from(Event.class);
+	/**
+	 * Archives all events that have not been changed for a defined amount of days, chunk by chunk, each chunk in a
+	 * transaction of its own.
+	 *
+	 * @param daysAfterEventGetsArchived
+	 *            defines the amount of days
+	 * @param batchSize
+	 *            number of events archived per chunk
+	 * @param resumeAfterId
+	 *            {@link ArchivingRun#getResumePoint()} of a previous run that has not been completed, otherwise 0
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public ArchivingRun archiveAllArchivableEvents(int daysAfterEventGetsArchived, int batchSize, long resumeAfterId) {
 
-		Timestamp notChangedTimestamp = Timestamp.valueOf(notChangedSince.atStartOfDay());
-		cq.where(cb.equal(from.get(Event.ARCHIVED), false), cb.not(eventService.createChangeDateFilter(cb, from, notChangedTimestamp)));
-		cq.select(from.get(Event.UUID));
-		List<String> uuids = em.createQuery(cq).getResultList();
+		return archiveAllArchivableEvents(daysAfterEventGetsArchived, LocalDate.now(), batchSize, resumeAfterId);
+	}
 
-		if (!uuids.isEmpty()) {
+	void archiveAllArchivableEvents(int daysAfterEventGetsArchived, LocalDate referenceDate) {
 
-			CriteriaUpdate<Event> cu = cb.createCriteriaUpdate(Event.class);
-			Root<Event> root = cu.from(Event.class);
+		archiveAllArchivableEvents(daysAfterEventGetsArchived, referenceDate, ARCHIVE_BATCH_SIZE, 0);
+	}
 
-			cu.set(root.get(Event.ARCHIVED), true);
+	ArchivingRun archiveAllArchivableEvents(int daysAfterEventGetsArchived, LocalDate referenceDate, int batchSize, long resumeAfterId) {
 
-			cu.where(root.get(Event.UUID).in(uuids));
+		LocalDate notChangedSince = referenceDate.minusDays(daysAfterEventGetsArchived);
+		Timestamp notChangedTimestamp = Timestamp.valueOf(notChangedSince.atStartOfDay());
 
-			em.createQuery(cu).executeUpdate();
-		}
+		ArchivingRun run = ArchivingRun.execute(
+			"events",
+			batchSize,
+			resumeAfterId,
+			(afterId, limit) -> eventService.getArchivableIds(notChangedTimestamp, afterId, limit),
+			eventService::archiveByIds);
+		logger.debug("archiveAllArchivableEvents() finished. daysAfterEventGetsArchived = {}, {}", daysAfterEventGetsArchived, run);
+		return run;
 	}
 
 	@Override
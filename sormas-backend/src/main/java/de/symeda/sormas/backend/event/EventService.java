@@ -28,9 +28,12 @@ import java.util.stream.Collectors;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.persistence.NoResultException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
@@ -387,6 +390,43 @@ public class EventService extends AbstractCoreAdoService<Event> {
 		return dateFilter;
 	}
 
+	/**
+	 * @return ids of up to {@code limit} events with an id greater than {@code afterId} that are not archived and have not
+	 *         been changed since {@code notChangedSince}, ascending
+	 */
+	public List<Long> getArchivableIds(Timestamp notChangedSince, long afterId, int limit) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Event> from = cq.from(Event.class);
+
+		cq.where(
+			cb.equal(from.get(Event.ARCHIVED), false),
+			cb.not(createChangeDateFilter(cb, from, notChangedSince)),
+			cb.greaterThan(from.get(Event.ID), afterId));
+		cq.select(from.get(Event.ID));
+		cq.orderBy(cb.asc(from.get(Event.ID)));
+
+		return em.createQuery(cq).setMaxResults(limit).getResultList();
+	}
+
+	/**
+	 * Archives the {@link Event}s in a transaction of its own.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void archiveByIds(List<Long> eventIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<Event> cu = cb.createCriteriaUpdate(Event.class);
+		Root<Event> root = cu.from(Event.class);
+
+		cu.set(root.get(Event.ARCHIVED), true);
+
+		cu.where(root.get(Event.ID).in(eventIds));
+
+		em.createQuery(cu).executeUpdate();
+	}
+
 	@Override
 	public void delete(Event event) {
 
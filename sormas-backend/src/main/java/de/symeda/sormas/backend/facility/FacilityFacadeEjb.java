@@ -56,6 +56,7 @@ import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.region.Community;
 import de.symeda.sormas.backend.region.CommunityFacadeEjb;
 import de.symeda.sormas.backend.region.CommunityService;
@@ -78,6 +79,8 @@ public class FacilityFacadeEjb implements FacilityFacade {
 	@EJB
 	private FacilityService facilityService;
 	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
+	@EJB
 	private UserService userService;
 	@EJB
 	private CommunityService communityService;
@@ -226,12 +229,12 @@ public class FacilityFacadeEjb implements FacilityFacade {
 
 	@Override
 	public FacilityReferenceDto getFacilityReferenceByUuid(String uuid) {
-		return toReferenceDto(facilityService.getByUuid(uuid));
+		return infrastructureReferenceCache.getFacilityReference(uuid);
 	}
 
 	@Override
 	public FacilityReferenceDto getFacilityReferenceById(long id) {
-		return toReferenceDto(facilityService.getById(id));
+		return infrastructureReferenceCache.getFacilityReference(id);
 	}
 
 	@Override
@@ -308,6 +311,7 @@ public class FacilityFacadeEjb implements FacilityFacade {
 		Facility facility = facilityService.getByUuid(facilityUuid);
 		facility.setArchived(true);
 		facilityService.ensurePersisted(facility);
+		infrastructureReferenceCache.evictAfterCommit(Facility.class);
 	}
 
 	@Override
@@ -316,6 +320,7 @@ public class FacilityFacadeEjb implements FacilityFacade {
 		Facility facility = facilityService.getByUuid(facilityUuid);
 		facility.setArchived(false);
 		facilityService.ensurePersisted(facility);
+		infrastructureReferenceCache.evictAfterCommit(Facility.class);
 	}
 
 	@Override
@@ -511,6 +516,7 @@ public class FacilityFacadeEjb implements FacilityFacade {
 
 		facility = fillOrBuildEntity(dto, facility);
 		facilityService.ensurePersisted(facility);
+		infrastructureReferenceCache.evictAfterCommit(Facility.class);
 	}
 
 	private Facility fillOrBuildEntity(@NotNull FacilityDto source, Facility target) {
@@ -1,21 +1,37 @@
 package de.symeda.sormas.backend.importexport;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import javax.annotation.Resource;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
 
 import org.hibernate.Session;
 import org.postgresql.PGConnection;
@@ -109,6 +125,12 @@ public class DatabaseExportService {
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
 
+	@Resource(lookup = "jdbc/sormasDataPool")
+	private DataSource dataSource;
+
+	@Resource
+	private ManagedExecutorService executorService;
+
 	public void exportAsCsvFiles(ZipOutputStream zos, List<DatabaseTable> databaseTables) throws IOException {
 
 		//Writer must not be closed so it does not close the zip too early
@@ -120,18 +142,7 @@ public class DatabaseExportService {
 			long startTime = System.currentTimeMillis();
 			zos.putNextEntry(new ZipEntry(databaseTable.getFileName() + ".csv"));
 
-			DatabaseExportConfiguration config = getConfig(databaseTable);
-			final String sql;
-			if (config.isUseJoinTable()) {
-				sql = String.format(
-					COPY_WITH_JOIN_TABLE,
-					config.getTableName(),
-					config.getJoinTableName(),
-					config.getColumnName(),
-					config.getJoinColumnName());
-			} else {
-				sql = String.format(COPY_SINGLE_TABLE, config.getTableName());
-			}
+			final String sql = getCopySql(getConfig(databaseTable));
 			writeCsv(writer, sql, databaseTable.getFileName());
 			writer.flush();
 			zos.closeEntry();
@@ -144,6 +155,147 @@ public class DatabaseExportService {
 		}
 	}
 
+	/**
+	 * Exports the selected tables in parallel: Each table is copied over its own read-only connection into a compressed
+	 * part in the temp directory. The parts are added to the ZIP archive in the order of the selected tables, as soon as
+	 * they are complete.
+	 *
+	 * @param out
+	 *            Receives the ZIP archive. Is not closed.
+	 * @param tempDirectory
+	 *            Where the parts are stored until they are added to the archive.
+	 * @param parallelism
+	 *            Maximum number of tables exported at the same time.
+	 */
+	public void exportAsCsvFilesInParallel(OutputStream out, List<DatabaseTable> databaseTables, Path tempDirectory, int parallelism)
+		throws IOException {
+
+		long startTime = System.currentTimeMillis();
+		Path partDirectory = Files.createTempDirectory(tempDirectory, "sormas_database_export_");
+
+		List<CompletableFuture<ZipPartWriter.Part>> parts = new ArrayList<>();
+		for (int i = 0; i < databaseTables.size(); i++) {
+			parts.add(new CompletableFuture<>());
+		}
+		AtomicInteger nextTable = new AtomicInteger();
+		AtomicInteger exportedTables = new AtomicInteger();
+		Runnable worker = () -> {
+			for (int i = nextTable.getAndIncrement(); i < databaseTables.size(); i = nextTable.getAndIncrement()) {
+				try {
+					parts.get(i).complete(exportPart(databaseTables.get(i), partDirectory, exportedTables, databaseTables.size()));
+				} catch (Exception e) {
+					parts.get(i).completeExceptionally(e);
+				}
+			}
+		};
+
+		List<Future<?>> workers = new ArrayList<>();
+		try {
+			for (int i = 0; i < Math.min(parallelism, databaseTables.size()); i++) {
+				workers.add(executorService.submit(worker));
+			}
+
+			ZipPartWriter zip = new ZipPartWriter(out);
+			for (int i = 0; i < databaseTables.size(); i++) {
+				ZipPartWriter.Part part = awaitPart(parts.get(i));
+				zip.addPart(databaseTables.get(i).getFileName() + ".csv", part);
+				Files.delete(part.getFile());
+			}
+			zip.finish();
+		} finally {
+			// stop the workers from starting further tables and wait for the current ones before cleaning up
+			nextTable.set(databaseTables.size());
+			for (Future<?> workerFuture : workers) {
+				try {
+					workerFuture.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					logger.warn("exportAsCsvFilesInParallel(): Export worker failed", e);
+				}
+			}
+			deleteRecursively(partDirectory);
+		}
+
+		logger.debug(
+			"exportAsCsvFilesInParallel(): Exported {} tables with {} connections in {} ms",
+			databaseTables.size(),
+			workers.size(),
+			System.currentTimeMillis() - startTime);
+	}
+
+	private ZipPartWriter.Part exportPart(DatabaseTable databaseTable, Path partDirectory, AtomicInteger exportedTables, int tableCount)
+		throws IOException {
+
+		long startTime = System.currentTimeMillis();
+		String sql = getCopySql(getConfig(databaseTable));
+		ZipPartWriter.PartOutputStream partOut = new ZipPartWriter.PartOutputStream(partDirectory.resolve(databaseTable.name() + ".part"));
+		long rows;
+		try (Connection connection = dataSource.getConnection(); OutputStream partStream = partOut) {
+			connection.setReadOnly(true);
+			try {
+				rows = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, partStream);
+			} finally {
+				connection.setReadOnly(false);
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException(String.format("Failed to export '%s' with COPY operation", databaseTable.getFileName()), e);
+		}
+
+		ZipPartWriter.Part part = partOut.toPart();
+		long duration = Math.max(1, System.currentTimeMillis() - startTime);
+		logger.info(
+			"exportAsCsvFilesInParallel(): Exported '{}' ({}/{}): {} rows, {} kB ({} kB compressed) in {} ms, {} kB/s",
+			databaseTable.getFileName(),
+			exportedTables.incrementAndGet(),
+			tableCount,
+			rows,
+			part.getSize() / 1024,
+			part.getCompressedSize() / 1024,
+			duration,
+			part.getSize() * 1000 / 1024 / duration);
+		return part;
+	}
+
+	private static ZipPartWriter.Part awaitPart(CompletableFuture<ZipPartWriter.Part> part) throws IOException {
+
+		try {
+			return part.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			} else if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private void deleteRecursively(Path directory) {
+
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			logger.warn("Could not delete temporary export files in " + directory, e);
+		}
+	}
+
+	static String getCopySql(DatabaseExportConfiguration config) {
+
+		if (config.isUseJoinTable()) {
+			return String.format(
+				COPY_WITH_JOIN_TABLE,
+				config.getTableName(),
+				config.getJoinTableName(),
+				config.getColumnName(),
+				config.getJoinColumnName());
+		} else {
+			return String.format(COPY_SINGLE_TABLE, config.getTableName());
+		}
+	}
+
 	/**
 	 * Run an export command and write the result directly into a Writer
 	 * 
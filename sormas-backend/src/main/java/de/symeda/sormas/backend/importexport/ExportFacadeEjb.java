@@ -120,9 +120,16 @@ public class ExportFacadeEjb implements ExportFacade {
 			throw new IOException("File already exists: " + zipPath);
 		}
 
-		try (OutputStream fos = Files.newOutputStream(zipPath); ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(fos))) {
+		int parallelism = configFacade.getDatabaseExportParallelism();
+		try (OutputStream fos = Files.newOutputStream(zipPath); OutputStream bos = new BufferedOutputStream(fos)) {
 			// Export all selected tables to .csv files
-			databaseExportService.exportAsCsvFiles(zos, databaseTables);
+			if (parallelism > 1) {
+				databaseExportService.exportAsCsvFilesInParallel(bos, databaseTables, Paths.get(configFacade.getTempFilesPath()), parallelism);
+			} else {
+				try (ZipOutputStream zos = new ZipOutputStream(bos)) {
+					databaseExportService.exportAsCsvFiles(zos, databaseTables);
+				}
+			}
 		} catch (RuntimeException e) {
 			Files.deleteIfExists(zipPath);
 			throw e;
@@ -0,0 +1,282 @@
+package de.symeda.sormas.backend.importexport;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a ZIP archive from entries that have been compressed beforehand, so the (CPU bound) compression of several
+ * entries can be done in parallel, each into its own {@link Part}, and the archive is only assembled by copying the
+ * compressed bytes.
+ * <p>
+ * {@link java.util.zip.ZipOutputStream} cannot take over already compressed data, thus the archive structure (local
+ * headers, central directory, Zip64 records for large archives) is written here.
+ */
+public class ZipPartWriter {
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	private static final int VERSION = 20;
+	private static final int VERSION_ZIP64 = 45;
+	/**
+	 * Entry names are UTF-8 encoded.
+	 */
+	private static final int FLAG_UTF8 = 0x0800;
+	private static final int METHOD_DEFLATED = 8;
+	private static final long MAX_UINT32 = 0xFFFFFFFFL;
+	private static final int MAX_UINT16 = 0xFFFF;
+
+	private final OutputStream out;
+	private final List<byte[]> centralHeaders = new ArrayList<>();
+	private long offset;
+
+	public ZipPartWriter(OutputStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Appends the part as an entry of the archive.
+	 */
+	public void addPart(String name, Part part) throws IOException {
+
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		boolean zip64 = part.size >= MAX_UINT32 || part.compressedSize >= MAX_UINT32 || offset >= MAX_UINT32;
+		int version = zip64 ? VERSION_ZIP64 : VERSION;
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		writeInt(header, LOCAL_HEADER_SIGNATURE);
+		writeShort(header, version);
+		writeShort(header, FLAG_UTF8);
+		writeShort(header, METHOD_DEFLATED);
+		writeInt(header, part.dosTime);
+		writeInt(header, (int) part.crc);
+		writeInt(header, (int) (zip64 ? MAX_UINT32 : part.compressedSize));
+		writeInt(header, (int) (zip64 ? MAX_UINT32 : part.size));
+		writeShort(header, nameBytes.length);
+		writeShort(header, zip64 ? 20 : 0);
+		header.write(nameBytes);
+		if (zip64) {
+			writeShort(header, 0x0001);
+			writeShort(header, 16);
+			writeLong(header, part.size);
+			writeLong(header, part.compressedSize);
+		}
+
+		ByteArrayOutputStream central = new ByteArrayOutputStream();
+		writeInt(central, CENTRAL_HEADER_SIGNATURE);
+		writeShort(central, VERSION_ZIP64);
+		writeShort(central, version);
+		writeShort(central, FLAG_UTF8);
+		writeShort(central, METHOD_DEFLATED);
+		writeInt(central, part.dosTime);
+		writeInt(central, (int) part.crc);
+		writeInt(central, (int) (zip64 ? MAX_UINT32 : part.compressedSize));
+		writeInt(central, (int) (zip64 ? MAX_UINT32 : part.size));
+		writeShort(central, nameBytes.length);
+		writeShort(central, zip64 ? 28 : 0);
+		// comment length, disk number, internal and external attributes
+		writeShort(central, 0);
+		writeShort(central, 0);
+		writeShort(central, 0);
+		writeInt(central, 0);
+		writeInt(central, (int) (zip64 ? MAX_UINT32 : offset));
+		central.write(nameBytes);
+		if (zip64) {
+			writeShort(central, 0x0001);
+			writeShort(central, 24);
+			writeLong(central, part.size);
+			writeLong(central, part.compressedSize);
+			writeLong(central, offset);
+		}
+		centralHeaders.add(central.toByteArray());
+
+		header.writeTo(out);
+		offset += header.size();
+		offset += Files.copy(part.file, out);
+	}
+
+	/**
+	 * Writes the central directory. Does not close the underlying stream.
+	 */
+	public void finish() throws IOException {
+
+		long centralOffset = offset;
+		long centralSize = 0;
+		for (byte[] centralHeader : centralHeaders) {
+			out.write(centralHeader);
+			centralSize += centralHeader.length;
+		}
+
+		int entries = centralHeaders.size();
+		boolean zip64 = entries >= MAX_UINT16 || centralOffset >= MAX_UINT32 || centralSize >= MAX_UINT32;
+
+		ByteArrayOutputStream end = new ByteArrayOutputStream();
+		if (zip64) {
+			long zip64EndOffset = centralOffset + centralSize;
+			writeInt(end, ZIP64_END_SIGNATURE);
+			writeLong(end, 44);
+			writeShort(end, VERSION_ZIP64);
+			writeShort(end, VERSION_ZIP64);
+			writeInt(end, 0);
+			writeInt(end, 0);
+			writeLong(end, entries);
+			writeLong(end, entries);
+			writeLong(end, centralSize);
+			writeLong(end, centralOffset);
+
+			writeInt(end, ZIP64_LOCATOR_SIGNATURE);
+			writeInt(end, 0);
+			writeLong(end, zip64EndOffset);
+			writeInt(end, 1);
+		}
+		writeInt(end, END_SIGNATURE);
+		writeShort(end, 0);
+		writeShort(end, 0);
+		writeShort(end, Math.min(entries, MAX_UINT16));
+		writeShort(end, Math.min(entries, MAX_UINT16));
+		writeInt(end, (int) Math.min(centralSize, MAX_UINT32));
+		writeInt(end, (int) Math.min(centralOffset, MAX_UINT32));
+		writeShort(end, 0);
+		end.writeTo(out);
+		out.flush();
+	}
+
+	private static void writeShort(OutputStream out, int value) throws IOException {
+		out.write(value & 0xFF);
+		out.write((value >>> 8) & 0xFF);
+	}
+
+	private static void writeInt(OutputStream out, int value) throws IOException {
+		writeShort(out, value & 0xFFFF);
+		writeShort(out, (value >>> 16) & 0xFFFF);
+	}
+
+	private static void writeLong(OutputStream out, long value) throws IOException {
+		writeInt(out, (int) value);
+		writeInt(out, (int) (value >>> 32));
+	}
+
+	private static int toDosTime(LocalDateTime time) {
+
+		int year = Math.max(1980, time.getYear());
+		return (year - 1980) << 25
+			| time.getMonthValue() << 21
+			| time.getDayOfMonth() << 16
+			| time.getHour() << 11
+			| time.getMinute() << 5
+			| time.getSecond() >> 1;
+	}
+
+	/**
+	 * A deflated entry stored in a file, ready to be added to the archive.
+	 */
+	public static class Part {
+
+		private final Path file;
+		private final long crc;
+		private final long size;
+		private final long compressedSize;
+		private final int dosTime;
+
+		private Part(Path file, long crc, long size, long compressedSize) {
+			this.file = file;
+			this.crc = crc;
+			this.size = size;
+			this.compressedSize = compressedSize;
+			this.dosTime = toDosTime(LocalDateTime.now());
+		}
+
+		public Path getFile() {
+			return file;
+		}
+
+		/**
+		 * @return number of bytes before compression
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		public long getCompressedSize() {
+			return compressedSize;
+		}
+	}
+
+	/**
+	 * Deflates everything written to it into the given file; {@link #close()} finishes the file and {@link #toPart()}
+	 * returns it as a part.
+	 */
+	public static class PartOutputStream extends FilterOutputStream {
+
+		private final Path file;
+		private final OutputStream fileOut;
+		private final Deflater deflater;
+		private final CRC32 crc = new CRC32();
+		private long size;
+		private long compressedSize;
+		private boolean closed;
+
+		public PartOutputStream(Path file) throws IOException {
+			this(file, Files.newOutputStream(file), new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+		}
+
+		private PartOutputStream(Path file, OutputStream fileOut, Deflater deflater) {
+			super(new DeflaterOutputStream(new BufferedOutputStream(fileOut, 64 * 1024), deflater, 64 * 1024));
+			this.file = file;
+			this.fileOut = fileOut;
+			this.deflater = deflater;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			crc.update(b);
+			size++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			crc.update(b, off, len);
+			size += len;
+		}
+
+		@Override
+		public void close() throws IOException {
+
+			if (!closed) {
+				closed = true;
+				try {
+					super.close();
+					compressedSize = deflater.getBytesWritten();
+				} finally {
+					deflater.end();
+					fileOut.close();
+				}
+			}
+		}
+
+		public Part toPart() {
+
+			if (!closed) {
+				throw new IllegalStateException("The part has not been closed yet");
+			}
+			return new Part(file, crc.getValue(), size, compressedSize);
+		}
+	}
+}
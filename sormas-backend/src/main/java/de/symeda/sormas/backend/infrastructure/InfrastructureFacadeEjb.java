@@ -1,11 +1,21 @@
 package de.symeda.sormas.backend.infrastructure;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
 import javax.ejb.EJB;
+import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureFacade;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 import de.symeda.sormas.backend.campaign.CampaignFacadeEjb;
 import de.symeda.sormas.backend.campaign.form.CampaignFormMetaFacadeEjb;
@@ -19,7 +29,9 @@ import de.symeda.sormas.backend.infrastructure.PointOfEntryFacadeEjb.PointOfEntr
 import de.symeda.sormas.backend.region.CommunityFacadeEjb.CommunityFacadeEjbLocal;
 import de.symeda.sormas.backend.region.CommunityService;
 import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
+import de.symeda.sormas.backend.region.DistrictService;
 import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
+import de.symeda.sormas.backend.region.RegionService;
 import de.symeda.sormas.backend.user.UserFacadeEjb.UserFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserRoleConfigFacadeEjb.UserRoleConfigFacadeEjbLocal;
 
@@ -45,10 +57,18 @@ public class InfrastructureFacadeEjb implements InfrastructureFacade {
 	@EJB
 	private UserRoleConfigFacadeEjbLocal userRoleConfigurationFacade;
 	@EJB
+	private RegionService regionService;
+	@EJB
+	private DistrictService districtService;
+	@EJB
 	private FacilityService facilityService;
 	@EJB
 	private CommunityService communityService;
 	@EJB
+	private PointOfEntryService pointOfEntryService;
+	@EJB
+	private InfrastructureSnapshotCache infrastructureSnapshotCache;
+	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 	@EJB
 	private FeatureConfigurationFacadeEjbLocal featureConfigurationFacade;
@@ -88,4 +108,47 @@ public class InfrastructureFacadeEjb implements InfrastructureFacade {
 
 		return sync;
 	}
+
+	@Override
+	public InfrastructureSnapshotDto getInfrastructureSnapshot() {
+
+		long version = 0;
+		for (Date changeDate : new Date[] {
+			regionService.getLatestChangeDate(),
+			districtService.getLatestChangeDate(),
+			communityService.getLatestChangeDate(),
+			facilityService.getLatestChangeDate(),
+			pointOfEntryService.getLatestChangeDate() }) {
+			if (changeDate != null) {
+				version = Math.max(version, changeDate.getTime());
+			}
+		}
+
+		final long snapshotVersion = version;
+		return infrastructureSnapshotCache.get(snapshotVersion, () -> buildInfrastructureSnapshot(snapshotVersion));
+	}
+
+	private InfrastructureSnapshotDto buildInfrastructureSnapshot(long version) {
+
+		Date since = new Date(0);
+		InfrastructureSyncDto sync = new InfrastructureSyncDto();
+		sync.setRegions(regionFacade.getAllAfter(since));
+		sync.setDistricts(districtFacade.getAllAfter(since));
+		sync.setCommunities(communityFacade.getAllAfter(since));
+		sync.setFacilities(facilityFacade.getAllByRegionAfter(null, since));
+		sync.setPointsOfEntry(pointOfEntryFacade.getAllAfter(since));
+
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(data)) {
+			new ObjectMapper().writeValue(out, sync);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new InfrastructureSnapshotDto(version, data.toByteArray());
+	}
+
+	@LocalBean
+	@Stateless
+	public static class InfrastructureFacadeEjbLocal extends InfrastructureFacadeEjb {
+	}
 }
@@ -0,0 +1,243 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.infrastructure;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.facility.FacilityHelper;
+import de.symeda.sormas.api.facility.FacilityReferenceDto;
+import de.symeda.sormas.api.region.CommunityReferenceDto;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.InfrastructureAdo;
+import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.region.Community;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.util.ModelConstants;
+import de.symeda.sormas.backend.util.TransactionHelper;
+
+/**
+ * Reference DTOs of regions, districts, communities and facilities by id and uuid. All references of a type are loaded
+ * with a single query on first access and kept until {@link #evictAfterCommit(Class)} is called for that type, which the
+ * facades do whenever an entity is saved or (de-)archived.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class InfrastructureReferenceCache {
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@Resource
+	private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+	private final References<RegionReferenceDto> regions = new References<>(Region.class, RegionReferenceDto::new);
+	private final References<DistrictReferenceDto> districts = new References<>(District.class, DistrictReferenceDto::new);
+	private final References<CommunityReferenceDto> communities = new References<>(Community.class, CommunityReferenceDto::new);
+	private final References<FacilityReferenceDto> facilities =
+		new References<>(Facility.class, (uuid, name) -> new FacilityReferenceDto(uuid, FacilityHelper.buildFacilityString(uuid, name)));
+
+	public RegionReferenceDto getRegionReference(long id) {
+		return getById(regions, id);
+	}
+
+	public RegionReferenceDto getRegionReference(String uuid) {
+		return getByUuid(regions, uuid);
+	}
+
+	public DistrictReferenceDto getDistrictReference(long id) {
+		return getById(districts, id);
+	}
+
+	public DistrictReferenceDto getDistrictReference(String uuid) {
+		return getByUuid(districts, uuid);
+	}
+
+	public CommunityReferenceDto getCommunityReference(long id) {
+		return getById(communities, id);
+	}
+
+	public CommunityReferenceDto getCommunityReference(String uuid) {
+		return getByUuid(communities, uuid);
+	}
+
+	public FacilityReferenceDto getFacilityReference(long id) {
+		return localizeConstantFacility(getById(facilities, id));
+	}
+
+	public FacilityReferenceDto getFacilityReference(String uuid) {
+		return localizeConstantFacility(getByUuid(facilities, uuid));
+	}
+
+	/**
+	 * The captions of the other and none facility are in the language of the current user, so the cached ones can't be
+	 * used.
+	 */
+	private FacilityReferenceDto localizeConstantFacility(FacilityReferenceDto reference) {
+
+		if (reference != null && FacilityHelper.isOtherOrNoneHealthFacility(reference.getUuid())) {
+			return new FacilityReferenceDto(reference.getUuid(), FacilityHelper.buildFacilityString(reference.getUuid(), null));
+		}
+		return reference;
+	}
+
+	/**
+	 * Evicts the references of the type once the current transaction has been committed, so the changes are visible
+	 * when they are loaded again.
+	 */
+	public void evictAfterCommit(Class<? extends InfrastructureAdo> entityClass) {
+		TransactionHelper.afterCommit(transactionSynchronizationRegistry, () -> evict(entityClass));
+	}
+
+	public void evict(Class<? extends InfrastructureAdo> entityClass) {
+
+		for (References<?> references : new References<?>[] {
+			regions,
+			districts,
+			communities,
+			facilities }) {
+			if (references.entityClass == entityClass) {
+				references.clear();
+			}
+		}
+	}
+
+	public void clear() {
+		regions.clear();
+		districts.clear();
+		communities.clear();
+		facilities.clear();
+	}
+
+	private <R extends ReferenceDto> R getById(References<R> references, long id) {
+
+		R reference = references.byId.get(id);
+		if (reference == null && !references.loaded) {
+			load(references, null, null);
+			reference = references.byId.get(id);
+		}
+		if (reference == null) {
+			// created after the references have been loaded, e.g. without using the facade
+			reference = load(references, id, null);
+		}
+		return reference;
+	}
+
+	private <R extends ReferenceDto> R getByUuid(References<R> references, String uuid) {
+
+		if (uuid == null) {
+			return null;
+		}
+
+		R reference = references.byUuid.get(uuid);
+		if (reference == null && !references.loaded) {
+			load(references, null, null);
+			reference = references.byUuid.get(uuid);
+		}
+		if (reference == null) {
+			reference = load(references, null, uuid);
+		}
+		return reference;
+	}
+
+	/**
+	 * Loads all references of the type when neither id nor uuid are given.
+	 * 
+	 * @return the reference with the given id or uuid, null if it does not exist or all references are loaded
+	 */
+	private <R extends ReferenceDto> R load(References<R> references, Long id, String uuid) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<? extends InfrastructureAdo> root = cq.from(references.entityClass);
+		cq.multiselect(root.get(AbstractDomainObject.ID), root.get(AbstractDomainObject.UUID), root.get("name"));
+		if (id != null) {
+			cq.where(cb.equal(root.get(AbstractDomainObject.ID), id));
+		} else if (uuid != null) {
+			cq.where(cb.equal(root.get(AbstractDomainObject.UUID), uuid));
+		}
+
+		// Results of a query that was started before an eviction may be outdated and are not cached
+		long generation = references.generation;
+		Map<Long, R> byId = new HashMap<>();
+		Map<String, R> byUuid = new HashMap<>();
+		R reference = null;
+		for (Object[] row : em.createQuery(cq).getResultList()) {
+			reference = references.toReference.apply((String) row[1], (String) row[2]);
+			byId.put((Long) row[0], reference);
+			byUuid.put((String) row[1], reference);
+		}
+		references.putAll(generation, byId, byUuid, id == null && uuid == null);
+
+		return id == null && uuid == null ? null : reference;
+	}
+
+	private static class References<R extends ReferenceDto> {
+
+		private final Class<? extends InfrastructureAdo> entityClass;
+		private final BiFunction<String, String, R> toReference;
+		private final Map<Long, R> byId = new ConcurrentHashMap<>();
+		private final Map<String, R> byUuid = new ConcurrentHashMap<>();
+		private volatile boolean loaded;
+		/**
+		 * Incremented by each {@link #clear()}.
+		 */
+		private volatile long generation;
+
+		private References(Class<? extends InfrastructureAdo> entityClass, BiFunction<String, String, R> toReference) {
+			this.entityClass = entityClass;
+			this.toReference = toReference;
+		}
+
+		private synchronized void putAll(long loadGeneration, Map<Long, R> loadedById, Map<String, R> loadedByUuid, boolean allLoaded) {
+
+			if (loadGeneration != generation) {
+				return;
+			}
+			byId.putAll(loadedById);
+			byUuid.putAll(loadedByUuid);
+			if (allLoaded) {
+				loaded = true;
+			}
+		}
+
+		private synchronized void clear() {
+			generation++;
+			loaded = false;
+			byId.clear();
+			byUuid.clear();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.infrastructure;
+
+import java.util.function.Supplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
+
+/**
+ * Keeps the latest infrastructure snapshot, so it is only built again after the infrastructure has changed.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class InfrastructureSnapshotCache {
+
+	private volatile InfrastructureSnapshotDto snapshot;
+
+	/**
+	 * @return the cached snapshot, when it is at least of the given version; otherwise the one created by the builder
+	 */
+	public InfrastructureSnapshotDto get(long version, Supplier<InfrastructureSnapshotDto> builder) {
+
+		InfrastructureSnapshotDto cached = snapshot;
+		if (cached != null && cached.getVersion() >= version) {
+			return cached;
+		}
+
+		// building a snapshot is expensive, so concurrent requests wait for the first one
+		synchronized (this) {
+			cached = snapshot;
+			if (cached == null || cached.getVersion() < version) {
+				cached = builder.get();
+				snapshot = cached;
+			}
+			return cached;
+		}
+	}
+
+	public void clear() {
+		snapshot = null;
+	}
+}
@@ -239,7 +239,19 @@ public class PersonFacadeEjb implements PersonFacade {
 		if (user == null) {
 			return Collections.emptyList();
 		}
-		return toPseudonymizedDtos(personService.getAllAfter(date, user));
+
+		List<PersonDto> persons = new ArrayList<>();
+		personService.getAllAfter(date, user, batch -> persons.addAll(toPseudonymizedDtos(batch)));
+		return persons;
+	}
+
+	@Override
+	public List<PersonDto> getPersonsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+		final User user = userService.getCurrentUser();
+		if (user == null) {
+			return Collections.emptyList();
+		}
+		return toPseudonymizedDtos(personService.getAllAfter(date, user, batchSize, lastChangeDate, lastUuid));
 	}
 
 	@Override
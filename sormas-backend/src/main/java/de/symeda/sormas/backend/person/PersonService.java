@@ -20,10 +20,11 @@ package de.symeda.sormas.backend.person;
 import static de.symeda.sormas.backend.ExtendedPostgreSQL94Dialect.SIMILARITY_OPERATOR;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,6 +71,8 @@ import de.symeda.sormas.utils.CaseJoins;
 @LocalBean
 public class PersonService extends AbstractAdoService<Person> {
 
+	private static final int SYNC_BATCH_SIZE = 1000;
+
 	@EJB
 	private CaseService caseService;
 	@EJB
@@ -147,89 +150,135 @@ public class PersonService extends AbstractAdoService<Person> {
 	@Override
 	public List<Person> getAllAfter(Date date, User user) {
 
+		List<Person> persons = new ArrayList<>();
+		getAllAfter(date, user, persons::addAll, false);
+		return persons;
+	}
+
+	/**
+	 * Passes the persons changed since the given date that are synchronized to the user to the consumer, in batches
+	 * ordered by change date: The ids are selected by one query and the persons are loaded batch by batch. The persons
+	 * of a batch are detached once the consumer has processed them, so the persistence context does not grow with the
+	 * number of synchronized persons; meant for reading only.
+	 */
+	public void getAllAfter(Date date, User user, Consumer<List<Person>> batchConsumer) {
+		getAllAfter(date, user, batchConsumer, true);
+	}
+
+	private void getAllAfter(Date date, User user, Consumer<List<Person>> batchConsumer, boolean detachBatches) {
+
 		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> idQuery = cb.createQuery(Long.class);
+		Root<Person> idRoot = idQuery.from(Person.class);
+		idQuery.select(idRoot.get(Person.ID));
+		idQuery.where(createSyncFilter(cb, idQuery, idRoot, date, user));
+		idQuery.orderBy(cb.asc(idRoot.get(Person.CHANGE_DATE)), cb.asc(idRoot.get(Person.ID)));
+		List<Long> ids = em.createQuery(idQuery).getResultList();
+
+		for (int i = 0; i < ids.size(); i += SYNC_BATCH_SIZE) {
+			List<Long> batchIds = ids.subList(i, Math.min(i + SYNC_BATCH_SIZE, ids.size()));
+
+			CriteriaQuery<Person> cq = cb.createQuery(Person.class);
+			Root<Person> from = cq.from(Person.class);
+			from.fetch(Person.ADDRESS);
+			cq.where(from.get(Person.ID).in(batchIds));
+			cq.orderBy(cb.asc(from.get(Person.CHANGE_DATE)), cb.asc(from.get(Person.ID)));
+			List<Person> batch = em.createQuery(cq).getResultList();
+			batchConsumer.accept(batch);
+			if (detachBatches) {
+				// also detaches the addresses
+				batch.forEach(em::detach);
+			}
+		}
+	}
+
+	/**
+	 * Like {@link #getAllAfter(Date, User)}, but only returns the page of up to {@code batchSize} persons following the
+	 * given cursor.
+	 * 
+	 * @see #getChangedPage(SyncFilterBuilder, Consumer, int, Date, String)
+	 */
+	public List<Person> getAllAfter(Date date, User user, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		return getChangedPage(
+			(cb, cq, from) -> createSyncFilter(cb, cq, from, date, user),
+			from -> from.fetch(Person.ADDRESS),
+			batchSize,
+			lastChangeDate,
+			lastUuid);
+	}
+
+	/**
+	 * The persons synchronized to the user: those living in the user's district and those of the cases, contacts and
+	 * event participants the user has access to. As criteria queries do not support unions, each of these is a subquery
+	 * of person ids that the database evaluates once.
+	 */
+	private Predicate createSyncFilter(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Person> from, Date date, User user) {
+
+		Timestamp changeDate = date != null ? DateHelper.toTimestampUpper(date) : null;
 
 		// persons by LGA
-		CriteriaQuery<Person> personsQuery = cb.createQuery(Person.class);
-		Root<Person> personsRoot = personsQuery.from(Person.class);
-		Join<Person, Location> address = personsRoot.join(Person.ADDRESS);
+		Subquery<Long> lgaPersonsQuery = cq.subquery(Long.class);
+		Root<Person> lgaPersonsRoot = lgaPersonsQuery.from(Person.class);
+		Join<Person, Location> address = lgaPersonsRoot.join(Person.ADDRESS);
+		lgaPersonsQuery.select(lgaPersonsRoot.get(Person.ID));
 		Predicate lgaFilter = cb.equal(address.get(Location.DISTRICT), user.getDistrict());
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, personsRoot, DateHelper.toTimestampUpper(date));
-			lgaFilter = cb.and(lgaFilter, dateFilter);
+		if (changeDate != null) {
+			lgaFilter = cb.and(lgaFilter, createChangeDateFilter(cb, lgaPersonsRoot, changeDate));
 		}
-		personsQuery.where(lgaFilter);
-		List<Person> lgaResultList = em.createQuery(personsQuery).getResultList();
+		lgaPersonsQuery.where(lgaFilter);
 
 		// persons by case
-		CriteriaQuery<Person> casePersonsQuery = cb.createQuery(Person.class);
+		Subquery<Long> casePersonsQuery = cq.subquery(Long.class);
 		Root<Case> casePersonsRoot = casePersonsQuery.from(Case.class);
-		Join<Person, Person> casePersonsSelect = casePersonsRoot.join(Case.PERSON);
-		casePersonsSelect.fetch(Person.ADDRESS);
-		casePersonsQuery.select(casePersonsSelect);
-		Predicate casePersonsFilter = caseService.createUserFilter(cb, casePersonsQuery, casePersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, casePersonsSelect, DateHelper.toTimestampUpper(date));
+		Join<Case, Person> casePerson = casePersonsRoot.join(Case.PERSON);
+		casePersonsQuery.select(casePerson.get(Person.ID));
+		Predicate casePersonsFilter = caseService.createUserFilter(cb, cq, casePersonsRoot);
+		if (changeDate != null) {
 			// include case change dates: When a case is relocated it may become available to another user and this will have to include the person as-well
-			Predicate caseDateFilter = caseService.createChangeDateFilter(cb, casePersonsRoot, DateHelper.toTimestampUpper(date));
-			if (casePersonsFilter != null) {
-				casePersonsFilter = cb.and(casePersonsFilter, cb.or(dateFilter, caseDateFilter));
-			} else {
-				casePersonsFilter = cb.or(dateFilter, caseDateFilter);
-			}
+			casePersonsFilter = and(
+				cb,
+				casePersonsFilter,
+				cb.or(createChangeDateFilter(cb, casePerson, changeDate), caseService.createChangeDateFilter(cb, casePersonsRoot, changeDate)));
 		}
 		if (casePersonsFilter != null) {
 			casePersonsQuery.where(casePersonsFilter);
 		}
-		casePersonsQuery.distinct(true);
-		List<Person> casePersonsResultList = em.createQuery(casePersonsQuery).getResultList();
 
 		// persons by contact
-		CriteriaQuery<Person> contactPersonsQuery = cb.createQuery(Person.class);
+		Subquery<Long> contactPersonsQuery = cq.subquery(Long.class);
 		Root<Contact> contactPersonsRoot = contactPersonsQuery.from(Contact.class);
-		Join<Person, Person> contactPersonsSelect = contactPersonsRoot.join(Contact.PERSON);
-		contactPersonsSelect.fetch(Person.ADDRESS);
-		contactPersonsQuery.select(contactPersonsSelect);
-		Predicate contactPersonsFilter = contactService.createUserFilter(cb, contactPersonsQuery, contactPersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, contactPersonsSelect, DateHelper.toTimestampUpper(date));
-			Predicate contactDateFilter = contactService.createChangeDateFilter(cb, contactPersonsRoot, date);
-			contactPersonsFilter = cb.and(contactPersonsFilter, cb.or(dateFilter, contactDateFilter));
+		Join<Contact, Person> contactPerson = contactPersonsRoot.join(Contact.PERSON);
+		contactPersonsQuery.select(contactPerson.get(Person.ID));
+		Predicate contactPersonsFilter = contactService.createUserFilter(cb, cq, contactPersonsRoot);
+		if (changeDate != null) {
+			contactPersonsFilter = and(
+				cb,
+				contactPersonsFilter,
+				cb.or(createChangeDateFilter(cb, contactPerson, changeDate), contactService.createChangeDateFilter(cb, contactPersonsRoot, date)));
 		}
 		if (contactPersonsFilter != null) {
 			contactPersonsQuery.where(contactPersonsFilter);
 		}
-		contactPersonsQuery.distinct(true);
-		List<Person> contactPersonsResultList = em.createQuery(contactPersonsQuery).getResultList();
 
 		// persons by event participant
-		CriteriaQuery<Person> eventPersonsQuery = cb.createQuery(Person.class);
+		Subquery<Long> eventPersonsQuery = cq.subquery(Long.class);
 		Root<EventParticipant> eventPersonsRoot = eventPersonsQuery.from(EventParticipant.class);
-		Join<Person, Person> eventPersonsSelect = eventPersonsRoot.join(EventParticipant.PERSON);
-		eventPersonsSelect.fetch(Person.ADDRESS);
-		eventPersonsQuery.select(eventPersonsSelect);
-		Predicate eventPersonsFilter = eventParticipantService.createUserFilter(cb, eventPersonsQuery, eventPersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, eventPersonsSelect, DateHelper.toTimestampUpper(date));
-			Predicate eventParticipantDateFilter =
-				eventParticipantService.createChangeDateFilter(cb, eventPersonsRoot, DateHelper.toTimestampUpper(date));
-			eventPersonsFilter = cb.and(eventPersonsFilter, cb.or(dateFilter, eventParticipantDateFilter));
+		Join<EventParticipant, Person> eventPerson = eventPersonsRoot.join(EventParticipant.PERSON);
+		eventPersonsQuery.select(eventPerson.get(Person.ID));
+		Predicate eventPersonsFilter = eventParticipantService.createUserFilter(cb, cq, eventPersonsRoot);
+		if (changeDate != null) {
+			eventPersonsFilter = and(
+				cb,
+				eventPersonsFilter,
+				cb.or(createChangeDateFilter(cb, eventPerson, changeDate), eventParticipantService.createChangeDateFilter(cb, eventPersonsRoot, changeDate)));
 		}
 		if (eventPersonsFilter != null) {
 			eventPersonsQuery.where(eventPersonsFilter);
 		}
-		eventPersonsQuery.distinct(true);
-		List<Person> eventPersonsResultList = em.createQuery(eventPersonsQuery).getResultList();
 
-		return Stream.of(lgaResultList, casePersonsResultList, contactPersonsResultList, eventPersonsResultList)
-			.flatMap(List<Person>::stream)
-			.distinct()
-			.sorted(Comparator.comparing(Person::getChangeDate))
-			.collect(Collectors.toList());
+		Path<Long> personId = from.get(Person.ID);
+		return cb.or(personId.in(lgaPersonsQuery), personId.in(casePersonsQuery), personId.in(contactPersonsQuery), personId.in(eventPersonsQuery));
 	}
 
 	public List<Long> getInJurisdictionIDs(final List<Person> selectedPersons) {
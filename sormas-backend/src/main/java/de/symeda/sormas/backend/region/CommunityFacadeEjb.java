@@ -52,6 +52,7 @@ import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.util.DtoHelper;
 import de.symeda.sormas.backend.util.ModelConstants;
@@ -65,6 +66,8 @@ public class CommunityFacadeEjb implements CommunityFacade {
 	@EJB
 	private CommunityService communityService;
 	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
+	@EJB
 	private UserService userService;
 	@EJB
 	private DistrictService districtService;
@@ -100,6 +103,7 @@ public class CommunityFacadeEjb implements CommunityFacade {
 		Community community = communityService.getByUuid(communityUuid);
 		community.setArchived(true);
 		communityService.ensurePersisted(community);
+		infrastructureReferenceCache.evictAfterCommit(Community.class);
 	}
 
 	@Override
@@ -108,6 +112,7 @@ public class CommunityFacadeEjb implements CommunityFacade {
 		Community community = communityService.getByUuid(communityUuid);
 		community.setArchived(false);
 		communityService.ensurePersisted(community);
+		infrastructureReferenceCache.evictAfterCommit(Community.class);
 	}
 
 	// Need to be in the same order as in the constructor
@@ -228,12 +233,12 @@ public class CommunityFacadeEjb implements CommunityFacade {
 
 	@Override
 	public CommunityReferenceDto getCommunityReferenceByUuid(String uuid) {
-		return toReferenceDto(communityService.getByUuid(uuid));
+		return infrastructureReferenceCache.getCommunityReference(uuid);
 	}
 
 	@Override
 	public CommunityReferenceDto getCommunityReferenceById(long id) {
-		return toReferenceDto(communityService.getById(id));
+		return infrastructureReferenceCache.getCommunityReference(id);
 	}
 
 	@Override
@@ -270,6 +275,7 @@ public class CommunityFacadeEjb implements CommunityFacade {
 
 		community = fillOrBuildEntity(dto, community);
 		communityService.ensurePersisted(community);
+		infrastructureReferenceCache.evictAfterCommit(Community.class);
 	}
 
 	@Override
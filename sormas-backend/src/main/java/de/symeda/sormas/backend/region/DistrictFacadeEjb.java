@@ -53,6 +53,7 @@ import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.infrastructure.PointOfEntry;
 import de.symeda.sormas.backend.infrastructure.PopulationDataFacadeEjb.PopulationDataFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserService;
@@ -68,6 +69,8 @@ public class DistrictFacadeEjb implements DistrictFacade {
 	@EJB
 	private DistrictService districtService;
 	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
+	@EJB
 	private UserService userService;
 	@EJB
 	private RegionService regionService;
@@ -221,12 +224,12 @@ public class DistrictFacadeEjb implements DistrictFacade {
 
 	@Override
 	public DistrictReferenceDto getDistrictReferenceByUuid(String uuid) {
-		return toReferenceDto(districtService.getByUuid(uuid));
+		return infrastructureReferenceCache.getDistrictReference(uuid);
 	}
 
 	@Override
 	public DistrictReferenceDto getDistrictReferenceById(long id) {
-		return toReferenceDto(districtService.getById(id));
+		return infrastructureReferenceCache.getDistrictReference(id);
 	}
 
 	@Override
@@ -262,6 +265,7 @@ public class DistrictFacadeEjb implements DistrictFacade {
 
 		district = fillOrBuildEntity(dto, district);
 		districtService.ensurePersisted(district);
+		infrastructureReferenceCache.evictAfterCommit(District.class);
 	}
 
 	@Override
@@ -292,6 +296,7 @@ public class DistrictFacadeEjb implements DistrictFacade {
 		District district = districtService.getByUuid(districtUuid);
 		district.setArchived(true);
 		districtService.ensurePersisted(district);
+		infrastructureReferenceCache.evictAfterCommit(District.class);
 	}
 
 	@Override
@@ -300,6 +305,7 @@ public class DistrictFacadeEjb implements DistrictFacade {
 		District district = districtService.getByUuid(districtUuid);
 		district.setArchived(false);
 		districtService.ensurePersisted(district);
+		infrastructureReferenceCache.evictAfterCommit(District.class);
 	}
 
 	@Override
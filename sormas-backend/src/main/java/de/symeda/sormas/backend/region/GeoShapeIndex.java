@@ -0,0 +1,82 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.region;
+
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import de.symeda.sormas.api.region.GeoLatLon;
+
+/**
+ * Finds the shape containing a coordinate. The shapes' bounding boxes are held in an STR-tree, so only the few shapes
+ * whose bounding box contains the coordinate are tested exactly, using prepared geometries.
+ * <p>
+ * The index is immutable once built and can be queried concurrently.
+ *
+ * @param <T>
+ *            reference of the shapes, e.g. the region or district
+ */
+public class GeoShapeIndex<T> {
+
+	private final STRtree tree = new STRtree();
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	public GeoShapeIndex(Map<T, ? extends Geometry> shapes) {
+
+		for (Map.Entry<T, ? extends Geometry> shape : shapes.entrySet()) {
+			tree.insert(shape.getValue().getEnvelopeInternal(), new Entry<>(shape.getKey(), PreparedGeometryFactory.prepare(shape.getValue())));
+		}
+		tree.build();
+	}
+
+	/**
+	 * @return the reference of a shape containing the coordinate or null if there is none
+	 */
+	public T find(GeoLatLon latLon) {
+
+		Coordinate coordinate = new Coordinate(latLon.getLon(), latLon.getLat());
+		Point point = geometryFactory.createPoint(coordinate);
+
+		@SuppressWarnings("unchecked")
+		List<Entry<T>> candidates = tree.query(new Envelope(coordinate));
+		for (Entry<T> candidate : candidates) {
+			if (candidate.geometry.contains(point)) {
+				return candidate.reference;
+			}
+		}
+		return null;
+	}
+
+	private static final class Entry<T> {
+
+		private final T reference;
+		private final PreparedGeometry geometry;
+
+		private Entry(T reference, PreparedGeometry geometry) {
+			this.reference = reference;
+			this.geometry = geometry;
+		}
+	}
+}
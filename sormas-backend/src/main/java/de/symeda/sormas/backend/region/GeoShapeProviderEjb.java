@@ -20,11 +20,13 @@ package de.symeda.sormas.backend.region;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.ejb.EJB;
@@ -68,11 +70,13 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	private Map<RegionReferenceDto, MultiPolygon> regionMultiPolygons = new HashMap<>();
 	private Map<RegionReferenceDto, GeoLatLon[][]> regionShapes = new HashMap<>();
+	private GeoShapeIndex<RegionReferenceDto> regionIndex = new GeoShapeIndex<>(Collections.emptyMap());
 
 	private GeoLatLon regionsCenter;
 
 	private Map<DistrictReferenceDto, MultiPolygon> districtMultiPolygons = new HashMap<>();
 	private Map<DistrictReferenceDto, GeoLatLon[][]> districtShapes = new HashMap<>();
+	private GeoShapeIndex<DistrictReferenceDto> districtIndex = new GeoShapeIndex<>(Collections.emptyMap());
 
 	private GeoLatLon[][] countryShape;
 
@@ -88,15 +92,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	@Override
 	public RegionReferenceDto getRegionByCoord(GeoLatLon latLon) {
-
-		for (Entry<RegionReferenceDto, MultiPolygon> regionMultiPolygon : regionMultiPolygons.entrySet()) {
-			if (regionMultiPolygon.getValue()
-				.contains(
-					GeometryFactory.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), regionMultiPolygon.getValue()))) {
-				return regionMultiPolygon.getKey();
-			}
-		}
-		return null;
+		return regionIndex.find(latLon);
 	}
 
 	@Override
@@ -144,16 +140,12 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	@Override
 	public DistrictReferenceDto getDistrictByCoord(GeoLatLon latLon) {
+		return districtIndex.find(latLon);
+	}
 
-		for (Entry<DistrictReferenceDto, MultiPolygon> districtMultiPolygon : districtMultiPolygons.entrySet()) {
-			if (districtMultiPolygon.getValue()
-				.contains(
-					GeometryFactory
-						.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), districtMultiPolygon.getValue()))) {
-				return districtMultiPolygon.getKey();
-			}
-		}
-		return null;
+	@Override
+	public List<DistrictReferenceDto> getDistrictsByCoords(List<GeoLatLon> latLons) {
+		return latLons.stream().map(districtIndex::find).collect(Collectors.toList());
 	}
 
 	@Override
@@ -198,6 +190,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 			ContentFeatureCollection featureCollection = featureSource.getFeatures();
 
 			List<RegionReferenceDto> regions = regionFacade.getAllActiveAsReference();
+			InfrastructureNameIndex<RegionReferenceDto> regionNames = InfrastructureNameIndex.ofReferences(regions);
 
 			SimpleFeatureIterator iterator = featureCollection.features();
 			while (iterator.hasNext()) {
@@ -210,12 +203,11 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 				if (shapeRegionName == null) {
 					shapeRegionName = (String) feature.getAttribute("REGION");
 				}
-				shapeRegionName = shapeRegionName.replaceAll("\\W", "").toLowerCase();
+				shapeRegionName = InfrastructureNameIndex.normalize(shapeRegionName);
 				String finalShapeRegionName = shapeRegionName;
-				Optional<RegionReferenceDto> regionResult = regions.stream().filter(r -> {
-					String regionName = r.getCaption().replaceAll("\\W", "").toLowerCase();
-					return regionName.contains(finalShapeRegionName) || finalShapeRegionName.contains(regionName);
-				})
+				Optional<RegionReferenceDto> regionResult = regionNames.findOverlapping(shapeRegionName)
+					.stream()
+					.map(InfrastructureNameIndex.Match::getValue)
 					.reduce(
 						(r1, r2) -> {
 							// dumb heuristic: take the result that best fits the length
@@ -263,6 +255,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 			throw new RuntimeException(e);
 		}
 
+		regionIndex = new GeoShapeIndex<>(regionMultiPolygons);
 		updateCenterOfAllRegions();
 	}
 
@@ -284,6 +277,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 			ContentFeatureCollection featureCollection = featureSource.getFeatures();
 
 			List<DistrictReferenceDto> districts = districtFacade.getAllActiveAsReference();
+			InfrastructureNameIndex<DistrictReferenceDto> districtNames = InfrastructureNameIndex.ofReferences(districts);
 
 			SimpleFeatureIterator iterator = featureCollection.features();
 			while (iterator.hasNext()) {
@@ -299,24 +293,8 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 				if (shapeDistrictName == null) {
 					shapeDistrictName = (String) feature.getAttribute("DISTRICT");
 				}
-				shapeDistrictName = shapeDistrictName.replaceAll("\\W", "").toLowerCase();
-				String finalShapeDistrictName = shapeDistrictName;
-				Optional<DistrictReferenceDto> districtResult = districts.stream().filter(r -> {
-					String districtName = r.getCaption().replaceAll("\\W", "").toLowerCase();
-					return districtName.contains(finalShapeDistrictName)
-						|| finalShapeDistrictName.contains(districtName)
-						|| similarity(finalShapeDistrictName, districtName) > 0.7f;
-				}).reduce((r1, r2) -> {
-					// take the result that best fits
-
-					if (r1.getCaption().replaceAll("\\W", "").toLowerCase().equals(finalShapeDistrictName))
-						return r1;
-					if (r2.getCaption().replaceAll("\\W", "").toLowerCase().equals(finalShapeDistrictName))
-						return r2;
-
-					return Double.compare(similarity(r1.getCaption(), finalShapeDistrictName), similarity(r2.getCaption(), finalShapeDistrictName))
-						<= 0 ? r1 : r2;
-				});
+				shapeDistrictName = InfrastructureNameIndex.normalize(shapeDistrictName);
+				Optional<DistrictReferenceDto> districtResult = findDistrict(districtNames, shapeDistrictName);
 
 				if (!districtResult.isPresent()) {
 					logger.warn("District not found: " + shapeDistrictName);
@@ -353,6 +331,8 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
+
+		districtIndex = new GeoShapeIndex<>(districtMultiPolygons);
 	}
 
 	private void buildCountryShape() {
@@ -413,57 +393,22 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 	}
 
 	/**
-	 * Calculates the similarity (a number within 0 and 1) between two strings.
+	 * Takes the district whose name equals the shape's name, otherwise the most similar one of those whose name
+	 * contains or is contained in the shape's name or is more than 70% similar to it.
 	 */
-	public static double similarity(String s1, String s2) {
+	private static Optional<DistrictReferenceDto> findDistrict(InfrastructureNameIndex<DistrictReferenceDto> districtNames, String shapeDistrictName) {
 
-		String longer = s1, shorter = s2;
-		if (s1.length() < s2.length()) { // longer should always have greater
-										// length
-			longer = s2;
-			shorter = s1;
+		List<DistrictReferenceDto> exactDistricts = districtNames.findExact(shapeDistrictName);
+		if (!exactDistricts.isEmpty()) {
+			return Optional.of(exactDistricts.get(0));
 		}
-		int longerLength = longer.length();
-		if (longerLength == 0) {
-			return 1.0;
-			/* both strings are zero length */ }
-		/*
-		 * // If you have StringUtils, you can use it to calculate the edit
-		 * distance: return (longerLength -
-		 * StringUtils.getLevenshteinDistance(longer, shorter)) / (double)
-		 * longerLength;
-		 */
-		return (longerLength - editDistance(longer, shorter)) / (double) longerLength;
-
-	}
 
-	// Example implementation of the Levenshtein Edit Distance
-	// See http://rosettacode.org/wiki/Levenshtein_distance#Java
-	public static int editDistance(String s1, String s2) {
-
-		s1 = s1.toLowerCase();
-		s2 = s2.toLowerCase();
-
-		int[] costs = new int[s2.length() + 1];
-		for (int i = 0; i <= s1.length(); i++) {
-			int lastValue = i;
-			for (int j = 0; j <= s2.length(); j++) {
-				if (i == 0)
-					costs[j] = j;
-				else {
-					if (j > 0) {
-						int newValue = costs[j - 1];
-						if (s1.charAt(i - 1) != s2.charAt(j - 1))
-							newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
-						costs[j - 1] = lastValue;
-						lastValue = newValue;
-					}
-				}
-			}
-			if (i > 0)
-				costs[s2.length()] = lastValue;
-		}
-		return costs[s2.length()];
+		return Stream
+			.concat(
+				districtNames.findOverlapping(shapeDistrictName).stream(),
+				districtNames.findSimilar(shapeDistrictName, 0.7, Integer.MAX_VALUE).stream().filter(m -> m.getSimilarity() > 0.7f))
+			.reduce((m1, m2) -> m2.getSimilarity() > m1.getSimilarity() ? m2 : m1)
+			.map(InfrastructureNameIndex.Match::getValue);
 	}
 
 	@LocalBean
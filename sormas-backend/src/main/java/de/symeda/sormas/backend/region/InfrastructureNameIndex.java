@@ -0,0 +1,389 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.region;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import de.symeda.sormas.api.ReferenceDto;
+
+/**
+ * Matches names against the names of infrastructure entities (regions, districts, communities, facilities, ...),
+ * tolerating differences in case, punctuation and spelling.
+ * <p>
+ * Names are normalized once when the index is built. Their trigrams are held in an inverted index, so a lookup only
+ * visits the names sharing trigrams with the given name and computes the edit distance for the few of them that can
+ * reach the requested similarity (length and trigram count filter). That computation is limited to the band of the
+ * maximum distance, reusing its buffers. Only names too short to share a trigram are looked up by their length.
+ * <p>
+ * The index is immutable once built and can be queried concurrently.
+ *
+ * @param <T>
+ *            the indexed entities, e.g. their reference
+ */
+public class InfrastructureNameIndex<T> {
+
+	private static final int GRAM_LENGTH = 3;
+
+	private final List<T> values;
+	private final String[] names;
+	private final Map<String, List<T>> valuesByName;
+	/**
+	 * Indexes of the names containing the trigram, ascending; an index is repeated for each occurrence of the trigram.
+	 */
+	private final Map<String, int[]> postings;
+	/**
+	 * Indexes of the names, sorted by the length of the name.
+	 */
+	private final int[] byLength;
+	/**
+	 * {@code lengthOffsets[l]} is the position in {@link #byLength} of the first name with at least length {@code l}.
+	 */
+	private final int[] lengthOffsets;
+	private final int maxNameLength;
+
+	public InfrastructureNameIndex(Collection<T> values, Function<T, String> nameFunction) {
+
+		this.values = new ArrayList<>(values);
+		this.names = new String[this.values.size()];
+		this.valuesByName = new HashMap<>();
+
+		Map<String, List<Integer>> postingLists = new HashMap<>();
+		int maxLength = 0;
+		for (int i = 0; i < names.length; i++) {
+			T value = this.values.get(i);
+			String name = normalize(nameFunction.apply(value));
+			names[i] = name;
+			valuesByName.computeIfAbsent(name, n -> new ArrayList<>(1)).add(value);
+			maxLength = Math.max(maxLength, name.length());
+			for (int start = 0; start + GRAM_LENGTH <= name.length(); start++) {
+				postingLists.computeIfAbsent(name.substring(start, start + GRAM_LENGTH), g -> new ArrayList<>()).add(i);
+			}
+		}
+		this.maxNameLength = maxLength;
+
+		this.postings = new HashMap<>(postingLists.size() * 2);
+		postingLists.forEach((gram, indexes) -> postings.put(gram, indexes.stream().mapToInt(Integer::intValue).toArray()));
+
+		this.byLength = IntStream.range(0, names.length)
+			.boxed()
+			.sorted(Comparator.comparingInt((Integer i) -> names[i].length()).thenComparingInt(i -> i))
+			.mapToInt(Integer::intValue)
+			.toArray();
+		this.lengthOffsets = new int[maxLength + 2];
+		int position = 0;
+		for (int length = 0; length <= maxLength + 1; length++) {
+			while (position < byLength.length && names[byLength[position]].length() < length) {
+				position++;
+			}
+			lengthOffsets[length] = position;
+		}
+	}
+
+	/**
+	 * Indexes the captions of the given references.
+	 */
+	public static <T extends ReferenceDto> InfrastructureNameIndex<T> ofReferences(Collection<T> references) {
+		return new InfrastructureNameIndex<>(references, ReferenceDto::getCaption);
+	}
+
+	/**
+	 * @return the name lower cased and without any non-word characters
+	 */
+	public static String normalize(String name) {
+		return name != null ? name.replaceAll("\\W", "").toLowerCase() : "";
+	}
+
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * @return the entities whose normalized name equals the normalized given name, in the order they have been indexed
+	 */
+	public List<T> findExact(String name) {
+		return valuesByName.getOrDefault(normalize(name), Collections.emptyList());
+	}
+
+	/**
+	 * @return the entities whose normalized name contains or is contained in the normalized given name, in the order
+	 *         they have been indexed
+	 */
+	public List<Match<T>> findOverlapping(String name) {
+
+		String query = normalize(name);
+		Buffers buffers = new Buffers(Math.max(maxNameLength, query.length()));
+
+		List<Match<T>> matches = new ArrayList<>();
+		if (query.length() < GRAM_LENGTH) {
+			// without trigrams, the query can be contained in any name
+			for (int i = 0; i < names.length; i++) {
+				addOverlapping(matches, i, query, buffers);
+			}
+			return matches;
+		}
+
+		// a name containing another has all of its trigrams, names without trigrams are checked by their length
+		int queryGrams = countGrams(query);
+		countCommonGrams(query).forEach((i, commonGrams) -> {
+			if (commonGrams == queryGrams || commonGrams == countGrams(names[i])) {
+				addOverlapping(matches, i, query, buffers);
+			}
+		});
+		for (int position = 0; position < lengthOffsets[Math.min(GRAM_LENGTH, maxNameLength + 1)]; position++) {
+			addOverlapping(matches, byLength[position], query, buffers);
+		}
+
+		matches.sort(Comparator.comparingInt(m -> m.index));
+		return matches;
+	}
+
+	private void addOverlapping(List<Match<T>> matches, int i, String query, Buffers buffers) {
+
+		String indexedName = names[i];
+		if (indexedName.contains(query) || query.contains(indexedName)) {
+			int maxLength = Math.max(indexedName.length(), query.length());
+			matches.add(new Match<>(values.get(i), i, similarity(maxLength, editDistance(indexedName, query, maxLength, buffers))));
+		}
+	}
+
+	/**
+	 * @param minSimilarity
+	 *            the minimum {@link #similarity} of the results
+	 * @param maxResults
+	 *            the maximum number of results
+	 * @return the entities whose normalized name is at least as similar to the normalized given name as requested, the
+	 *         most similar first; those of the same similarity in the order they have been indexed
+	 */
+	public List<Match<T>> findSimilar(String name, double minSimilarity, int maxResults) {
+
+		String query = normalize(name);
+		Map<Integer, Integer> commonGrams = countCommonGrams(query);
+		Buffers buffers = new Buffers(Math.max(maxNameLength, query.length()));
+
+		List<Match<T>> matches = new ArrayList<>();
+		commonGrams.forEach((i, count) -> {
+			int length = names[i].length();
+			if (count >= minCommonGrams(length, query.length(), minSimilarity)) {
+				addSimilar(matches, i, query, minSimilarity, buffers);
+			}
+		});
+
+		// names sharing no trigram with the query can only be similar enough if they are short
+		for (int length = 0; length <= maxNameLength; length++) {
+			if (minCommonGrams(length, query.length(), minSimilarity) <= 0) {
+				for (int position = lengthOffsets[length]; position < lengthOffsets[length + 1]; position++) {
+					if (!commonGrams.containsKey(byLength[position])) {
+						addSimilar(matches, byLength[position], query, minSimilarity, buffers);
+					}
+				}
+			}
+		}
+
+		matches.sort(Comparator.comparingDouble((Match<T> m) -> -m.similarity).thenComparingInt(m -> m.index));
+		return matches.size() > maxResults ? new ArrayList<>(matches.subList(0, maxResults)) : matches;
+	}
+
+	private void addSimilar(List<Match<T>> matches, int i, String query, double minSimilarity, Buffers buffers) {
+
+		int maxLength = Math.max(names[i].length(), query.length());
+		int maxDistance = maxDistance(maxLength, minSimilarity);
+		int distance = editDistance(names[i], query, maxDistance, buffers);
+		if (distance <= maxDistance) {
+			matches.add(new Match<>(values.get(i), i, similarity(maxLength, distance)));
+		}
+	}
+
+	/**
+	 * @return the entity whose normalized name is most similar to the normalized given name, if the similarity is at
+	 *         least the given one
+	 */
+	public T findBest(String name, double minSimilarity) {
+
+		List<Match<T>> matches = findSimilar(name, minSimilarity, 1);
+		return matches.isEmpty() ? null : matches.get(0).getValue();
+	}
+
+	/**
+	 * @return the minimum number of trigrams a name of the given length has to share with the query to be similar enough,
+	 *         {@link Integer#MAX_VALUE} if the length difference alone exceeds the maximum distance
+	 */
+	private static int minCommonGrams(int length, int queryLength, double minSimilarity) {
+
+		int maxLength = Math.max(length, queryLength);
+		int maxDistance = maxDistance(maxLength, minSimilarity);
+		if (Math.abs(length - queryLength) > maxDistance) {
+			return Integer.MAX_VALUE;
+		}
+		// each edit destroys at most GRAM_LENGTH trigrams of the longer name
+		return maxLength - GRAM_LENGTH + 1 - maxDistance * GRAM_LENGTH;
+	}
+
+	/**
+	 * @return the number of trigrams shared with the query by index of the name, only for the names sharing any
+	 */
+	private Map<Integer, Integer> countCommonGrams(String query) {
+
+		Map<Integer, Integer> commonGrams = new HashMap<>();
+		if (query.length() < GRAM_LENGTH) {
+			return commonGrams;
+		}
+
+		Map<String, Integer> queryGrams = new HashMap<>();
+		for (int start = 0; start + GRAM_LENGTH <= query.length(); start++) {
+			queryGrams.merge(query.substring(start, start + GRAM_LENGTH), 1, Integer::sum);
+		}
+
+		queryGrams.forEach((gram, queryCount) -> {
+			int[] indexes = postings.get(gram);
+			if (indexes == null) {
+				return;
+			}
+			// the indexes are ascending, repeated indexes are further occurrences in the same name
+			int start = 0;
+			while (start < indexes.length) {
+				int end = start + 1;
+				while (end < indexes.length && indexes[end] == indexes[start]) {
+					end++;
+				}
+				commonGrams.merge(indexes[start], Math.min(queryCount, end - start), Integer::sum);
+				start = end;
+			}
+		});
+		return commonGrams;
+	}
+
+	private static int countGrams(String name) {
+		return Math.max(0, name.length() - GRAM_LENGTH + 1);
+	}
+
+	private static int maxDistance(int maxLength, double minSimilarity) {
+		// similarity = (maxLength - distance) / maxLength >= minSimilarity
+		return (int) Math.floor(maxLength * (1 - minSimilarity) + 1e-9);
+	}
+
+	private static double similarity(int maxLength, int distance) {
+		return maxLength == 0 ? 1.0 : (maxLength - distance) / (double) maxLength;
+	}
+
+	/**
+	 * Calculates the similarity (a number within 0 and 1) between two strings, ignoring case: 1 minus their edit
+	 * distance relative to the length of the longer string.
+	 */
+	public static double similarity(String s1, String s2) {
+
+		String lower1 = s1.toLowerCase();
+		String lower2 = s2.toLowerCase();
+		int maxLength = Math.max(lower1.length(), lower2.length());
+		return similarity(maxLength, editDistance(lower1, lower2, maxLength, new Buffers(maxLength)));
+	}
+
+	/**
+	 * Levenshtein distance of the two strings, only computed within the band of the maximum distance.
+	 *
+	 * @return the distance or {@code maxDistance + 1} if it exceeds the maximum distance
+	 */
+	static int editDistance(CharSequence s1, CharSequence s2, int maxDistance, Buffers buffers) {
+
+		int length1 = s1.length();
+		int length2 = s2.length();
+		if (Math.abs(length1 - length2) > maxDistance) {
+			return maxDistance + 1;
+		}
+
+		int exceeded = maxDistance + 1;
+		int[] previous = buffers.previous;
+		int[] current = buffers.current;
+		for (int j = 0; j <= length2; j++) {
+			previous[j] = Math.min(j, exceeded);
+		}
+
+		for (int i = 1; i <= length1; i++) {
+			int from = Math.max(1, i - maxDistance);
+			int to = Math.min(length2, i + maxDistance);
+			current[from - 1] = from == 1 ? Math.min(i, exceeded) : exceeded;
+			int rowMin = current[from - 1];
+
+			char c1 = s1.charAt(i - 1);
+			for (int j = from; j <= to; j++) {
+				int distance = previous[j - 1] + (c1 == s2.charAt(j - 1) ? 0 : 1);
+				distance = Math.min(distance, previous[j] + 1);
+				distance = Math.min(distance, current[j - 1] + 1);
+				current[j] = Math.min(distance, exceeded);
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if (to < length2) {
+				current[to + 1] = exceeded;
+			}
+			if (rowMin > maxDistance) {
+				return exceeded;
+			}
+
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		return previous[length2];
+	}
+
+	/**
+	 * The two rows of the edit distance computation, reused for all names compared in one lookup.
+	 */
+	static class Buffers {
+
+		private final int[] previous;
+		private final int[] current;
+
+		Buffers(int maxLength) {
+			previous = new int[maxLength + 1];
+			current = new int[maxLength + 1];
+		}
+	}
+
+	public static class Match<T> {
+
+		private final T value;
+		private final int index;
+		private final double similarity;
+
+		private Match(T value, int index, double similarity) {
+			this.value = value;
+			this.index = index;
+			this.similarity = similarity;
+		}
+
+		public T getValue() {
+			return value;
+		}
+
+		public double getSimilarity() {
+			return similarity;
+		}
+
+		@Override
+		public String toString() {
+			return value + " (" + similarity + ")";
+		}
+	}
+}
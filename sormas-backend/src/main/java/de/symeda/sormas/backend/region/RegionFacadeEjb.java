@@ -50,6 +50,7 @@ import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.common.InfrastructureAdo;
 import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.infrastructure.PointOfEntry;
 import de.symeda.sormas.backend.infrastructure.PopulationDataFacadeEjb.PopulationDataFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserService;
@@ -65,6 +66,8 @@ public class RegionFacadeEjb implements RegionFacade {
 	@EJB
 	private RegionService regionService;
 	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
+	@EJB
 	private UserService userService;
 	@EJB
 	private DistrictService districtService;
@@ -215,12 +218,12 @@ public class RegionFacadeEjb implements RegionFacade {
 
 	@Override
 	public RegionReferenceDto getRegionReferenceByUuid(String uuid) {
-		return toReferenceDto(regionService.getByUuid(uuid));
+		return infrastructureReferenceCache.getRegionReference(uuid);
 	}
 
 	@Override
 	public RegionReferenceDto getRegionReferenceById(int id) {
-		return toReferenceDto(regionService.getById(id));
+		return infrastructureReferenceCache.getRegionReference(id);
 	}
 
 	@Override
@@ -241,6 +244,7 @@ public class RegionFacadeEjb implements RegionFacade {
 		Region region = regionService.getByUuid(regionUuid);
 		region.setArchived(true);
 		regionService.ensurePersisted(region);
+		infrastructureReferenceCache.evictAfterCommit(Region.class);
 	}
 
 	@Override
@@ -248,6 +252,7 @@ public class RegionFacadeEjb implements RegionFacade {
 		Region region = regionService.getByUuid(regionUuid);
 		region.setArchived(false);
 		regionService.ensurePersisted(region);
+		infrastructureReferenceCache.evictAfterCommit(Region.class);
 	}
 
 	@Override
@@ -314,6 +319,7 @@ public class RegionFacadeEjb implements RegionFacade {
 
 		region = fillOrBuildEntity(dto, region);
 		regionService.ensurePersisted(region);
+		infrastructureReferenceCache.evictAfterCommit(Region.class);
 	}
 
 	@Override
@@ -56,7 +56,6 @@ import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.common.MessageSubject;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
-import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.event.EventParticipant;
 import de.symeda.sormas.backend.facility.FacilityFacadeEjb;
@@ -429,51 +428,35 @@ public class PathogenTestFacadeEjb implements PathogenTestFacade {
 		String shortUuid) {
 		if (existingPathogenTest == null && newPathogenTest.getTestResult() != PathogenTestResultType.PENDING) {
 			for (User recipient : messageRecipients) {
-				try {
-					messagingService.sendMessage(
-						recipient,
-						MessageSubject.LAB_RESULT_ARRIVED,
-						String.format(
-							I18nProperties.getString(contentLabResultArrived),
-							newPathogenTest.getTestResult().toString(),
-							disease,
-							shortUuid,
-							newPathogenTest.getTestType(),
-							newPathogenTest.getTestedDisease()),
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"EmailDeliveryFailedException when trying to notify supervisors " + "about the arrival of a lab result. "
-								+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-							recipient.getUuid()));
-				}
+				messagingService.sendMessage(
+					recipient,
+					MessageSubject.LAB_RESULT_ARRIVED,
+					String.format(
+						I18nProperties.getString(contentLabResultArrived),
+						newPathogenTest.getTestResult().toString(),
+						disease,
+						shortUuid,
+						newPathogenTest.getTestType(),
+						newPathogenTest.getTestedDisease()),
+					MessageType.EMAIL,
+					MessageType.SMS);
 			}
 		} else if (existingPathogenTest != null
 			&& existingPathogenTest.getTestResult() == PathogenTestResultType.PENDING
 			&& newPathogenTest.getTestResult() != PathogenTestResultType.PENDING) {
 			for (User recipient : messageRecipients) {
-				try {
-					messagingService.sendMessage(
-						recipient,
-						MessageSubject.LAB_RESULT_SPECIFIED,
-						String.format(
-							I18nProperties.getString(contentLabResultSpecified),
-							disease,
-							shortUuid,
-							newPathogenTest.getTestResult().toString(),
-							newPathogenTest.getTestType(),
-							newPathogenTest.getTestedDisease()),
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"EmailDeliveryFailedException when trying to notify supervisors " + "about the specification of a lab result. "
-								+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-							recipient.getUuid()));
-				}
+				messagingService.sendMessage(
+					recipient,
+					MessageSubject.LAB_RESULT_SPECIFIED,
+					String.format(
+						I18nProperties.getString(contentLabResultSpecified),
+						disease,
+						shortUuid,
+						newPathogenTest.getTestResult().toString(),
+						newPathogenTest.getTestType(),
+						newPathogenTest.getTestedDisease()),
+					MessageType.EMAIL,
+					MessageType.SMS);
 			}
 		}
 	}
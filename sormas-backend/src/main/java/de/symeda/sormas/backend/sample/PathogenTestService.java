@@ -17,8 +17,11 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.sample;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -28,6 +31,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -39,6 +43,8 @@ import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.CoreAdo;
 import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.util.IterableHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
 
 @Stateless
 @LocalBean
@@ -142,6 +148,33 @@ public class PathogenTestService extends AbstractCoreAdoService<PathogenTest> {
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * Batched variant of {@link #getAllByCase(Case)}.
+	 * 
+	 * @return the pathogen tests by case id, each list ordered like the one of {@link #getAllByCase(Case)}
+	 */
+	public Map<Long, List<PathogenTest>> getAllByCaseIds(List<Long> caseIds) {
+
+		Map<Long, List<PathogenTest>> pathogenTests = new HashMap<>();
+		IterableHelper.executeBatched(caseIds, ModelConstants.PARAMETER_LIMIT, batchedCaseIds -> {
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<PathogenTest> from = cq.from(getElementClass());
+			Join<PathogenTest, Sample> sampleJoin = from.join(PathogenTest.SAMPLE);
+			Path<Long> caseId = sampleJoin.get(Sample.ASSOCIATED_CASE).get(Case.ID);
+
+			cq.multiselect(from, caseId);
+			cq.where(createDefaultFilter(cb, from), caseId.in(batchedCaseIds));
+			cq.orderBy(cb.desc(from.get(PathogenTest.TEST_DATE_TIME)));
+
+			for (Object[] result : em.createQuery(cq).getResultList()) {
+				pathogenTests.computeIfAbsent((Long) result[1], k -> new ArrayList<>()).add((PathogenTest) result[0]);
+			}
+		});
+
+		return pathogenTests;
+	}
+
 	public List<PathogenTest> getBySampleUuids(List<String> sampleUuids) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
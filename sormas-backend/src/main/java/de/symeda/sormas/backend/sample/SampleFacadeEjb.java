@@ -80,7 +80,6 @@ import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.MessageSubject;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
-import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
@@ -196,6 +195,21 @@ public class SampleFacadeEjb implements SampleFacade {
 		return sampleService.getAllActiveSamplesAfter(date, user).stream().map(e -> convertToDto(e, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public List<SampleDto> getAllActiveSamplesAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return Collections.emptyList();
+		}
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return sampleService.getAllActiveSamplesAfter(date, user, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(e -> convertToDto(e, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<SampleDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -957,30 +971,22 @@ public class SampleFacadeEjb implements SampleFacade {
 			List<User> messageRecipients = userService.getLabUsersOfLab(newSample.getLab());
 
 			for (User recipient : messageRecipients) {
-				try {
-					String messageContent = null;
-					if (newSample.getAssociatedCase() != null) {
-						messageContent = String.format(
-							I18nProperties.getString(MessagingService.CONTENT_LAB_SAMPLE_SHIPPED_SHORT),
-							DataHelper.getShortUuid(newSample.getAssociatedCase().getUuid()));
-					} else if (newSample.getAssociatedContact() != null) {
-						messageContent = String.format(
-							I18nProperties.getString(MessagingService.CONTENT_LAB_SAMPLE_SHIPPED_SHORT_FOR_CONTACT),
-							DataHelper.getShortUuid(newSample.getAssociatedContact().getUuid()));
-					} else if (newSample.getAssociatedEventParticipant() != null) {
-						messageContent = String.format(
-							I18nProperties.getString(MessagingService.CONTENT_LAB_SAMPLE_SHIPPED_SHORT_FOR_EVENT_PARTICIPANT),
-							DataHelper.getShortUuid(newSample.getAssociatedEventParticipant().getUuid()));
-					}
-					messagingService.sendMessage(recipient, MessageSubject.LAB_SAMPLE_SHIPPED, messageContent, MessageType.EMAIL, MessageType.SMS);
-
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"EmailDeliveryFailedException when trying to notify supervisors about " + "the shipment of a lab sample. "
-								+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-							recipient.getUuid()));
+				String messageContent = null;
+				if (newSample.getAssociatedCase() != null) {
+					messageContent = String.format(
+						I18nProperties.getString(MessagingService.CONTENT_LAB_SAMPLE_SHIPPED_SHORT),
+						DataHelper.getShortUuid(newSample.getAssociatedCase().getUuid()));
+				} else if (newSample.getAssociatedContact() != null) {
+					messageContent = String.format(
+						I18nProperties.getString(MessagingService.CONTENT_LAB_SAMPLE_SHIPPED_SHORT_FOR_CONTACT),
+						DataHelper.getShortUuid(newSample.getAssociatedContact().getUuid()));
+				} else if (newSample.getAssociatedEventParticipant() != null) {
+					messageContent = String.format(
+						I18nProperties.getString(MessagingService.CONTENT_LAB_SAMPLE_SHIPPED_SHORT_FOR_EVENT_PARTICIPANT),
+						DataHelper.getShortUuid(newSample.getAssociatedEventParticipant().getUuid()));
 				}
+				messagingService.sendMessage(recipient, MessageSubject.LAB_SAMPLE_SHIPPED, messageContent, MessageType.EMAIL, MessageType.SMS);
+
 			}
 		}
 	}
@@ -120,6 +120,27 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 		CriteriaQuery<Sample> cq = cb.createQuery(getElementClass());
 		Root<Sample> from = cq.from(getElementClass());
 
+		cq.where(createActiveSamplesAfterFilter(cb, cq, from, date, user));
+		cq.orderBy(cb.desc(from.get(Sample.CHANGE_DATE)));
+		cq.distinct(true);
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * Like {@link #getAllActiveSamplesAfter(Date, User)}, but only returns the page of up to {@code batchSize} samples
+	 * following the given cursor.
+	 * 
+	 * @see #getChangedPage(SyncFilterBuilder, java.util.function.Consumer, int, Date, String)
+	 */
+	public List<Sample> getAllActiveSamplesAfter(Date date, User user, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		return getChangedPage((cb, cq, from) -> createActiveSamplesAfterFilter(cb, cq, from, date, user), from -> {
+		}, batchSize, lastChangeDate, lastUuid);
+	}
+
+	private Predicate createActiveSamplesAfterFilter(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Sample> from, Date date, User user) {
+
 		Predicate filter = createActiveSamplesFilter(cb, from);
 
 		if (user != null) {
@@ -132,11 +153,7 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
-		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Sample.CHANGE_DATE)));
-		cq.distinct(true);
-
-		return em.createQuery(cq).getResultList();
+		return filter;
 	}
 
 	public List<String> getAllActiveUuids(User user) {
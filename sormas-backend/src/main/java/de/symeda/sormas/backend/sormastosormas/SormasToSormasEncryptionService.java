@@ -14,15 +14,9 @@
  */
 package de.symeda.sormas.backend.sormastosormas;
 
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
-import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
 import javax.ejb.EJB;
@@ -52,23 +46,20 @@ public class SormasToSormasEncryptionService {
 	protected SormasToSormasConfig sormasToSormasConfig;
 	@EJB
 	protected ServerAccessDataService serverAccessDataService;
+	@EJB
+	private SormasToSormasKeyStoreCache keyStoreCache;
 
 	public byte[] encrypt(byte[] data, String instanceID) throws SormasToSormasException {
 		try {
-			String filePath = sormasToSormasConfig.getPath();
-			String keystoreName = sormasToSormasConfig.getKeystoreName();
-			Path keystorePath = Paths.get(filePath, keystoreName);
+			Path keystorePath = getKeystorePath();
 			String keystorePass = sormasToSormasConfig.getKeystorePass();
-
-			KeyStore keystore = getKeyStore(keystorePath, keystorePass);
 			String organizationId = getOrganizationId();
 
-			X509Certificate signerCertificate = (X509Certificate) keystore.getCertificate(organizationId);
-			PrivateKey privateKey = (PrivateKey) keystore.getKey(organizationId, keystorePass.toCharArray());
+			X509Certificate signerCertificate = keyStoreCache.getCertificate(keystorePath, keystorePass, organizationId);
+			PrivateKey privateKey = keyStoreCache.getPrivateKey(keystorePath, keystorePass, organizationId);
 
-			Path truststorePath = Paths.get(filePath, sormasToSormasConfig.getTruststoreName());
-			KeyStore truststore = getKeyStore(truststorePath, sormasToSormasConfig.getTruststorePass());
-			X509Certificate recipientCertificate = (X509Certificate) truststore.getCertificate(instanceID);
+			X509Certificate recipientCertificate =
+				keyStoreCache.getCertificate(getTruststorePath(), sormasToSormasConfig.getTruststorePass(), instanceID);
 
 			return CmsCreator.signAndEncrypt(data, signerCertificate, privateKey, recipientCertificate, true);
 		} catch (Exception e) {
@@ -79,19 +70,14 @@ public class SormasToSormasEncryptionService {
 
 	public byte[] decrypt(byte[] data, String instanceID) throws SormasToSormasException {
 		try {
-			String filePath = sormasToSormasConfig.getPath();
-
-			Path keystorePath = Paths.get(filePath, sormasToSormasConfig.getKeystoreName());
+			Path keystorePath = getKeystorePath();
 			String keystorePass = sormasToSormasConfig.getKeystorePass();
-			KeyStore keystore = getKeyStore(keystorePath, keystorePass);
-
 			String organizationId = getOrganizationId();
-			X509Certificate recipientCertificate = (X509Certificate) keystore.getCertificate(organizationId);
-			PrivateKey recipientPrivateKey = (PrivateKey) keystore.getKey(organizationId, keystorePass.toCharArray());
 
-			Path truststorePath = Paths.get(filePath, sormasToSormasConfig.getTruststoreName());
-			KeyStore truststore = getKeyStore(truststorePath, sormasToSormasConfig.getTruststorePass());
-			X509Certificate singatureCert = (X509Certificate) truststore.getCertificate(instanceID);
+			X509Certificate recipientCertificate = keyStoreCache.getCertificate(keystorePath, keystorePass, organizationId);
+			PrivateKey recipientPrivateKey = keyStoreCache.getPrivateKey(keystorePath, keystorePass, organizationId);
+
+			X509Certificate singatureCert = keyStoreCache.getCertificate(getTruststorePath(), sormasToSormasConfig.getTruststorePass(), instanceID);
 
 			return CmsReader.decryptAndVerify(data, Lists.newArrayList(singatureCert), recipientCertificate, recipientPrivateKey);
 		} catch (Exception e) {
@@ -100,11 +86,12 @@ public class SormasToSormasEncryptionService {
 		}
 	}
 
-	private KeyStore getKeyStore(Path keystorePath, String keystorePass)
-		throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException {
-		KeyStore keystore = KeyStore.getInstance("pkcs12");
-		keystore.load(new FileInputStream(keystorePath.toFile()), keystorePass.toCharArray());
-		return keystore;
+	private Path getKeystorePath() {
+		return Paths.get(sormasToSormasConfig.getPath(), sormasToSormasConfig.getKeystoreName());
+	}
+
+	private Path getTruststorePath() {
+		return Paths.get(sormasToSormasConfig.getPath(), sormasToSormasConfig.getTruststoreName());
 	}
 
 	private String getOrganizationId() throws SormasToSormasException {
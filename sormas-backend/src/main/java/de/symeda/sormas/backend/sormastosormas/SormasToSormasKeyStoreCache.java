@@ -0,0 +1,125 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.sormastosormas;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the PKCS12 key stores (own keystore and truststore) used for SORMAS to SORMAS communication, so they are not
+ * read and parsed for every encryption. A key store is reloaded as soon as its file has been modified (or another
+ * password is configured), so replaced certificates are used without restart.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class SormasToSormasKeyStoreCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(SormasToSormasKeyStoreCache.class);
+
+	private final Map<Path, CachedKeyStore> keyStores = new ConcurrentHashMap<>();
+
+	public X509Certificate getCertificate(Path keyStorePath, String password, String alias) throws GeneralSecurityException, IOException {
+		return getKeyStore(keyStorePath, password).getCertificate(alias);
+	}
+
+	public PrivateKey getPrivateKey(Path keyStorePath, String password, String alias) throws GeneralSecurityException, IOException {
+		return getKeyStore(keyStorePath, password).getPrivateKey(alias);
+	}
+
+	private CachedKeyStore getKeyStore(Path keyStorePath, String password) throws GeneralSecurityException, IOException {
+
+		Path path = keyStorePath.toAbsolutePath().normalize();
+		FileTime lastModified = Files.getLastModifiedTime(path);
+		long size = Files.size(path);
+
+		CachedKeyStore cached = keyStores.get(path);
+		if (cached == null || !cached.isUpToDate(lastModified, size, password)) {
+			KeyStore keyStore = KeyStore.getInstance("pkcs12");
+			try (InputStream in = Files.newInputStream(path)) {
+				keyStore.load(in, password.toCharArray());
+			}
+			cached = new CachedKeyStore(keyStore, lastModified, size, password);
+			keyStores.put(path, cached);
+			logger.info("Loaded key store {}", path);
+		}
+		return cached;
+	}
+
+	private static class CachedKeyStore {
+
+		private final KeyStore keyStore;
+		private final FileTime lastModified;
+		private final long size;
+		private final String password;
+		private final Map<String, X509Certificate> certificates = new HashMap<>();
+		private final Map<String, PrivateKey> privateKeys = new HashMap<>();
+
+		private CachedKeyStore(KeyStore keyStore, FileTime lastModified, long size, String password) {
+			this.keyStore = keyStore;
+			this.lastModified = lastModified;
+			this.size = size;
+			this.password = password;
+		}
+
+		private boolean isUpToDate(FileTime lastModified, long size, String password) {
+			return this.lastModified.equals(lastModified) && this.size == size && Objects.equals(this.password, password);
+		}
+
+		private synchronized X509Certificate getCertificate(String alias) throws GeneralSecurityException {
+
+			X509Certificate certificate = certificates.get(alias);
+			if (certificate == null) {
+				certificate = (X509Certificate) keyStore.getCertificate(alias);
+				if (certificate != null) {
+					certificates.put(alias, certificate);
+				}
+			}
+			return certificate;
+		}
+
+		private synchronized PrivateKey getPrivateKey(String alias) throws GeneralSecurityException {
+
+			PrivateKey privateKey = privateKeys.get(alias);
+			if (privateKey == null) {
+				privateKey = (PrivateKey) keyStore.getKey(alias, password.toCharArray());
+				if (privateKey != null) {
+					privateKeys.put(alias, privateKey);
+				}
+			}
+			return privateKey;
+		}
+	}
+}
@@ -77,7 +77,6 @@ import de.symeda.sormas.backend.common.CronService;
 import de.symeda.sormas.backend.common.MessageSubject;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
-import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
@@ -291,23 +290,15 @@ public class TaskFacadeEjb implements TaskFacade {
 					UserRole.CASE_SUPERVISOR,
 					UserRole.CONTACT_SUPERVISOR);
 				for (User recipient : messageRecipients) {
-					try {
-						messagingService.sendMessage(
-							recipient,
-							MessageSubject.VISIT_COMPLETED,
-							String.format(
-								I18nProperties.getString(MessagingService.CONTENT_VISIT_COMPLETED),
-								DataHelper.getShortUuid(ado.getContact().getUuid()),
-								DataHelper.getShortUuid(ado.getAssigneeUser().getUuid())),
-							MessageType.EMAIL,
-							MessageType.SMS);
-					} catch (NotificationDeliveryFailedException e) {
-						logger.error(
-							String.format(
-								"NotificationDeliveryFailedException when trying to notify supervisors about the completion of a follow-up visit. "
-									+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-								recipient.getUuid()));
-					}
+					messagingService.sendMessage(
+						recipient,
+						MessageSubject.VISIT_COMPLETED,
+						String.format(
+							I18nProperties.getString(MessagingService.CONTENT_VISIT_COMPLETED),
+							DataHelper.getShortUuid(ado.getContact().getUuid()),
+							DataHelper.getShortUuid(ado.getAssigneeUser().getUuid())),
+						MessageType.EMAIL,
+						MessageType.SMS);
 				}
 			}
 		}
@@ -663,27 +654,19 @@ public class TaskFacadeEjb implements TaskFacade {
 				: context == TaskContext.CONTACT ? task.getContact() : context == TaskContext.EVENT ? task.getEvent() : null;
 			if (task.getAssigneeUser() != null && task.getAssigneeUser().isSupervisor()
 				|| task.getAssigneeUser().getUserRoles().contains(UserRole.NATIONAL_USER)) {
-				try {
-					String content = context == TaskContext.GENERAL
-						? String.format(I18nProperties.getString(MessagingService.CONTENT_TASK_START_GENERAL), task.getTaskType().toString())
-						: String.format(
-							I18nProperties.getString(MessagingService.CONTENT_TASK_START_SPECIFIC),
-							task.getTaskType().toString(),
-							context.toString() + " " + DataHelper.getShortUuid(associatedEntity.getUuid()));
-
-					messagingService.sendMessage(
-						userService.getByUuid(task.getAssigneeUser().getUuid()),
-						MessageSubject.TASK_START,
-						content,
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"EmailDeliveryFailedException when trying to notify a user about a starting task. " + "Failed to send "
-								+ e.getMessageType() + " to user with UUID %s.",
-							task.getAssigneeUser().getUuid()));
-				}
+				String content = context == TaskContext.GENERAL
+					? String.format(I18nProperties.getString(MessagingService.CONTENT_TASK_START_GENERAL), task.getTaskType().toString())
+					: String.format(
+						I18nProperties.getString(MessagingService.CONTENT_TASK_START_SPECIFIC),
+						task.getTaskType().toString(),
+						context.toString() + " " + DataHelper.getShortUuid(associatedEntity.getUuid()));
+
+				messagingService.sendMessage(
+					task.getAssigneeUser(),
+					MessageSubject.TASK_START,
+					content,
+					MessageType.EMAIL,
+					MessageType.SMS);
 			}
 		}
 
@@ -695,27 +678,19 @@ public class TaskFacadeEjb implements TaskFacade {
 				: context == TaskContext.CONTACT ? task.getContact() : context == TaskContext.EVENT ? task.getEvent() : null;
 			if (task.getAssigneeUser() != null
 				&& (task.getAssigneeUser().isSupervisor() || task.getAssigneeUser().getUserRoles().contains(UserRole.NATIONAL_USER))) {
-				try {
-					String content = context == TaskContext.GENERAL
-						? String.format(I18nProperties.getString(MessagingService.CONTENT_TASK_DUE_GENERAL), task.getTaskType().toString())
-						: String.format(
-							I18nProperties.getString(MessagingService.CONTENT_TASK_DUE_SPECIFIC),
-							task.getTaskType().toString(),
-							context.toString() + (associatedEntity != null ? (" " + DataHelper.getShortUuid(associatedEntity.getUuid())) : ""));
-
-					messagingService.sendMessage(
-						userService.getByUuid(task.getAssigneeUser().getUuid()),
-						MessageSubject.TASK_DUE,
-						content,
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"EmailDeliveryFailedException when trying to notify a user about a due task. " + "Failed to send " + e.getMessageType()
-								+ " to user with UUID %s.",
-							task.getAssigneeUser().getUuid()));
-				}
+				String content = context == TaskContext.GENERAL
+					? String.format(I18nProperties.getString(MessagingService.CONTENT_TASK_DUE_GENERAL), task.getTaskType().toString())
+					: String.format(
+						I18nProperties.getString(MessagingService.CONTENT_TASK_DUE_SPECIFIC),
+						task.getTaskType().toString(),
+						context.toString() + (associatedEntity != null ? (" " + DataHelper.getShortUuid(associatedEntity.getUuid())) : ""));
+
+				messagingService.sendMessage(
+					task.getAssigneeUser(),
+					MessageSubject.TASK_DUE,
+					content,
+					MessageType.EMAIL,
+					MessageType.SMS);
 			}
 		}
 	}
@@ -21,10 +21,13 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -33,6 +36,8 @@ import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.hibernate.Session;
+
 import de.symeda.sormas.api.EntityRelevanceStatus;
 import de.symeda.sormas.api.task.TaskContext;
 import de.symeda.sormas.api.task.TaskCriteria;
@@ -48,6 +53,8 @@ import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
 import de.symeda.sormas.backend.event.Event;
 import de.symeda.sormas.backend.event.EventService;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
 import de.symeda.sormas.backend.user.User;
 import de.symeda.sormas.backend.user.UserService;
 
@@ -291,7 +298,32 @@ public class TaskService extends AbstractAdoService<Task> {
 		return task;
 	}
 
+	/**
+	 * Persists the tasks in a transaction of its own. The inserts are sent to the database in JDBC batches.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void persistAll(List<Task> tasks) {
+
+		em.unwrap(Session.class).setJdbcBatchSize(tasks.size());
+		for (Task task : tasks) {
+			em.persist(task);
+		}
+		em.flush();
+	}
+
 	public User getTaskAssignee(Contact contact) throws TaskCreationException {
+		return getTaskAssignee(
+			contact,
+			district -> userService.getAllByDistrict(district, false, UserRole.CONTACT_OFFICER),
+			region -> userService.getAllByRegionAndUserRoles(region, UserRole.CONTACT_SUPERVISOR));
+	}
+
+	/**
+	 * Like {@link #getTaskAssignee(Contact)}, but takes the contact officers of a district and the contact supervisors of a
+	 * region from the passed functions, e.g. to look them up in preloaded maps.
+	 */
+	public User getTaskAssignee(Contact contact, Function<District, List<User>> contactOfficers, Function<Region, List<User>> contactSupervisors)
+		throws TaskCreationException {
 		User assignee = null;
 
 		if (contact.getContactOfficer() != null) {
@@ -301,13 +333,13 @@ public class TaskService extends AbstractAdoService<Task> {
 			// 2) A random contact officer from the contact's, contact person's or contact case's district
 			List<User> officers = new ArrayList<>();
 			if (contact.getDistrict() != null) {
-				officers = userService.getAllByDistrict(contact.getDistrict(), false, UserRole.CONTACT_OFFICER);
+				officers = contactOfficers.apply(contact.getDistrict());
 			}
 			if (officers.isEmpty() && contact.getPerson().getAddress().getDistrict() != null) {
-				officers = userService.getAllByDistrict(contact.getPerson().getAddress().getDistrict(), false, UserRole.CONTACT_OFFICER);
+				officers = contactOfficers.apply(contact.getPerson().getAddress().getDistrict());
 			}
 			if (officers.isEmpty() && contact.getCaze() != null && contact.getCaze().getDistrict() != null) {
-				officers = userService.getAllByDistrict(contact.getCaze().getDistrict(), false, UserRole.CONTACT_OFFICER);
+				officers = contactOfficers.apply(contact.getCaze().getDistrict());
 			}
 			if (!officers.isEmpty()) {
 				Random rand = new Random();
@@ -319,13 +351,13 @@ public class TaskService extends AbstractAdoService<Task> {
 			// 3) Assign a random contact supervisor from the contact's, contact person's or contact case's region
 			List<User> supervisors = new ArrayList<>();
 			if (contact.getRegion() != null) {
-				supervisors = userService.getAllByRegionAndUserRoles(contact.getRegion(), UserRole.CONTACT_SUPERVISOR);
+				supervisors = contactSupervisors.apply(contact.getRegion());
 			}
 			if (supervisors.isEmpty() && contact.getPerson().getAddress().getRegion() != null) {
-				supervisors = userService.getAllByRegionAndUserRoles(contact.getPerson().getAddress().getRegion(), UserRole.CONTACT_SUPERVISOR);
+				supervisors = contactSupervisors.apply(contact.getPerson().getAddress().getRegion());
 			}
 			if (supervisors.isEmpty() && contact.getCaze() != null && contact.getCaze().getDistrict() != null) {
-				supervisors = userService.getAllByRegionAndUserRoles(contact.getCaze().getRegion(), UserRole.CONTACT_SUPERVISOR);
+				supervisors = contactSupervisors.apply(contact.getCaze().getRegion());
 			}
 			if (!supervisors.isEmpty()) {
 				Random rand = new Random();
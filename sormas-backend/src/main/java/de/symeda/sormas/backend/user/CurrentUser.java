@@ -1,11 +1,17 @@
 package de.symeda.sormas.backend.user;
 
+import java.util.Set;
+
 import javax.enterprise.context.RequestScoped;
 
+import de.symeda.sormas.api.user.UserRight;
+
 @RequestScoped
 public class CurrentUser {
 
 	private User user;
+	private Set<UserRight> userRights;
+	private long userRightsVersion;
 
 	public CurrentUser() {
 	}
@@ -17,4 +23,17 @@ public class CurrentUser {
 	public User getUser() {
 		return user;
 	}
+
+	/**
+	 * @return the effective rights of the user as determined for this request, or null if they have not been determined
+	 *         yet or the {@link UserRightsCache} has changed since
+	 */
+	public Set<UserRight> getUserRights(long currentUserRightsVersion) {
+		return userRightsVersion == currentUserRightsVersion ? userRights : null;
+	}
+
+	public void setUserRights(Set<UserRight> userRights, long userRightsVersion) {
+		this.userRights = userRights;
+		this.userRightsVersion = userRightsVersion;
+	}
 }
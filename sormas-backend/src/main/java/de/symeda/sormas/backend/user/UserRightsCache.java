@@ -0,0 +1,95 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.user;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import de.symeda.sormas.api.user.UserRight;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.util.TransactionHelper;
+
+/**
+ * The effective user rights by combination of user roles. Kept until {@link #clearAfterCommit()} is called, which
+ * {@link UserRoleConfigFacadeEjb} does whenever a user role config is saved or deleted.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class UserRightsCache {
+
+	private final Map<Set<UserRole>, Set<UserRight>> userRights = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+
+	@Resource
+	private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+	/**
+	 * @param loader
+	 *            computes the rights of a role combination that is not cached yet
+	 * @return the unmodifiable effective rights
+	 */
+	public Set<UserRight> get(Collection<UserRole> userRoles, Function<Set<UserRole>, Set<UserRight>> loader) {
+
+		Set<UserRole> key = userRoles.isEmpty() ? EnumSet.noneOf(UserRole.class) : EnumSet.copyOf(userRoles);
+		Set<UserRight> rights = userRights.get(key);
+		if (rights == null) {
+			long loadedVersion = version.get();
+			rights = Collections.unmodifiableSet(loader.apply(key));
+			// don't keep rights that may have been loaded before a concurrent change
+			synchronized (this) {
+				if (loadedVersion == version.get()) {
+					userRights.put(key, rights);
+				}
+			}
+		}
+		return rights;
+	}
+
+	/**
+	 * Changes with every {@link #clear()}, so rights that are kept elsewhere (e.g. for the current request) can be
+	 * recognized as outdated.
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Clears the cache once the current transaction has been committed, so the changed user role configs are what is
+	 * loaded next.
+	 */
+	public void clearAfterCommit() {
+		TransactionHelper.afterCommit(transactionSynchronizationRegistry, this::clear);
+	}
+
+	public synchronized void clear() {
+		version.incrementAndGet();
+		userRights.clear();
+	}
+}
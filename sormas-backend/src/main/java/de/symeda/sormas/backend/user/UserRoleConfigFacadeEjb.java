@@ -18,6 +18,8 @@
 package de.symeda.sormas.backend.user;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
@@ -43,6 +45,8 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 	private UserRoleConfigService userRoleConfigService;
 	@EJB
 	private UserService userService;
+	@EJB
+	private UserRightsCache userRightsCache;
 
 	@Override
 	public List<UserRoleConfigDto> getAllAfter(Date since) {
@@ -79,6 +83,7 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 
 		UserRoleConfig entity = fromDto(dto);
 		userRoleConfigService.ensurePersisted(entity);
+		userRightsCache.clearAfterCommit();
 		return toDto(entity);
 	}
 
@@ -87,10 +92,25 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 
 		UserRoleConfig entity = userRoleConfigService.getByUuid(dto.getUuid());
 		userRoleConfigService.delete(entity);
+		userRightsCache.clearAfterCommit();
 	}
 
 	@Override
 	public Set<UserRight> getEffectiveUserRights(UserRole... userRoles) {
+		Set<UserRight> userRights = EnumSet.noneOf(UserRight.class);
+		userRights.addAll(getCachedEffectiveUserRights(Arrays.asList(userRoles)));
+		return userRights;
+	}
+
+	/**
+	 * @return the unmodifiable effective rights of the role combination, only looked up in the database once for each
+	 *         combination until a user role config is changed
+	 */
+	public Set<UserRight> getCachedEffectiveUserRights(Collection<UserRole> userRoles) {
+		return userRightsCache.get(userRoles, this::loadEffectiveUserRights);
+	}
+
+	private Set<UserRight> loadEffectiveUserRights(Set<UserRole> userRoles) {
 
 		Set<UserRight> userRights = EnumSet.noneOf(UserRight.class);
 
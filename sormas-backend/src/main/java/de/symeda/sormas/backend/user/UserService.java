@@ -60,6 +60,8 @@ public class UserService extends AbstractAdoService<User> {
 
 	@EJB
 	private UserRoleConfigFacadeEjb.UserRoleConfigFacadeEjbLocal userRoleConfigFacade;
+	@EJB
+	private UserRightsCache userRightsCache;
 
 	public UserService() {
 		super(User.class);
@@ -447,7 +449,15 @@ public class UserService extends AbstractAdoService<User> {
 	}
 
 	public boolean hasRight(UserRight right) {
-		User currentUser = getCurrentUser();
-		return userRoleConfigFacade.getEffectiveUserRights(currentUser.getUserRoles().toArray(new UserRole[0])).contains(right);
+
+		// called for every sensitive field of every pseudonymized DTO, so the rights are only determined once per request
+		CurrentUser currentUser = getCurrentUserContext();
+		long userRightsVersion = userRightsCache.getVersion();
+		Set<UserRight> userRights = currentUser.getUserRights(userRightsVersion);
+		if (userRights == null) {
+			userRights = userRoleConfigFacade.getCachedEffectiveUserRights(currentUser.getUser().getUserRoles());
+			currentUser.setUserRights(userRights, userRightsVersion);
+		}
+		return userRights.contains(right);
 	}
 }
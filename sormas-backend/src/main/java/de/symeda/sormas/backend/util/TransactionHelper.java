@@ -0,0 +1,61 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.util;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Helper methods concerning the current JTA transaction.
+ */
+public final class TransactionHelper {
+
+	private TransactionHelper() {
+		// Hide utility class constructor
+	}
+
+	/**
+	 * Runs the {@code action} once the current transaction has been committed, or right away if there is no transaction.
+	 * The action is not run if the transaction is rolled back.
+	 * <p>
+	 * Meant for side effects that must only happen for committed changes, e.g. sending notifications about them, or
+	 * evicting caches: when evicting before the commit, a concurrent request could load and cache the old data again
+	 * before the changes are visible.
+	 */
+	public static void afterCommit(TransactionSynchronizationRegistry registry, Runnable action) {
+
+		if (registry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+			action.run();
+			return;
+		}
+
+		registry.registerInterposedSynchronization(new Synchronization() {
+
+			@Override
+			public void beforeCompletion() {
+				// nothing to do
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				if (status == Status.STATUS_COMMITTED) {
+					action.run();
+				}
+			}
+		});
+	}
+}
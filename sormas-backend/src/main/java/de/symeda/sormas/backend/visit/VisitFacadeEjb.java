@@ -85,7 +85,6 @@ import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.MessageSubject;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
-import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
 import de.symeda.sormas.backend.contact.ContactService;
@@ -161,6 +160,15 @@ public class VisitFacadeEjb implements VisitFacade {
 		return visitService.getAllActiveVisitsAfter(date).stream().map(c -> convertToDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public List<VisitDto> getAllActiveVisitsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return visitService.getAllActiveVisitsAfter(date, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(c -> convertToDto(c, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<VisitDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -610,28 +618,20 @@ public class VisitFacadeEjb implements VisitFacade {
 					UserRole.SURVEILLANCE_SUPERVISOR,
 					UserRole.CONTACT_SUPERVISOR);
 				for (User recipient : messageRecipients) {
-					try {
-						String messageContent;
-						if (contactCase != null) {
-							messageContent = String.format(
-								I18nProperties.getString(MessagingService.CONTENT_CONTACT_SYMPTOMATIC),
-								DataHelper.getShortUuid(contact.getUuid()),
-								DataHelper.getShortUuid(contactCase.getUuid()));
-						} else {
-							messageContent = String.format(
-								I18nProperties.getString(MessagingService.CONTENT_CONTACT_WITHOUT_CASE_SYMPTOMATIC),
-								DataHelper.getShortUuid(contact.getUuid()));
-						}
-
-						messagingService
-							.sendMessage(recipient, MessageSubject.CONTACT_SYMPTOMATIC, messageContent, MessageType.EMAIL, MessageType.SMS);
-					} catch (NotificationDeliveryFailedException e) {
-						logger.error(
-							String.format(
-								"EmailDeliveryFailedException when trying to notify supervisors about a contact that has become symptomatic. "
-									+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-								recipient.getUuid()));
+					String messageContent;
+					if (contactCase != null) {
+						messageContent = String.format(
+							I18nProperties.getString(MessagingService.CONTENT_CONTACT_SYMPTOMATIC),
+							DataHelper.getShortUuid(contact.getUuid()),
+							DataHelper.getShortUuid(contactCase.getUuid()));
+					} else {
+						messageContent = String.format(
+							I18nProperties.getString(MessagingService.CONTENT_CONTACT_WITHOUT_CASE_SYMPTOMATIC),
+							DataHelper.getShortUuid(contact.getUuid()));
 					}
+
+					messagingService
+						.sendMessage(recipient, MessageSubject.CONTACT_SYMPTOMATIC, messageContent, MessageType.EMAIL, MessageType.SMS);
 				}
 			}
 		}
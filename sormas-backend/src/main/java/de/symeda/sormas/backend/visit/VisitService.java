@@ -37,6 +37,7 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseLogic;
@@ -126,6 +127,34 @@ public class VisitService extends AbstractAdoService<Visit> {
 		return result.stream().distinct().sorted(Comparator.comparing(AbstractDomainObject::getId)).collect(Collectors.toList());
 	}
 
+	/**
+	 * Like {@link #getAllActiveVisitsAfter(Date)}, but only returns the page of up to {@code batchSize} visits following
+	 * the given cursor.
+	 * 
+	 * @see #getChangedPage(SyncFilterBuilder, java.util.function.Consumer, int, Date, String)
+	 */
+	public List<Visit> getAllActiveVisitsAfter(Date date, int batchSize, Date lastChangeDate, String lastUuid) {
+
+		return getChangedPage((cb, cq, from) -> {
+			Subquery<Long> contactVisitsQuery = cq.subquery(Long.class);
+			Root<Contact> contactRoot = contactVisitsQuery.from(Contact.class);
+			Join<Contact, Visit> visitJoin = contactRoot.join(Contact.VISITS, JoinType.INNER);
+			contactVisitsQuery.select(visitJoin.get(AbstractDomainObject.ID));
+			contactVisitsQuery.where(
+				and(cb, contactService.createUserFilter(cb, cq, contactRoot), contactService.createActiveContactsFilter(cb, contactRoot)));
+
+			Predicate filter = from.get(AbstractDomainObject.ID).in(contactVisitsQuery);
+			if (date != null) {
+				filter = and(cb, filter, createChangeDateFilter(cb, from, DateHelper.toTimestampUpper(date)));
+			}
+			return filter;
+		}, from -> {
+			from.fetch(Visit.SYMPTOMS);
+			Fetch<Visit, Person> personFetch = from.fetch(Visit.PERSON);
+			personFetch.fetch(Person.ADDRESS);
+		}, batchSize, lastChangeDate, lastUuid);
+	}
+
 	private List<Visit> getAllActiveVisitsInContactsAfter(Date date) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
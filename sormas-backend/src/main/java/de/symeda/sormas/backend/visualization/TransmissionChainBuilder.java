@@ -0,0 +1,543 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.visualization;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.contact.ContactProximity;
+
+/**
+ * Builds the transmission chain network of a set of contacts as visNetwork htmlwidget JSON, the format formerly
+ * produced by the R script {@code transform_contact.R}.
+ * <p>
+ * Nodes are persons, edges lead from the person of the source case to the person of the contact. Each person is
+ * shown with the classification of its earliest case (healthy if there is none). Texts are written as
+ * {@code {key}} placeholders to be translated by {@link VisualizationFacadeEjb}.
+ * <p>
+ * Not thread-safe; create one builder per diagram.
+ */
+public class TransmissionChainBuilder {
+
+	private static final String[] NODE_CLASSES = {
+		"HEALTHY",
+		"NOT_CLASSIFIED",
+		"SUSPECT",
+		"PROBABLE",
+		"CONFIRMED" };
+
+	// see CountElementStyle.POSITIVE and styles.css count-element
+	private static final String[] NODE_CLASS_COLORS = {
+		"#32CD32", // positive
+		"#808080", // minor
+		"#c8aa00", // relevant
+		"#be6900", // important
+		"#c80000" }; // critical
+
+	private static final Set<ContactProximity> HIGH_RISK_PROXIMITIES = EnumSet.of(
+		ContactProximity.FACE_TO_FACE_LONG,
+		ContactProximity.TOUCHED_FLUID,
+		ContactProximity.MEDICAL_UNSAFE,
+		ContactProximity.CLOTHES_OR_OTHER,
+		ContactProximity.PHYSICAL_CONTACT);
+
+	private static final byte HIGH_RISK = 1;
+	private static final byte LOW_RISK = 2;
+
+	private static final String DEFAULT_FONT = "font-family:'Open Sans', sans-serif, 'Source Sans Pro'";
+	private static final String MAIN_STYLE = DEFAULT_FONT + "; color: #6591C4; ;font-weight: 600; font-size: 1.6em; text-align:center;";
+	private static final String SUBMAIN_STYLE = DEFAULT_FONT + "; text-align:center;";
+	private static final String HIDE_COLOR = "rgba(200,200,200,0.5)";
+
+	private final boolean hierarchical;
+
+	private final Map<Long, Integer> nodeIndexes = new HashMap<>();
+	private long[] personIds = new long[16];
+	private String[] caseUuids = new String[16];
+	private Date[] caseReportDates = new Date[16];
+	private CaseClassification[] caseClassifications = new CaseClassification[16];
+	private int nodeCount;
+
+	private final Map<Long, Integer> edgeIndexes = new HashMap<>();
+	private int[] edgeFrom = new int[16];
+	private int[] edgeTo = new int[16];
+	private byte[] edgeRisks = new byte[16];
+	private int edgeCount;
+
+	public TransmissionChainBuilder(boolean hierarchical) {
+		this.hierarchical = hierarchical;
+	}
+
+	/**
+	 * Adds the contact to the network: its person, the person of its case (if any) and the edge between them.
+	 */
+	public void addContact(ContactRow contact) {
+
+		int contactNode = addNode(contact.getContactPersonId());
+		if (contact.getResultingCaseUuid() != null
+			&& !Boolean.TRUE.equals(contact.getResultingCaseDeleted())
+			&& contact.getResultingCaseClassification() != CaseClassification.NO_CASE) {
+			offerCase(
+				contactNode,
+				contact.getResultingCaseUuid(),
+				contact.getResultingCaseReportDate(),
+				contact.getResultingCaseClassification());
+		}
+
+		if (contact.getCasePersonId() != null) {
+			int caseNode = addNode(contact.getCasePersonId());
+			offerCase(caseNode, contact.getCaseUuid(), contact.getCaseReportDate(), contact.getCaseClassification());
+			if (caseNode != contactNode) {
+				addEdge(caseNode, contactNode, HIGH_RISK_PROXIMITIES.contains(contact.getContactProximity()) ? HIGH_RISK : LOW_RISK);
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return nodeCount == 0;
+	}
+
+	private int addNode(long personId) {
+
+		Integer index = nodeIndexes.get(personId);
+		if (index != null) {
+			return index;
+		}
+
+		if (nodeCount == personIds.length) {
+			int capacity = nodeCount * 2;
+			personIds = Arrays.copyOf(personIds, capacity);
+			caseUuids = Arrays.copyOf(caseUuids, capacity);
+			caseReportDates = Arrays.copyOf(caseReportDates, capacity);
+			caseClassifications = Arrays.copyOf(caseClassifications, capacity);
+		}
+		personIds[nodeCount] = personId;
+		nodeIndexes.put(personId, nodeCount);
+		return nodeCount++;
+	}
+
+	/**
+	 * Keeps the earliest case of the person: cases with report date first, then by report date and uuid.
+	 */
+	private void offerCase(int node, String uuid, Date reportDate, CaseClassification classification) {
+
+		String currentUuid = caseUuids[node];
+		Date currentReportDate = caseReportDates[node];
+		boolean earlier;
+		if (currentUuid == null) {
+			earlier = true;
+		} else if (reportDate == null) {
+			earlier = currentReportDate == null && uuid.compareTo(currentUuid) < 0;
+		} else if (currentReportDate == null) {
+			earlier = true;
+		} else {
+			int compare = reportDate.compareTo(currentReportDate);
+			earlier = compare < 0 || compare == 0 && uuid.compareTo(currentUuid) < 0;
+		}
+
+		if (earlier) {
+			caseUuids[node] = uuid;
+			caseReportDates[node] = reportDate;
+			caseClassifications[node] = classification;
+		}
+	}
+
+	/**
+	 * Adds the edge once per pair of nodes; high risk wins over low risk.
+	 */
+	private void addEdge(int from, int to, byte risk) {
+
+		long key = ((long) from << 32) | to;
+		Integer index = edgeIndexes.get(key);
+		if (index != null) {
+			edgeRisks[index] = (byte) Math.min(edgeRisks[index], risk);
+			return;
+		}
+
+		if (edgeCount == edgeFrom.length) {
+			int capacity = edgeCount * 2;
+			edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+			edgeTo = Arrays.copyOf(edgeTo, capacity);
+			edgeRisks = Arrays.copyOf(edgeRisks, capacity);
+		}
+		edgeFrom[edgeCount] = from;
+		edgeTo[edgeCount] = to;
+		edgeRisks[edgeCount] = risk;
+		edgeIndexes.put(key, edgeCount);
+		edgeCount++;
+	}
+
+	/**
+	 * Hierarchical layout level of each node: the length of the shortest transmission path from a node without source.
+	 * Nodes only reachable through cycles start a new hierarchy at level 0.
+	 */
+	int[] computeLevels() {
+
+		// adjacency lists in compressed sparse row format
+		int[] offsets = new int[nodeCount + 1];
+		int[] inDegrees = new int[nodeCount];
+		for (int i = 0; i < edgeCount; i++) {
+			offsets[edgeFrom[i] + 1]++;
+			inDegrees[edgeTo[i]]++;
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] targets = new int[edgeCount];
+		int[] fill = Arrays.copyOf(offsets, nodeCount);
+		for (int i = 0; i < edgeCount; i++) {
+			targets[fill[edgeFrom[i]]++] = edgeTo[i];
+		}
+
+		int[] levels = new int[nodeCount];
+		Arrays.fill(levels, -1);
+		int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		for (int i = 0; i < nodeCount; i++) {
+			if (inDegrees[i] == 0) {
+				levels[i] = 0;
+				queue[tail++] = i;
+			}
+		}
+
+		int nextUnvisited = 0;
+		while (tail < nodeCount || head < tail) {
+			if (head == tail) {
+				while (levels[nextUnvisited] >= 0) {
+					nextUnvisited++;
+				}
+				levels[nextUnvisited] = 0;
+				queue[tail++] = nextUnvisited;
+			}
+
+			int node = queue[head++];
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int target = targets[i];
+				if (levels[target] < 0) {
+					levels[target] = levels[node] + 1;
+					queue[tail++] = target;
+				}
+			}
+		}
+
+		return levels;
+	}
+
+	/**
+	 * @return the visNetwork htmlwidget JSON, with i18n placeholders
+	 */
+	public String build() {
+
+		ObjectMapper mapper = new ObjectMapper();
+		ObjectNode root = mapper.createObjectNode();
+		ObjectNode x = root.putObject("x");
+
+		Set<String> groups = new LinkedHashSet<>();
+		writeNodes(x.putObject("nodes"), groups);
+		writeEdges(x.putObject("edges"));
+		x.put("nodesToDataframe", true);
+		x.put("edgesToDataframe", true);
+
+		ObjectNode options = x.putObject("options");
+		options.put("width", "100%");
+		options.put("height", "100%");
+		options.putObject("nodes").put("shape", "dot");
+		options.putObject("manipulation").put("enabled", false);
+		ObjectNode edgeOptions = options.putObject("edges");
+		edgeOptions.put("arrows", "to");
+		edgeOptions.put("color", "black");
+		edgeOptions.putObject("smooth").put("type", "continuous");
+		ObjectNode groupOptions = options.putObject("groups");
+		for (int i = 0; i < NODE_CLASSES.length; i++) {
+			ObjectNode group = groupOptions.putObject(classificationLabel(NODE_CLASSES[i]));
+			group.put("size", 10);
+			group.put("shape", "icon");
+			ObjectNode icon = group.putObject("icon");
+			icon.put("face", "FontAwesome");
+			icon.put("code", "f007");
+			icon.put("color", NODE_CLASS_COLORS[i]);
+		}
+		groupOptions.put("useDefaultGroups", true);
+		ObjectNode interaction = options.putObject("interaction");
+		interaction.put("dragNodes", true);
+		interaction.put("dragView", true);
+		interaction.put("zoomView", true);
+		ObjectNode physics = options.putObject("physics");
+		if (hierarchical) {
+			ObjectNode hierarchicalLayout = options.putObject("layout").putObject("hierarchical");
+			hierarchicalLayout.put("enabled", true);
+			hierarchicalLayout.put("levelSeparation", 150);
+			hierarchicalLayout.put("direction", "UD");
+			physics.putObject("hierarchicalRepulsion").put("damping", 0.26);
+		} else {
+			physics.put("solver", "barnesHut");
+			ObjectNode barnesHut = physics.putObject("barnesHut");
+			barnesHut.put("damping", 0.26);
+			barnesHut.put("avoidOverlap", 0.2);
+		}
+
+		ArrayNode groupNames = x.putArray("groups");
+		groups.forEach(groupNames::add);
+		x.put("width", "100%");
+		x.putNull("height");
+
+		ObjectNode idSelection = x.putObject("idselection");
+		idSelection.put("enabled", false);
+
+		ObjectNode bySelection = x.putObject("byselection");
+		bySelection.put("enabled", true);
+		bySelection.put("style", "width: 150px; height: 26px");
+		bySelection.put("multiple", false);
+		bySelection.put("hideColor", HIDE_COLOR);
+		bySelection.put("highlight", false);
+		bySelection.put("variable", "Classification");
+		bySelection.put("main", "{selectByClassification}");
+		ArrayNode values = bySelection.putArray("values");
+		Arrays.stream(NODE_CLASSES).map(TransmissionChainBuilder::classificationLabel).forEach(values::add);
+
+		ObjectNode main = x.putObject("main");
+		main.put("text", "{heading}");
+		main.put("style", MAIN_STYLE);
+		ObjectNode submain = x.putObject("submain");
+		submain.put("text", "{subheading}");
+		submain.put("style", SUBMAIN_STYLE);
+		x.putNull("footer");
+		x.put("background", "white");
+
+		ObjectNode highlight = x.putObject("highlight");
+		highlight.put("enabled", true);
+		highlight.put("hoverNearest", false);
+		highlight.put("degree", 1);
+		highlight.put("algorithm", "all");
+		highlight.put("hideColor", HIDE_COLOR);
+		highlight.put("labelOnly", true);
+
+		ObjectNode collapse = x.putObject("collapse");
+		collapse.put("enabled", false);
+		collapse.put("fit", false);
+		collapse.put("resetHighlight", true);
+		collapse.putNull("clusterOptions");
+		collapse.put("keepCoord", true);
+		collapse.put("labelSuffix", "(cluster)");
+
+		x.put("iconsRedraw", true);
+		writeLegend(x.putObject("legend"));
+
+		root.putArray("evals");
+		root.putArray("jsHooks");
+
+		try {
+			return mapper.writeValueAsString(root);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void writeNodes(ObjectNode nodes, Set<String> groups) {
+
+		// ordered by person like the former query
+		Integer[] order = new Integer[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(personIds[a], personIds[b]));
+
+		int[] levels = computeLevels();
+
+		ArrayNode ids = nodes.putArray("id");
+		ArrayNode uuids = nodes.putArray("uuid");
+		ArrayNode labels = nodes.putArray("label");
+		ArrayNode classifications = nodes.putArray("Classification");
+		ArrayNode nodeGroups = nodes.putArray("group");
+		ArrayNode nodeLevels = nodes.putArray("level");
+		for (int node : order) {
+			String uuid = caseUuids[node];
+			String classification = classificationLabel(getNodeClass(caseClassifications[node]));
+			ids.add(personIds[node]);
+			uuids.add(uuid);
+			labels.add(uuid == null ? null : uuid.substring(0, Math.min(6, uuid.length())).toUpperCase());
+			classifications.add(classification);
+			nodeGroups.add(classification);
+			nodeLevels.add(levels[node]);
+			groups.add(classification);
+		}
+	}
+
+	private void writeEdges(ObjectNode edges) {
+
+		ArrayNode from = edges.putArray("from");
+		ArrayNode to = edges.putArray("to");
+		ArrayNode labels = edges.putArray("label");
+		ArrayNode dashes = edges.putArray("dashes");
+		for (int i = 0; i < edgeCount; i++) {
+			from.add(personIds[edgeFrom[i]]);
+			to.add(personIds[edgeTo[i]]);
+			labels.add(Byte.toString(edgeRisks[i]));
+			dashes.add(edgeRisks[i] != HIGH_RISK);
+		}
+	}
+
+	private static void writeLegend(ObjectNode legend) {
+
+		legend.put("width", 0.2);
+		legend.put("useGroups", false);
+		legend.put("position", "left");
+		legend.put("ncol", 1);
+		legend.put("stepX", 100);
+		legend.put("stepY", 50);
+		legend.put("zoom", true);
+		legend.put("nodesToDataframe", true);
+
+		ObjectNode nodes = legend.putObject("nodes");
+		ArrayNode labels = nodes.putArray("label");
+		ArrayNode shapes = nodes.putArray("shape");
+		ArrayNode codes = nodes.putArray("icon.code");
+		ArrayNode sizes = nodes.putArray("icon.size");
+		ArrayNode colors = nodes.putArray("icon.color");
+
+		labels.add("{legend}");
+		codes.add("f0c0");
+		sizes.add(0.1);
+		colors.add("#0d0c0c");
+		for (int i = 0; i < NODE_CLASSES.length; i++) {
+			labels.add(classificationLabel(NODE_CLASSES[i]));
+			codes.add("f007");
+			sizes.add(25);
+			colors.add(NODE_CLASS_COLORS[i]);
+		}
+		labels.add(HIGH_RISK + " = {highRisk}");
+		labels.add(LOW_RISK + " = {lowRisk}");
+		for (int i = 0; i < 2; i++) {
+			codes.add("f178");
+			sizes.add(25);
+			colors.add("#0d0c0c");
+		}
+		for (int i = 0; i < labels.size(); i++) {
+			shapes.add("icon");
+		}
+	}
+
+	private static String getNodeClass(CaseClassification classification) {
+
+		if (classification == null || classification == CaseClassification.NO_CASE) {
+			return NODE_CLASSES[0];
+		}
+		switch (classification) {
+		case CONFIRMED_NO_SYMPTOMS:
+		case CONFIRMED_UNKNOWN_SYMPTOMS:
+			return CaseClassification.CONFIRMED.name();
+		default:
+			return classification.name();
+		}
+	}
+
+	private static String classificationLabel(String nodeClass) {
+		return "{Classification." + nodeClass + "}";
+	}
+
+	/**
+	 * One contact as selected by {@link VisualizationFacadeEjb}, with its source case and resulting case.
+	 */
+	public static class ContactRow {
+
+		private final long contactPersonId;
+		private final ContactProximity contactProximity;
+		private final Long casePersonId;
+		private final String caseUuid;
+		private final Date caseReportDate;
+		private final CaseClassification caseClassification;
+		private final String resultingCaseUuid;
+		private final Date resultingCaseReportDate;
+		private final CaseClassification resultingCaseClassification;
+		private final Boolean resultingCaseDeleted;
+
+		public ContactRow(
+			Long contactPersonId,
+			ContactProximity contactProximity,
+			Long casePersonId,
+			String caseUuid,
+			Date caseReportDate,
+			CaseClassification caseClassification,
+			String resultingCaseUuid,
+			Date resultingCaseReportDate,
+			CaseClassification resultingCaseClassification,
+			Boolean resultingCaseDeleted) {
+
+			this.contactPersonId = contactPersonId;
+			this.contactProximity = contactProximity;
+			this.casePersonId = casePersonId;
+			this.caseUuid = caseUuid;
+			this.caseReportDate = caseReportDate;
+			this.caseClassification = caseClassification;
+			this.resultingCaseUuid = resultingCaseUuid;
+			this.resultingCaseReportDate = resultingCaseReportDate;
+			this.resultingCaseClassification = resultingCaseClassification;
+			this.resultingCaseDeleted = resultingCaseDeleted;
+		}
+
+		public long getContactPersonId() {
+			return contactPersonId;
+		}
+
+		public ContactProximity getContactProximity() {
+			return contactProximity;
+		}
+
+		public Long getCasePersonId() {
+			return casePersonId;
+		}
+
+		public String getCaseUuid() {
+			return caseUuid;
+		}
+
+		public Date getCaseReportDate() {
+			return caseReportDate;
+		}
+
+		public CaseClassification getCaseClassification() {
+			return caseClassification;
+		}
+
+		public String getResultingCaseUuid() {
+			return resultingCaseUuid;
+		}
+
+		public Date getResultingCaseReportDate() {
+			return resultingCaseReportDate;
+		}
+
+		public CaseClassification getResultingCaseClassification() {
+			return resultingCaseClassification;
+		}
+
+		public Boolean getResultingCaseDeleted() {
+			return resultingCaseDeleted;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.visualization;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+/**
+ * Keeps the last transmission chain JSON per filter. An entry is valid as long as the contacts it has been built from
+ * have not changed, which the caller expresses as a version (e.g. count and latest change dates of the contacts).
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class TransmissionChainCache {
+
+	static final int MAX_ENTRIES = 200;
+
+	private final Map<List<Object>, Entry> entries = new ConcurrentHashMap<>();
+
+	public String get(List<Object> key, List<Object> version, Supplier<String> builder) {
+
+		Entry entry = entries.get(key);
+		if (entry != null && entry.version.equals(version)) {
+			return entry.json;
+		}
+
+		String json = builder.get();
+		if (entries.size() >= MAX_ENTRIES) {
+			// filters are chosen interactively, so a full cache is best simply started over
+			entries.clear();
+		}
+		if (json != null) {
+			entries.put(key, new Entry(version, json));
+		}
+		return json;
+	}
+
+	private static class Entry {
+
+		private final List<Object> version;
+		private final String json;
+
+		private Entry(List<Object> version, String json) {
+			this.version = version;
+			this.json = json;
+		}
+	}
+}
@@ -17,26 +17,17 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.visualization;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.Reader;
-import java.io.UncheckedIOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -50,14 +41,6 @@ import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.caze.CaseClassification;
@@ -70,23 +53,19 @@ import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
-import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
+import de.symeda.sormas.backend.person.Person;
 import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.util.ModelConstants;
 
 @Stateless(name = "VisualizationFacade")
 public class VisualizationFacadeEjb implements VisualizationFacade {
 
-	static final String SORMAS_DATA_POOL_JNDI = "jdbc/sormasDataPool";
-
-	//	private static final String TRANSMISSION_CHAIN_SCRIPT = "transmission_chain.r";
-	private static final String TRANSMISSION_CHAIN_SCRIPT = "transform_contact.R";
-	private static final String[] REQUIRED_SCRIPTS = {
-		"encodeGraphic.R",
-		"networkFunction.R" };
+	private static final boolean HIERARCHICAL_LAYOUT = false;
 
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
@@ -96,7 +75,9 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 	@EJB
 	private ContactService contactService;
 	@EJB
-	private ConfigFacadeEjbLocal configFacade;
+	private UserService userService;
+	@EJB
+	private TransmissionChainCache transmissionChainCache;
 
 	@Override
 	public String buildTransmissionChainJson(
@@ -107,22 +88,25 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 		Collection<Disease> diseases,
 		Language language) {
 
-		String rExecutable = configFacade.getRScriptExecutable();
-		if (StringUtils.isBlank(rExecutable)) {
-			return null;
-		}
-		Path tempBasePath = new File(configFacade.getTempFilesPath()).toPath();
-
-		Collection<Long> contactIds = getContactIds(fromDate, toDate, region, district, diseases);
-
-		if (contactIds.isEmpty()) {
+		List<Object> version = getContactsVersion(fromDate, toDate, region, district, diseases);
+		if (((Long) version.get(0)) == 0) {
 			return null;
 		}
 
-		//working dir is the config directory of the domain
-		Path domainXmlPath = Paths.get("domain.xml");
-
-		return buildTransmissionChainJson(rExecutable, tempBasePath, domainXmlPath, contactIds, language);
+		User user = userService.getCurrentUser();
+		List<Object> key = Arrays.asList(
+			user != null ? user.getUuid() : null,
+			fromDate,
+			toDate,
+			region != null ? region.getUuid() : null,
+			district != null ? district.getUuid() : null,
+			diseases.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(diseases),
+			language);
+
+		return transmissionChainCache.get(key, version, () -> {
+			TransmissionChainBuilder builder = buildTransmissionChain(fromDate, toDate, region, district, diseases);
+			return builder.isEmpty() ? null : doI18n(builder.build(), language);
+		});
 	}
 
 	@Override
@@ -131,15 +115,16 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
 		Root<Contact> root = cq.from(Contact.class);
+		Join<Contact, Case> caze = root.join(Contact.CAZE, JoinType.LEFT);
 
-		cq.where(buildContactFilters(cb, cq, root, fromDate, toDate, region, district, diseases));
+		cq.where(buildContactFilters(cb, cq, root, caze, fromDate, toDate, region, district, diseases));
 
 		cq.select(cb.count(root.get(AbstractDomainObject.ID)));
 
 		return em.createQuery(cq).getSingleResult();
 	}
 
-	private Collection<Long> getContactIds(
+	private TransmissionChainBuilder buildTransmissionChain(
 		Date fromDate,
 		Date toDate,
 		RegionReferenceDto region,
@@ -147,26 +132,69 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 		Collection<Disease> diseases) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		CriteriaQuery<TransmissionChainBuilder.ContactRow> cq = cb.createQuery(TransmissionChainBuilder.ContactRow.class);
+		Root<Contact> root = cq.from(Contact.class);
+		Join<Contact, Case> caze = root.join(Contact.CAZE, JoinType.LEFT);
+		Join<Case, Person> casePerson = caze.join(Case.PERSON, JoinType.LEFT);
+		Join<Contact, Case> resultingCase = root.join(Contact.RESULTING_CASE, JoinType.LEFT);
+
+		cq.where(buildContactFilters(cb, cq, root, caze, fromDate, toDate, region, district, diseases));
+
+		cq.multiselect(
+			root.get(Contact.PERSON).get(Person.ID),
+			root.get(Contact.CONTACT_PROXIMITY),
+			casePerson.get(Person.ID),
+			caze.get(Case.UUID),
+			caze.get(Case.REPORT_DATE),
+			caze.get(Case.CASE_CLASSIFICATION),
+			resultingCase.get(Case.UUID),
+			resultingCase.get(Case.REPORT_DATE),
+			resultingCase.get(Case.CASE_CLASSIFICATION),
+			resultingCase.get(Case.DELETED));
+
+		TransmissionChainBuilder builder = new TransmissionChainBuilder(HIERARCHICAL_LAYOUT);
+		em.createQuery(cq).getResultStream().forEach(builder::addContact);
+		return builder;
+	}
+
+	/**
+	 * @return number of the contacts matching the filter and the latest change dates of them and their cases; changes as
+	 *         soon as the transmission chain of the filter changes
+	 */
+	private List<Object> getContactsVersion(
+		Date fromDate,
+		Date toDate,
+		RegionReferenceDto region,
+		DistrictReferenceDto district,
+		Collection<Disease> diseases) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
 		Root<Contact> root = cq.from(Contact.class);
+		Join<Contact, Case> caze = root.join(Contact.CAZE, JoinType.LEFT);
+		Join<Contact, Case> resultingCase = root.join(Contact.RESULTING_CASE, JoinType.LEFT);
 
-		cq.where(buildContactFilters(cb, cq, root, fromDate, toDate, region, district, diseases));
+		cq.where(buildContactFilters(cb, cq, root, caze, fromDate, toDate, region, district, diseases));
 
-		cq.select(root.get(AbstractDomainObject.ID));
+		cq.multiselect(
+			cb.count(root.get(AbstractDomainObject.ID)),
+			cb.greatest(root.<Date> get(AbstractDomainObject.CHANGE_DATE)),
+			cb.greatest(caze.<Date> get(AbstractDomainObject.CHANGE_DATE)),
+			cb.greatest(resultingCase.<Date> get(AbstractDomainObject.CHANGE_DATE)));
 
-		return em.createQuery(cq).getResultList();
+		return Arrays.asList(em.createQuery(cq).getSingleResult());
 	}
 
 	private Predicate buildContactFilters(
 		CriteriaBuilder cb,
-		CriteriaQuery<Long> cq,
+		CriteriaQuery<?> cq,
 		Root<Contact> root,
+		Join<Contact, Case> caze,
 		Date fromDate,
 		Date toDate,
 		RegionReferenceDto region,
 		DistrictReferenceDto district,
 		Collection<Disease> diseases) {
-		Join<Contact, Case> caze = root.join(Contact.CAZE, JoinType.LEFT);
 
 		return AbstractAdoService.and(
 			cb,
@@ -184,172 +212,6 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 			district == null ? null : cb.equal(root.join(Contact.DISTRICT).get(District.UUID), district.getUuid()));
 	}
 
-	enum EnvParam {
-
-		DB_USER("user"),
-		DB_PASS("password"),
-		DB_NAME("databaseName"),
-		DB_HOST("serverName"),
-		DB_PORT("portNumber"),
-		CONTACT_IDS,
-		HIERARCHICAL,
-		OUTFILE;
-
-		private final String propertyName;
-
-		EnvParam() {
-			this(null);
-		}
-
-		EnvParam(String propertyName) {
-			this.propertyName = propertyName;
-
-		}
-
-		String toEnv(String value) {
-			return value == null ? null : (this.name() + '=' + value);
-		}
-
-		void put(Map<String, String> env, String value) {
-			if (value == null) {
-				env.remove(this.name());
-			} else {
-				env.put(this.name(), value);
-			}
-		}
-
-		void putFrom(Map<String, String> env, Map<String, String> properties) {
-			env.put(this.name(), properties.get(propertyName));
-		}
-	}
-
-	static String buildTransmissionChainJson(
-		String rScriptExecutable,
-		Path tempBasePath,
-		Path domainXmlPath,
-		Collection<Long> contactIds,
-		Language language) {
-
-		Path tempDir;
-		try {
-			tempDir = Files.createTempDirectory(tempBasePath, "vis_");
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
-		}
-
-		try {
-			copyVisualisationResourceFile(tempDir, TRANSMISSION_CHAIN_SCRIPT);
-
-			Arrays.stream(REQUIRED_SCRIPTS).forEach(s -> copyVisualisationResourceFile(tempDir, s));
-
-			Path scriptFile = tempDir.resolve(TRANSMISSION_CHAIN_SCRIPT);
-
-			Path outputFile = tempDir.resolve("result.html");
-
-			try {
-				ProcessBuilder pb;
-				if (rScriptExecutable.toUpperCase().contains("RSCRIPT")) {
-					pb = new ProcessBuilder(
-						new String[] {
-							rScriptExecutable,
-							scriptFile.toString() });
-				} else {
-					pb = new ProcessBuilder(
-						new String[] {
-							rScriptExecutable,
-							"-f",
-							scriptFile.toString() });
-				}
-				pb.directory(tempDir.toFile());
-
-				Map<String, String> poolProperties = getConnectionPoolProperties(domainXmlPath, SORMAS_DATA_POOL_JNDI);
-				Map<String, String> env = pb.environment();
-
-				EnvParam.DB_USER.putFrom(env, poolProperties);
-				EnvParam.DB_PASS.putFrom(env, poolProperties);
-				EnvParam.DB_NAME.putFrom(env, poolProperties);
-				EnvParam.DB_HOST.putFrom(env, poolProperties);
-				EnvParam.DB_PORT.putFrom(env, poolProperties);
-
-				String contactIdStr;
-				if (contactIds.isEmpty()) {
-					contactIdStr = "NULL";
-				} else {
-					StringBuilder sb = new StringBuilder(contactIds.size() * 6);
-					contactIds.forEach(l -> {
-						sb.append(l);
-						sb.append(',');
-					});
-					contactIdStr = sb.substring(0, sb.length() - 1);
-				}
-
-				EnvParam.CONTACT_IDS.put(env, contactIdStr);
-				EnvParam.OUTFILE.put(env, outputFile.toString());
-
-				File outFile = tempDir.resolve("console.log").toFile();
-				pb.redirectErrorStream(true);
-				pb.redirectOutput(outFile);
-
-				Process pr = pb.start();
-				int exitCode = pr.waitFor();
-
-				if (exitCode == 0) {
-					String html = new String(Files.readAllBytes(outputFile));
-					return extractJson(html, language);
-				} else {
-					Logger logger = LoggerFactory.getLogger(VisualizationFacadeEjb.class);
-					logger.warn("R failed with code {} : {}", exitCode, pb.command().stream().collect(Collectors.joining(" ")));
-					if (logger.isDebugEnabled() && outFile.length() > 0) {
-						try (Stream<String> lines = Files.lines(outFile.toPath(), Charset.defaultCharset())) {
-							logger.debug(lines.collect(Collectors.joining("\n  ", "Console output of R script:\n  ", "")));
-						}
-					}
-					return null;
-				}
-
-			} catch (IOException e) {
-				throw new UncheckedIOException(e);
-
-			} catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				throw new RuntimeException(e);
-			}
-
-		} finally {
-			try {
-				FileUtils.deleteDirectory(tempDir.toFile());
-			} catch (IOException e) {
-				Logger logger = LoggerFactory.getLogger(VisualizationFacadeEjb.class);
-				logger.warn(e.getMessage(), e);
-			}
-		}
-	}
-
-	private static void copyVisualisationResourceFile(Path dir, String resourceName) {
-
-		Path outFile = dir.resolve(resourceName);
-		try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("visualisation/" + resourceName)) {
-			if (in == null) {
-				throw new IllegalArgumentException("Could not find " + resourceName);
-			}
-			Files.copy(in, outFile);
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
-		}
-	}
-
-	static String extractJson(String html, Language language) {
-
-		final Parser parser = Parser.htmlParser();
-		final Document doc = parser.parseInput(html, "");
-
-		Element jsonScripElement = doc.select("script[type='application/json']").first();
-
-		String json = jsonScripElement.html();
-		json = doI18n(json, language);
-		return json;
-	}
-
 	private static final Map<String, Enum<?>> supportedEnums;
 	static {
 		Map<String, Enum<?>> map = new HashMap<>();
@@ -361,7 +223,7 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 	private static final Pattern INTERNATIONALIZATION_KEY_PATTERN = Pattern.compile("\\{([A-Za-z_.]+)\\}");
 	private static final String DISEASE_NETWORK_DIAGRAM_PREFIX = "DiseaseNetworkDiagram.";
 
-	private static String doI18n(String json, Language language) {
+	static String doI18n(String json, Language language) {
 
 		Matcher m = INTERNATIONALIZATION_KEY_PATTERN.matcher(json);
 
@@ -393,21 +255,6 @@ public class VisualizationFacadeEjb implements VisualizationFacade {
 		return string.replace("\"", "\\\"");
 	}
 
-	static Map<String, String> getConnectionPoolProperties(Path domPath, String jndiName) throws IOException {
-		final Parser parser = Parser.xmlParser();
-		final org.jsoup.nodes.Document doc;
-		try (Reader rd = Files.newBufferedReader(domPath)) {
-			doc = parser.parseInput(rd, "");
-		}
-
-		String poolName = doc.selectFirst("jdbc-resource[jndi-name=\"" + jndiName + "\"]").attr("pool-name");
-
-		Map<String, String> dbProperties = doc.select("jdbc-connection-pool[name=\"" + poolName + "\"] > property")
-			.stream()
-			.collect(Collectors.toMap(e -> e.attr("name"), e -> e.attr("value")));
-		return dbProperties;
-	}
-
 	@LocalBean
 	@Stateless
 	public static class VisualizationFacadeEjbLocal extends VisualizationFacadeEjb {
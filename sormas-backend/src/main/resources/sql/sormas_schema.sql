@@ -5552,4 +5552,77 @@ UPDATE diseaseconfiguration SET casefollowupduration = followupduration;
 UPDATE diseaseconfiguration SET eventparticipantfollowupduration = followupduration;
 
 INSERT INTO schema_version (version_number, comment) VALUES (275, 'Split follow-up duration #3100');
+
+-- 2020-11-09 Keyset paging for the case export
+CREATE INDEX IF NOT EXISTS idx_cases_reportdate_id ON cases (reportdate DESC, id DESC);
+
+INSERT INTO schema_version (version_number, comment) VALUES (276, 'Keyset paging for the case export');
+
+-- 2020-11-10 Pre-aggregated case counts for the statistics
+CREATE TABLE casestatisticscube (
+    disease varchar(255),
+    reportyear integer,
+    reportquarter integer,
+    reportmonth integer,
+    reportepiyear integer,
+    reportepiweek integer,
+    region_id bigint,
+    district_id bigint,
+    community_id bigint,
+    healthfacility_id bigint,
+    sex varchar(255),
+    caseage integer,
+    caseclassification varchar(255),
+    outcome varchar(255),
+    casecount bigint NOT NULL
+);
+ALTER TABLE casestatisticscube OWNER TO sormas_user;
+CREATE INDEX idx_casestatisticscube_disease_reportyear ON casestatisticscube (disease, reportyear, reportepiweek, district_id);
+
+CREATE TABLE casestatisticscube_case (
+    case_id bigint PRIMARY KEY,
+    disease varchar(255),
+    reportyear integer,
+    reportquarter integer,
+    reportmonth integer,
+    reportepiyear integer,
+    reportepiweek integer,
+    region_id bigint,
+    district_id bigint,
+    community_id bigint,
+    healthfacility_id bigint,
+    sex varchar(255),
+    caseage integer,
+    caseclassification varchar(255),
+    outcome varchar(255)
+);
+ALTER TABLE casestatisticscube_case OWNER TO sormas_user;
+
+CREATE TABLE casestatisticscube_state (
+    lastupdate timestamp NOT NULL
+);
+ALTER TABLE casestatisticscube_state OWNER TO sormas_user;
+
+INSERT INTO schema_version (version_number, comment) VALUES (277, 'Pre-aggregated case counts for the statistics');
+
+-- 2020-11-11 Outbox for email and SMS notifications
+CREATE TABLE outboxmessage (
+    id bigint not null,
+    uuid varchar(36) not null unique,
+    changedate timestamp not null,
+    creationdate timestamp not null,
+    messagetype varchar(255) not null,
+    recipient varchar(512) not null,
+    subject varchar(512) not null,
+    content varchar(4096) not null,
+    attempts integer not null,
+    nextattemptdate timestamp,
+    lasterror varchar(512),
+    primary key(id)
+);
+ALTER TABLE outboxmessage OWNER TO sormas_user;
+CREATE INDEX idx_outboxmessage_nextattemptdate ON outboxmessage (nextattemptdate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (278, 'Outbox for email and SMS notifications');
+
 -- *** Insert new sql commands BEFORE this line ***
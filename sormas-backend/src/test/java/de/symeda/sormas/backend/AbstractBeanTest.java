@@ -39,9 +39,11 @@ import de.symeda.sormas.api.campaign.diagram.CampaignDiagramDefinitionFacade;
 import de.symeda.sormas.api.campaign.form.CampaignFormMetaFacade;
 import de.symeda.sormas.api.caze.CaseFacade;
 import de.symeda.sormas.api.caze.CaseStatisticsFacade;
+import de.symeda.sormas.api.caze.caseimport.CaseImportFacade;
 import de.symeda.sormas.api.clinicalcourse.ClinicalCourseFacade;
 import de.symeda.sormas.api.clinicalcourse.ClinicalVisitFacade;
 import de.symeda.sormas.api.contact.ContactFacade;
+import de.symeda.sormas.api.dashboard.DashboardFacade;
 import de.symeda.sormas.api.disease.DiseaseConfigurationFacade;
 import de.symeda.sormas.api.disease.DiseaseFacade;
 import de.symeda.sormas.api.docgeneneration.QuarantineOrderFacade;
@@ -53,6 +55,7 @@ import de.symeda.sormas.api.feature.FeatureConfigurationFacade;
 import de.symeda.sormas.api.hospitalization.HospitalizationFacade;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.importexport.ImportFacade;
+import de.symeda.sormas.api.infrastructure.InfrastructureFacade;
 import de.symeda.sormas.api.infrastructure.PointOfEntryFacade;
 import de.symeda.sormas.api.infrastructure.PopulationDataFacade;
 import de.symeda.sormas.api.outbreak.OutbreakFacade;
@@ -84,13 +87,17 @@ import de.symeda.sormas.backend.campaign.form.CampaignFormMetaFacadeEjb.Campaign
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.caze.CaseStatisticsFacadeEjb.CaseStatisticsFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.caseimport.CaseImportFacadeEjb.CaseImportFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.classification.CaseClassificationFacadeEjb;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalCourseFacadeEjb.ClinicalCourseFacadeEjbLocal;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitFacadeEjb.ClinicalVisitFacadeEjbLocal;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitService;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.MessagingService;
+import de.symeda.sormas.backend.common.OutboxMessageService;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.ContactService;
+import de.symeda.sormas.backend.dashboard.DashboardFacadeEjb.DashboardFacadeEjbLocal;
 import de.symeda.sormas.backend.disease.DiseaseConfiguration;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationService;
@@ -108,6 +115,8 @@ import de.symeda.sormas.backend.feature.FeatureConfigurationFacadeEjb.FeatureCon
 import de.symeda.sormas.backend.geocoding.GeocodingService;
 import de.symeda.sormas.backend.hospitalization.HospitalizationFacadeEjb.HospitalizationFacadeEjbLocal;
 import de.symeda.sormas.backend.importexport.ImportFacadeEjb.ImportFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.InfrastructureFacadeEjb.InfrastructureFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.infrastructure.PointOfEntryFacadeEjb.PointOfEntryFacadeEjbLocal;
 import de.symeda.sormas.backend.infrastructure.PointOfEntryService;
 import de.symeda.sormas.backend.infrastructure.PopulationDataFacadeEjb.PopulationDataFacadeEjbLocal;
@@ -138,6 +147,7 @@ import de.symeda.sormas.backend.therapy.TherapyFacadeEjb.TherapyFacadeEjbLocal;
 import de.symeda.sormas.backend.therapy.TreatmentFacadeEjb.TreatmentFacadeEjbLocal;
 import de.symeda.sormas.backend.therapy.TreatmentService;
 import de.symeda.sormas.backend.user.UserFacadeEjb.UserFacadeEjbLocal;
+import de.symeda.sormas.backend.user.UserRightsCache;
 import de.symeda.sormas.backend.user.UserRoleConfigFacadeEjb.UserRoleConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.visit.VisitFacadeEjb.VisitFacadeEjbLocal;
@@ -156,6 +166,9 @@ public class AbstractBeanTest extends BaseBeanTest {
 	public void init() {
 		MockProducer.resetMocks();
 		initH2Functions();
+		// the cached references and rights would otherwise survive the database of the previous test
+		getBean(InfrastructureReferenceCache.class).clear();
+		getBean(UserRightsCache.class).clear();
 
 		creator.createUser(null, null, null, "ad", "min", UserRole.ADMIN, UserRole.NATIONAL_USER);
 		when(MockProducer.getPrincipal().getName()).thenReturn("admin");
@@ -207,6 +220,10 @@ public class AbstractBeanTest extends BaseBeanTest {
 		return getBean(CaseService.class);
 	}
 
+	public CaseImportFacade getCaseImportFacade() {
+		return getBean(CaseImportFacadeEjbLocal.class);
+	}
+
 	public CaseStatisticsFacade getCaseStatisticsFacade() {
 		return getBean(CaseStatisticsFacadeEjbLocal.class);
 	}
@@ -291,6 +308,10 @@ public class AbstractBeanTest extends BaseBeanTest {
 		return getBean(PointOfEntryFacadeEjbLocal.class);
 	}
 
+	public InfrastructureFacade getInfrastructureFacade() {
+		return getBean(InfrastructureFacadeEjbLocal.class);
+	}
+
 	public FacilityFacade getFacilityFacade() {
 		return getBean(FacilityFacadeEjbLocal.class);
 	}
@@ -311,6 +332,14 @@ public class AbstractBeanTest extends BaseBeanTest {
 		return getBean(UserFacadeEjbLocal.class);
 	}
 
+	public MessagingService getMessagingService() {
+		return getBean(MessagingService.class);
+	}
+
+	public OutboxMessageService getOutboxMessageService() {
+		return getBean(OutboxMessageService.class);
+	}
+
 	public UserService getUserService() {
 		return getBean(UserService.class);
 	}
@@ -411,6 +440,10 @@ public class AbstractBeanTest extends BaseBeanTest {
 		return getBean(DiseaseFacadeEjbLocal.class);
 	}
 
+	public DashboardFacade getDashboardFacade() {
+		return getBean(DashboardFacadeEjbLocal.class);
+	}
+
 	public FeatureConfigurationFacade getFeatureConfigurationFacade() {
 		return getBean(FeatureConfigurationFacadeEjbLocal.class);
 	}
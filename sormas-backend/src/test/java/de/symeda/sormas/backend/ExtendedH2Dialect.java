@@ -3,7 +3,9 @@ package de.symeda.sormas.backend;
 import java.sql.Types;
 
 import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
 import org.hibernate.dialect.function.StandardSQLFunction;
+import org.hibernate.type.StandardBasicTypes;
 
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 
@@ -14,5 +16,8 @@ public class ExtendedH2Dialect extends H2Dialect {
 		// needed because of hibernate bug: https://hibernate.atlassian.net/browse/HHH-11938
 		registerFunction("regexp_replace", new StandardSQLFunction("regexp_replace"));
 		registerHibernateType(Types.OTHER, JsonBinaryType.class.getName());
+		registerFunction(
+			ExtendedPostgreSQL94Dialect.DATE_TRUNC_MILLISECONDS,
+			new SQLFunctionTemplate(StandardBasicTypes.TIMESTAMP, "date_trunc('milliseconds', ?1)"));
 	}
 }
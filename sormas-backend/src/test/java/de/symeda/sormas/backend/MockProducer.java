@@ -28,11 +28,16 @@ import java.util.Properties;
 
 import javax.ejb.SessionContext;
 import javax.ejb.TimerService;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.Specializes;
 import javax.jms.ConnectionFactory;
 import javax.jms.Topic;
+import javax.mail.NoSuchProviderException;
+import javax.mail.Provider;
 import javax.mail.Session;
+import javax.sql.DataSource;
+import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
 
 import de.symeda.sormas.api.utils.InfoProvider;
@@ -55,6 +60,9 @@ public class MockProducer {
 	private static final TimerService timerService = mock(TimerService.class);
 	public static final Properties properties = new Properties();
 	private static final UserTransaction userTransaction = mock(UserTransaction.class);
+	private static final DataSource dataSource = mock(DataSource.class);
+	private static final ManagedExecutorService managedExecutorService = mock(ManagedExecutorService.class);
+	private static final MockTransactionSynchronizationRegistry transactionSynchronizationRegistry = new MockTransactionSynchronizationRegistry();
 	private static final SormasToSormasRestClient SORMAS_TO_SORMAS_REST_CLIENT = mock(SormasToSormasRestClient.class);
 
 	// Receiving e-mail server is mocked: org. jvnet. mock_javamail. mailbox
@@ -74,6 +82,11 @@ public class MockProducer {
 
 		// Make sure that the default session does not use a local mail server (if mock-javamail is removed)
 		mailSession = Session.getInstance(properties);
+		try {
+			mailSession.setProvider(new Provider(Provider.Type.TRANSPORT, "smtp", MockTransport.class.getName(), "SORMAS", null));
+		} catch (NoSuchProviderException e) {
+			e.printStackTrace();
+		}
 	}
 
 	static {
@@ -83,6 +96,8 @@ public class MockProducer {
 	public static void resetMocks() {
 
 		reset(sessionContext, principal, topic, connectionFactory, timerService, userTransaction, SORMAS_TO_SORMAS_REST_CLIENT);
+		transactionSynchronizationRegistry.reset();
+		MockTransport.reset();
 		wireMocks();
 	}
 
@@ -126,6 +141,25 @@ public class MockProducer {
 		return userTransaction;
 	}
 
+	@Produces
+	public static TransactionSynchronizationRegistry getTransactionSynchronizationRegistry() {
+		return transactionSynchronizationRegistry;
+	}
+
+	public static MockTransactionSynchronizationRegistry getMockTransactionSynchronizationRegistry() {
+		return transactionSynchronizationRegistry;
+	}
+
+	@Produces
+	public static DataSource getDataSource() {
+		return dataSource;
+	}
+
+	@Produces
+	public static ManagedExecutorService getManagedExecutorService() {
+		return managedExecutorService;
+	}
+
 	@Produces
 	public static Principal getPrincipal() {
 		return principal;
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * The bean tests have no JTA transactions, so synchronizations are completed as committed right away when registered.
+ * Use {@link #deferSynchronizations()} and {@link #completeTransaction(int)} to check what happens before and after
+ * a commit or rollback.
+ */
+public class MockTransactionSynchronizationRegistry implements TransactionSynchronizationRegistry {
+
+	private final Map<Object, Object> resources = new HashMap<>();
+	private List<Synchronization> deferredSynchronizations;
+
+	public void reset() {
+		resources.clear();
+		deferredSynchronizations = null;
+	}
+
+	/**
+	 * Keeps the synchronizations registered from now on until {@link #completeTransaction(int)} is called.
+	 */
+	public void deferSynchronizations() {
+		deferredSynchronizations = new ArrayList<>();
+	}
+
+	/**
+	 * @param status
+	 *            {@link Status#STATUS_COMMITTED} or {@link Status#STATUS_ROLLEDBACK}
+	 */
+	public void completeTransaction(int status) {
+
+		List<Synchronization> synchronizations = deferredSynchronizations;
+		deferredSynchronizations = null;
+		for (Synchronization synchronization : synchronizations) {
+			synchronization.beforeCompletion();
+			synchronization.afterCompletion(status);
+		}
+	}
+
+	@Override
+	public Object getTransactionKey() {
+		return this;
+	}
+
+	@Override
+	public void putResource(Object key, Object value) {
+		resources.put(key, value);
+	}
+
+	@Override
+	public Object getResource(Object key) {
+		return resources.get(key);
+	}
+
+	@Override
+	public void registerInterposedSynchronization(Synchronization sync) {
+
+		if (deferredSynchronizations != null) {
+			deferredSynchronizations.add(sync);
+		} else {
+			sync.beforeCompletion();
+			sync.afterCompletion(Status.STATUS_COMMITTED);
+		}
+	}
+
+	@Override
+	public int getTransactionStatus() {
+		return Status.STATUS_ACTIVE;
+	}
+
+	@Override
+	public void setRollbackOnly() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean getRollbackOnly() {
+		return false;
+	}
+}
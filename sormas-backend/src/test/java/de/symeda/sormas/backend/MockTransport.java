@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+
+/**
+ * Mail transport of the bean tests that keeps the sent messages instead of connecting to a mail server. Sending to
+ * the recipients passed to {@link #failFor(String)} fails.
+ */
+public class MockTransport extends Transport {
+
+	private static final List<Message> sentMessages = new CopyOnWriteArrayList<>();
+	private static final Set<String> failingRecipients = new HashSet<>();
+
+	public MockTransport(Session session, URLName urlName) {
+		super(session, urlName);
+	}
+
+	public static void reset() {
+		sentMessages.clear();
+		failingRecipients.clear();
+	}
+
+	public static void failFor(String recipient) {
+		failingRecipients.add(recipient);
+	}
+
+	public static List<Message> getSentMessages() {
+		return sentMessages;
+	}
+
+	@Override
+	protected boolean protocolConnect(String host, int port, String user, String password) {
+		return true;
+	}
+
+	@Override
+	public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+
+		for (Address address : addresses) {
+			if (failingRecipients.contains(address.toString())) {
+				throw new SendFailedException("Mailbox unavailable: " + address);
+			}
+		}
+		sentMessages.add(message);
+	}
+}
@@ -1010,6 +1010,27 @@ public class CaseClassificationLogicTest extends AbstractBeanTest {
 		assertEquals(CaseClassification.SUSPECT, caze.getCaseClassification());
 	}
 
+	@Test
+	public void testClassifyCases() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "false");
+		CaseDataDto suspectCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		CaseDataDto confirmedCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		creator.createPathogenTest(confirmedCase, Disease.EVD, PathogenTestType.PCR_RT_PCR, PathogenTestResultType.POSITIVE);
+		// needs the person to be classified
+		CaseDataDto choleraCase = getCaseFacade().saveCase(buildSuspectCase(Disease.CHOLERA));
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(suspectCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(confirmedCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(choleraCase.getUuid()).getCaseClassification());
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "true");
+		getCaseClassificationLogic().classifyCases(Arrays.asList(suspectCase.getUuid(), confirmedCase.getUuid(), choleraCase.getUuid()));
+
+		assertEquals(CaseClassification.SUSPECT, getCaseFacade().getCaseDataByUuid(suspectCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.CONFIRMED, getCaseFacade().getCaseDataByUuid(confirmedCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.SUSPECT, getCaseFacade().getCaseDataByUuid(choleraCase.getUuid()).getCaseClassification());
+	}
+
 	/**
 	 * Sets all symptoms with the SymptomState type to YES.
 	 */
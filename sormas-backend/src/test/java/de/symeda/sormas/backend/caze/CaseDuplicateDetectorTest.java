@@ -0,0 +1,138 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.CaseDuplicateDetector.Candidate;
+
+public class CaseDuplicateDetectorTest {
+
+	private static final Date REPORT_DATE = DateHelper.getDateZero(2020, 5, 1);
+
+	@Test
+	public void testSimilarity() {
+
+		// values as returned by pg_trgm
+		assertEquals(
+			1,
+			CaseDuplicateDetector.similarity(CaseDuplicateDetector.trigrams("Max Mustermann"), CaseDuplicateDetector.trigrams("max MUSTERMANN")),
+			0);
+		assertEquals(
+			4 / 7d,
+			CaseDuplicateDetector.similarity(CaseDuplicateDetector.trigrams("word"), CaseDuplicateDetector.trigrams("words")),
+			0.0001);
+		assertEquals(0, CaseDuplicateDetector.similarity(CaseDuplicateDetector.trigrams("abc"), CaseDuplicateDetector.trigrams("xyz")), 0);
+	}
+
+	@Test
+	public void testFindDuplicates() {
+
+		Candidate caze = candidate(1L, Disease.EVD, 1L, REPORT_DATE, 1, "Max", "Mustermann", Sex.MALE, 1980);
+		Candidate duplicate = candidate(2L, Disease.EVD, 1L, DateHelper.addDays(REPORT_DATE, 10), 2, "Max", "Mustermann", Sex.MALE, 1980);
+		Candidate otherDisease = candidate(3L, Disease.CHOLERA, 1L, REPORT_DATE, 3, "Max", "Mustermann", Sex.MALE, 1980);
+		Candidate otherRegion = candidate(4L, Disease.EVD, 2L, REPORT_DATE, 4, "Max", "Mustermann", Sex.MALE, 1980);
+		Candidate reportedLater = candidate(5L, Disease.EVD, 1L, DateHelper.addDays(REPORT_DATE, 31), 5, "Max", "Mustermann", Sex.MALE, 1980);
+		Candidate otherName = candidate(6L, Disease.EVD, 1L, REPORT_DATE, 6, "Erika", "Musterfrau", Sex.MALE, 1980);
+		Candidate otherSex = candidate(7L, Disease.EVD, 1L, REPORT_DATE, 7, "Max", "Mustermann", Sex.FEMALE, 1990);
+		List<Candidate> all = Arrays.asList(caze, duplicate, otherDisease, otherRegion, reportedLater, otherName, otherSex);
+
+		List<Long[]> duplicates = new CaseDuplicateDetector(0.65, false).findDuplicates(Collections.singletonList(caze), all);
+		assertEquals(1, duplicates.size());
+		assertEquals(Long.valueOf(1L), duplicates.get(0)[0]);
+		assertEquals(Long.valueOf(2L), duplicates.get(0)[1]);
+
+		duplicates = new CaseDuplicateDetector(0.65, true).findDuplicates(Collections.singletonList(caze), all);
+		assertEquals(2, duplicates.size());
+
+		// the duplicate is always the case that was created later, latest cases first
+		duplicates = new CaseDuplicateDetector(0.65, true).findDuplicates(all, all);
+		assertEquals(4, duplicates.size());
+		assertEquals(Long.valueOf(2L), duplicates.get(0)[0]);
+		assertEquals(Long.valueOf(1L), duplicates.get(3)[0]);
+		assertTrue(duplicates.stream().allMatch(pair -> pair[0] < pair[1]));
+	}
+
+	@Test
+	public void testFindDuplicatesLoadsPossibleDuplicatesPerSegment() {
+
+		Candidate first = candidate(1L, Disease.EVD, 1L, REPORT_DATE, 1, "Max", "Mustermann", Sex.MALE, 1980);
+		Candidate second = candidate(2L, Disease.EVD, 1L, DateHelper.addDays(REPORT_DATE, 80), 2, "Erika", "Musterfrau", Sex.FEMALE, 1980);
+		// in the next segment, but a duplicate of the second case
+		Candidate third = candidate(3L, Disease.EVD, 1L, DateHelper.addDays(REPORT_DATE, 100), 3, "Erika", "Musterfrau", Sex.FEMALE, 1980);
+		Candidate otherRegion = candidate(4L, Disease.EVD, 2L, REPORT_DATE, 4, "Max", "Mustermann", Sex.MALE, 1980);
+		List<Candidate> all = Arrays.asList(first, second, third, otherRegion);
+
+		List<List<Candidate>> segments = new ArrayList<>();
+		List<Long[]> duplicates = new CaseDuplicateDetector(0.65, false).findDuplicates(all, segment -> {
+			segments.add(segment);
+			return all;
+		});
+
+		assertEquals(3, segments.size());
+		assertTrue(segments.contains(Arrays.asList(first, second)));
+		assertTrue(segments.contains(Collections.singletonList(third)));
+		assertTrue(segments.contains(Collections.singletonList(otherRegion)));
+		assertEquals(1, duplicates.size());
+		assertEquals(Long.valueOf(2L), duplicates.get(0)[0]);
+		assertEquals(Long.valueOf(3L), duplicates.get(0)[1]);
+
+		// possible duplicates of other blocks returned by the loader are ignored
+		duplicates = new CaseDuplicateDetector(0.65, false).findDuplicates(
+			Collections.singletonList(otherRegion),
+			segment -> all.stream().filter(c -> c.getId() < 4L).collect(Collectors.toList()));
+		assertTrue(duplicates.isEmpty());
+	}
+
+	private Candidate candidate(
+		Long id,
+		Disease disease,
+		Long regionId,
+		Date reportDate,
+		int creationDay,
+		String firstName,
+		String lastName,
+		Sex sex,
+		int birthYear) {
+
+		return new Candidate(
+			id,
+			disease,
+			regionId,
+			reportDate,
+			DateHelper.addDays(REPORT_DATE, creationDay),
+			firstName,
+			lastName,
+			sex,
+			1,
+			1,
+			birthYear,
+			null);
+	}
+}
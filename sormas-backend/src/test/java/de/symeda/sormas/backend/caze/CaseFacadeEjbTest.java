@@ -17,6 +17,7 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.caze;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -56,6 +57,7 @@ import de.symeda.sormas.api.caze.CaseOutcome;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.caze.DashboardCaseDto;
 import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.caze.MapCaseClusterDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.clinicalcourse.ClinicalVisitDto;
@@ -75,6 +77,7 @@ import de.symeda.sormas.api.person.PersonReferenceDto;
 import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.region.CommunityReferenceDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.GeoLatLon;
 import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.sample.AdditionalTestDto;
 import de.symeda.sormas.api.sample.PathogenTestDto;
@@ -104,6 +107,7 @@ import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.common.ArchivingRun;
 import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
 import de.symeda.sormas.backend.util.DateHelper8;
@@ -279,6 +283,48 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(1, mapCaseDtos.size());
 	}
 
+	@Test
+	public void testGetCaseClustersForMap() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		CaseDataDto confirmedCase = createCaseAt(user, rdcf, CaseClassification.CONFIRMED, 10.001, 10.001);
+		createCaseAt(user, rdcf, CaseClassification.SUSPECT, 10.002, 10.002);
+		createCaseAt(user, rdcf, CaseClassification.NO_CASE, 10.003, 10.003);
+		createCaseAt(user, rdcf, CaseClassification.PROBABLE, 40.0, 40.0);
+		// without coordinates
+		creator.createCase(user.toReference(), rdcf, null);
+
+		Date from = DateHelper.subtractDays(new Date(), 1);
+		Date to = DateHelper.addDays(new Date(), 1);
+
+		List<MapCaseClusterDto> clusters = getCaseFacade().getCaseClustersForMap(null, null, Disease.EVD, from, to, false, true, 5, null, null);
+		assertEquals(2, clusters.size());
+		MapCaseClusterDto cluster = clusters.stream().filter(c -> c.getLatitude() < 20).findFirst().get();
+		assertEquals(2, cluster.getCaseCount());
+		assertEquals(1, cluster.getConfirmedCount());
+		assertEquals(1, cluster.getSuspectCount());
+		assertEquals(CaseClassification.CONFIRMED, cluster.getHighestClassification());
+		assertNull(cluster.getCaseUuid());
+
+		// the visible part of the map only contains the first cluster; at this zoom level each case has its own cell
+		clusters =
+			getCaseFacade().getCaseClustersForMap(null, null, Disease.EVD, from, to, true, true, 18, new GeoLatLon(9, 9), new GeoLatLon(11, 11));
+		assertEquals(1, clusters.size());
+		assertEquals(1, clusters.get(0).getCaseCount());
+		assertEquals(confirmedCase.getUuid(), clusters.get(0).getCaseUuid());
+	}
+
+	private CaseDataDto createCaseAt(UserDto user, RDCF rdcf, CaseClassification caseClassification, double lat, double lon) {
+		return creator.createCase(user.toReference(), rdcf, c -> {
+			c.setCaseClassification(caseClassification);
+			c.setReportLat(lat);
+			c.setReportLon(lon);
+		});
+	}
+
 	@Test
 	public void testGetIndexList() {
 
@@ -546,6 +592,44 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertThat(exportDto.getTraveled(), equalTo(YesNoUnknown.YES));
 	}
 
+	@Test
+	public void testGetExportListAfter() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		Date reportDate = new Date();
+		for (int i = 0; i < 5; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			// two cases share the same report date to cover the id tie breaker
+			creator.createCase(
+				user.toReference(),
+				cazePerson.toReference(),
+				Disease.EVD,
+				CaseClassification.PROBABLE,
+				InvestigationStatus.PENDING,
+				i < 2 ? reportDate : DateHelper.subtractDays(reportDate, i),
+				rdcf);
+		}
+
+		List<CaseExportDto> offsetPaged = getCaseFacade().getExportList(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, 0, 100, null, Language.EN);
+		assertThat(offsetPaged, hasSize(5));
+
+		List<CaseExportDto> keysetPaged = new ArrayList<>();
+		List<CaseExportDto> page = getCaseFacade().getExportListAfter(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, null, null, 2, null, Language.EN);
+		while (!page.isEmpty()) {
+			keysetPaged.addAll(page);
+			CaseExportDto last = page.get(page.size() - 1);
+			page = getCaseFacade()
+				.getExportListAfter(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, last.getReportDate(), last.getId(), 2, null, Language.EN);
+		}
+
+		assertEquals(
+			offsetPaged.stream().map(CaseExportDto::getUuid).collect(Collectors.toList()),
+			keysetPaged.stream().map(CaseExportDto::getUuid).collect(Collectors.toList()));
+	}
+
 	@Test
 	public void testCaseDeletion() {
 
@@ -763,6 +847,44 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(0, getCaseFacade().getArchivedUuidsSince(testStartDate).size());
 	}
 
+	@Test
+	public void testGetAllActiveCasesAfterInPages() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		List<String> caseUuids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			caseUuids.add(
+				creator
+					.createCase(
+						user.toReference(),
+						cazePerson.toReference(),
+						Disease.EVD,
+						CaseClassification.PROBABLE,
+						InvestigationStatus.PENDING,
+						new Date(),
+						rdcf)
+					.getUuid());
+		}
+
+		List<CaseDataDto> pulledCases = new ArrayList<>();
+		List<CaseDataDto> page = getCaseFacade().getAllActiveCasesAfter(null, 2, null, null);
+		while (!page.isEmpty()) {
+			assertTrue(page.size() <= 2);
+			pulledCases.addAll(page);
+			CaseDataDto last = page.get(page.size() - 1);
+			page = getCaseFacade().getAllActiveCasesAfter(null, 2, last.getChangeDate(), last.getUuid());
+		}
+
+		assertEquals(5, pulledCases.size());
+		assertThat(pulledCases.stream().map(CaseDataDto::getUuid).collect(Collectors.toList()), containsInAnyOrder(caseUuids.toArray()));
+		for (int i = 1; i < pulledCases.size(); i++) {
+			assertFalse(pulledCases.get(i).getChangeDate().before(pulledCases.get(i - 1).getChangeDate()));
+		}
+	}
+
 	@Test
 	public void testGetAllActiveCasesIncludeExtendedChangeDateFiltersSample() throws InterruptedException {
 
@@ -1175,6 +1297,40 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertTrue(cut.isArchived(case2.getUuid()));
 	}
 
+	@Test
+	public void testArchiveAllArchivableCasesInChunks() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities();
+		UserReferenceDto user = creator.createUser(rdcf).toReference();
+		PersonReferenceDto person = creator.createPerson("Walter", "Schuster").toReference();
+
+		CaseDataDto case1 = creator.createCase(user, person, rdcf);
+		CaseDataDto case2 = creator.createCase(user, person, rdcf);
+		CaseDataDto case3 = creator.createCase(user, person, rdcf);
+		CaseFacadeEjbLocal cut = getBean(CaseFacadeEjbLocal.class);
+
+		// Nothing to archive yet
+		ArchivingRun run = cut.archiveAllArchivableCases(70, LocalDate.now().plusDays(69), 2, 0);
+		assertTrue(run.isCompleted());
+		assertEquals(0, run.getRows());
+		assertEquals(0, run.getResumePoint());
+
+		// Resuming after the last case leaves the others untouched
+		long lastCaseId = getCaseService().getByUuid(case3.getUuid()).getId();
+		run = cut.archiveAllArchivableCases(70, LocalDate.now().plusDays(71), 2, lastCaseId);
+		assertTrue(run.isCompleted());
+		assertEquals(0, run.getRows());
+		assertFalse(cut.isArchived(case1.getUuid()));
+
+		run = cut.archiveAllArchivableCases(70, LocalDate.now().plusDays(71), 2, 0);
+		assertTrue(run.isCompleted());
+		assertEquals(2, run.getChunks());
+		assertEquals(3, run.getRows());
+		assertTrue(cut.isArchived(case1.getUuid()));
+		assertTrue(cut.isArchived(case2.getUuid()));
+		assertTrue(cut.isArchived(case3.getUuid()));
+	}
+
 	@Test
 	public void testCreateInvestigationTask() {
 
@@ -162,4 +162,55 @@ public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
 		// List should have one entry
 		assertEquals(Integer.valueOf(12214), results.get(0).getPopulation());
 	}
+
+	@Test
+	public void testQueryCaseCountFromCube() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		StatisticsCaseCriteria criteria = new StatisticsCaseCriteria();
+		int year = DateHelper8.toLocalDate(caze.getReportDate()).getYear();
+		criteria.years(Arrays.asList(new Year(year)), StatisticsCaseAttribute.REPORT_TIME);
+		criteria.regions(Arrays.asList(new RegionReferenceDto(rdcf.region.getUuid())));
+
+		List<StatisticsCaseCountDto> rawResults = getCaseStatisticsFacade()
+			.queryCaseCount(criteria, StatisticsCaseAttribute.CLASSIFICATION, null, StatisticsCaseAttribute.SEX, null, false, false, null);
+
+		getBean(CaseStatisticsCubeService.class).rebuild();
+		List<StatisticsCaseCountDto> cubeResults = getCaseStatisticsFacade()
+			.queryCaseCount(criteria, StatisticsCaseAttribute.CLASSIFICATION, null, StatisticsCaseAttribute.SEX, null, false, false, null);
+		assertEquals(rawResults, cubeResults);
+		assertEquals(Integer.valueOf(2), cubeResults.get(0).getCaseCount());
+
+		// changes are applied as deltas
+		caze = getCaseFacade().getCaseDataByUuid(caze.getUuid());
+		caze.setCaseClassification(CaseClassification.CONFIRMED);
+		getCaseFacade().saveCase(caze);
+		getBean(CaseStatisticsCubeService.class).update();
+
+		cubeResults = getCaseStatisticsFacade()
+			.queryCaseCount(criteria, StatisticsCaseAttribute.CLASSIFICATION, null, null, null, false, false, null);
+		assertEquals(2, cubeResults.size());
+		assertEquals(Integer.valueOf(1), cubeResults.get(0).getCaseCount());
+		assertEquals(Integer.valueOf(1), cubeResults.get(1).getCaseCount());
+	}
 }
@@ -0,0 +1,106 @@
+package de.symeda.sormas.backend.caze.caseimport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.caze.caseimport.CaseImportEntities;
+import de.symeda.sormas.api.caze.caseimport.ImportLineResultDto;
+import de.symeda.sormas.api.importexport.InvalidColumnException;
+import de.symeda.sormas.backend.AbstractBeanTest;
+
+public class CaseImportFacadeEjbTest extends AbstractBeanTest {
+
+	private static final String[] ENTITY_PROPERTIES = new String[] {
+		"disease",
+		"person.firstName",
+		"person.lastName",
+		"person.sex",
+		"region",
+		"district",
+		"community",
+		"healthFacility",
+		"facilityType" };
+
+	@Test
+	public void testBuildImportEntitiesWithErrorLine() throws InvalidColumnException {
+
+		creator.createRDCF("Abia", "Umuahia North", "Urban Ward 2", "Anelechi Hospital");
+
+		List<ImportLineResultDto<CaseImportEntities>> results = buildImportEntities(
+			Arrays.asList(line("Import Test", "One", "MALE"), line("Import Test", "Two", "ERROR"), line("Import Test", "Three", "FEMALE")));
+
+		assertEquals(3, results.size());
+		assertTrue(results.get(0).isSuccess());
+		assertNotNull(results.get(0).getImportEntities());
+		assertTrue(results.get(1).isError());
+		assertNull(results.get(1).getImportEntities());
+		assertTrue(results.get(2).isSuccess());
+		assertEquals("Three", results.get(2).getImportEntities().getPerson().getLastName());
+
+		// Building the entities does not save anything
+		assertEquals(0, getCaseFacade().count(null));
+	}
+
+	@Test
+	public void testSaveImportedEntitiesStopsAtSimilarPerson() throws InvalidColumnException {
+
+		creator.createRDCF("Abia", "Umuahia North", "Urban Ward 2", "Anelechi Hospital");
+
+		// The second line is similar to the person of the first line, which is saved in the same transaction
+		List<ImportLineResultDto<CaseImportEntities>> buildResults = buildImportEntities(
+			Arrays.asList(line("Import Test", "One", "MALE"), line("Import Test", "One", "MALE"), line("Import Test", "Three", "FEMALE")));
+		List<ImportLineResultDto<CaseImportEntities>> saveResults = getCaseImportFacade().saveImportedEntities(
+			Arrays.asList(
+				buildResults.get(0).getImportEntities(),
+				buildResults.get(1).getImportEntities(),
+				buildResults.get(2).getImportEntities()));
+
+		assertEquals(2, saveResults.size());
+		assertTrue(saveResults.get(0).isSuccess());
+		assertTrue(saveResults.get(1).isDuplicate());
+		assertEquals(
+			buildResults.get(1).getImportEntities().getPerson().getUuid(),
+			saveResults.get(1).getImportEntities().getPerson().getUuid());
+		assertEquals(1, getCaseFacade().count(null));
+
+		// The lines following the similar person are saved once the user has decided about it
+		saveResults = getCaseImportFacade().saveImportedEntities(Collections.singletonList(buildResults.get(2).getImportEntities()));
+
+		assertEquals(1, saveResults.size());
+		assertTrue(saveResults.get(0).isSuccess());
+		assertEquals(2, getCaseFacade().count(null));
+	}
+
+	private List<ImportLineResultDto<CaseImportEntities>> buildImportEntities(List<String[]> lines) throws InvalidColumnException {
+
+		String[] entityClasses = new String[ENTITY_PROPERTIES.length];
+		Arrays.fill(entityClasses, "CaseData");
+		String[][] entityPropertyPaths = new String[ENTITY_PROPERTIES.length][];
+		for (int i = 0; i < ENTITY_PROPERTIES.length; i++) {
+			entityPropertyPaths[i] = ENTITY_PROPERTIES[i].split("\\.");
+		}
+
+		return getCaseImportFacade().buildImportEntities(lines, entityClasses, ENTITY_PROPERTIES, entityPropertyPaths, true);
+	}
+
+	private String[] line(String firstName, String lastName, String sex) {
+		return new String[] {
+			"EVD",
+			firstName,
+			lastName,
+			sex,
+			"Abia",
+			"Umuahia North",
+			"Urban Ward 2",
+			"Anelechi Hospital",
+			"HOSPITAL" };
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.MessagingException;
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.i18n.I18nProperties;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockTransport;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.user.User;
+
+public class MessagingServiceTest extends AbstractBeanTest {
+
+	@Test
+	public void testSendMessageIsQueuedWithCommittedTransaction() {
+
+		User recipient = createRecipient(creator.createRDCF(), "Surv", "Off", "officer@sormas.org");
+		EntityManager em = getEntityManager();
+
+		em.getTransaction().begin();
+		getMessagingService().sendMessage(recipient, MessageSubject.CASE_CLASSIFICATION_CHANGED, "Rolled back", MessageType.EMAIL);
+		em.getTransaction().rollback();
+		// the rolled back message must not be flushed with the next transaction
+		em.clear();
+
+		assertEquals(0, getOutboxMessageService().count());
+
+		em.getTransaction().begin();
+		getMessagingService().sendMessage(recipient, MessageSubject.CASE_CLASSIFICATION_CHANGED, "Committed", MessageType.EMAIL);
+		em.getTransaction().commit();
+
+		List<OutboxMessage> messages = getOutboxMessageService().getAll();
+		assertEquals(1, messages.size());
+		assertEquals("officer@sormas.org", messages.get(0).getRecipient());
+		assertEquals("Committed", messages.get(0).getContent());
+		// the subject is stored in the language of the user that caused the message
+		assertEquals(I18nProperties.getEnumCaption(MessageSubject.CASE_CLASSIFICATION_CHANGED), messages.get(0).getSubject());
+
+		// nothing is sent before the outbox is dispatched
+		assertTrue(MockTransport.getSentMessages().isEmpty());
+	}
+
+	@Test
+	public void testDispatchOutboxMessages() throws MessagingException {
+
+		RDCF rdcf = creator.createRDCF();
+		User recipient = createRecipient(rdcf, "Surv", "Off", "officer@sormas.org");
+		User unavailableRecipient = createRecipient(rdcf, "Other", "Off", "unavailable@sormas.org");
+		MockTransport.failFor("unavailable@sormas.org");
+
+		getMessagingService().sendMessage(recipient, MessageSubject.CASE_CLASSIFICATION_CHANGED, "Delivered", MessageType.EMAIL);
+		getMessagingService().sendMessage(unavailableRecipient, MessageSubject.CASE_CLASSIFICATION_CHANGED, "Failed", MessageType.EMAIL);
+
+		Date before = new Date();
+		getMessagingService().dispatchOutboxMessages();
+
+		assertEquals(1, MockTransport.getSentMessages().size());
+		assertEquals(
+			I18nProperties.getEnumCaption(MessageSubject.CASE_CLASSIFICATION_CHANGED),
+			MockTransport.getSentMessages().get(0).getSubject());
+
+		// the delivered message has been removed, the failed one is attempted again later
+		List<OutboxMessage> messages = getOutboxMessageService().getAll();
+		assertEquals(1, messages.size());
+		OutboxMessage failedMessage = messages.get(0);
+		assertEquals("unavailable@sormas.org", failedMessage.getRecipient());
+		assertEquals(1, failedMessage.getAttempts());
+		assertNotNull(failedMessage.getLastError());
+		assertTrue(failedMessage.getNextAttemptDate().after(before));
+
+		// nothing is due before the next attempt
+		getMessagingService().dispatchOutboxMessages();
+		assertEquals(1, MockTransport.getSentMessages().size());
+		assertEquals(1, getOutboxMessageService().getByUuid(failedMessage.getUuid()).getAttempts());
+	}
+
+	@Test
+	public void testRecordFailedAttempts() {
+
+		OutboxMessage message = new OutboxMessage();
+		message.setMessageType(MessageType.SMS);
+		message.setRecipient("+49 123 456");
+		message.setSubject("Subject");
+		message.setContent("Content");
+		message.setAttempts(0);
+		message.setNextAttemptDate(new Date());
+		getOutboxMessageService().ensurePersisted(message);
+		String uuid = message.getUuid();
+
+		Date now = new Date();
+		for (int attempt = 1; attempt < OutboxMessageService.MAX_ATTEMPTS; attempt++) {
+			DeliveryResult failure = new DeliveryResult();
+			failure.addError(uuid, "Error " + attempt);
+			getOutboxMessageService().recordFailedAttempts(failure, now);
+
+			message = getOutboxMessageService().getByUuid(uuid);
+			assertEquals(attempt, message.getAttempts());
+			assertEquals("Error " + attempt, message.getLastError());
+			// 1, 2, 4, ... minutes, at most six hours
+			long delayMinutes = Math.min(1L << (attempt - 1), 6 * 60);
+			assertEquals(now.getTime() + TimeUnit.MINUTES.toMillis(delayMinutes), message.getNextAttemptDate().getTime());
+
+			assertTrue(getOutboxMessageService().getDue(new Date(message.getNextAttemptDate().getTime() - 1), 10).isEmpty());
+			assertEquals(1, getOutboxMessageService().getDue(message.getNextAttemptDate(), 10).size());
+		}
+
+		// delivery is given up after the last attempt
+		DeliveryResult finalFailure = new DeliveryResult();
+		finalFailure.addError(uuid, "Final error");
+		getOutboxMessageService().recordFailedAttempts(finalFailure, now);
+		message = getOutboxMessageService().getByUuid(uuid);
+		assertEquals(OutboxMessageService.MAX_ATTEMPTS, message.getAttempts());
+		assertNull(message.getNextAttemptDate());
+		assertTrue(getOutboxMessageService().getDue(DateHelper.addDays(now, 365), 10).isEmpty());
+
+		// the undeliverable message is kept until it is old enough
+		assertEquals(0, getOutboxMessageService().deleteUndeliverable(new Date(message.getChangeDate().getTime() - 1)));
+		assertEquals(1, getOutboxMessageService().deleteUndeliverable(new Date(message.getChangeDate().getTime() + 1)));
+		assertEquals(0, getOutboxMessageService().count());
+	}
+
+	@Test
+	public void testRecordPermanentlyFailedAttempt() {
+
+		OutboxMessage message = new OutboxMessage();
+		message.setMessageType(MessageType.SMS);
+		message.setRecipient("+49 123 456");
+		message.setSubject("Subject");
+		message.setContent("Content");
+		message.setAttempts(0);
+		message.setNextAttemptDate(new Date());
+		getOutboxMessageService().ensurePersisted(message);
+
+		DeliveryResult failure = new DeliveryResult();
+		failure.addPermanentError(message.getUuid(), "Cannot send an SMS to the specified phone number");
+		Date now = new Date();
+		getOutboxMessageService().recordFailedAttempts(failure, now);
+
+		// an invalid phone number is not attempted again
+		message = getOutboxMessageService().getByUuid(message.getUuid());
+		assertEquals(1, message.getAttempts());
+		assertEquals("Cannot send an SMS to the specified phone number", message.getLastError());
+		assertNull(message.getNextAttemptDate());
+		assertTrue(getOutboxMessageService().getDue(DateHelper.addDays(now, 365), 10).isEmpty());
+	}
+
+	private User createRecipient(RDCF rdcf, String firstName, String lastName, String email) {
+
+		UserDto user =
+			creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), firstName, lastName, UserRole.SURVEILLANCE_OFFICER);
+		user.setUserEmail(email);
+		getUserFacade().saveUser(user);
+		return getUserService().getByUuid(user.getUuid());
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.MockitoAnnotations;
+
+import com.nexmo.client.NexmoClient;
+import com.nexmo.client.insight.CarrierDetails;
+import com.nexmo.client.insight.CarrierDetails.NetworkType;
+import com.nexmo.client.insight.InsightClient;
+import com.nexmo.client.insight.standard.StandardInsightResponse;
+import com.nexmo.client.sms.SmsClient;
+import com.nexmo.client.sms.SmsSubmissionResult;
+import com.nexmo.client.sms.messages.Message;
+
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+
+public class SmsServiceTest {
+
+	private static final String SENT = "491111";
+	private static final String PARTIALLY_SENT = "492222";
+	private static final String FAILED = "493333";
+	private static final String LANDLINE = "494444";
+
+	@InjectMocks
+	private SmsService smsService;
+
+	@Mock
+	private ConfigFacadeEjbLocal configFacade;
+
+	@Before
+	public void setUp() {
+
+		MockitoAnnotations.initMocks(this);
+		when(configFacade.getSmsAuthKey()).thenReturn("key");
+		when(configFacade.getSmsAuthSecret()).thenReturn("secret");
+		when(configFacade.getSormasInstanceName()).thenReturn("SORMAS");
+	}
+
+	@Test
+	public void testSendSmsOnlyRetriesWhatCanSucceedLater() throws ExecutionException, InterruptedException {
+
+		List<OutboxMessage> messages =
+			Arrays.asList(createSms("+" + SENT), createSms("+" + PARTIALLY_SENT), createSms("+" + FAILED), createSms("+" + LANDLINE));
+
+		DeliveryResult result;
+		try (MockedConstruction<NexmoClient> clients = mockConstruction(NexmoClient.class, (client, context) -> {
+			InsightClient insightClient = mock(InsightClient.class);
+			when(client.getInsightClient()).thenReturn(insightClient);
+			when(insightClient.getStandardNumberInsight(anyString())).thenAnswer(invocation -> {
+				CarrierDetails carrier = mock(CarrierDetails.class);
+				when(carrier.getNetworkType()).thenReturn(LANDLINE.equals(invocation.getArgument(0)) ? NetworkType.LANDLINE : NetworkType.MOBILE);
+				StandardInsightResponse response = mock(StandardInsightResponse.class);
+				when(response.getCurrentCarrier()).thenReturn(carrier);
+				return response;
+			});
+
+			SmsClient smsClient = mock(SmsClient.class);
+			when(client.getSmsClient()).thenReturn(smsClient);
+			when(smsClient.submitMessage(any(Message.class))).thenAnswer(invocation -> {
+				switch (invocation.<Message> getArgument(0).getTo()) {
+				case SENT:
+					return new SmsSubmissionResult[] {
+						createPartResult(0),
+						createPartResult(0) };
+				case PARTIALLY_SENT:
+					return new SmsSubmissionResult[] {
+						createPartResult(0),
+						createPartResult(1) };
+				default:
+					return new SmsSubmissionResult[] {
+						createPartResult(1),
+						createPartResult(1) };
+				}
+			});
+		})) {
+			result = smsService.sendSms(messages).get();
+		}
+
+		assertFalse(result.hasError(messages.get(0).getUuid()));
+		// the part that has been sent must not be sent again
+		assertTrue(result.isPermanentError(messages.get(1).getUuid()));
+		assertTrue(result.hasError(messages.get(2).getUuid()));
+		assertFalse(result.isPermanentError(messages.get(2).getUuid()));
+		// an invalid phone number stays invalid
+		assertTrue(result.isPermanentError(messages.get(3).getUuid()));
+	}
+
+	private static OutboxMessage createSms(String phoneNumber) {
+
+		OutboxMessage message = new OutboxMessage();
+		message.setUuid(phoneNumber.substring(1) + "-UUID");
+		message.setMessageType(MessageType.SMS);
+		message.setRecipient(phoneNumber);
+		message.setContent("Content");
+		return message;
+	}
+
+	private static SmsSubmissionResult createPartResult(int status) {
+
+		SmsSubmissionResult result = mock(SmsSubmissionResult.class);
+		when(result.getStatus()).thenReturn(status);
+		return result;
+	}
+}
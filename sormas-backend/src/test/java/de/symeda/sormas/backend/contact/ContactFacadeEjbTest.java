@@ -241,6 +241,19 @@ public class ContactFacadeEjbTest extends AbstractBeanTest {
 			.filter(t -> t.getTaskType() == TaskType.CONTACT_FOLLOW_UP)
 			.collect(Collectors.toList());
 		assertEquals(1, tasks.size());
+
+		// contact without contact officer: task is assigned to a contact officer of the case's district
+		PersonDto otherContactPerson = creator.createPerson("Other", "Person");
+		ContactDto otherContact = creator.createContact(user.toReference(), otherContactPerson.toReference(), caze);
+
+		getContactFacade().generateContactFollowUpTasks();
+
+		tasks = getTaskFacade().getAllByContact(otherContact.toReference())
+			.stream()
+			.filter(t -> t.getTaskType() == TaskType.CONTACT_FOLLOW_UP)
+			.collect(Collectors.toList());
+		assertEquals(1, tasks.size());
+		assertEquals(contactOfficer.toReference(), tasks.get(0).getAssigneeUser());
 	}
 
 	@Test
@@ -0,0 +1,94 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
+import de.symeda.sormas.api.dashboard.DashboardSnapshotDto;
+import de.symeda.sormas.api.disease.DiseaseBurdenDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+public class DashboardFacadeEjbTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetSnapshot() {
+
+		Date referenceDate = new Date();
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		createCase(user, CaseClassification.CONFIRMED, referenceDate, rdcf);
+		createCase(user, CaseClassification.PROBABLE, referenceDate, rdcf);
+		createCase(user, CaseClassification.PROBABLE, DateHelper.subtractDays(referenceDate, 5), rdcf);
+
+		DashboardCriteria criteria = new DashboardCriteria().region(rdcf.region)
+			.district(rdcf.district)
+			.disease(Disease.EVD)
+			.dateBetween(DateHelper.getStartOfDay(referenceDate), DateHelper.getEndOfDay(referenceDate))
+			.previousDateBetween(
+				DateHelper.getStartOfDay(DateHelper.subtractDays(referenceDate, 7)),
+				DateHelper.getEndOfDay(DateHelper.subtractDays(referenceDate, 1)));
+
+		DashboardSnapshotDto snapshot = getDashboardFacade().getSnapshot(criteria);
+		assertEquals(2, snapshot.getCaseCount());
+		assertEquals(Long.valueOf(1), snapshot.getCaseCountByClassification().get(CaseClassification.CONFIRMED));
+		assertEquals(Long.valueOf(1), snapshot.getCaseCountByClassification().get(CaseClassification.PROBABLE));
+		assertEquals(rdcf.district.getCaption(), snapshot.getLastReportedDistrict());
+
+		DiseaseBurdenDto evdBurden = snapshot.getDiseasesBurden().stream().filter(dto -> dto.getDisease() == Disease.EVD).findFirst().get();
+		assertEquals(Long.valueOf(2), evdBurden.getCaseCount());
+		assertEquals(Long.valueOf(1), evdBurden.getPreviousCaseCount());
+
+		// the same filter is answered from the cache until the snapshot expires
+		createCase(user, CaseClassification.SUSPECT, referenceDate, rdcf);
+		assertEquals(2, getDashboardFacade().getSnapshot(criteria).getCaseCount());
+
+		getBean(DashboardSnapshotCache.class).clear();
+		snapshot = getDashboardFacade().getSnapshot(criteria);
+		assertEquals(3, snapshot.getCaseCount());
+		assertEquals(Long.valueOf(1), snapshot.getCaseCountByClassification().get(CaseClassification.SUSPECT));
+
+		// without a disease only the disease burden is computed
+		snapshot = getDashboardFacade().getSnapshot(criteria.disease(null));
+		assertEquals(0, snapshot.getCaseCount());
+		evdBurden = snapshot.getDiseasesBurden().stream().filter(dto -> dto.getDisease() == Disease.EVD).findFirst().get();
+		assertEquals(Long.valueOf(3), evdBurden.getCaseCount());
+	}
+
+	private void createCase(UserDto user, CaseClassification caseClassification, Date reportDate, RDCF rdcf) {
+		creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			caseClassification,
+			InvestigationStatus.PENDING,
+			reportDate,
+			rdcf);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.dashboard.DashboardSnapshotDto;
+
+public class DashboardSnapshotCacheTest {
+
+	private static final List<Object> KEY = Arrays.asList("region", "district");
+
+	@Test
+	public void testConcurrentRequestsShareOneComputation() throws Exception {
+
+		DashboardSnapshotCache cache = new DashboardSnapshotCache();
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch computationStarted = new CountDownLatch(1);
+		CountDownLatch releaseComputation = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<DashboardSnapshotDto> first = executor.submit(() -> cache.get(KEY, 60_000, () -> {
+				computations.incrementAndGet();
+				computationStarted.countDown();
+				await(releaseComputation);
+				return new DashboardSnapshotDto();
+			}));
+			assertTrue(computationStarted.await(10, TimeUnit.SECONDS));
+
+			Future<DashboardSnapshotDto> second = executor.submit(() -> cache.get(KEY, 60_000, () -> {
+				computations.incrementAndGet();
+				return new DashboardSnapshotDto();
+			}));
+			releaseComputation.countDown();
+
+			assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+			assertEquals(1, computations.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testExpiredAndFailedSnapshotsAreComputedAgain() {
+
+		DashboardSnapshotCache cache = new DashboardSnapshotCache();
+		DashboardSnapshotDto snapshot = cache.get(KEY, 60_000, DashboardSnapshotDto::new);
+		assertSame(snapshot, cache.get(KEY, 60_000, DashboardSnapshotDto::new));
+		DashboardSnapshotDto recomputed = cache.get(KEY, 0, DashboardSnapshotDto::new);
+		assertNotSame(snapshot, recomputed);
+
+		List<Object> otherKey = Arrays.asList("other");
+		try {
+			cache.get(otherKey, 60_000, () -> {
+				throw new IllegalStateException("query failed");
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("query failed", e.getMessage());
+		}
+		assertNotNull(cache.get(otherKey, 60_000, DashboardSnapshotDto::new));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
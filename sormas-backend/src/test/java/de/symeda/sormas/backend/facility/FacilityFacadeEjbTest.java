@@ -9,8 +9,10 @@ import java.util.List;
 
 import org.junit.Test;
 
+import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.facility.FacilityDto;
 import de.symeda.sormas.api.facility.FacilityType;
+import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.region.CommunityReferenceDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.backend.AbstractBeanTest;
@@ -73,6 +75,23 @@ public class FacilityFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(facilityName, results.get(0).getName());
 	}
 
+	@Test
+	public void testConstantFacilityReferenceCaptionsAreLocalized() {
+
+		getFacilityService().createConstantFacilities();
+		assertEquals("Other facility", getFacilityFacade().getFacilityReferenceByUuid(FacilityDto.OTHER_FACILITY_UUID).getCaption());
+
+		// the references are cached application wide, but the captions have to follow the language of each user
+		I18nProperties.setUserLanguage(Language.DE);
+		try {
+			assertEquals("Andere Einrichtung", getFacilityFacade().getFacilityReferenceByUuid(FacilityDto.OTHER_FACILITY_UUID).getCaption());
+			Facility noneFacility = getFacilityService().getByUuid(FacilityDto.NONE_FACILITY_UUID);
+			assertEquals("Zuhause oder anderer Ort", getFacilityFacade().getFacilityReferenceById(noneFacility.getId()).getCaption());
+		} finally {
+			I18nProperties.setUserLanguage(Language.EN);
+		}
+	}
+
 	@Test
 	public void testGetActiveHealthFacilitiesByCommunity() {
 
@@ -2,10 +2,54 @@ package de.symeda.sormas.backend.importexport;
 
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 
 import de.symeda.sormas.api.importexport.DatabaseTable;
 
@@ -15,6 +59,46 @@ import de.symeda.sormas.api.importexport.DatabaseTable;
  */
 public class DatabaseExportServiceTest {
 
+	private static final List<DatabaseTable> EXPORTED_TABLES =
+		Arrays.asList(DatabaseTable.CASES, DatabaseTable.PERSONS, DatabaseTable.VISIT_SYMPTOMS, DatabaseTable.REGIONS, DatabaseTable.TASKS);
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@InjectMocks
+	private DatabaseExportService databaseExportService;
+
+	@Mock
+	private DataSource dataSource;
+
+	@Mock
+	private ManagedExecutorService executorService;
+
+	private ExecutorService threadPool;
+	private Connection connection;
+	private CopyManager copyManager;
+
+	@Before
+	public void setUp() throws SQLException {
+
+		MockitoAnnotations.initMocks(this);
+
+		threadPool = Executors.newFixedThreadPool(EXPORTED_TABLES.size());
+		when(executorService.submit(any(Runnable.class))).thenAnswer(invocation -> threadPool.submit((Runnable) invocation.getArgument(0)));
+
+		connection = mock(Connection.class);
+		PGConnection pgConnection = mock(PGConnection.class);
+		copyManager = mock(CopyManager.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+		when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+	}
+
+	@After
+	public void tearDown() {
+		threadPool.shutdownNow();
+	}
+
 	/**
 	 * Assure, that every {@link DatabaseTable} has an export configuration defined.
 	 */
@@ -36,4 +120,104 @@ public class DatabaseExportServiceTest {
 			}
 		}
 	}
+
+	@Test
+	public void testExportAsCsvFilesInParallel() throws Exception {
+
+		// the first three tables only complete when they are exported at the same time
+		CyclicBarrier concurrentTables = new CyclicBarrier(3);
+		Map<String, String> csvBySql = new ConcurrentHashMap<>();
+		for (int i = 0; i < EXPORTED_TABLES.size(); i++) {
+			csvBySql.put(getCopySql(EXPORTED_TABLES.get(i)), createCsv(EXPORTED_TABLES.get(i), i * 1_000));
+		}
+		when(copyManager.copyOut(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+			String sql = invocation.getArgument(0);
+			if (EXPORTED_TABLES.subList(0, 3).stream().anyMatch(t -> getCopySql(t).equals(sql))) {
+				concurrentTables.await(10, TimeUnit.SECONDS);
+			}
+			String csv = csvBySql.get(sql);
+			invocation.<OutputStream> getArgument(1).write(csv.getBytes(StandardCharsets.UTF_8));
+			return (long) csv.split("\n").length - 1;
+		});
+
+		Path archive = temporaryFolder.newFile("export.zip").toPath();
+		Path tempDirectory = temporaryFolder.newFolder("temp").toPath();
+		try (OutputStream out = Files.newOutputStream(archive)) {
+			databaseExportService.exportAsCsvFilesInParallel(out, EXPORTED_TABLES, tempDirectory, 3);
+		}
+
+		try (ZipFile zipFile = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+			List<String> entryNames = new ArrayList<>();
+			zipFile.stream().forEach(e -> entryNames.add(e.getName()));
+			List<String> expectedNames = new ArrayList<>();
+			EXPORTED_TABLES.forEach(t -> expectedNames.add(t.getFileName() + ".csv"));
+			assertEquals(expectedNames, entryNames);
+
+			for (DatabaseTable databaseTable : EXPORTED_TABLES) {
+				ZipEntry entry = zipFile.getEntry(databaseTable.getFileName() + ".csv");
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					assertEquals(csvBySql.get(getCopySql(databaseTable)), readString(in));
+				}
+			}
+		}
+
+		verify(executorService, times(3)).submit(any(Runnable.class));
+		verify(connection, times(EXPORTED_TABLES.size())).setReadOnly(true);
+		verify(connection, times(EXPORTED_TABLES.size())).close();
+		assertNoFiles(tempDirectory);
+	}
+
+	@Test
+	public void testExportAsCsvFilesInParallelDeletesPartsOnFailure() throws Exception {
+
+		String failingSql = getCopySql(DatabaseTable.VISIT_SYMPTOMS);
+		when(copyManager.copyOut(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+			if (failingSql.equals(invocation.getArgument(0))) {
+				throw new SQLException("Connection lost");
+			}
+			invocation.<OutputStream> getArgument(1).write("id;uuid\n1;ABC\n".getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		});
+
+		Path tempDirectory = temporaryFolder.newFolder("temp").toPath();
+		try (OutputStream out = new ByteArrayOutputStream()) {
+			databaseExportService.exportAsCsvFilesInParallel(out, EXPORTED_TABLES, tempDirectory, 2);
+			fail("Export should fail when a table cannot be copied");
+		} catch (RuntimeException e) {
+			assertThat(e.getMessage(), not(isEmptyString()));
+			assertEquals(SQLException.class, e.getCause().getClass());
+		}
+
+		assertNoFiles(tempDirectory);
+	}
+
+	private static String getCopySql(DatabaseTable databaseTable) {
+		return DatabaseExportService.getCopySql(DatabaseExportService.getConfig(databaseTable));
+	}
+
+	private static String createCsv(DatabaseTable databaseTable, int rowCount) {
+
+		StringBuilder csv = new StringBuilder("id;uuid;table\n");
+		for (int i = 0; i < rowCount; i++) {
+			csv.append(i).append(";UUID-").append(i).append(';').append(databaseTable.name()).append('\n');
+		}
+		return csv.toString();
+	}
+
+	private static String readString(InputStream in) throws IOException {
+
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		for (int length = in.read(buffer); length >= 0; length = in.read(buffer)) {
+			read.write(buffer, 0, length);
+		}
+		return new String(read.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static void assertNoFiles(Path directory) throws IOException {
+
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(Collections.emptyList(), files.collect(Collectors.toList()));
+		}
+	}
 }
@@ -0,0 +1,81 @@
+package de.symeda.sormas.backend.importexport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @see ZipPartWriter
+ */
+public class ZipPartWriterTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testWrittenArchiveIsReadable() throws IOException {
+
+		Map<String, byte[]> contents = new LinkedHashMap<>();
+		contents.put("cases.csv", "id;uuid\n1;ABC\n2;DEF\n".getBytes(StandardCharsets.UTF_8));
+		contents.put("empty.csv", new byte[0]);
+		contents.put("personen_größe.csv", String.join("\n", Collections.nCopies(10_000, "1;Müller;Jürgen")).getBytes(StandardCharsets.UTF_8));
+		byte[] random = new byte[300_000];
+		new Random(1).nextBytes(random);
+		contents.put("random.bin", random);
+
+		Path archive = temporaryFolder.newFile("export.zip").toPath();
+		try (OutputStream out = Files.newOutputStream(archive)) {
+			ZipPartWriter zip = new ZipPartWriter(out);
+			for (Map.Entry<String, byte[]> content : contents.entrySet()) {
+				Path partFile = temporaryFolder.newFile().toPath();
+				ZipPartWriter.PartOutputStream partOut = new ZipPartWriter.PartOutputStream(partFile);
+				// write in chunks, as the COPY command does
+				for (int offset = 0; offset < content.getValue().length; offset += 7_000) {
+					partOut.write(content.getValue(), offset, Math.min(7_000, content.getValue().length - offset));
+				}
+				partOut.close();
+
+				ZipPartWriter.Part part = partOut.toPart();
+				assertEquals(content.getValue().length, part.getSize());
+				assertEquals(Files.size(partFile), part.getCompressedSize());
+				zip.addPart(content.getKey(), part);
+			}
+			zip.finish();
+		}
+
+		try (ZipFile zipFile = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+			assertEquals(contents.size(), zipFile.size());
+			for (Map.Entry<String, byte[]> content : contents.entrySet()) {
+				ZipEntry entry = zipFile.getEntry(content.getKey());
+				assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+				assertFalse(entry.isDirectory());
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					ByteArrayOutputStream read = new ByteArrayOutputStream();
+					byte[] buffer = new byte[8192];
+					for (int length = in.read(buffer); length >= 0; length = in.read(buffer)) {
+						read.write(buffer, 0, length);
+					}
+					assertArrayEquals(content.getKey(), content.getValue(), read.toByteArray());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package de.symeda.sormas.backend.infrastructure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
+import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+public class InfrastructureFacadeEjbTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetInfrastructureSnapshot() throws Exception {
+
+		getBean(InfrastructureSnapshotCache.class).clear();
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility", "PointOfEntry");
+
+		InfrastructureSnapshotDto snapshot = getInfrastructureFacade().getInfrastructureSnapshot();
+		InfrastructureSyncDto sync = readSnapshot(snapshot);
+		assertEquals(1, sync.getRegions().size());
+		assertEquals(rdcf.region.getUuid(), sync.getRegions().get(0).getUuid());
+		assertEquals(1, sync.getDistricts().size());
+		assertEquals(1, sync.getCommunities().size());
+		assertTrue(sync.getFacilities().stream().anyMatch(f -> f.getUuid().equals(rdcf.facility.getUuid())));
+		assertTrue(sync.getPointsOfEntry().stream().anyMatch(p -> p.getUuid().equals(rdcf.pointOfEntry.getUuid())));
+
+		// unchanged infrastructure is answered with the cached snapshot
+		assertSame(snapshot, getInfrastructureFacade().getInfrastructureSnapshot());
+
+		Thread.sleep(1);
+		creator.createRegion("Region2");
+		InfrastructureSnapshotDto changedSnapshot = getInfrastructureFacade().getInfrastructureSnapshot();
+		assertNotSame(snapshot, changedSnapshot);
+		assertTrue(changedSnapshot.getVersion() > snapshot.getVersion());
+		assertEquals(2, readSnapshot(changedSnapshot).getRegions().size());
+	}
+
+	private static InfrastructureSyncDto readSnapshot(InfrastructureSnapshotDto snapshot) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.getData()))) {
+			return new ObjectMapper().readValue(in, InfrastructureSyncDto.class);
+		}
+	}
+}
@@ -1,10 +1,13 @@
 package de.symeda.sormas.backend.person;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -26,7 +29,9 @@ import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+import de.symeda.sormas.backend.user.User;
 
 public class PersonFacadeEjbTest extends AbstractBeanTest {
 
@@ -135,6 +140,66 @@ public class PersonFacadeEjbTest extends AbstractBeanTest {
 		assertThat(matchingUuids, containsInAnyOrder(person1.getUuid(), person3.getUuid(), person7.getUuid(), person9.getUuid(), person11.getUuid()));
 	}
 
+	@Test
+	public void testGetPersonsAfter() throws InterruptedException {
+
+		TestDataCreator.RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		TestDataCreator.RDCF otherRdcf = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2");
+		UserDto user = useSurveillanceOfficerLogin(rdcf);
+		UserDto otherUser = creator.createUser(
+			otherRdcf.region.getUuid(),
+			otherRdcf.district.getUuid(),
+			otherRdcf.facility.getUuid(),
+			"Other",
+			"Officer",
+			UserRole.SURVEILLANCE_OFFICER);
+
+		PersonDto casePerson = creator.createPerson("Case", "Person");
+		CaseDataDto caze = creator.createCase(user.toReference(), casePerson.toReference(), rdcf);
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		creator.createContact(user.toReference(), contactPerson.toReference(), caze);
+		PersonDto districtPerson = creator.createPerson("District", "Person", p -> p.getAddress().setDistrict(rdcf.district));
+		PersonDto otherPerson = creator.createPerson("Other", "Person");
+		creator.createCase(otherUser.toReference(), otherPerson.toReference(), otherRdcf);
+
+		List<PersonDto> persons = getPersonFacade().getPersonsAfter(null);
+		assertThat(
+			persons.stream().map(PersonDto::getUuid).collect(Collectors.toList()),
+			containsInAnyOrder(casePerson.getUuid(), contactPerson.getUuid(), districtPerson.getUuid()));
+		for (int i = 1; i < persons.size(); i++) {
+			assertTrue(!persons.get(i).getChangeDate().before(persons.get(i - 1).getChangeDate()));
+		}
+
+		Date date = new Date();
+		// the delay is needed in order to ensure the time difference between the date and the person update
+		Thread.sleep(10L);
+		assertThat(getPersonFacade().getPersonsAfter(date), hasSize(0));
+		casePerson.setNickname("Nick");
+		getPersonFacade().savePerson(casePerson);
+		assertThat(getPersonFacade().getPersonsAfter(date).stream().map(PersonDto::getUuid).collect(Collectors.toList()), contains(casePerson.getUuid()));
+	}
+
+	@Test
+	public void testGetAllAfterDetachesProcessedBatches() {
+
+		TestDataCreator.RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = useSurveillanceOfficerLogin(rdcf);
+		PersonDto districtPerson = creator.createPerson("District", "Person", p -> p.getAddress().setDistrict(rdcf.district));
+		User userEntity = getUserService().getByUuid(user.getUuid());
+
+		List<Person> persons = new ArrayList<>();
+		getPersonService().getAllAfter(null, userEntity, batch -> {
+			// the batch can still be read
+			batch.forEach(person -> assertTrue(getEntityManager().contains(person)));
+			persons.addAll(batch);
+		});
+
+		assertThat(persons, hasSize(1));
+		Assert.assertEquals(districtPerson.getUuid(), persons.get(0).getUuid());
+		assertFalse(getEntityManager().contains(persons.get(0)));
+		assertFalse(getEntityManager().contains(persons.get(0).getAddress()));
+	}
+
 	@Test
 	public void testIsValidPersonUuid() {
 		final PersonDto person = creator.createPerson("James", "Smith", Sex.MALE, 1980, 1, 1);
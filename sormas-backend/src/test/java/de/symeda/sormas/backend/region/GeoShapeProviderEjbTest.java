@@ -17,8 +17,108 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.region;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.opengis.feature.simple.SimpleFeature;
+
+import de.symeda.sormas.api.region.GeoLatLon;
+
 public class GeoShapeProviderEjbTest {
 
+	private static final int GRID_SIZE = 60;
+
+	@Test
+	public void testRegionIndexMatchesLinearScan() throws Exception {
+		assertIndexMatchesLinearScan(loadShapes("shapefiles/nigeria/regions.shp"));
+	}
+
+	@Test
+	public void testDistrictIndexMatchesLinearScan() throws Exception {
+		assertIndexMatchesLinearScan(loadShapes("shapefiles/nigeria/districts.shp"));
+	}
+
+	/**
+	 * Compares {@link GeoShapeIndex#find(GeoLatLon)} with the contains check against every shape that was done before the
+	 * index existed, for a grid of points covering all shapes and their surroundings.
+	 */
+	private void assertIndexMatchesLinearScan(Map<String, MultiPolygon> shapes) {
+
+		GeoShapeIndex<String> index = new GeoShapeIndex<>(shapes);
+
+		Envelope bounds = new Envelope();
+		shapes.values().forEach(shape -> bounds.expandToInclude(shape.getEnvelopeInternal()));
+		bounds.expandBy(bounds.getWidth() / 10, bounds.getHeight() / 10);
+
+		for (int x = 0; x <= GRID_SIZE; x++) {
+			for (int y = 0; y <= GRID_SIZE; y++) {
+				GeoLatLon latLon =
+					new GeoLatLon(bounds.getMinY() + bounds.getHeight() * y / GRID_SIZE, bounds.getMinX() + bounds.getWidth() * x / GRID_SIZE);
+				assertFoundAsByLinearScan(index, shapes, latLon);
+			}
+		}
+
+		// Abuja is inside a shape, the Gulf of Guinea outside of every shape
+		assertNotNull(assertFoundAsByLinearScan(index, shapes, new GeoLatLon(9.076344, 7.276929)));
+		assertNull(assertFoundAsByLinearScan(index, shapes, new GeoLatLon(0, 0)));
+	}
+
+	private String assertFoundAsByLinearScan(GeoShapeIndex<String> index, Map<String, MultiPolygon> shapes, GeoLatLon latLon) {
+
+		// shapes may overlap slightly, so the index has to find any of the shapes containing the coordinate
+		List<String> containingShapes = new ArrayList<>();
+		for (Map.Entry<String, MultiPolygon> shape : shapes.entrySet()) {
+			if (shape.getValue()
+				.contains(GeometryFactory.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), shape.getValue()))) {
+				containingShapes.add(shape.getKey());
+			}
+		}
+
+		String found = index.find(latLon);
+		String message = latLon.getLat() + ", " + latLon.getLon();
+		if (containingShapes.isEmpty()) {
+			assertNull(message, found);
+		} else {
+			assertTrue(message, containingShapes.contains(found));
+		}
+		return found;
+	}
+
+	private Map<String, MultiPolygon> loadShapes(String filepath) throws Exception {
+
+		URL filepathUrl = getClass().getClassLoader().getResource(filepath);
+		assertNotNull(filepath, filepathUrl);
+
+		Map<String, MultiPolygon> shapes = new HashMap<>();
+		ShapefileDataStore dataStore = new ShapefileDataStore(filepathUrl);
+		SimpleFeatureIterator iterator = dataStore.getFeatureSource().getFeatures().features();
+		try {
+			while (iterator.hasNext()) {
+				SimpleFeature feature = iterator.next();
+				shapes.put(feature.getID(), (MultiPolygon) feature.getDefaultGeometryProperty().getValue());
+			}
+		} finally {
+			iterator.close();
+			dataStore.dispose();
+		}
+		assertTrue(shapes.size() > 1);
+		return shapes;
+	}
+
 //TODO: Re-implement relevant unit tests once shape files can be imported from the ui
 
 //    private static BeanProviderHelper bm;
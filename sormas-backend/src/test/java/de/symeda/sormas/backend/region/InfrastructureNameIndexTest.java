@@ -0,0 +1,163 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.region;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class InfrastructureNameIndexTest {
+
+	@Test
+	public void testFindExactAndBest() {
+
+		InfrastructureNameIndex<String> index =
+			new InfrastructureNameIndex<>(Arrays.asList("Abuja Municipal", "Bwari", "Kuje", "Abaji"), Function.identity());
+
+		assertEquals(Arrays.asList("Abuja Municipal"), index.findExact("abuja-municipal"));
+		assertTrue(index.findExact("Abuja").isEmpty());
+
+		assertEquals("Bwari", index.findBest("Bwarri", 0.7));
+		assertEquals("Abuja Municipal", index.findBest("Abuja Municipl", 0.7));
+		assertNull(index.findBest("Gwagwalada", 0.7));
+
+		List<InfrastructureNameIndex.Match<String>> overlapping = index.findOverlapping("Abuja");
+		assertEquals(1, overlapping.size());
+		assertEquals("Abuja Municipal", overlapping.get(0).getValue());
+		assertEquals(5 / 14.0, overlapping.get(0).getSimilarity(), 0.0001);
+	}
+
+	@Test
+	public void testSimilarity() {
+
+		assertEquals(1.0, InfrastructureNameIndex.similarity("", ""), 0);
+		assertEquals(1.0, InfrastructureNameIndex.similarity("Kuje", "kuje"), 0);
+		assertEquals(0.75, InfrastructureNameIndex.similarity("Kuje", "Kuja"), 0);
+		assertEquals(4 / 7.0, InfrastructureNameIndex.similarity("sitting", "kitten"), 0.0001);
+	}
+
+	@Test
+	public void testIndexMatchesScan() {
+
+		Random random = new Random(42);
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			names.add(randomName(random));
+		}
+		InfrastructureNameIndex<String> index = new InfrastructureNameIndex<>(names, Function.identity());
+
+		for (int i = 0; i < 300; i++) {
+			String query = i % 2 == 0 ? mutate(names.get(random.nextInt(names.size())), random) : randomName(random);
+			String normalizedQuery = InfrastructureNameIndex.normalize(query);
+
+			for (double minSimilarity : new double[] {
+				0.5,
+				0.7,
+				0.9 }) {
+				List<String> expected = names.stream()
+					.filter(n -> fullSimilarity(InfrastructureNameIndex.normalize(n), normalizedQuery) >= minSimilarity - 1e-9)
+					.sorted(
+						(n1, n2) -> Double.compare(
+							fullSimilarity(InfrastructureNameIndex.normalize(n2), normalizedQuery),
+							fullSimilarity(InfrastructureNameIndex.normalize(n1), normalizedQuery)))
+					.collect(Collectors.toList());
+				List<String> actual =
+					index.findSimilar(query, minSimilarity, Integer.MAX_VALUE).stream().map(m -> m.getValue()).collect(Collectors.toList());
+				assertEquals(query, expected, actual);
+			}
+
+			List<String> expectedOverlapping = names.stream().filter(n -> {
+				String normalizedName = InfrastructureNameIndex.normalize(n);
+				return normalizedName.contains(normalizedQuery) || normalizedQuery.contains(normalizedName);
+			}).collect(Collectors.toList());
+			List<String> actualOverlapping = index.findOverlapping(query).stream().map(m -> m.getValue()).collect(Collectors.toList());
+			assertEquals(query, expectedOverlapping, actualOverlapping);
+		}
+	}
+
+	private static String randomName(Random random) {
+
+		String[] syllables = {
+			"ab",
+			"u",
+			"ja",
+			"kwa",
+			"li",
+			"ma",
+			"ri",
+			"gwa",
+			"da",
+			"o" };
+		StringBuilder name = new StringBuilder();
+		int length = 1 + random.nextInt(6);
+		for (int i = 0; i < length; i++) {
+			name.append(syllables[random.nextInt(syllables.length)]);
+			if (random.nextInt(5) == 0) {
+				name.append(' ');
+			}
+		}
+		return name.toString();
+	}
+
+	private static String mutate(String name, Random random) {
+
+		StringBuilder mutated = new StringBuilder(name.toUpperCase());
+		for (int i = random.nextInt(3); i > 0 && mutated.length() > 0; i--) {
+			int position = random.nextInt(mutated.length());
+			switch (random.nextInt(3)) {
+			case 0:
+				mutated.deleteCharAt(position);
+				break;
+			case 1:
+				mutated.insert(position, 'e');
+				break;
+			default:
+				mutated.setCharAt(position, 'x');
+			}
+		}
+		return mutated.toString();
+	}
+
+	private static double fullSimilarity(String s1, String s2) {
+
+		int maxLength = Math.max(s1.length(), s2.length());
+		if (maxLength == 0) {
+			return 1.0;
+		}
+		int[][] distances = new int[s1.length() + 1][s2.length() + 1];
+		for (int i = 0; i <= s1.length(); i++) {
+			for (int j = 0; j <= s2.length(); j++) {
+				if (i == 0 || j == 0) {
+					distances[i][j] = i + j;
+				} else {
+					distances[i][j] = Math.min(
+						distances[i - 1][j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1),
+						Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+				}
+			}
+		}
+		return (maxLength - distances[s1.length()][s2.length()]) / (double) maxLength;
+	}
+}
@@ -1,14 +1,19 @@
 package de.symeda.sormas.backend.region;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.util.Date;
 import java.util.List;
 
+import javax.transaction.Status;
+
 import org.junit.Test;
 
 import de.symeda.sormas.api.region.RegionDto;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.MockTransactionSynchronizationRegistry;
 
 public class RegionFacadeEjbTest extends AbstractBeanTest {
 
@@ -41,4 +46,41 @@ public class RegionFacadeEjbTest extends AbstractBeanTest {
 
 		assertEquals(1, getRegionFacade().getAllActiveAsReference().size());
 	}
+
+	@Test
+	public void testGetRegionReference() {
+
+		Region region = creator.createRegion("r1");
+		assertEquals("r1", getRegionFacade().getRegionReferenceByUuid(region.getUuid()).getCaption());
+		assertEquals(region.getUuid(), getRegionFacade().getRegionReferenceById(region.getId().intValue()).getUuid());
+		assertNull(getRegionFacade().getRegionReferenceByUuid("unknown"));
+
+		// created after the references have been cached
+		Region region2 = creator.createRegion("r2");
+		assertEquals("r2", getRegionFacade().getRegionReferenceById(region2.getId().intValue()).getCaption());
+
+		// saving evicts the cached references
+		RegionDto regionDto = getRegionFacade().getRegionByUuid(region.getUuid());
+		regionDto.setName("renamed");
+		getRegionFacade().saveRegion(regionDto);
+		assertEquals("renamed", getRegionFacade().getRegionReferenceByUuid(region.getUuid()).getCaption());
+	}
+
+	@Test
+	public void testRegionReferenceIsEvictedAfterCommit() {
+
+		Region region = creator.createRegion("r1");
+		assertEquals("r1", getRegionFacade().getRegionReferenceByUuid(region.getUuid()).getCaption());
+
+		// until the change is committed, other requests keep using the cached reference instead of caching the old name again
+		MockTransactionSynchronizationRegistry transactionRegistry = MockProducer.getMockTransactionSynchronizationRegistry();
+		transactionRegistry.deferSynchronizations();
+		RegionDto regionDto = getRegionFacade().getRegionByUuid(region.getUuid());
+		regionDto.setName("renamed");
+		getRegionFacade().saveRegion(regionDto);
+		assertEquals("r1", getRegionFacade().getRegionReferenceByUuid(region.getUuid()).getCaption());
+
+		transactionRegistry.completeTransaction(Status.STATUS_COMMITTED);
+		assertEquals("renamed", getRegionFacade().getRegionReferenceByUuid(region.getUuid()).getCaption());
+	}
 }
@@ -0,0 +1,81 @@
+package de.symeda.sormas.backend.sormastosormas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SormasToSormasKeyStoreCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testKeyStoreIsReloadedWhenModified() throws Exception {
+
+		Path keyStorePath = temporaryFolder.getRoot().toPath().resolve("test.sormas2sormas.keystore.p12");
+		writeKeyStore(keyStorePath, createKeyStore("First"));
+
+		SormasToSormasKeyStoreCache cache = new SormasToSormasKeyStoreCache();
+		X509Certificate certificate = cache.getCertificate(keyStorePath, "pass", "org");
+		assertNotNull(certificate);
+		assertNotNull(cache.getPrivateKey(keyStorePath, "pass", "org"));
+		assertNull(cache.getCertificate(keyStorePath, "pass", "unknown"));
+		assertSame(certificate, cache.getCertificate(keyStorePath, "pass", "org"));
+
+		FileTime lastModified = Files.getLastModifiedTime(keyStorePath);
+		writeKeyStore(keyStorePath, createKeyStore("Second"));
+		// make sure the modification is detected on file systems with a coarse timestamp resolution
+		Files.setLastModifiedTime(keyStorePath, FileTime.fromMillis(lastModified.toMillis() + 2000));
+
+		X509Certificate reloadedCertificate = cache.getCertificate(keyStorePath, "pass", "org");
+		assertNotEquals(certificate, reloadedCertificate);
+		assertEquals(reloadedCertificate, cache.getCertificate(keyStorePath, "pass", "org"));
+	}
+
+	private static KeyStore createKeyStore(String commonName) throws Exception {
+
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name name = new X500Name("CN=" + commonName);
+		Date now = new Date();
+		X509Certificate certificate = new JcaX509CertificateConverter().getCertificate(
+			new JcaX509v3CertificateBuilder(name, BigInteger.ONE, now, new Date(now.getTime() + 3_600_000), name, keyPair.getPublic())
+				.build(new JcaContentSignerBuilder("SHA256WithRSA").build(keyPair.getPrivate())));
+
+		KeyStore keyStore = KeyStore.getInstance("pkcs12");
+		keyStore.load(null, null);
+		keyStore.setKeyEntry("org", keyPair.getPrivate(), "pass".toCharArray(), new Certificate[] {
+			certificate });
+		return keyStore;
+	}
+
+	private static void writeKeyStore(Path path, KeyStore keyStore) throws Exception {
+		try (OutputStream out = Files.newOutputStream(path)) {
+			keyStore.store(out, "pass".toCharArray());
+		}
+	}
+}
@@ -7,6 +7,8 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.transaction.Status;
+
 import org.hamcrest.collection.IsEmptyCollection;
 import org.junit.Test;
 
@@ -14,6 +16,8 @@ import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.user.UserRoleConfigDto;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.MockTransactionSynchronizationRegistry;
 
 public class UserRoleConfigFacadeEjbTest extends AbstractBeanTest {
 
@@ -45,6 +49,48 @@ public class UserRoleConfigFacadeEjbTest extends AbstractBeanTest {
 		Set<UserRight> expectedUserRights = new HashSet<UserRight>(Arrays.asList(UserRight.CASE_CREATE, UserRight.CASE_EDIT));
 		expectedUserRights.addAll(UserRole.NATIONAL_OBSERVER.getDefaultUserRights());
 		assertThat(mixedUserRights, is(expectedUserRights));
+
+		// 5. deleted role config -> back to defaults
+		getUserRoleConfigFacade().deleteUserRoleConfig(userRoleConfig);
+		supervisorRights = getUserRoleConfigFacade().getEffectiveUserRights(UserRole.SURVEILLANCE_SUPERVISOR);
+		assertThat(supervisorRights, is(UserRole.SURVEILLANCE_SUPERVISOR.getDefaultUserRights()));
+	}
+
+	@Test
+	public void testUserRightsCacheIsClearedAfterCommit() {
+
+		MockTransactionSynchronizationRegistry transactionRegistry = MockProducer.getMockTransactionSynchronizationRegistry();
+		Set<UserRight> defaultRights = UserRole.SURVEILLANCE_SUPERVISOR.getDefaultUserRights();
+		assertThat(getUserRoleConfigFacade().getEffectiveUserRights(UserRole.SURVEILLANCE_SUPERVISOR), is(defaultRights));
+
+		// until the change is committed, other requests have to keep using the cached rights instead of caching the old config again
+		transactionRegistry.deferSynchronizations();
+		UserRoleConfigDto userRoleConfig = getUserRoleConfigFacade().saveUserRoleConfig(UserRoleConfigDto.build(UserRole.SURVEILLANCE_SUPERVISOR));
+		assertThat(getUserRoleConfigFacade().getEffectiveUserRights(UserRole.SURVEILLANCE_SUPERVISOR), is(defaultRights));
+
+		transactionRegistry.completeTransaction(Status.STATUS_COMMITTED);
+		assertThat(getUserRoleConfigFacade().getEffectiveUserRights(UserRole.SURVEILLANCE_SUPERVISOR), is(IsEmptyCollection.empty()));
+
+		// a rolled back change keeps the cache
+		transactionRegistry.deferSynchronizations();
+		userRoleConfig.getUserRights().add(UserRight.CASE_CREATE);
+		getUserRoleConfigFacade().saveUserRoleConfig(userRoleConfig);
+		transactionRegistry.completeTransaction(Status.STATUS_ROLLEDBACK);
+		assertThat(getUserRoleConfigFacade().getEffectiveUserRights(UserRole.SURVEILLANCE_SUPERVISOR), is(IsEmptyCollection.empty()));
+	}
+
+	@Test
+	public void testHasRightReflectsChangedUserRoleConfig() {
+
+		UserService userService = getUserService();
+		assertThat(userService.hasRight(UserRight.CASE_CREATE), is(true));
+
+		UserRoleConfigDto adminConfig = UserRoleConfigDto.build(UserRole.ADMIN);
+		getUserRoleConfigFacade().saveUserRoleConfig(adminConfig);
+		UserRoleConfigDto nationalUserConfig = UserRoleConfigDto.build(UserRole.NATIONAL_USER);
+		getUserRoleConfigFacade().saveUserRoleConfig(nationalUserConfig);
+
+		assertThat(userService.hasRight(UserRight.CASE_CREATE), is(false));
 	}
 
 	// not testable, because history tables don't work with H2
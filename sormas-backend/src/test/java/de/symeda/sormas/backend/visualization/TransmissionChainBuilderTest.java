@@ -0,0 +1,123 @@
+package de.symeda.sormas.backend.visualization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.contact.ContactProximity;
+import de.symeda.sormas.backend.visualization.TransmissionChainBuilder.ContactRow;
+
+public class TransmissionChainBuilderTest {
+
+	@Test
+	public void testBuild() throws IOException {
+
+		TransmissionChainBuilder builder = new TransmissionChainBuilder(false);
+		assertThat(builder.isEmpty(), is(true));
+
+		// person 1 infected 2 (twice, once high risk) and 3; 3 infected 4
+		builder.addContact(contact(2L, ContactProximity.AEROSOL, 1L, "case1-uuid", new Date(1000), CaseClassification.CONFIRMED, null, null, null));
+		builder.addContact(
+			contact(2L, ContactProximity.FACE_TO_FACE_LONG, 1L, "case1-uuid", new Date(1000), CaseClassification.CONFIRMED, null, null, null));
+		builder.addContact(
+			contact(3L, ContactProximity.SAME_ROOM, 1L, "case1-uuid", new Date(1000), CaseClassification.CONFIRMED, "case3-uuid", new Date(3000), CaseClassification.SUSPECT));
+		builder.addContact(
+			contact(4L, ContactProximity.SAME_ROOM, 3L, "case3-uuid", new Date(3000), CaseClassification.SUSPECT, "case4-uuid", new Date(4000), CaseClassification.NO_CASE));
+		// contact without source case
+		builder.addContact(contact(5L, null, null, null, null, null, null, null, null));
+
+		assertThat(builder.isEmpty(), is(false));
+
+		JsonNode x = new ObjectMapper().readTree(builder.build()).get("x");
+
+		JsonNode nodes = x.get("nodes");
+		assertThat(values(nodes.get("id")), contains("1", "2", "3", "4", "5"));
+		assertThat(values(nodes.get("label")), contains("CASE1-", "null", "CASE3-", "null", "null"));
+		assertThat(
+			values(nodes.get("Classification")),
+			contains(
+				"{Classification.CONFIRMED}",
+				"{Classification.HEALTHY}",
+				"{Classification.SUSPECT}",
+				"{Classification.HEALTHY}",
+				"{Classification.HEALTHY}"));
+		assertThat(values(nodes.get("level")), contains("0", "1", "1", "2", "0"));
+
+		JsonNode edges = x.get("edges");
+		assertThat(values(edges.get("from")), contains("1", "1", "3"));
+		assertThat(values(edges.get("to")), contains("2", "3", "4"));
+		assertThat(values(edges.get("label")), contains("1", "2", "2"));
+		assertThat(values(edges.get("dashes")), contains("false", "true", "true"));
+	}
+
+	@Test
+	public void testEarliestCaseOfPerson() throws IOException {
+
+		TransmissionChainBuilder builder = new TransmissionChainBuilder(true);
+		builder.addContact(contact(2L, null, 1L, "case-b", new Date(2000), CaseClassification.PROBABLE, null, null, null));
+		builder.addContact(contact(3L, null, 1L, "case-a", null, CaseClassification.SUSPECT, null, null, null));
+		builder.addContact(contact(4L, null, 1L, "case-c", new Date(1000), CaseClassification.CONFIRMED_NO_SYMPTOMS, null, null, null));
+
+		JsonNode x = new ObjectMapper().readTree(builder.build()).get("x");
+		assertThat(x.get("nodes").get("uuid").get(0).asText(), is("case-c"));
+		assertThat(x.get("nodes").get("Classification").get(0).asText(), is("{Classification.CONFIRMED}"));
+		assertThat(x.get("options").get("layout").get("hierarchical").get("enabled").asBoolean(), is(true));
+	}
+
+	@Test
+	public void testCycleLevels() {
+
+		TransmissionChainBuilder builder = new TransmissionChainBuilder(true);
+		builder.addContact(contact(2L, null, 1L, "case1", null, null, null, null, null));
+		builder.addContact(contact(1L, null, 2L, "case2", null, null, null, null, null));
+		builder.addContact(contact(3L, null, 2L, "case2", null, null, null, null, null));
+
+		// nodes in order of appearance: 2, 1, 3; without root the first node of the cycle starts the hierarchy
+		int[] levels = builder.computeLevels();
+		assertThat(levels[0], is(0));
+		assertThat(levels[1], is(1));
+		assertThat(levels[2], is(1));
+	}
+
+	private static ContactRow contact(
+		Long contactPersonId,
+		ContactProximity proximity,
+		Long casePersonId,
+		String caseUuid,
+		Date caseReportDate,
+		CaseClassification caseClassification,
+		String resultingCaseUuid,
+		Date resultingCaseReportDate,
+		CaseClassification resultingCaseClassification) {
+
+		return new ContactRow(
+			contactPersonId,
+			proximity,
+			casePersonId,
+			caseUuid,
+			caseReportDate,
+			caseClassification,
+			resultingCaseUuid,
+			resultingCaseReportDate,
+			resultingCaseClassification,
+			false);
+	}
+
+	private static List<String> values(JsonNode array) {
+
+		List<String> values = new ArrayList<>();
+		array.forEach(value -> values.add(value.asText()));
+		return values;
+	}
+}
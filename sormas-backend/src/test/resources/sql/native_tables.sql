@@ -0,0 +1,42 @@
+-- Tables that are not mapped as entities, created in addition to the generated schema (see sormas_schema.sql)
+
+-- Case statistics cube
+CREATE TABLE casestatisticscube (
+    disease varchar(255),
+    reportyear integer,
+    reportquarter integer,
+    reportmonth integer,
+    reportepiyear integer,
+    reportepiweek integer,
+    region_id bigint,
+    district_id bigint,
+    community_id bigint,
+    healthfacility_id bigint,
+    sex varchar(255),
+    caseage integer,
+    caseclassification varchar(255),
+    outcome varchar(255),
+    casecount bigint NOT NULL
+);
+
+CREATE TABLE casestatisticscube_case (
+    case_id bigint PRIMARY KEY,
+    disease varchar(255),
+    reportyear integer,
+    reportquarter integer,
+    reportmonth integer,
+    reportepiyear integer,
+    reportepiweek integer,
+    region_id bigint,
+    district_id bigint,
+    community_id bigint,
+    healthfacility_id bigint,
+    sex varchar(255),
+    caseage integer,
+    caseclassification varchar(255),
+    outcome varchar(255)
+);
+
+CREATE TABLE casestatisticscube_state (
+    lastupdate timestamp NOT NULL
+);
@@ -2,6 +2,7 @@ package de.symeda.sormas.rest;
 
 import java.text.DateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 
@@ -12,40 +13,77 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
 import de.symeda.sormas.api.utils.OutdatedEntityException;
 
 public abstract class EntityDtoResource {
 
+	/**
+	 * Maximum number of entities returned by one page of the paged /all/{since}/{size} requests.
+	 */
+	private static final int MAX_BATCH_SIZE = 1000;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@EJB
 	private TransactionWrapper transactionWrapper;
 
+	/**
+	 * Saves the pushed DTOs in chunks with one transaction per chunk. The DTOs of a chunk that could not be saved as a
+	 * whole are saved one by one, so each of them gets its own {@link PushResult}.
+	 */
 	protected <T extends Object> List<PushResult> savePushedDto(List<T> dtos, Function<T, T> saveEntityDto) {
 
+		int chunkSize = FacadeProvider.getConfigFacade().getPushChunkSize();
 		List<PushResult> results = new ArrayList<>(dtos.size());
-		for (T dto : dtos) {
-			PushResult result;
-			try {
-				dto = transactionWrapper.execute(saveEntityDto, dto);
-				result = PushResult.OK;
-			} catch (Exception e) {
-				String errorMessage = createErrorMessage(dto);
-				errorMessage += e.getMessage();
-				if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
-					logger.warn(errorMessage, e);
-					result = PushResult.TOO_OLD;
-				} else {
-					logger.error(errorMessage, e);
-					result = PushResult.ERROR;
+		for (int i = 0; i < dtos.size(); i += chunkSize) {
+			List<T> chunk = dtos.subList(i, Math.min(i + chunkSize, dtos.size()));
+
+			if (chunk.size() > 1) {
+				try {
+					transactionWrapper.executeAll(saveEntityDto, chunk);
+					chunk.forEach(dto -> results.add(PushResult.OK));
+					continue;
+				} catch (Exception e) {
+					// the failing DTOs are logged when they are saved one by one
+					logger.debug("Saving a chunk of {} {} failed, saving them one by one", chunk.size(), chunk.get(0).getClass().getSimpleName());
 				}
 			}
-			results.add(result);
+
+			for (T dto : chunk) {
+				results.add(savePushedDto(dto, saveEntityDto));
+			}
 		}
 		return results;
 	}
 
+	private <T extends Object> PushResult savePushedDto(T dto, Function<T, T> saveEntityDto) {
+
+		try {
+			transactionWrapper.execute(saveEntityDto, dto);
+			return PushResult.OK;
+		} catch (Exception e) {
+			String errorMessage = createErrorMessage(dto);
+			errorMessage += e.getMessage();
+			if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
+				logger.warn(errorMessage, e);
+				return PushResult.TOO_OLD;
+			} else {
+				logger.error(errorMessage, e);
+				return PushResult.ERROR;
+			}
+		}
+	}
+
+	protected static int limitBatchSize(int size) {
+		return Math.max(1, Math.min(size, MAX_BATCH_SIZE));
+	}
+
+	protected static Date toDate(Long time) {
+		return time != null ? new Date(time) : null;
+	}
+
 	protected <T extends Object> String createErrorMessage(T dto) {
 
 		final EntityDto entityDto = (EntityDto) dto;
@@ -1,13 +1,23 @@
 package de.symeda.sormas.rest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
 import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 
 @Path("/infrastructure")
@@ -22,4 +32,28 @@ public class InfrastructureResource {
 	public InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates) {
 		return FacadeProvider.getInfrastructureFacade().getInfrastructureSyncData(changeDates);
 	}
+
+	/**
+	 * The snapshot is already gzip compressed and sent as is to clients accepting this encoding.
+	 */
+	@GET
+	@Path("/snapshot")
+	public Response getInfrastructureSnapshot(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+
+		InfrastructureSnapshotDto snapshot = FacadeProvider.getInfrastructureFacade().getInfrastructureSnapshot();
+		if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			return Response.ok(snapshot.getData()).header(HttpHeaders.CONTENT_ENCODING, "gzip").build();
+		}
+
+		StreamingOutput uncompressed = out -> {
+			try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.getData()))) {
+				byte[] buffer = new byte[8192];
+				int length;
+				while ((length = in.read(buffer)) > 0) {
+					out.write(buffer, 0, length);
+				}
+			}
+		};
+		return Response.ok(uncompressed).build();
+	}
 }
@@ -1,9 +1,13 @@
 package de.symeda.sormas.rest;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
+import javax.annotation.Resource;
 import javax.annotation.security.PermitAll;
 import javax.ejb.LocalBean;
+import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -23,6 +27,9 @@ import javax.ejb.TransactionAttributeType;
 @PermitAll
 public class TransactionWrapper {
 
+	@Resource
+	private SessionContext sessionContext;
+
 	/**
 	 * Calls the passed function in a new JTA transaction.
 	 * 
@@ -37,4 +44,30 @@ public class TransactionWrapper {
 
 		return function.apply(data);
 	}
+
+	/**
+	 * Calls the passed function for each of the data items in one new JTA transaction.
+	 * When one of the calls fails, the whole transaction is rolled back and the exception is rethrown.
+	 * 
+	 * @param function
+	 *            The business logic to be executed for each item.
+	 * @param data
+	 *            The data items to be processed.
+	 * @return The return values of the processing in the order of the data items.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public <T, R> List<R> executeAll(Function<T, R> function, List<T> data) {
+
+		List<R> results = new ArrayList<>(data.size());
+		try {
+			for (T item : data) {
+				results.add(function.apply(item));
+			}
+		} catch (RuntimeException e) {
+			// application exceptions would otherwise commit the items processed before
+			sessionContext.setRollbackOnly();
+			throw e;
+		}
+		return results;
+	}
 }
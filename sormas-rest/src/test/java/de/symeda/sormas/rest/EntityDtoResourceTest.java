@@ -0,0 +1,110 @@
+package de.symeda.sormas.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import de.symeda.sormas.api.ConfigFacade;
+import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.region.RegionDto;
+import de.symeda.sormas.api.utils.OutdatedEntityException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityDtoResourceTest {
+
+	@Mock
+	private TransactionWrapper transactionWrapper;
+
+	@InjectMocks
+	private TestResource resource;
+
+	private MockedStatic<FacadeProvider> facadeProvider;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void init() {
+
+		ConfigFacade configFacade = mock(ConfigFacade.class);
+		when(configFacade.getPushChunkSize()).thenReturn(3);
+		facadeProvider = mockStatic(FacadeProvider.class);
+		facadeProvider.when(FacadeProvider::getConfigFacade).thenReturn(configFacade);
+
+		// the transactions fail as a whole like the EJB would
+		when(transactionWrapper.executeAll(any(), anyList())).thenAnswer(invocation -> {
+			Function<Object, Object> function = invocation.getArgument(0);
+			List<Object> results = new ArrayList<>();
+			for (Object data : (List<Object>) invocation.getArgument(1)) {
+				results.add(function.apply(data));
+			}
+			return results;
+		});
+		when(transactionWrapper.execute(any(), any())).thenAnswer(invocation -> {
+			Function<Object, Object> function = invocation.getArgument(0);
+			return function.apply(invocation.getArgument(1));
+		});
+	}
+
+	@After
+	public void close() {
+		facadeProvider.close();
+	}
+
+	@Test
+	public void testSavePushedDtoWithFailingDtoInChunk() {
+
+		RegionDto failing = createRegion();
+		RegionDto outdated = createRegion();
+
+		List<PushResult> results = resource.savePushedDto(Arrays.asList(createRegion(), failing, createRegion(), outdated, createRegion()), dto -> {
+			if (dto == failing) {
+				throw new IllegalArgumentException("Invalid region");
+			} else if (dto == outdated) {
+				throw new OutdatedEntityException(dto.getUuid(), RegionDto.class);
+			}
+			return dto;
+		});
+
+		// the first chunk fails and is saved one by one, the second chunk contains the outdated and a valid region
+		assertThat(results, contains(PushResult.OK, PushResult.ERROR, PushResult.OK, PushResult.TOO_OLD, PushResult.OK));
+	}
+
+	@Test
+	public void testSavePushedDtoWithoutFailure() {
+
+		List<PushResult> results =
+			resource.savePushedDto(Arrays.asList(createRegion(), createRegion(), createRegion(), createRegion()), Function.identity());
+
+		assertThat(results, contains(PushResult.OK, PushResult.OK, PushResult.OK, PushResult.OK));
+	}
+
+	private static RegionDto createRegion() {
+
+		RegionDto region = RegionDto.build();
+		region.setChangeDate(new Date());
+		return region;
+	}
+
+	static class TestResource extends EntityDtoResource {
+
+	}
+}
@@ -19,7 +19,16 @@ package de.symeda.sormas.ui.caze.importer;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.function.Consumer;
 
 import com.opencsv.exceptions.CsvValidationException;
@@ -31,6 +40,7 @@ import com.vaadin.server.StreamResource;
 import com.vaadin.ui.Button;
 import com.vaadin.ui.UI;
 
+import de.symeda.sormas.api.ConfigFacade;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
@@ -111,6 +121,154 @@ public class CaseImporter extends DataImporter {
 		ImportLineResultDto<CaseImportEntities> importResult =
 			caseImportFacade.importCaseData(values, entityClasses, entityProperties, entityPropertyPaths, !firstLine);
 
+		return handleImportResult(values, importResult, entityClasses, entityPropertyPaths);
+	}
+
+	/**
+	 * Imports the lines in batches of {@link ConfigFacade#getImportBatchSize()} lines. The entities of up to
+	 * {@link ConfigFacade#getImportParallelism()} batches are built and validated at the same time, because this does
+	 * not write anything. The similarity check and the saving of the entities are done one batch after another in the
+	 * order of the import file (each batch in a single transaction), so the persons and cases of the preceding lines are
+	 * taken into account.
+	 */
+	@Override
+	protected void importCsvLines(CsvLineReader lineReader, String[] entityClasses, String[] entityProperties, String[][] entityPropertyPaths)
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		// The first line is imported on its own, because empty entries are not ignored for it
+		String[] firstLine = lineReader.readNextLine();
+		if (firstLine == null) {
+			return;
+		}
+		lineImported(importDataFromCsvLine(firstLine, entityClasses, entityProperties, entityPropertyPaths, true));
+
+		int batchSize = FacadeProvider.getConfigFacade().getImportBatchSize();
+		int parallelism = FacadeProvider.getConfigFacade().getImportParallelism();
+		ExecutorService executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+		Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
+		boolean linesLeft = true;
+		try {
+			while (!isCancelAfterCurrent()) {
+				while (linesLeft && pendingBatches.size() < parallelism) {
+					List<String[]> lines = new ArrayList<>(batchSize);
+					String[] nextLine;
+					while (lines.size() < batchSize && (nextLine = lineReader.readNextLine()) != null) {
+						lines.add(nextLine);
+					}
+					linesLeft = lines.size() == batchSize;
+					if (!lines.isEmpty()) {
+						pendingBatches.add(startBatch(executor, lines, entityClasses, entityProperties, entityPropertyPaths));
+					}
+				}
+
+				PendingBatch batch = pendingBatches.poll();
+				if (batch == null) {
+					break;
+				}
+
+				saveBatch(batch, entityClasses, entityPropertyPaths);
+			}
+		} finally {
+			// The pending batches have only been built and validated, so nothing is lost when they are discarded
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private PendingBatch startBatch(
+		ExecutorService executor,
+		List<String[]> lines,
+		String[] entityClasses,
+		String[] entityProperties,
+		String[][] entityPropertyPaths) {
+
+		FutureTask<List<ImportLineResultDto<CaseImportEntities>>> task =
+			new FutureTask<>(() -> caseImportFacade.buildImportEntities(lines, entityClasses, entityProperties, entityPropertyPaths, true));
+
+		if (executor != null) {
+			executor.execute(task);
+		} else {
+			task.run();
+		}
+		return new PendingBatch(lines, task);
+	}
+
+	/**
+	 * Saves the built entities of the batch and handles the results of all its lines in the order of the import file.
+	 * Whenever a line with a similar person is reached, the user decides about it before the following lines are saved.
+	 * The results of all lines that have been saved are reported, even when the import is canceled in the meantime.
+	 */
+	private void saveBatch(PendingBatch batch, String[] entityClasses, String[][] entityPropertyPaths)
+		throws IOException, InvalidColumnException, InterruptedException {
+
+		List<String[]> lines = batch.lines;
+		List<ImportLineResultDto<CaseImportEntities>> buildResults = batch.getBuildResults();
+
+		int nextLine = 0;
+		while (nextLine < lines.size() && !isCancelAfterCurrent()) {
+			List<Integer> builtLines = new ArrayList<>();
+			List<CaseImportEntities> entitiesList = new ArrayList<>();
+			for (int i = nextLine; i < lines.size(); i++) {
+				if (buildResults.get(i).isSuccess()) {
+					builtLines.add(i);
+					entitiesList.add(buildResults.get(i).getImportEntities());
+				}
+			}
+
+			List<ImportLineResultDto<CaseImportEntities>> saveResults =
+				entitiesList.isEmpty() ? Collections.emptyList() : saveImportedEntities(entitiesList);
+
+			// When the save stopped at a line with a similar person, the lines after it are saved in the next round
+			int endLine = saveResults.isEmpty() || !saveResults.get(saveResults.size() - 1).isDuplicate()
+				? lines.size()
+				: builtLines.get(saveResults.size() - 1) + 1;
+
+			int savedLine = 0;
+			for (int i = nextLine; i < endLine; i++) {
+				ImportLineResultDto<CaseImportEntities> importResult =
+					buildResults.get(i).isSuccess() ? saveResults.get(savedLine++) : buildResults.get(i);
+				if (importResult.isDuplicate() && isCancelAfterCurrent()) {
+					// nothing has been saved for this line yet
+					return;
+				}
+				lineImported(handleImportResult(lines.get(i), importResult, entityClasses, entityPropertyPaths));
+			}
+			nextLine = endLine;
+		}
+	}
+
+	private List<ImportLineResultDto<CaseImportEntities>> saveImportedEntities(List<CaseImportEntities> entitiesList) {
+
+		try {
+			return caseImportFacade.saveImportedEntities(entitiesList);
+		} catch (RuntimeException e) {
+			// The transaction of the whole batch has been rolled back; save the entities one by one to isolate the failing line
+			LOGGER.warn("Import of a batch of {} lines failed, importing the lines one by one", entitiesList.size(), e);
+			List<ImportLineResultDto<CaseImportEntities>> saveResults = new ArrayList<>(entitiesList.size());
+			for (CaseImportEntities entities : entitiesList) {
+				ImportLineResultDto<CaseImportEntities> saveResult;
+				try {
+					saveResult = caseImportFacade.saveImportedEntities(Collections.singletonList(entities)).get(0);
+				} catch (RuntimeException lineException) {
+					saveResult = ImportLineResultDto.errorResult(lineException.getMessage());
+				}
+				saveResults.add(saveResult);
+				if (saveResult.isDuplicate()) {
+					break;
+				}
+			}
+			return saveResults;
+		}
+	}
+
+	private ImportLineResult handleImportResult(
+		String[] values,
+		ImportLineResultDto<CaseImportEntities> importResult,
+		String[] entityClasses,
+		String[][] entityPropertyPaths)
+		throws IOException, InvalidColumnException, InterruptedException {
+
 		if (importResult.isError()) {
 			writeImportError(values, importResult.getMessage());
 			return ImportLineResult.ERROR;
@@ -314,6 +472,31 @@ public class CaseImporter extends DataImporter {
 		});
 	}
 
+	private static class PendingBatch {
+
+		private final List<String[]> lines;
+		private final Future<List<ImportLineResultDto<CaseImportEntities>>> buildResults;
+
+		private PendingBatch(List<String[]> lines, Future<List<ImportLineResultDto<CaseImportEntities>>> buildResults) {
+			this.lines = lines;
+			this.buildResults = buildResults;
+		}
+
+		private List<ImportLineResultDto<CaseImportEntities>> getBuildResults() throws InvalidColumnException, InterruptedException {
+			try {
+				return buildResults.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof InvalidColumnException) {
+					throw (InvalidColumnException) cause;
+				} else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
 	private class CaseImportConsumer {
 
 		protected CaseImportSimilarityResult result;
@@ -28,11 +28,14 @@ import org.apache.commons.lang3.time.DateUtils;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.DashboardCaseDto;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.contact.DashboardContactDto;
 import de.symeda.sormas.api.contact.DashboardQuarantineDataDto;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
+import de.symeda.sormas.api.dashboard.DashboardSnapshotDto;
 import de.symeda.sormas.api.disease.DiseaseBurdenDto;
 import de.symeda.sormas.api.event.DashboardEventDto;
 import de.symeda.sormas.api.event.EventCriteria;
@@ -65,6 +68,10 @@ public class DashboardDataProvider {
 	// disease specific
 	private List<DashboardCaseDto> cases = new ArrayList<>();
 	private List<DashboardCaseDto> previousCases = new ArrayList<>();
+	private Long caseCount = 0L;
+	private Map<CaseClassification, Long> caseCountByClassification = new HashMap<>();
+	private Long fatalCaseCount = 0L;
+	private Long previousFatalCaseCount = 0L;
 	private Long outbreakDistrictCount = 0L;
 	private String lastReportedDistrict = "";
 	private List<DashboardEventDto> events = new ArrayList<>();
@@ -82,6 +89,11 @@ public class DashboardDataProvider {
 
 	public void refreshData() {
 
+		if (getDashboardType() == DashboardType.SURVEILLANCE) {
+			refreshSnapshot();
+			return;
+		}
+
 		// Update the entities lists according to the filters
 		// Disease burden
 		setDiseasesBurden(
@@ -90,6 +102,42 @@ public class DashboardDataProvider {
 		this.refreshDataForSelectedDisease();
 	}
 
+	/**
+	 * The surveillance dashboard only shows numbers, which the server aggregates (and caches) for all its users.
+	 */
+	private void refreshSnapshot() {
+
+		DashboardSnapshotDto snapshot = FacadeProvider.getDashboardFacade()
+			.getSnapshot(
+				new DashboardCriteria().region(region)
+					.district(district)
+					.disease(disease)
+					.dateBetween(fromDate, toDate)
+					.previousDateBetween(previousFromDate, previousToDate));
+
+		setDiseasesBurden(snapshot.getDiseasesBurden());
+		setCaseCount(snapshot.getCaseCount());
+		setCaseCountByClassification(snapshot.getCaseCountByClassification());
+		setFatalCaseCount(snapshot.getFatalCaseCount());
+		setPreviousFatalCaseCount(snapshot.getPreviousFatalCaseCount());
+		setLastReportedDistrict(snapshot.getLastReportedDistrict());
+		setOutbreakDistrictCount(snapshot.getOutbreakDistrictCount());
+		setEventCountByStatus(snapshot.getEventCountByStatus());
+		setTestResultCountByResultType(snapshot.getTestResultCountByResultType());
+		setCasesInQuarantineCount(snapshot.getCasesInQuarantineCount());
+		setCasesPlacedInQuarantineCount(snapshot.getCasesPlacedInQuarantineCount());
+		setContactsConvertedToCaseCount(snapshot.getContactsConvertedToCaseCount());
+
+		if (disease != null) {
+			// the map still shows the single events
+			EventCriteria eventCriteria = new EventCriteria();
+			eventCriteria.region(region).district(district).disease(disease).reportedBetween(fromDate, toDate);
+			setEvents(FacadeProvider.getEventFacade().getNewEventsForDashboard(eventCriteria));
+		} else {
+			setEvents(new ArrayList<>());
+		}
+	}
+
 	private void refreshDataForQuarantinedContacts() {
 
 		List<DashboardQuarantineDataDto> contactsInQuarantineDtos =
@@ -133,6 +181,11 @@ public class DashboardDataProvider {
 
 	private void refreshDataForSelectedDisease() {
 
+		if (getDashboardType() == DashboardType.SURVEILLANCE) {
+			refreshSnapshot();
+			return;
+		}
+
 		// Update the entities lists according to the filters
 
 		if (getDashboardType() == DashboardType.CONTACTS) {
@@ -211,6 +264,38 @@ public class DashboardDataProvider {
 		this.previousCases = previousCases;
 	}
 
+	public Long getCaseCount() {
+		return caseCount;
+	}
+
+	public void setCaseCount(Long caseCount) {
+		this.caseCount = caseCount;
+	}
+
+	public Map<CaseClassification, Long> getCaseCountByClassification() {
+		return caseCountByClassification;
+	}
+
+	public void setCaseCountByClassification(Map<CaseClassification, Long> caseCountByClassification) {
+		this.caseCountByClassification = caseCountByClassification;
+	}
+
+	public Long getFatalCaseCount() {
+		return fatalCaseCount;
+	}
+
+	public void setFatalCaseCount(Long fatalCaseCount) {
+		this.fatalCaseCount = fatalCaseCount;
+	}
+
+	public Long getPreviousFatalCaseCount() {
+		return previousFatalCaseCount;
+	}
+
+	public void setPreviousFatalCaseCount(Long previousFatalCaseCount) {
+		this.previousFatalCaseCount = previousFatalCaseCount;
+	}
+
 	public List<DashboardEventDto> getEvents() {
 		return events;
 	}
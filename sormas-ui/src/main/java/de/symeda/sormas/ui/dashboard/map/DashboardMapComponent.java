@@ -57,7 +57,7 @@ import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseDataDto;
-import de.symeda.sormas.api.caze.CaseFacade;
+import de.symeda.sormas.api.caze.MapCaseClusterDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.contact.ContactClassification;
 import de.symeda.sormas.api.contact.MapContactDto;
@@ -112,6 +112,7 @@ public class DashboardMapComponent extends VerticalLayout {
 
 	// Layers
 	private boolean showCases;
+	private boolean showCaseClusters;
 	private MapCaseClassificationOption caseClassificationOption;
 	private boolean showContacts;
 	private boolean showConfirmedContacts;
@@ -130,6 +131,7 @@ public class DashboardMapComponent extends VerticalLayout {
 
 	// Map data
 	private final List<FacilityReferenceDto> markerCaseFacilities = new ArrayList<FacilityReferenceDto>();
+	private final List<MapCaseClusterDto> markerCaseClusters = new ArrayList<MapCaseClusterDto>();
 	private final List<MapContactDto> markerContacts = new ArrayList<MapContactDto>();
 	private final List<DashboardEventDto> markerEvents = new ArrayList<DashboardEventDto>();
 	private final List<RegionReferenceDto> polygonRegions = new ArrayList<RegionReferenceDto>();
@@ -157,6 +159,11 @@ public class DashboardMapComponent extends VerticalLayout {
 		map = new LeafletMap();
 		map.setSizeFull();
 		map.addMarkerClickListener(event -> onMarkerClicked(event.getGroupId(), event.getMarkerIndex()));
+		map.addViewChangeListener(event -> {
+			if (showCases && showCaseClusters) {
+				showCaseClusterMarkers(dashboardDataProvider.getFromDate(), dashboardDataProvider.getToDate());
+			}
+		});
 
 		{
 
@@ -259,7 +266,9 @@ public class DashboardMapComponent extends VerticalLayout {
 
 		int maxDisplayCount = FacadeProvider.getConfigFacade().getDashboardMapMarkerLimit();
 		Long count = 0L;
-		if (!forced && maxDisplayCount >= 0) {
+		if (maxDisplayCount < 0) {
+			showCaseClusters = false;
+		} else if (!forced) {
 			count = getMarkerCount(fromDate, toDate, maxDisplayCount);
 		}
 
@@ -296,11 +305,16 @@ public class DashboardMapComponent extends VerticalLayout {
 		Long count = 0L;
 
 		if (showCases) {
-			count += FacadeProvider.getCaseFacade().countCasesForMap(region, district, disease, fromDate, toDate);
+			long caseCount = FacadeProvider.getCaseFacade().countCasesForMap(region, district, disease, fromDate, toDate);
+			// too many cases are shown as clusters instead of single markers and don't count towards the limit
+			showCaseClusters = caseCount > maxCount;
+			if (!showCaseClusters) {
+				count += caseCount;
+			}
 		}
 
 		if (count < maxCount && showContacts) {
-			if (!showCases) {
+			if (!showCases || showCaseClusters) {
 				// Case lists need to be filled even when cases are hidden because they are
 				// needed to retrieve the contacts
 				fillCaseLists(FacadeProvider.getCaseFacade().getCasesForMap(region, district, disease, fromDate, toDate));
@@ -321,11 +335,13 @@ public class DashboardMapComponent extends VerticalLayout {
 		DistrictReferenceDto district = dashboardDataProvider.getDistrict();
 		Disease disease = dashboardDataProvider.getDisease();
 
-		if (showCases) {
+		if (showCases && showCaseClusters) {
+			showCaseClusterMarkers(fromDate, toDate);
+		} else if (showCases) {
 			showCaseMarkers(FacadeProvider.getCaseFacade().getCasesForMap(region, district, disease, fromDate, toDate));
 		}
 		if (showContacts) {
-			if (!showCases) {
+			if (!showCases || showCaseClusters) {
 				// Case lists need to be filled even when cases are hidden because they are
 				// needed to retrieve the contacts
 				fillCaseLists(FacadeProvider.getCaseFacade().getCasesForMap(region, district, disease, fromDate, toDate));
@@ -341,12 +357,8 @@ public class DashboardMapComponent extends VerticalLayout {
 	}
 
 	public List<CaseDataDto> getCasesForFacility(FacilityReferenceDto facility) {
-		List<CaseDataDto> casesForFacility = new ArrayList<>();
-		CaseFacade caseFacade = FacadeProvider.getCaseFacade();
-		for (MapCaseDto mapCaseDto : casesByFacility.get(facility)) {
-			casesForFacility.add(caseFacade.getCaseDataByUuid(mapCaseDto.getUuid()));
-		}
-		return casesForFacility;
+		List<String> caseUuids = casesByFacility.get(facility).stream().map(MapCaseDto::getUuid).collect(Collectors.toList());
+		return FacadeProvider.getCaseFacade().getByUuids(caseUuids);
 	}
 
 	public void setExpandListener(Consumer<Boolean> listener) {
@@ -1155,6 +1167,7 @@ public class DashboardMapComponent extends VerticalLayout {
 
 		map.removeGroup(CASES_GROUP_ID);
 		markerCaseFacilities.clear();
+		markerCaseClusters.clear();
 		casesByFacility.clear();
 		mapCaseDtos.clear();
 		mapAndFacilityCases.clear();
@@ -1226,6 +1239,50 @@ public class DashboardMapComponent extends VerticalLayout {
 		map.addMarkerGroup("cases", caseMarkers);
 	}
 
+	private void showCaseClusterMarkers(Date fromDate, Date toDate) {
+
+		clearCaseMarkers();
+
+		// the period filter is applied to the end of the relevance period, because the clusters are computed on the server
+		Date clusterToDate = dateTo != null && (toDate == null || dateTo.before(toDate)) ? dateTo : toDate;
+		List<MapCaseClusterDto> clusters = FacadeProvider.getCaseFacade()
+			.getCaseClustersForMap(
+				dashboardDataProvider.getRegion(),
+				dashboardDataProvider.getDistrict(),
+				dashboardDataProvider.getDisease(),
+				fromDate,
+				clusterToDate,
+				caseClassificationOption == MapCaseClassificationOption.CONFIRMED_CASES_ONLY,
+				mapCaseDisplayMode != MapCaseDisplayMode.CASE_ADDRESS,
+				map.getVisibleZoom(),
+				map.getVisibleSouthWest(),
+				map.getVisibleNorthEast());
+
+		List<LeafletMarker> caseMarkers = new ArrayList<LeafletMarker>();
+		for (MapCaseClusterDto cluster : clusters) {
+			LeafletMarker marker = new LeafletMarker();
+			switch (cluster.getHighestClassification()) {
+			case CONFIRMED:
+				marker.setIcon(MarkerIcon.CASE_CONFIRMED);
+				break;
+			case PROBABLE:
+				marker.setIcon(MarkerIcon.CASE_PROBABLE);
+				break;
+			case SUSPECT:
+				marker.setIcon(MarkerIcon.CASE_SUSPECT);
+				break;
+			default:
+				marker.setIcon(MarkerIcon.CASE_UNCLASSIFIED);
+			}
+			marker.setLatLon(cluster.getLatitude(), cluster.getLongitude());
+			marker.setMarkerCount((int) Math.min(cluster.getCaseCount(), Integer.MAX_VALUE));
+			caseMarkers.add(marker);
+			markerCaseClusters.add(cluster);
+		}
+
+		map.addMarkerGroup(CASES_GROUP_ID, caseMarkers);
+	}
+
 	private void fillCaseLists(List<MapCaseDto> cases) {
 		for (MapCaseDto caze : cases) {
 			CaseClassification classification = caze.getCaseClassification();
@@ -1411,7 +1468,15 @@ public class DashboardMapComponent extends VerticalLayout {
 
 		switch (groupId) {
 		case CASES_GROUP_ID:
-			if (markerIndex < markerCaseFacilities.size()) {
+			if (!markerCaseClusters.isEmpty()) {
+				MapCaseClusterDto cluster = markerCaseClusters.get(markerIndex);
+				if (cluster.getCaseUuid() != null) {
+					ControllerProvider.getCaseController().navigateToCase(cluster.getCaseUuid(), true);
+				} else {
+					map.setCenter(new GeoLatLon(cluster.getLatitude(), cluster.getLongitude()));
+					map.setZoom(map.getVisibleZoom() + 2);
+				}
+			} else if (markerIndex < markerCaseFacilities.size()) {
 				FacilityReferenceDto facility = markerCaseFacilities.get(markerIndex);
 				VerticalLayout layout = new VerticalLayout();
 				Window window = VaadinUiUtil.showPopupWindow(layout);
@@ -17,7 +17,6 @@
  *******************************************************************************/
 package de.symeda.sormas.ui.dashboard.surveillance;
 
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -32,7 +31,6 @@ import com.vaadin.ui.Layout;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseClassification;
-import de.symeda.sormas.api.caze.DashboardCaseDto;
 import de.symeda.sormas.api.event.EventStatus;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.Descriptions;
@@ -454,30 +452,23 @@ public class DiseaseStatisticsComponent extends CustomLayout {
 	}
 
 	private void updateCaseComponent(Disease disease) {
-		List<DashboardCaseDto> cases = dashboardDataProvider.getCases();
+		Map<CaseClassification, Long> caseCountByClassification = dashboardDataProvider.getCaseCountByClassification();
 
 		//caseDiseaseLabel.setValue("(" + disease.toString() + ")");
-		caseCountLabel.setValue(Integer.toString(cases.size()).toString());
-
-		int confirmedCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.CONFIRMED).count();
-		caseClassificationConfirmed.updateCountLabel(confirmedCasesCount);
-		int probableCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.PROBABLE).count();
-		caseClassificationProbable.updateCountLabel(probableCasesCount);
-		int suspectCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.SUSPECT).count();
-		caseClassificationSuspect.updateCountLabel(suspectCasesCount);
-		int notACaseCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.NO_CASE).count();
-		caseClassificationNotACase.updateCountLabel(notACaseCasesCount);
-		int notYetClassifiedCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.NOT_CLASSIFIED).count();
-		caseClassificationNotYetClassified.updateCountLabel(notYetClassifiedCasesCount);
+		caseCountLabel.setValue(dashboardDataProvider.getCaseCount().toString());
+
+		caseClassificationConfirmed.updateCountLabel(caseCountByClassification.getOrDefault(CaseClassification.CONFIRMED, 0L).intValue());
+		caseClassificationProbable.updateCountLabel(caseCountByClassification.getOrDefault(CaseClassification.PROBABLE, 0L).intValue());
+		caseClassificationSuspect.updateCountLabel(caseCountByClassification.getOrDefault(CaseClassification.SUSPECT, 0L).intValue());
+		caseClassificationNotACase.updateCountLabel(caseCountByClassification.getOrDefault(CaseClassification.NO_CASE, 0L).intValue());
+		caseClassificationNotYetClassified
+			.updateCountLabel(caseCountByClassification.getOrDefault(CaseClassification.NOT_CLASSIFIED, 0L).intValue());
 	}
 
 	private void updateCaseFatalityComponent(Disease disease) {
-		List<DashboardCaseDto> newCases = dashboardDataProvider.getCases();
-		List<DashboardCaseDto> previousCases = dashboardDataProvider.getPreviousCases();
-
-		int casesCount = newCases.size();
-		Long fatalCasesCount = newCases.stream().filter((c) -> c.wasFatal()).count();
-		long previousFatalCasesCount = previousCases.stream().filter((c) -> c.wasFatal()).count();
+		long casesCount = dashboardDataProvider.getCaseCount();
+		Long fatalCasesCount = dashboardDataProvider.getFatalCaseCount();
+		long previousFatalCasesCount = dashboardDataProvider.getPreviousFatalCaseCount();
 		long fatalCasesGrowth = fatalCasesCount - previousFatalCasesCount;
 		float fatalityRate = 100 * ((float) fatalCasesCount / (float) (casesCount == 0 ? 1 : casesCount));
 		fatalityRate = Math.round(fatalityRate * 100) / 100f;
@@ -251,20 +251,8 @@ public abstract class DataImporter {
 			errorReportCsvWriter.writeNext(columnNames);
 
 			// Read and import all lines from the import file
-			String[] nextLine = readNextValidLine(csvReader);
-			int lineCounter = 0;
-			while (nextLine != null) {
-				ImportLineResult lineResult = importDataFromCsvLine(nextLine, entityClasses, entityProperties, entityPropertyPaths, lineCounter == 0);
-				logger.debug("runImport - line " + lineCounter);
-				if (importedLineCallback != null) {
-					importedLineCallback.accept(lineResult);
-				}
-				if (cancelAfterCurrent) {
-					break;
-				}
-				nextLine = readNextValidLine(csvReader);
-				lineCounter++;
-			}
+			final CSVReader lineReader = csvReader;
+			importCsvLines(() -> readNextValidLine(lineReader), entityClasses, entityProperties, entityPropertyPaths);
 
 			logger.debug("runImport - done");
 			logger.debug("import took - " + (new Date().getTime() - methodDate.getTime()) / 1000d);
@@ -291,10 +279,44 @@ public abstract class DataImporter {
 		}
 	}
 
+	/**
+	 * Imports the lines delivered by the line reader one after another until all lines have been read or the import has been
+	 * canceled. Can be overridden by importers that are able to import several lines at once.
+	 */
+	protected void importCsvLines(CsvLineReader lineReader, String[] entityClasses, String[] entityProperties, String[][] entityPropertyPaths)
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		String[] nextLine = lineReader.readNextLine();
+		int lineCounter = 0;
+		while (nextLine != null) {
+			ImportLineResult lineResult = importDataFromCsvLine(nextLine, entityClasses, entityProperties, entityPropertyPaths, lineCounter == 0);
+			logger.debug("runImport - line " + lineCounter);
+			lineImported(lineResult);
+			if (isCancelAfterCurrent()) {
+				break;
+			}
+			nextLine = lineReader.readNextLine();
+			lineCounter++;
+		}
+	}
+
+	/**
+	 * To be called whenever the import of a line is finished.
+	 */
+	protected void lineImported(ImportLineResult lineResult) {
+		if (importedLineCallback != null) {
+			importedLineCallback.accept(lineResult);
+		}
+	}
+
 	public void cancelImport() {
 		cancelAfterCurrent = true;
 	}
 
+	protected boolean isCancelAfterCurrent() {
+		return cancelAfterCurrent;
+	}
+
 	protected Writer createErrorReportWriter() throws IOException {
 		File errorReportFile = new File(errorReportFilePath.toString());
 		if (errorReportFile.exists()) {
@@ -537,4 +559,16 @@ public abstract class DataImporter {
 		while (isCommentLine);
 		return nextValidLine;
 	}
+
+	/**
+	 * Reads the valid (non comment) lines of the import file that follow the header row(s).
+	 */
+	@FunctionalInterface
+	protected interface CsvLineReader {
+
+		/**
+		 * @return the next line or null when the end of the file has been reached
+		 */
+		String[] readNextLine() throws IOException, CsvValidationException;
+	}
 }
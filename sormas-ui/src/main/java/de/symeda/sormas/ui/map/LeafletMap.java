@@ -60,6 +60,10 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 
 	private int mapId = nextMapId();
 
+	private int visibleZoom;
+	private GeoLatLon visibleSouthWest;
+	private GeoLatLon visibleNorthEast;
+
 	/**
 	 * Creates the chart object.
 	 */
@@ -79,6 +83,17 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 				LeafletMap.this.fireEvent(new MarkerClickEvent(LeafletMap.this, groupId, markerIndex));
 			}
 		});
+
+		addFunction("onViewChange", new JavaScriptFunction() {
+
+			@Override
+			public void call(JsonArray arguments) {
+				visibleZoom = (int) arguments.getNumber(0);
+				visibleSouthWest = new GeoLatLon(arguments.getNumber(1), arguments.getNumber(2));
+				visibleNorthEast = new GeoLatLon(arguments.getNumber(3), arguments.getNumber(4));
+				LeafletMap.this.fireEvent(new ViewChangeEvent(LeafletMap.this));
+			}
+		});
 	}
 
 	/**
@@ -107,6 +122,27 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 		return getState().getZoom();
 	}
 
+	/**
+	 * @return the zoom level currently shown in the browser, which changes when the user zooms the map
+	 */
+	public int getVisibleZoom() {
+		return visibleSouthWest != null ? visibleZoom : getZoom();
+	}
+
+	/**
+	 * @return the south west corner of the visible part of the map or null, if not yet known
+	 */
+	public GeoLatLon getVisibleSouthWest() {
+		return visibleSouthWest;
+	}
+
+	/**
+	 * @return the north east corner of the visible part of the map or null, if not yet known
+	 */
+	public GeoLatLon getVisibleNorthEast() {
+		return visibleNorthEast;
+	}
+
 	public void setCenter(GeoLatLon coordinates) {
 		getState().setCenterLatitude(coordinates.getLat());
 		getState().setCenterLongitude(coordinates.getLon());
@@ -144,6 +180,10 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 		addListener(MarkerClickEvent.class, listener, MarkerClickListener.MARKER_CLICK_METHOD);
 	}
 
+	public void addViewChangeListener(ViewChangeListener listener) {
+		addListener(ViewChangeEvent.class, listener, ViewChangeListener.VIEW_CHANGE_METHOD);
+	}
+
 	public interface MarkerClickListener extends Serializable {
 
 		Method MARKER_CLICK_METHOD = ReflectTools.findMethod(MarkerClickListener.class, "markerClick", MarkerClickEvent.class);
@@ -171,4 +211,23 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 			return markerIndex;
 		}
 	}
+
+	public interface ViewChangeListener extends Serializable {
+
+		Method VIEW_CHANGE_METHOD = ReflectTools.findMethod(ViewChangeListener.class, "viewChange", ViewChangeEvent.class);
+
+		void viewChange(ViewChangeEvent event);
+	}
+
+	/**
+	 * Fired when the user has moved or zoomed the map.
+	 */
+	public static class ViewChangeEvent extends EventObject {
+
+		private static final long serialVersionUID = 3867329486071926452L;
+
+		public ViewChangeEvent(LeafletMap map) {
+			super(map);
+		}
+	}
 }
@@ -16,6 +16,8 @@
 package de.symeda.sormas.ui.utils;
 
 import java.util.Date;
+import java.util.List;
+import java.util.function.BiFunction;
 
 import com.vaadin.server.StreamResource;
 
@@ -42,8 +44,7 @@ public class CaseDownloadUtil {
 		return DownloadUtil.createCsvExportStreamResource(
 			CaseExportDto.class,
 			exportType,
-			(Integer start, Integer max) -> FacadeProvider.getCaseFacade()
-				.getExportList(criteria, exportType, start, max, exportConfiguration, I18nProperties.getUserLanguage()),
+			new CaseExportRowsSupplier(criteria, exportType, exportConfiguration),
 			CaseDownloadUtil::captionProvider,
 			DownloadUtil.createFileNameWithCurrentDate("sormas_cases_", ".csv"),
 			exportConfiguration);
@@ -65,4 +66,44 @@ public class CaseDownloadUtil {
 
 		return caption;
 	}
+
+	/**
+	 * Fetches the export rows page by page using keyset paging: every page continues after the last case of the previous one,
+	 * so the export does not slow down for later pages. The start index is only used to detect a (re-)started export.
+	 */
+	private static class CaseExportRowsSupplier implements BiFunction<Integer, Integer, List<CaseExportDto>> {
+
+		private final CaseCriteria criteria;
+		private final CaseExportType exportType;
+		private final ExportConfigurationDto exportConfiguration;
+
+		private Date lastReportDate;
+		private Long lastId;
+
+		CaseExportRowsSupplier(CaseCriteria criteria, CaseExportType exportType, ExportConfigurationDto exportConfiguration) {
+			this.criteria = criteria;
+			this.exportType = exportType;
+			this.exportConfiguration = exportConfiguration;
+		}
+
+		@Override
+		public synchronized List<CaseExportDto> apply(Integer start, Integer max) {
+
+			if (start == null || start == 0) {
+				lastReportDate = null;
+				lastId = null;
+			}
+
+			List<CaseExportDto> exportRows = FacadeProvider.getCaseFacade()
+				.getExportListAfter(criteria, exportType, lastReportDate, lastId, max, exportConfiguration, I18nProperties.getUserLanguage());
+
+			if (!exportRows.isEmpty()) {
+				CaseExportDto lastRow = exportRows.get(exportRows.size() - 1);
+				lastReportDate = lastRow.getReportDate();
+				lastId = lastRow.getId();
+			}
+
+			return exportRows;
+		}
+	}
 }
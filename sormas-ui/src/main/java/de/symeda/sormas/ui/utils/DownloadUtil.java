@@ -364,14 +364,14 @@ public final class DownloadUtil {
 
 	private static void writeCsvToZip(ZipOutputStream zos, StreamSource source, String fileName) throws IOException {
 		zos.putNextEntry(new ZipEntry(fileName));
-		ByteArrayOutputStream result = new ByteArrayOutputStream();
-		byte[] buffer = new byte[1024];
+		// copy straight into the zip entry instead of buffering the whole csv file once more
+		byte[] buffer = new byte[8192];
 		int length;
-		InputStream input = source.getStream();
-		while ((length = input.read(buffer)) != -1) {
-			result.write(buffer, 0, length);
+		try (InputStream input = source.getStream()) {
+			while ((length = input.read(buffer)) != -1) {
+				zos.write(buffer, 0, length);
+			}
 		}
-		result.writeTo(zos);
 		zos.closeEntry();
 	}
 
@@ -69,6 +69,12 @@ window.de_symeda_sormas_ui_map_LeafletMap = function () {
 //	    attribution: '&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a> contributors'
 //	});
 	
+	// let the server know which part of the map is visible, e.g. to load clusters for the current zoom
+	map.on('moveend', function() {
+		var bounds = map.getBounds();
+		connector.onViewChange(map.getZoom(), bounds.getSouth(), bounds.getWest(), bounds.getNorth(), bounds.getEast());
+	});
+
 	var openStreetMapsLayer = L.tileLayer("https://{s}.tile.openstreetmap.fr/hot/{z}/{x}/{y}.png", {
 		attribution: '&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a> contributors. Tiles courtesy of Humanitarian OpenStreetMap Team'
 	});
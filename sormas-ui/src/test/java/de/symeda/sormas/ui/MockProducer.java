@@ -62,6 +62,8 @@ public class MockProducer {
 	static {
 		properties.setProperty(ConfigFacadeEjb.COUNTRY_NAME, "nigeria");
 		properties.setProperty(ConfigFacadeEjb.CSV_SEPARATOR, ",");
+		// the beans used by the tests must not be called from several threads at the same time
+		properties.setProperty(ConfigFacadeEjb.IMPORT_PARALLELISM, "1");
 
 		try {
 			Field instance = InfoProvider.class.getDeclaredField("instance");
@@ -219,6 +219,24 @@ public class CaseImporterTest extends AbstractBeanTest {
 		assertEquals(12, getCaseFacade().count(null));
 	}
 
+	@Test
+	public void testImportFallsBackToSingleLinesWhenBatchFails()
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		TestDataCreator.RDCF rdcf = creator.createRDCF("Abia", "Umuahia North", "Urban Ward 2", "Anelechi Hospital");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		// The first name of the third line is too long for the database, which rolls back the batch of the last three lines
+		File csvFile = new File(getClass().getClassLoader().getResource("sormas_import_test_batch_failure.csv").getFile());
+		CaseImporter caseImporter = new CaseImporterExtension(csvFile, true, user.toReference());
+		ImportResultStatus importResult = caseImporter.runImport();
+
+		// The other lines of the batch are imported one by one
+		assertEquals(ImportResultStatus.COMPLETED_WITH_ERRORS, importResult);
+		assertEquals(3, getCaseFacade().count(null));
+	}
+
 	@Test
 	public void testLineListingImport() throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
 		TestDataCreator.RDCF rdcf = new TestDataCreator().createRDCF("Abia", "Bende", "Bende Ward", "Bende Maternity Home");